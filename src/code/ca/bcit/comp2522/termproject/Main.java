@@ -1,5 +1,9 @@
 package ca.bcit.comp2522.termproject;
 
+import ca.bcit.comp2522.termproject.events.EventJournal;
+import ca.bcit.comp2522.termproject.events.GameEventBus;
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+import ca.bcit.comp2522.termproject.metrics.MetricsServer;
 import ca.bcit.comp2522.termproject.numbergame.NumberGameMain;
 import ca.bcit.comp2522.termproject.twistedwordle.TwistedWordle;
 import ca.bcit.comp2522.termproject.twistedwordle.GameSetup;
@@ -37,6 +41,8 @@ public final class Main
     private static final int     FIRST_INDEX         = 0;
     private static final int     EXIT_STATUS         = 1;
     private static final int     COUNTDOWN           = 1;
+    private static final String  JOURNAL_PROPERTY    = "events.journal";
+    private static final String  METRICS_PROPERTY    = "metrics.port";
 
     /**
      * Entry point for the application. Initializes JavaFX and
@@ -51,6 +57,10 @@ public final class Main
     public static void main(final String[] args)
     {
         initializeJavaFX();
+        startEventJournal();
+
+        final MetricsServer metricsServer;
+        metricsServer = startMetricsServer();
 
         System.out.println("Welcome to Cole's comp2522 term project!");
         System.out.println("----------------------------------------");
@@ -89,6 +99,10 @@ public final class Main
                     System.out.println("Thank you for playing! Shutting down...");
                     // Cleanly shut down the JavaFX platform
                     Platform.exit();
+                    if (metricsServer != null)
+                    {
+                        metricsServer.stop();
+                    }
                     // Close the scanner resource
                     input.close();
                     // Exit the application
@@ -147,6 +161,76 @@ public final class Main
         }
     }
 
+    /*
+     * Subscribes an EventJournal to the game event bus when the events.journal system property
+     * names a file, e.g. -Devents.journal=events.log. Without the property nothing is journaled.
+     */
+    private static void startEventJournal()
+    {
+        final String journalFile;
+        journalFile = System.getProperty(JOURNAL_PROPERTY);
+
+        if (journalFile == null ||
+            journalFile.isBlank())
+        {
+            return;
+        }
+
+        try
+        {
+            GameEventBus.getDefault().subscribe("journal", new EventJournal(journalFile));
+            System.out.println("Journaling game events to " + journalFile);
+        } catch (final IOException e)
+        {
+            System.err.println("Could not open event journal: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Starts the Prometheus metrics endpoint on 127.0.0.1, only if the metrics.port system property is set.
+     * -Dmetrics.port=9464 serves on that port; an empty value uses MetricsServer.DEFAULT_PORT.
+     * Returns null if the server is not requested or the port is unavailable.
+     */
+    private static MetricsServer startMetricsServer()
+    {
+        final String property;
+        final int    port;
+
+        property = System.getProperty(METRICS_PROPERTY);
+
+        if (property == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            port = property.isBlank() ? MetricsServer.DEFAULT_PORT : Integer.parseInt(property.strip());
+        } catch (final NumberFormatException e)
+        {
+            System.err.println("Invalid " + METRICS_PROPERTY + ", metrics disabled.");
+            return null;
+        }
+
+        try
+        {
+            final MetricsServer server;
+            server = new MetricsServer(port);
+
+            // Touch GameMetrics so every series is registered before the first scrape
+            GameMetrics.WORDLE_GUESSES.get();
+
+            System.out.println("Metrics available at http://127.0.0.1:" +
+                               server.getPort() +
+                               "/metrics");
+            return server;
+        } catch (final IOException e)
+        {
+            System.err.println("Could not start metrics server: " + e.getMessage());
+            return null;
+        }
+    }
+
     /*
      * Displays the main menu to the user with options to play different games or quit the application.
      * Prompts the user for input corresponding to a specific game selection or quit command.
@@ -0,0 +1,57 @@
+package ca.bcit.comp2522.termproject.events;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * A GameEventListener that appends every event to a text file, one line per event.
+ * Runs on its own subscriber thread, so slow disk writes never hold up a game.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class EventJournal implements GameEventListener
+{
+    private final BufferedWriter writer;
+
+    /**
+     * Constructs a journal that appends to the given file.
+     *
+     * @param filePath the journal file
+     * @throws IOException if the file cannot be opened
+     */
+    public EventJournal(final String filePath)
+    throws IOException
+    {
+        Objects.requireNonNull(filePath, "File path cannot be null");
+
+        writer = new BufferedWriter(new FileWriter(filePath, true));
+    }
+
+    /**
+     * Writes one event as a line. The buffer is flushed at the end of each game.
+     *
+     * @param event    the event
+     * @param sequence the event's sequence number
+     */
+    @Override
+    public void onEvent(final GameEvent event,
+                        final long sequence)
+    {
+        try
+        {
+            writer.write(sequence + " " + event.getTimestampNanos() + " " + event);
+            writer.newLine();
+
+            if (event.getType() == GameEventType.GAME_OVER)
+            {
+                writer.flush();
+            }
+        } catch (final IOException e)
+        {
+            System.err.println("Could not write event journal: " + e.getMessage());
+        }
+    }
+}
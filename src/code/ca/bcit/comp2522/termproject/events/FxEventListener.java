@@ -0,0 +1,70 @@
+package ca.bcit.comp2522.termproject.events;
+
+import javafx.application.Platform;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers one game's events to a listener on the JavaFX Application Thread, so a UI can
+ * subscribe to the GameEventBus and update its controls from the events.
+ * <p>
+ * The bus reuses its event objects, so each event is copied before the hop to the FX thread.
+ * Only the UI side pays for that copy; the game still publishes without allocating, and a
+ * busy FX thread only makes this subscriber fall behind.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class FxEventListener implements GameEventListener
+{
+    private final String            game;
+    private final GameEventListener listener;
+    private final Executor          dispatcher;
+
+    /**
+     * Constructs a listener that hands one game's events to the JavaFX Application Thread.
+     *
+     * @param game     the name the game publishes under; events from other games are ignored
+     * @param listener the listener to call on the FX thread
+     */
+    public FxEventListener(final String game,
+                           final GameEventListener listener)
+    {
+        this(game, listener, Platform::runLater);
+    }
+
+    /*
+     * Constructs a listener that hands events to the given dispatcher instead of the FX thread.
+     */
+    FxEventListener(final String game,
+                    final GameEventListener listener,
+                    final Executor dispatcher)
+    {
+        this.game       = Objects.requireNonNull(game, "Game cannot be null");
+        this.listener   = Objects.requireNonNull(listener, "Listener cannot be null");
+        this.dispatcher = Objects.requireNonNull(dispatcher, "Dispatcher cannot be null");
+    }
+
+    /**
+     * Copies an event from this listener's game and passes the copy to the FX thread.
+     *
+     * @param event    the event, reused by the bus after this returns
+     * @param sequence the event's position in the stream of all published events
+     */
+    @Override
+    public void onEvent(final GameEvent event,
+                        final long sequence)
+    {
+        if (!game.equals(event.getGame()))
+        {
+            return;
+        }
+
+        final GameEvent copy;
+        copy = new GameEvent();
+
+        copy.copyFrom(event);
+        dispatcher.execute(() -> listener.onEvent(copy, sequence));
+    }
+}
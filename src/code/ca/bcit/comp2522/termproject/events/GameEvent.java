@@ -0,0 +1,129 @@
+package ca.bcit.comp2522.termproject.events;
+
+/**
+ * One slot of the GameEventBus ring buffer.
+ * Events are preallocated and reused: the producer overwrites a slot's fields for every
+ * new event instead of allocating one, and each subscriber copies a slot into its own
+ * private GameEvent before handing it to its listener. Listeners must not keep a
+ * reference to the event after onEvent returns; copy the fields they need instead.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class GameEvent
+{
+    private GameEventType type;
+    private String        game;
+    private String        player;
+    private String        detail;
+    private long          value;
+    private long          timestampNanos;
+
+    /*
+     * Constructs an empty event slot. Only the bus creates events.
+     */
+    GameEvent()
+    {}
+
+    /*
+     * Overwrites every field of this slot.
+     */
+    void set(final GameEventType type,
+             final String game,
+             final String player,
+             final String detail,
+             final long value,
+             final long timestampNanos)
+    {
+        this.type           = type;
+        this.game           = game;
+        this.player         = player;
+        this.detail         = detail;
+        this.value          = value;
+        this.timestampNanos = timestampNanos;
+    }
+
+    /*
+     * Copies every field from another event into this one.
+     */
+    void copyFrom(final GameEvent other)
+    {
+        set(other.type,
+            other.game,
+            other.player,
+            other.detail,
+            other.value,
+            other.timestampNanos);
+    }
+
+    /**
+     * Accessor for the event type.
+     *
+     * @return the event type
+     */
+    public GameEventType getType()
+    {
+        return type;
+    }
+
+    /**
+     * Accessor for the name of the game that published the event.
+     *
+     * @return the game name
+     */
+    public String getGame()
+    {
+        return game;
+    }
+
+    /**
+     * Accessor for the player the event concerns.
+     *
+     * @return the player name, or null if the game has no named players
+     */
+    public String getPlayer()
+    {
+        return player;
+    }
+
+    /**
+     * Accessor for the event's text payload, such as the guess or the winner.
+     *
+     * @return the detail text, may be null
+     */
+    public String getDetail()
+    {
+        return detail;
+    }
+
+    /**
+     * Accessor for the event's numeric payload, such as points or packed feedback.
+     *
+     * @return the value
+     */
+    public long getValue()
+    {
+        return value;
+    }
+
+    /**
+     * Accessor for the System.nanoTime() at which the event was published.
+     *
+     * @return the publish time in nanoseconds
+     */
+    public long getTimestampNanos()
+    {
+        return timestampNanos;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return the event as "game type player detail value"
+     */
+    @Override
+    public String toString()
+    {
+        return game + " " + type + " " + player + " " + detail + " " + value;
+    }
+}
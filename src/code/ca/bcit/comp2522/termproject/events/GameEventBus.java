@@ -0,0 +1,327 @@
+package ca.bcit.comp2522.termproject.events;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A preallocated single-producer, multi-consumer ring buffer for game events.
+ * <p>
+ * The game thread publishes by overwriting the next slot of a fixed array of GameEvent objects,
+ * so publishing never allocates and never waits. Every subscriber runs on its own daemon thread
+ * with its own read position. A subscriber that falls more than a full ring behind is lapped:
+ * the events it missed are skipped and counted in Subscription.getDropped(), and the game
+ * carries on regardless.
+ * <p>
+ * A subscriber with nothing to read spins briefly, then parks until the next publish wakes
+ * it, so an idle subscriber thread is not scheduled at all. publish only pays for the wake-up
+ * when a subscriber is actually parked.
+ * <p>
+ * Each slot carries a sequence number used like a seqlock. The producer marks the slot as in
+ * progress, writes the fields, then stamps the slot with the event's sequence. A subscriber copies
+ * the slot and then checks the stamp again; if it changed, the copy may be torn and is dropped.
+ * <p>
+ * publish must only be called from one thread at a time. The games all publish from the thread
+ * that runs their game logic (the JavaFX Application Thread or the console thread), and only one
+ * game runs at a time.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class GameEventBus
+{
+    /**
+     * The number of slots in the default bus.
+     */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final long IN_PROGRESS       = -1L;
+    private static final int  NOTHING           = 0;
+    private static final int  SPINS_BEFORE_PARK = 100;
+
+    private static final Subscription[] NO_SUBSCRIBERS = new Subscription[0];
+
+    private static final GameEventBus DEFAULT_BUS = new GameEventBus(DEFAULT_CAPACITY);
+
+    private final    GameEvent[]     slots;
+    private final    AtomicLongArray slotSequences;
+    private final    AtomicLong      cursor;
+    private final    int             mask;
+    private          long            nextSequence;
+    /* Replaced on subscribe and close, so publish can walk it without locking or allocating. */
+    private volatile Subscription[]  subscribers;
+
+    /**
+     * Constructs a bus with the given number of slots.
+     *
+     * @param capacity the ring size, must be a positive power of two
+     */
+    public GameEventBus(final int capacity)
+    {
+        if (capacity <= NOTHING ||
+            Integer.bitCount(capacity) != 1)
+        {
+            throw new IllegalArgumentException("Capacity must be a positive power of two: " + capacity);
+        }
+
+        slots         = new GameEvent[capacity];
+        slotSequences = new AtomicLongArray(capacity);
+        cursor        = new AtomicLong(IN_PROGRESS);
+        mask          = capacity - 1;
+        nextSequence  = NOTHING;
+        subscribers   = NO_SUBSCRIBERS;
+
+        for (int i = 0; i < capacity; i++)
+        {
+            slots[i] = new GameEvent();
+            slotSequences.set(i, IN_PROGRESS);
+        }
+    }
+
+    /**
+     * Gets the bus shared by every game in the application.
+     *
+     * @return the default bus
+     */
+    public static GameEventBus getDefault()
+    {
+        return DEFAULT_BUS;
+    }
+
+    /**
+     * Publishes an event, waking any parked subscriber. Never blocks and never allocates.
+     *
+     * @param type   the event type
+     * @param game   the name of the publishing game
+     * @param player the player the event concerns, may be null
+     * @param detail the text payload, may be null
+     * @param value  the numeric payload
+     * @return the sequence number of the published event
+     */
+    public long publish(final GameEventType type,
+                        final String game,
+                        final String player,
+                        final String detail,
+                        final long value)
+    {
+        Objects.requireNonNull(type, "Event type cannot be null");
+
+        final long sequence;
+        final int  index;
+
+        sequence = nextSequence;
+        index    = (int) (sequence & mask);
+
+        slotSequences.set(index, IN_PROGRESS);
+        // Keep the field writes below from becoming visible before the in-progress mark
+        VarHandle.releaseFence();
+        slots[index].set(type, game, player, detail, value, System.nanoTime());
+        slotSequences.set(index, sequence);
+        cursor.set(sequence);
+
+        // Read after the cursor write, so a subscriber that parks after checking the cursor is seen here
+        for (final Subscription subscriber : subscribers)
+        {
+            if (subscriber.parked)
+            {
+                LockSupport.unpark(subscriber.thread);
+            }
+        }
+
+        nextSequence++;
+        return sequence;
+    }
+
+    /**
+     * Starts delivering events to a listener on a new daemon thread.
+     * The subscriber sees events published after this call.
+     *
+     * @param name     a name for the subscriber thread
+     * @param listener the listener to call for every event
+     * @return the subscription, used to check dropped events and to stop delivery
+     */
+    public Subscription subscribe(final String name,
+                                  final GameEventListener listener)
+    {
+        Objects.requireNonNull(name, "Name cannot be null");
+        Objects.requireNonNull(listener, "Listener cannot be null");
+
+        final Subscription subscription;
+        subscription = new Subscription(listener, cursor.get() + 1, "event-" + name);
+
+        synchronized (this)
+        {
+            final Subscription[] grown;
+            grown = Arrays.copyOf(subscribers, subscribers.length + 1);
+
+            grown[subscribers.length] = subscription;
+            subscribers               = grown;
+        }
+
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /*
+     * Stops waking a closed subscription.
+     */
+    private synchronized void unsubscribe(final Subscription subscription)
+    {
+        subscribers = Arrays.stream(subscribers)
+                            .filter(subscriber -> subscriber != subscription)
+                            .toArray(Subscription[]::new);
+    }
+
+    /**
+     * A single subscriber's read position and delivery loop.
+     */
+    public final class Subscription implements Runnable
+    {
+        private final GameEventListener listener;
+        private final GameEvent         scratch;
+        private final AtomicLong        dropped;
+        private final Thread            thread;
+        private volatile boolean        running;
+        private volatile boolean        parked;
+        private          long           next;
+
+        /*
+         * Constructs a subscription that starts reading at the given sequence on a new daemon thread.
+         */
+        private Subscription(final GameEventListener listener,
+                             final long first,
+                             final String threadName)
+        {
+            this.listener = listener;
+            this.scratch  = new GameEvent();
+            this.dropped  = new AtomicLong();
+            this.running  = true;
+            this.parked   = false;
+            this.next     = first;
+            this.thread   = new Thread(this, threadName);
+
+            thread.setDaemon(true);
+        }
+
+        /**
+         * The delivery loop. Reads events in order until closed, skipping any that were overwritten.
+         */
+        @Override
+        public void run()
+        {
+            int idleSpins;
+            idleSpins = NOTHING;
+
+            while (running)
+            {
+                final long available;
+                available = cursor.get();
+
+                if (next > available)
+                {
+                    // Nothing new: spin briefly in case more is coming, then park until publish wakes us
+                    if (idleSpins < SPINS_BEFORE_PARK)
+                    {
+                        idleSpins++;
+                        Thread.onSpinWait();
+                    }
+                    else
+                    {
+                        parkUntilPublished();
+                    }
+                    continue;
+                }
+
+                idleSpins = NOTHING;
+
+                // Lapped by the producer: jump to the oldest event still in the ring
+                if (available - next >= slots.length)
+                {
+                    final long oldest;
+                    oldest = available - slots.length + 1;
+
+                    dropped.addAndGet(oldest - next);
+                    next = oldest;
+                }
+
+                deliver(next);
+                next++;
+            }
+        }
+
+        /*
+         * Parks until an event is published or the subscription is closed.
+         * The flag is raised before the cursor is checked again, and publish reads the flag after
+         * moving the cursor, so one of the two always sees the other and no wake-up is lost.
+         */
+        private void parkUntilPublished()
+        {
+            parked = true;
+
+            if (running &&
+                next > cursor.get())
+            {
+                LockSupport.park(this);
+            }
+
+            parked = false;
+        }
+
+        /*
+         * Copies one slot and hands it to the listener if the copy is consistent.
+         */
+        private void deliver(final long sequence)
+        {
+            final int index;
+            index = (int) (sequence & mask);
+
+            if (slotSequences.get(index) != sequence)
+            {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            scratch.copyFrom(slots[index]);
+
+            // Keep the field reads above from moving past the re-check below
+            VarHandle.acquireFence();
+
+            if (slotSequences.get(index) != sequence)
+            {
+                dropped.incrementAndGet();
+                return;
+            }
+
+            try
+            {
+                listener.onEvent(scratch, sequence);
+            } catch (final RuntimeException e)
+            {
+                System.err.println("Event listener failed: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Gets the number of events this subscriber missed because it fell too far behind.
+         *
+         * @return the number of dropped events
+         */
+        public long getDropped()
+        {
+            return dropped.get();
+        }
+
+        /**
+         * Stops delivery. The subscriber thread exits after its current event.
+         */
+        public void close()
+        {
+            running = false;
+            unsubscribe(this);
+            LockSupport.unpark(thread);
+        }
+    }
+}
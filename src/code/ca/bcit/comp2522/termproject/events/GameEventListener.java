@@ -0,0 +1,19 @@
+package ca.bcit.comp2522.termproject.events;
+
+/**
+ * An interface for subscribers of the GameEventBus.
+ * Each subscriber runs on its own thread, so a listener never blocks the game or other listeners.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public interface GameEventListener
+{
+    /**
+     * Handles one event. The event object is reused after this method returns.
+     *
+     * @param event    the event
+     * @param sequence the event's position in the stream of all published events
+     */
+    void onEvent(GameEvent event, long sequence);
+}
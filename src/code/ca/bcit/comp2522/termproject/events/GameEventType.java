@@ -0,0 +1,27 @@
+package ca.bcit.comp2522.termproject.events;
+
+/**
+ * The kinds of events games publish on the GameEventBus.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public enum GameEventType
+{
+    /**
+     * A player submitted a guess or move. The detail holds the guess.
+     */
+    GUESS_SUBMITTED,
+    /**
+     * The game evaluated a guess. The value holds game-specific feedback.
+     */
+    FEEDBACK_COMPUTED,
+    /**
+     * A player's turn ended. The value holds the points earned in the turn.
+     */
+    TURN_ENDED,
+    /**
+     * The game finished. The detail holds the winner or outcome.
+     */
+    GAME_OVER
+}
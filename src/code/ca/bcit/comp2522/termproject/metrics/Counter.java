@@ -0,0 +1,90 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, such as the number of guesses made.
+ * Backed by a LongAdder, so increments are lock-free and do not allocate.
+ * Rates such as guesses per second are computed from the counter by the scraper.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class Counter implements Metric
+{
+    private static final long NOTHING = 0L;
+
+    private final String    name;
+    private final String    labels;
+    private final String    help;
+    private final LongAdder count;
+
+    /*
+     * Constructs a counter. Counters are created through MetricsRegistry.
+     */
+    Counter(final String name,
+            final String labels,
+            final String help)
+    {
+        this.name   = name;
+        this.labels = labels;
+        this.help   = help;
+        this.count  = new LongAdder();
+    }
+
+    /**
+     * Adds one to the counter.
+     */
+    public void increment()
+    {
+        count.increment();
+    }
+
+    /**
+     * Adds an amount to the counter.
+     *
+     * @param amount the amount to add, must not be negative
+     */
+    public void add(final long amount)
+    {
+        if (amount < NOTHING)
+        {
+            throw new IllegalArgumentException("Counters cannot decrease");
+        }
+        count.add(amount);
+    }
+
+    /**
+     * Gets the current count.
+     *
+     * @return the count
+     */
+    public long get()
+    {
+        return count.sum();
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public String getHelp()
+    {
+        return help;
+    }
+
+    @Override
+    public String getType()
+    {
+        return "counter";
+    }
+
+    @Override
+    public void writeSamples(final StringBuilder out)
+    {
+        out.append(name).append(labels).append(' ').append(count.sum()).append('\n');
+    }
+}
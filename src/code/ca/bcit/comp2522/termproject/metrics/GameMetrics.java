@@ -0,0 +1,92 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+/**
+ * Every metric recorded by the games, registered once with the MetricsRegistry.
+ * Games record straight into these fields; guesses per second is the rate of the guess counters.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class GameMetrics
+{
+    private static final String GUESSES         = "game_guesses_total";
+    private static final String TURN_DURATION   = "game_turn_duration_seconds";
+    private static final String TIME_TO_CORRECT = "game_time_to_correct_seconds";
+    private static final String DICTIONARY_LOAD = "dictionary_load_seconds";
+    private static final String SCORE_FILE_IO   = "score_file_io_seconds";
+
+    private static final String TWISTED_WORDLE = "{game=\"twisted_wordle\"}";
+    private static final String WORD_GAME      = "{game=\"word_game\"}";
+    private static final String NUMBER_GAME    = "{game=\"number_game\"}";
+
+    private static final String GUESSES_HELP         = "Guesses submitted.";
+    private static final String TURN_DURATION_HELP   = "Time from the start of a turn or question to its end.";
+    private static final String TIME_TO_CORRECT_HELP = "Time from the start of a turn or question to a correct answer.";
+
+    /**
+     * Guesses submitted in Twisted Wordle.
+     */
+    public static final Counter          WORDLE_GUESSES            =
+            MetricsRegistry.counter(GUESSES, TWISTED_WORDLE, GUESSES_HELP);
+    /**
+     * Answers submitted in the Word Game.
+     */
+    public static final Counter          WORD_GAME_GUESSES         =
+            MetricsRegistry.counter(GUESSES, WORD_GAME, GUESSES_HELP);
+    /**
+     * Placements attempted in the Number Game.
+     */
+    public static final Counter          NUMBER_GAME_GUESSES       =
+            MetricsRegistry.counter(GUESSES, NUMBER_GAME, GUESSES_HELP);
+    /**
+     * Length of each Twisted Wordle turn.
+     */
+    public static final LatencyHistogram WORDLE_TURN_DURATION      =
+            MetricsRegistry.histogram(TURN_DURATION, TWISTED_WORDLE, TURN_DURATION_HELP);
+    /**
+     * Length of each Word Game question.
+     */
+    public static final LatencyHistogram WORD_GAME_TURN_DURATION   =
+            MetricsRegistry.histogram(TURN_DURATION, WORD_GAME, TURN_DURATION_HELP);
+    /**
+     * Time between consecutive Number Game placements.
+     */
+    public static final LatencyHistogram NUMBER_GAME_TURN_DURATION =
+            MetricsRegistry.histogram(TURN_DURATION, NUMBER_GAME, TURN_DURATION_HELP);
+    /**
+     * Time for a Twisted Wordle player to find the word.
+     */
+    public static final LatencyHistogram WORDLE_TIME_TO_CORRECT    =
+            MetricsRegistry.histogram(TIME_TO_CORRECT, TWISTED_WORDLE, TIME_TO_CORRECT_HELP);
+    /**
+     * Time for a Word Game player to answer a question correctly.
+     */
+    public static final LatencyHistogram WORD_GAME_TIME_TO_CORRECT =
+            MetricsRegistry.histogram(TIME_TO_CORRECT, WORD_GAME, TIME_TO_CORRECT_HELP);
+    /**
+     * Time to load the Twisted Wordle word list.
+     */
+    public static final LatencyHistogram WORD_LIST_LOAD            =
+            MetricsRegistry.histogram(DICTIONARY_LOAD, "{dictionary=\"words\"}", "Time to load a dictionary.");
+    /**
+     * Time to load the Word Game country data.
+     */
+    public static final LatencyHistogram COUNTRY_DATA_LOAD         =
+            MetricsRegistry.histogram(DICTIONARY_LOAD, "{dictionary=\"countries\"}", "Time to load a dictionary.");
+    /**
+     * Time to append a score to the score file.
+     */
+    public static final LatencyHistogram SCORE_APPEND              =
+            MetricsRegistry.histogram(SCORE_FILE_IO, "{op=\"append\"}", "Score file I/O latency.");
+    /**
+     * Time to read the score file.
+     */
+    public static final LatencyHistogram SCORE_READ                =
+            MetricsRegistry.histogram(SCORE_FILE_IO, "{op=\"read\"}", "Score file I/O latency.");
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private GameMetrics()
+    {}
+}
@@ -0,0 +1,148 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations with fixed power-of-two buckets.
+ * Bucket i counts durations of at most 2^(FIRST_BUCKET_SHIFT + i) nanoseconds, the bucket's
+ * Prometheus "le" bound, from about one microsecond up to about 2.3 minutes; anything longer
+ * falls into +Inf.
+ * <p>
+ * Recording finds the bucket with a single leading-zero count and bumps an AtomicLongArray
+ * slot and two LongAdders, so it is lock-free and allocation-free.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class LatencyHistogram implements Metric
+{
+    private static final int    FIRST_BUCKET_SHIFT = 10; // 1024 ns
+    private static final int    BUCKETS            = 28; // up to 2^37 ns, about 137 s
+    private static final int    LONG_BITS          = 64;
+    private static final long   NOTHING            = 0L;
+    private static final double NANOS_PER_SECOND   = 1_000_000_000.0;
+
+    private final String          name;
+    private final String          labels;
+    private final String          help;
+    private final AtomicLongArray buckets;
+    private final LongAdder       count;
+    private final LongAdder       sumNanos;
+
+    /*
+     * Constructs a histogram. Histograms are created through MetricsRegistry.
+     */
+    LatencyHistogram(final String name,
+                     final String labels,
+                     final String help)
+    {
+        this.name     = name;
+        this.labels   = labels;
+        this.help     = help;
+        this.buckets  = new AtomicLongArray(BUCKETS + 1); // last slot is +Inf
+        this.count    = new LongAdder();
+        this.sumNanos = new LongAdder();
+    }
+
+    /**
+     * Records one duration.
+     *
+     * @param nanos the duration in nanoseconds; negative values are treated as zero
+     */
+    public void record(final long nanos)
+    {
+        final long clamped;
+        final long belowBound;
+        final int  bucket;
+
+        clamped    = Math.max(NOTHING, nanos);
+        belowBound = Math.max(NOTHING, clamped - 1);
+        // Smallest i with clamped <= 2^(FIRST_BUCKET_SHIFT + i), so a duration equal to a bound stays in its bucket
+        bucket     = Math.max(0, LONG_BITS - Long.numberOfLeadingZeros(belowBound) - FIRST_BUCKET_SHIFT);
+
+        buckets.incrementAndGet(Math.min(bucket, BUCKETS));
+        count.increment();
+        sumNanos.add(clamped);
+    }
+
+    /**
+     * Records the time elapsed since a System.nanoTime() reading.
+     *
+     * @param startNanos the earlier System.nanoTime() value
+     */
+    public void recordSince(final long startNanos)
+    {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return the count
+     */
+    public long getCount()
+    {
+        return count.sum();
+    }
+
+    @Override
+    public String getName()
+    {
+        return name;
+    }
+
+    @Override
+    public String getHelp()
+    {
+        return help;
+    }
+
+    @Override
+    public String getType()
+    {
+        return "histogram";
+    }
+
+    /**
+     * Appends cumulative bucket lines in seconds, followed by the sum and count.
+     *
+     * @param out the builder to append to
+     */
+    @Override
+    public void writeSamples(final StringBuilder out)
+    {
+        long cumulative;
+        cumulative = NOTHING;
+
+        for (int i = 0; i <= BUCKETS; i++)
+        {
+            final String bound;
+
+            cumulative += buckets.get(i);
+            bound = i == BUCKETS ?
+                    "+Inf" :
+                    Double.toString((1L << (FIRST_BUCKET_SHIFT + i)) / NANOS_PER_SECOND);
+
+            out.append(name).append("_bucket").append(withLabel("le=\"" + bound + "\""))
+               .append(' ').append(cumulative).append('\n');
+        }
+
+        out.append(name).append("_sum").append(labels).append(' ')
+           .append(sumNanos.sum() / NANOS_PER_SECOND).append('\n');
+        out.append(name).append("_count").append(labels).append(' ')
+           .append(count.sum()).append('\n');
+    }
+
+    /*
+     * Adds one more label to this histogram's label set.
+     */
+    private String withLabel(final String label)
+    {
+        if (labels.isEmpty())
+        {
+            return "{" + label + "}";
+        }
+        return labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+/**
+ * An interface for anything the MetricsRegistry can export in Prometheus text format.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public interface Metric
+{
+    /**
+     * Gets the metric family name, e.g. game_guesses_total.
+     *
+     * @return the metric name
+     */
+    String getName();
+
+    /**
+     * Gets the help text for the metric family.
+     *
+     * @return the help text
+     */
+    String getHelp();
+
+    /**
+     * Gets the Prometheus type of the metric family, e.g. counter or histogram.
+     *
+     * @return the type
+     */
+    String getType();
+
+    /**
+     * Appends this metric's sample lines (without HELP and TYPE) in Prometheus text format.
+     *
+     * @param out the builder to append to
+     */
+    void writeSamples(StringBuilder out);
+}
@@ -0,0 +1,113 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Holds every metric in the application and renders them in Prometheus text format.
+ * Metrics are registered once, when GameMetrics is initialised; after that the games
+ * only touch the metric objects directly, so the registry is never on a hot path.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class MetricsRegistry
+{
+    private static final List<Metric> metrics = new CopyOnWriteArrayList<>();
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private MetricsRegistry()
+    {}
+
+    /**
+     * Creates and registers a counter.
+     *
+     * @param name   the metric family name, e.g. game_guesses_total
+     * @param labels the label set including braces, e.g. {game="word_game"}, or "" for none
+     * @param help   the help text
+     * @return the new counter
+     */
+    public static Counter counter(final String name,
+                                  final String labels,
+                                  final String help)
+    {
+        final Counter counter;
+        counter = new Counter(validateName(name), Objects.requireNonNull(labels), help);
+
+        metrics.add(counter);
+        return counter;
+    }
+
+    /**
+     * Creates and registers a latency histogram.
+     *
+     * @param name   the metric family name, e.g. game_turn_duration_seconds
+     * @param labels the label set including braces, or "" for none
+     * @param help   the help text
+     * @return the new histogram
+     */
+    public static LatencyHistogram histogram(final String name,
+                                             final String labels,
+                                             final String help)
+    {
+        final LatencyHistogram histogram;
+        histogram = new LatencyHistogram(validateName(name), Objects.requireNonNull(labels), help);
+
+        metrics.add(histogram);
+        return histogram;
+    }
+
+    /*
+     * Validates that a metric name is neither null nor blank.
+     */
+    private static String validateName(final String name)
+    {
+        if (name == null ||
+            name.isBlank())
+        {
+            throw new IllegalArgumentException("Metric name cannot be null or blank");
+        }
+        return name;
+    }
+
+    /**
+     * Renders every registered metric in Prometheus text exposition format.
+     * Metrics sharing a name are grouped under one HELP and TYPE line.
+     *
+     * @return the exposition text
+     */
+    public static String scrape()
+    {
+        final StringBuilder out;
+        final List<String>  written;
+
+        out     = new StringBuilder();
+        written = new ArrayList<>();
+
+        for (final Metric metric : metrics)
+        {
+            if (written.contains(metric.getName()))
+            {
+                continue;
+            }
+
+            written.add(metric.getName());
+            out.append("# HELP ").append(metric.getName()).append(' ').append(metric.getHelp()).append('\n');
+            out.append("# TYPE ").append(metric.getName()).append(' ').append(metric.getType()).append('\n');
+
+            for (final Metric sample : metrics)
+            {
+                if (sample.getName().equals(metric.getName()))
+                {
+                    sample.writeSamples(out);
+                }
+            }
+        }
+
+        return out.toString();
+    }
+}
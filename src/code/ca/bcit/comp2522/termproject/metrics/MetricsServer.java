@@ -0,0 +1,83 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves the MetricsRegistry at http://127.0.0.1:&lt;port&gt;/metrics in Prometheus text format.
+ * Binds to the loopback address only, so the endpoint is never reachable from other machines.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class MetricsServer
+{
+    /**
+     * The port used when metrics are turned on without choosing one.
+     */
+    public static final int DEFAULT_PORT = 9464;
+
+    private static final String PATH         = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int    HTTP_OK      = 200;
+    private static final int    BACKLOG      = 0;
+    private static final int    STOP_DELAY   = 0;
+
+    private final HttpServer server;
+
+    /**
+     * Starts serving metrics on the given port.
+     *
+     * @param port the local port, or 0 for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public MetricsServer(final int port)
+    throws IOException
+    {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext(PATH, MetricsServer::handle);
+        server.start();
+    }
+
+    /*
+     * Writes the current scrape as the response body.
+     */
+    private static void handle(final HttpExchange exchange)
+    throws IOException
+    {
+        final byte[] body;
+        body = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(HTTP_OK, body.length);
+
+        try (final OutputStream out = exchange.getResponseBody())
+        {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Gets the port the server is listening on.
+     *
+     * @return the bound port
+     */
+    public int getPort()
+    {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop()
+    {
+        server.stop(STOP_DELAY);
+    }
+}
@@ -1,5 +1,10 @@
 package ca.bcit.comp2522.termproject.numbergame;
 
+import ca.bcit.comp2522.termproject.events.FxEventListener;
+import ca.bcit.comp2522.termproject.events.GameEvent;
+import ca.bcit.comp2522.termproject.events.GameEventBus;
+import ca.bcit.comp2522.termproject.events.GameEventType;
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
@@ -9,6 +14,7 @@ import javafx.scene.control.Label;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.stage.WindowEvent;
 
 import java.util.Arrays;
 import java.util.Objects;
@@ -28,6 +34,9 @@ import java.util.Random;
  * - Tracking of game state and score
  * - Displaying alerts for win/loss conditions
  *
+ * The grid shows placed numbers from the game's own events on the GameEventBus. If the bus
+ * drops any, the grid is repainted from the board instead.
+ *
  * This game extends AbstractGame and follows the game interface/structure of the overall project.
  *
  * @author colecampbell
@@ -45,6 +54,12 @@ public final class NumberGame extends AbstractGame
     private static final int HEIGHT         = 500;
     private static final int WIDTH          = 500;
     private static final int OFFSET         = 1;
+    private static final int ILLEGAL        = 0;
+    private static final int LEGAL          = 1;
+
+    private static final String GAME_NAME = "NumberGame";
+    private static final String WON       = "WON";
+    private static final String LOST      = "LOST";
 
     private final Button[][] buttons   = new Button[SQUARES_TALL][SQUARES_WIDE];
     private       Label      statusLabel;
@@ -52,6 +67,11 @@ public final class NumberGame extends AbstractGame
     private final Stage      gameStage;
     private       boolean    gameActive;
     private final int[]      gameBoard = new int[MAX_PLACEMENTS];
+    private       long       numberShownNanos; // when the current number was shown, for metrics
+    private       long       eventGuess;       // the number and square of the guess whose feedback is next
+    private       long       repaintedDrops;   // the dropped-event count already repainted over
+
+    private final GameEventBus.Subscription uiEvents;
 
     /**
      * Constructs the NumberGame and initializes the user interface on the provided JavaFX Stage.
@@ -68,6 +88,11 @@ public final class NumberGame extends AbstractGame
         this.gameStage = stage;
         resetLogicOnly();
         setupUI(); // Build the UI components
+
+        // Placed numbers are painted from the game's own events; a handler, so the caller's onHidden stays
+        this.uiEvents = GameEventBus.getDefault().subscribe("number-game-ui",
+                                                            new FxEventListener(GAME_NAME, this::onGameEvent));
+        this.gameStage.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> uiEvents.close());
         this.gameStage.show();
     }
 
@@ -204,6 +229,7 @@ public final class NumberGame extends AbstractGame
         nextNum = random.nextInt(UPPER_BOUND - LOWER_BOUND + OFFSET) + LOWER_BOUND;
 
         setCurrentNumber(nextNum);
+        numberShownNanos = System.nanoTime();
 
         // display the next number to the user
         statusLabel.setText("Place the number: " + getCurrentNumber());
@@ -239,11 +265,23 @@ public final class NumberGame extends AbstractGame
         final int numToPlace;
         numToPlace= getCurrentNumber();
 
-        if (canPlaceNumber(index, numToPlace))
+        final GameEventBus bus;
+        final boolean      legal;
+
+        bus   = GameEventBus.getDefault();
+        legal = canPlaceNumber(index, numToPlace);
+
+        GameMetrics.NUMBER_GAME_GUESSES.increment();
+        GameMetrics.NUMBER_GAME_TURN_DURATION.recordSince(numberShownNanos);
+
+        // The guess value packs the number with the chosen square; feedback is legal or illegal
+        bus.publish(GameEventType.GUESS_SUBMITTED, GAME_NAME, null, null, (long) numToPlace * MAX_PLACEMENTS + index);
+        bus.publish(GameEventType.FEEDBACK_COMPUTED, GAME_NAME, null, null, legal ? LEGAL : ILLEGAL);
+
+        if (legal)
         {
-            // valid placement
+            // valid placement; the button shows it when the feedback event arrives
             gameBoard[index] = numToPlace;
-            buttons[row][col].setText(String.valueOf(numToPlace));
 
             incrementTotalPlacements();
 
@@ -277,6 +315,54 @@ public final class NumberGame extends AbstractGame
         }
     }
 
+    /*
+     * Updates the grid from one of this game's events, on the JavaFX Application Thread.
+     * A submitted guess names the number and square, and legal feedback shows the number there.
+     */
+    private void onGameEvent(final GameEvent event,
+                             final long sequence)
+    {
+        if (uiEvents.getDropped() != repaintedDrops)
+        {
+            repaintedDrops = uiEvents.getDropped();
+            paintBoard();
+            return;
+        }
+
+        if (event.getType() == GameEventType.GUESS_SUBMITTED)
+        {
+            eventGuess = event.getValue();
+        }
+        else if (event.getType() == GameEventType.FEEDBACK_COMPUTED &&
+                 event.getValue() == LEGAL)
+        {
+            final int index;
+            final int number;
+
+            index  = (int) (eventGuess % MAX_PLACEMENTS);
+            number = (int) (eventGuess / MAX_PLACEMENTS);
+
+            // A late event from a finished game must not mark the new board
+            if (gameBoard[index] == number)
+            {
+                buttons[index / SQUARES_WIDE][index % SQUARES_WIDE].setText(String.valueOf(number));
+            }
+        }
+    }
+
+    /*
+     * Shows every square of the board as it is now.
+     */
+    private void paintBoard()
+    {
+        for (int index = 0; index < MAX_PLACEMENTS; index++)
+        {
+            buttons[index / SQUARES_WIDE][index % SQUARES_WIDE].setText(gameBoard[index] == EMPTY_SPOT ?
+                                                                        "[ ]" :
+                                                                        String.valueOf(gameBoard[index]));
+        }
+    }
+
     /*
      * Ensures the given row index is within the bounds of the game grid.
      * Throws IllegalArgumentException if the row is invalid.
@@ -413,6 +499,12 @@ public final class NumberGame extends AbstractGame
 
         incrementGamesPlayed();
 
+        GameEventBus.getDefault().publish(GameEventType.GAME_OVER,
+                                          GAME_NAME,
+                                          null,
+                                          won ? WON : LOST,
+                                          getTotalPlacements());
+
         String headerText;
 
         if (won)
@@ -0,0 +1,95 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * A simple computer player for headless games.
+ * Keeps the list of words that are still consistent with all feedback received
+ * this turn and guesses one of them at random.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class CandidateFilterStrategy implements GuessStrategy
+{
+    private final List<String> allWords;
+    private final Random       random;
+    private       List<String> candidates;
+
+    /**
+     * Constructs a strategy that guesses from the given word list.
+     *
+     * @param words  the allowed words, must not be null or empty
+     * @param random the random source used to pick between candidates
+     */
+    public CandidateFilterStrategy(final Collection<String> words,
+                                   final Random random)
+    {
+        Objects.requireNonNull(words, "Words cannot be null");
+        Objects.requireNonNull(random, "Random cannot be null");
+
+        if (words.isEmpty())
+        {
+            throw new IllegalArgumentException("Word list cannot be empty");
+        }
+
+        this.allWords   = new ArrayList<>(words);
+        this.random     = random;
+        this.candidates = allWords;
+    }
+
+    /**
+     * Starts a new turn with every word as a candidate.
+     */
+    @Override
+    public void reset()
+    {
+        candidates = allWords;
+    }
+
+    /**
+     * Picks a random word that is consistent with the feedback so far.
+     *
+     * @return the next guess
+     */
+    @Override
+    public String nextGuess()
+    {
+        if (candidates.isEmpty())
+        {
+            // Target is outside our list; fall back to any word
+            return allWords.get(random.nextInt(allWords.size()));
+        }
+        return candidates.get(random.nextInt(candidates.size()));
+    }
+
+    /**
+     * Removes every candidate that would not have produced the same feedback.
+     *
+     * @param guess    the word that was guessed
+     * @param feedback the per-letter feedback codes from WordleEngine
+     */
+    @Override
+    public void onFeedback(final String guess,
+                           final byte[] feedback)
+    {
+        final List<String> remaining;
+        remaining = new ArrayList<>();
+
+        for (final String candidate : candidates)
+        {
+            if (!candidate.equals(guess) &&
+                Arrays.equals(WordleEngine.evaluateGuess(guess, candidate), feedback))
+            {
+                remaining.add(candidate);
+            }
+        }
+
+        candidates = remaining;
+    }
+}
@@ -0,0 +1,31 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+/**
+ * An interface for anything that can produce guesses in a headless game of Twisted Wordle.
+ * Used by WordleEngine to play turns without a human at the keyboard.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public interface GuessStrategy
+{
+    /**
+     * Clears any state from the previous turn.
+     */
+    void reset();
+
+    /**
+     * Produces the next guess for the current turn.
+     *
+     * @return a word of TwistedWordle.WORD_LENGTH letters
+     */
+    String nextGuess();
+
+    /**
+     * Receives the feedback for the last guess.
+     *
+     * @param guess    the word that was guessed
+     * @param feedback the per-letter feedback codes from WordleEngine
+     */
+    void onFeedback(String guess, byte[] feedback);
+}
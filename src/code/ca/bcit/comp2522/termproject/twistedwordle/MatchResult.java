@@ -0,0 +1,141 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+/**
+ * The outcome of one headless match between two players in a tournament.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class MatchResult
+{
+    private static final int NOTHING = 0;
+
+    private final String player1;
+    private final String player2;
+    private final int    score1;
+    private final int    score2;
+
+    /**
+     * Constructs a MatchResult.
+     *
+     * @param player1 the name of the first player
+     * @param player2 the name of the second player
+     * @param score1  the total score of the first player
+     * @param score2  the total score of the second player
+     */
+    public MatchResult(final String player1,
+                       final String player2,
+                       final int score1,
+                       final int score2)
+    {
+        validateName(player1);
+        validateName(player2);
+        validateScore(score1);
+        validateScore(score2);
+
+        this.player1 = player1;
+        this.player2 = player2;
+        this.score1  = score1;
+        this.score2  = score2;
+    }
+
+    /*
+     * Validates that a player name is neither null nor blank.
+     */
+    private static void validateName(final String name)
+    {
+        if (name == null ||
+            name.isBlank())
+        {
+            throw new IllegalArgumentException("Invalid player name");
+        }
+    }
+
+    /*
+     * Validates that a score is not negative.
+     */
+    private static void validateScore(final int score)
+    {
+        if (score < NOTHING)
+        {
+            throw new IllegalArgumentException("Score cannot be negative");
+        }
+    }
+
+    /**
+     * Accessor for the first player's name.
+     *
+     * @return the first player's name
+     */
+    public String getPlayer1()
+    {
+        return player1;
+    }
+
+    /**
+     * Accessor for the second player's name.
+     *
+     * @return the second player's name
+     */
+    public String getPlayer2()
+    {
+        return player2;
+    }
+
+    /**
+     * Accessor for the first player's score.
+     *
+     * @return the first player's score
+     */
+    public int getScore1()
+    {
+        return score1;
+    }
+
+    /**
+     * Accessor for the second player's score.
+     *
+     * @return the second player's score
+     */
+    public int getScore2()
+    {
+        return score2;
+    }
+
+    /**
+     * Gets the winner of the match. A tied match has no winner, so check isTie first.
+     *
+     * @return the name of the player with the higher score
+     * @throws IllegalStateException if the match was tied
+     */
+    public String getWinner()
+    {
+        if (isTie())
+        {
+            throw new IllegalStateException("A tied match has no winner: " + this);
+        }
+
+        return score2 > score1 ? player2 : player1;
+    }
+
+    /**
+     * Checks whether both players finished with the same score.
+     *
+     * @return true if the match was tied
+     */
+    public boolean isTie()
+    {
+        return score1 == score2;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return the match as "player1 score1 - score2 player2"
+     */
+    @Override
+    public String toString()
+    {
+        return player1 + " " + score1 + " - " + score2 + " " + player2;
+    }
+}
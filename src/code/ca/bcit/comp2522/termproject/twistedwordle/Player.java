@@ -1,5 +1,8 @@
 package ca.bcit.comp2522.termproject.twistedwordle;
 
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Represents a player in the game. A player has a name and a score. The score starts at NOTHING (0)
  * and can be incremented as the player progresses through the game.
@@ -8,6 +11,11 @@ package ca.bcit.comp2522.termproject.twistedwordle;
  * - Validates player name during creation to ensure it is neither null nor blank.
  * - Tracks and retrieves the player's score.
  * - Allows for adding points to the player's score, with validation to prevent negative point additions.
+ * - Remembers the best score earned in a single turn, for the player's lifetime profile.
+ * <p>
+ * Scores may be added from many threads at once (parallel simulations, server threads).
+ * The score is kept in a striped LongAdder so concurrent updates land in separate cells
+ * instead of fighting over one field, and the best turn in a LongAccumulator for the same reason.
  *
  * @author colecampbell
  * @version 1.0
@@ -16,8 +24,9 @@ public final class Player
 {
     private static final int NOTHING = 0;
 
-    private final String name;
-    private       int    score;
+    private final String          name;
+    private final LongAdder       score;
+    private final LongAccumulator bestTurn;
 
     /**
      * Constructs a new Player with the provided name.
@@ -33,8 +42,9 @@ public final class Player
     {
         validateName(name);
 
-        this.name  = name;
-        this.score = NOTHING;
+        this.name     = name;
+        this.score    = new LongAdder();
+        this.bestTurn = new LongAccumulator(Math::max, NOTHING);
     }
 
     /*
@@ -62,12 +72,16 @@ public final class Player
 
     /**
      * Gets the current score of the player.
+     * The snapshot includes every addScore that finished before this call started and
+     * never counts part of an addition; additions racing with the call may or may not be
+     * included. Once updates stop, the value is exact. Values beyond the int range are
+     * capped at Integer.MAX_VALUE.
      *
      * @return the player's score as an integer
      */
     public int getScore()
     {
-        return score;
+        return (int) Math.min(Integer.MAX_VALUE, score.sum());
     }
 
     /**
@@ -83,7 +97,19 @@ public final class Player
     {
         validatePoints(points);
 
-        score += points;
+        score.add(points);
+        bestTurn.accumulate(points);
+    }
+
+    /**
+     * Gets the highest number of points added in a single call to addScore.
+     * Since each correct guess adds its points in one call, this is the best turn.
+     *
+     * @return the best single-turn score
+     */
+    public int getBestTurn()
+    {
+        return bestTurn.intValue();
     }
 
     /*
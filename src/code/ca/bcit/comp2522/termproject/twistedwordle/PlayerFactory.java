@@ -1,13 +1,30 @@
 package ca.bcit.comp2522.termproject.twistedwordle;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
 /**
  * A factory to construct a Player object.
+ * Also owns the shared PlayerProfileStore, so every player created here
+ * has a lifetime profile that can be loaded or created in constant time.
  *
  * @author colecampbell
  * @version 1.0
  */
 public final class PlayerFactory
 {
+    /**
+     * Path to the file holding every player's lifetime profile.
+     */
+    public static final String PROFILE_FILE = "profiles.dat";
+
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+
+    private static PlayerProfileStore profileStore;
+
     /**
      * Constructs a player within the factory.
      *
@@ -18,9 +35,70 @@ public final class PlayerFactory
     {
         validatePlayerName(name);
 
+        loadOrCreateProfile(name);
+
         return new Player(name);
     }
 
+    /**
+     * Gets the lifetime profile for a player, creating an empty one for new players.
+     *
+     * @param name the name of the player
+     * @return the player's profile
+     */
+    public static PlayerProfile loadOrCreateProfile(final String name)
+    {
+        validatePlayerName(name);
+
+        return getProfileStore().loadOrCreate(name);
+    }
+
+    /**
+     * Gets the shared profile store, loading it from PROFILE_FILE on first use.
+     * If the file cannot be read the error is reported, the file is moved aside and an empty
+     * store is used in its place, so a damaged profile file never stops a game from starting.
+     *
+     * @return the profile store
+     */
+    public static synchronized PlayerProfileStore getProfileStore()
+    {
+        if (profileStore == null)
+        {
+            profileStore = loadProfiles(Paths.get(PROFILE_FILE));
+        }
+        return profileStore;
+    }
+
+    /*
+     * Loads a profile store. A file that cannot be read is renamed with a .corrupt suffix
+     * for inspection, and an empty store saving to the original file is returned,
+     * so the profiles saved from then on are read back on the next start.
+     */
+    static PlayerProfileStore loadProfiles(final Path file)
+    {
+        try
+        {
+            return PlayerProfileStore.load(file);
+        } catch (final IOException e)
+        {
+            final Path corrupt;
+            corrupt = file.resolveSibling(file.getFileName() + CORRUPT_SUFFIX);
+
+            System.err.println("Could not load player profiles: " + e.getMessage());
+
+            try
+            {
+                Files.move(file, corrupt, StandardCopyOption.REPLACE_EXISTING);
+                System.err.println("Moved the damaged profile file to " + corrupt);
+            } catch (final IOException moveFailure)
+            {
+                System.err.println("Could not move the damaged profile file aside: " + moveFailure.getMessage());
+            }
+
+            return PlayerProfileStore.createEmpty(file);
+        }
+    }
+
     /*
      * Validates the player name.
      */
@@ -0,0 +1,156 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+/**
+ * The lifetime record of a Twisted Wordle player, kept across sessions by PlayerProfileStore.
+ * Tracks the number of games played, games won, total score and best single turn.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class PlayerProfile
+{
+    private static final int NOTHING = 0;
+
+    private final String name;
+    private       int    gamesPlayed;
+    private       int    wins;
+    private       long   totalScore;
+    private       int    bestTurn;
+
+    /**
+     * Constructs a new profile with no games played.
+     *
+     * @param name the name of the player, must not be null or blank
+     */
+    public PlayerProfile(final String name)
+    {
+        this(name, NOTHING, NOTHING, NOTHING, NOTHING);
+    }
+
+    /*
+     * Constructs a profile with existing statistics, used when loading from disk.
+     */
+    PlayerProfile(final String name,
+                  final int gamesPlayed,
+                  final int wins,
+                  final long totalScore,
+                  final int bestTurn)
+    {
+        validateName(name);
+        validateNumber(gamesPlayed);
+        validateNumber(wins);
+        validateNumber(totalScore);
+        validateNumber(bestTurn);
+
+        this.name        = name;
+        this.gamesPlayed = gamesPlayed;
+        this.wins        = wins;
+        this.totalScore  = totalScore;
+        this.bestTurn    = bestTurn;
+    }
+
+    /*
+     * Validates that the player name is neither null nor blank.
+     */
+    private static void validateName(final String name)
+    {
+        if (name == null ||
+            name.isBlank())
+        {
+            throw new IllegalArgumentException("Invalid name");
+        }
+    }
+
+    /*
+     * Validates that a statistic is not negative.
+     */
+    private static void validateNumber(final long num)
+    {
+        if (num < NOTHING)
+        {
+            throw new IllegalArgumentException("Profile statistics cannot be negative");
+        }
+    }
+
+    /*
+     * Adds one finished game to the profile.
+     */
+    void recordGame(final int score,
+                    final boolean won,
+                    final int bestTurnThisGame)
+    {
+        validateNumber(score);
+        validateNumber(bestTurnThisGame);
+
+        gamesPlayed++;
+        totalScore += score;
+        bestTurn = Math.max(bestTurn, bestTurnThisGame);
+
+        if (won)
+        {
+            wins++;
+        }
+    }
+
+    /**
+     * Gets the name of the player.
+     *
+     * @return the player's name
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gets the number of games played.
+     *
+     * @return the lifetime games played
+     */
+    public int getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games won.
+     *
+     * @return the lifetime wins
+     */
+    public int getWins()
+    {
+        return wins;
+    }
+
+    /**
+     * Gets the total score over all games.
+     *
+     * @return the lifetime total score
+     */
+    public long getTotalScore()
+    {
+        return totalScore;
+    }
+
+    /**
+     * Gets the highest score earned in a single turn.
+     *
+     * @return the best turn score
+     */
+    public int getBestTurn()
+    {
+        return bestTurn;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return a one-line summary of the profile
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s: %d games, %d wins, %d total points, best turn %d",
+                             name, gamesPlayed, wins, totalScore, bestTurn);
+    }
+}
@@ -0,0 +1,248 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A local store of player profiles keyed by player name.
+ * Profiles are kept in a compact binary file and indexed in memory with a HashMap,
+ * so looking up or creating a profile is a single hash lookup.
+ * <p>
+ * File layout (all numbers big-endian):
+ * - Header: magic number (int), format version (short), profile count (int).
+ * - One record per profile: name length (short), UTF-8 name bytes, games played (int),
+ *   wins (int), total score (long), best turn (int). Names longer than MAX_NAME_BYTES are rejected.
+ * <p>
+ * The whole file is read with one call at startup and decoded from a ByteBuffer.
+ * Saves go to a temporary file that is then moved over the old one, so a crash
+ * never leaves a half-written store behind. All methods are synchronized.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class PlayerProfileStore
+{
+    /**
+     * The longest name, in UTF-8 bytes, that fits the file's name length field.
+     */
+    public static final int MAX_NAME_BYTES = Short.MAX_VALUE;
+
+    private static final int    MAGIC        = 0x54575046; // "TWPF"
+    private static final short  VERSION      = 1;
+    private static final int    HEADER_BYTES = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final String TEMP_SUFFIX  = ".tmp";
+
+    private final Path                       file;
+    private final Map<String, PlayerProfile> profiles;
+
+    /*
+     * Constructs a store backed by the given file holding the given profiles.
+     */
+    private PlayerProfileStore(final Path file,
+                               final Map<String, PlayerProfile> profiles)
+    {
+        this.file     = file;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Creates an empty store that will save to the given file.
+     *
+     * @param file the profile file
+     * @return the empty store
+     */
+    public static PlayerProfileStore createEmpty(final Path file)
+    {
+        Objects.requireNonNull(file, "File cannot be null");
+
+        return new PlayerProfileStore(file, new HashMap<>());
+    }
+
+    /**
+     * Loads the store from a file. A missing file gives an empty store.
+     *
+     * @param file the profile file
+     * @return the loaded store
+     * @throws IOException if the file cannot be read or is not a valid profile file
+     */
+    public static PlayerProfileStore load(final Path file)
+    throws IOException
+    {
+        Objects.requireNonNull(file, "File cannot be null");
+
+        if (!Files.exists(file))
+        {
+            return createEmpty(file);
+        }
+
+        final Map<String, PlayerProfile> profiles;
+        profiles = new HashMap<>();
+
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES ||
+                buffer.getInt() != MAGIC)
+            {
+                throw new IOException("Not a player profile file: " + file);
+            }
+
+            final short version;
+            final int   count;
+
+            version = buffer.getShort();
+            count   = buffer.getInt();
+
+            if (version != VERSION)
+            {
+                throw new IOException("Unsupported profile file version " + version);
+            }
+
+            for (int i = 0; i < count; i++)
+            {
+                final byte[] nameBytes;
+                final String name;
+
+                nameBytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(nameBytes);
+                name = new String(nameBytes, StandardCharsets.UTF_8);
+
+                profiles.put(name, new PlayerProfile(name,
+                                                     buffer.getInt(),
+                                                     buffer.getInt(),
+                                                     buffer.getLong(),
+                                                     buffer.getInt()));
+            }
+        } catch (final BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("Corrupt player profile file: " + file, e);
+        }
+
+        return new PlayerProfileStore(file, profiles);
+    }
+
+    /**
+     * Gets the profile for a player, creating an empty one if the player is new.
+     *
+     * @param name the player name
+     * @return the player's profile
+     * @throws IllegalArgumentException if a new player's name is longer than MAX_NAME_BYTES in UTF-8
+     */
+    public synchronized PlayerProfile loadOrCreate(final String name)
+    {
+        return profiles.computeIfAbsent(name, PlayerProfileStore::newProfile);
+    }
+
+    /*
+     * Creates an empty profile, checking that the name can be saved.
+     */
+    private static PlayerProfile newProfile(final String name)
+    {
+        if (name.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES)
+        {
+            throw new IllegalArgumentException("Player name is longer than " + MAX_NAME_BYTES + " bytes");
+        }
+
+        return new PlayerProfile(name);
+    }
+
+    /**
+     * Gets the profile for a player without creating one.
+     *
+     * @param name the player name
+     * @return the profile, or null if the player has never played
+     */
+    public synchronized PlayerProfile get(final String name)
+    {
+        return profiles.get(name);
+    }
+
+    /**
+     * Adds a finished game to a player's profile.
+     *
+     * @param name     the player name
+     * @param score    the player's score for the game
+     * @param won      whether the player won the game
+     * @param bestTurn the player's best single-turn score in the game
+     * @throws IllegalArgumentException if a new player's name is longer than MAX_NAME_BYTES in UTF-8
+     */
+    public synchronized void recordGame(final String name,
+                                        final int score,
+                                        final boolean won,
+                                        final int bestTurn)
+    {
+        loadOrCreate(name).recordGame(score, won, bestTurn);
+    }
+
+    /**
+     * Gets the number of profiles in the store.
+     *
+     * @return the profile count
+     */
+    public synchronized int size()
+    {
+        return profiles.size();
+    }
+
+    /**
+     * Gets a copy of every profile in the store.
+     *
+     * @return the profiles, in no particular order
+     */
+    public synchronized List<PlayerProfile> getProfiles()
+    {
+        return new ArrayList<>(profiles.values());
+    }
+
+    /**
+     * Writes every profile back to disk, replacing the old file atomically.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save()
+    throws IOException
+    {
+        final Path temp;
+        temp = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+
+        try (final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))))
+        {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeInt(profiles.size());
+
+            for (final PlayerProfile profile : profiles.values())
+            {
+                final byte[] nameBytes;
+                nameBytes = profile.getName().getBytes(StandardCharsets.UTF_8);
+
+                out.writeShort(nameBytes.length);
+                out.write(nameBytes);
+                out.writeInt(profile.getGamesPlayed());
+                out.writeInt(profile.getWins());
+                out.writeLong(profile.getTotalScore());
+                out.writeInt(profile.getBestTurn());
+            }
+        }
+
+        Files.move(temp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+}
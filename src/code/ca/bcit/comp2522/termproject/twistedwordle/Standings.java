@@ -0,0 +1,178 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The tournament table: wins, losses, ties and points for each player.
+ * Standings is not thread-safe on purpose. Tournament feeds every MatchResult through
+ * a single collector thread, which is the only writer, so no locking is needed.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class Standings
+{
+    private static final int WIN     = 0;
+    private static final int LOSS    = 1;
+    private static final int TIE     = 2;
+    private static final int POINTS  = 3;
+    private static final int COLUMNS = 4;
+
+    private final Map<String, int[]> table;
+
+    /**
+     * Constructs empty standings for the given players, in seed order.
+     *
+     * @param players the player names
+     */
+    public Standings(final List<String> players)
+    {
+        Objects.requireNonNull(players, "Players cannot be null");
+
+        table = new LinkedHashMap<>();
+
+        for (final String player : players)
+        {
+            table.put(player, new int[COLUMNS]);
+        }
+    }
+
+    /**
+     * Records the result of one match.
+     *
+     * @param result the match result
+     */
+    public void record(final MatchResult result)
+    {
+        Objects.requireNonNull(result, "Result cannot be null");
+
+        final int[] row1;
+        final int[] row2;
+
+        row1 = rowFor(result.getPlayer1());
+        row2 = rowFor(result.getPlayer2());
+
+        row1[POINTS] += result.getScore1();
+        row2[POINTS] += result.getScore2();
+
+        if (result.isTie())
+        {
+            row1[TIE]++;
+            row2[TIE]++;
+        }
+        else if (result.getWinner().equals(result.getPlayer1()))
+        {
+            row1[WIN]++;
+            row2[LOSS]++;
+        }
+        else
+        {
+            row2[WIN]++;
+            row1[LOSS]++;
+        }
+    }
+
+    /*
+     * Gets the row for a player, failing if the player is not in the tournament.
+     */
+    private int[] rowFor(final String player)
+    {
+        final int[] row;
+        row = table.get(player);
+
+        if (row == null)
+        {
+            throw new IllegalArgumentException("Unknown player: " + player);
+        }
+        return row;
+    }
+
+    /**
+     * Gets the number of wins for a player.
+     *
+     * @param player the player name
+     * @return the number of wins
+     */
+    public int getWins(final String player)
+    {
+        return rowFor(player)[WIN];
+    }
+
+    /**
+     * Gets the number of losses for a player.
+     *
+     * @param player the player name
+     * @return the number of losses
+     */
+    public int getLosses(final String player)
+    {
+        return rowFor(player)[LOSS];
+    }
+
+    /**
+     * Gets the number of ties for a player.
+     *
+     * @param player the player name
+     * @return the number of ties
+     */
+    public int getTies(final String player)
+    {
+        return rowFor(player)[TIE];
+    }
+
+    /**
+     * Gets the total points for a player.
+     *
+     * @param player the player name
+     * @return the total points
+     */
+    public int getPoints(final String player)
+    {
+        return rowFor(player)[POINTS];
+    }
+
+    /**
+     * Gets the player names ranked by wins, then ties, then points.
+     *
+     * @return the ranked player names
+     */
+    public List<String> getRanking()
+    {
+        final List<String> ranking;
+        ranking = new ArrayList<>(table.keySet());
+
+        ranking.sort(Comparator.comparingInt((String player) -> table.get(player)[WIN])
+                               .thenComparingInt(player -> table.get(player)[TIE])
+                               .thenComparingInt(player -> table.get(player)[POINTS])
+                               .reversed());
+        return ranking;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return the formatted standings table
+     */
+    @Override
+    public String toString()
+    {
+        final StringBuilder builder;
+        builder = new StringBuilder(String.format("%-20s %4s %4s %4s %8s%n",
+                                                  "Player", "W", "L", "T", "Points"));
+
+        for (final String player : getRanking())
+        {
+            final int[] row;
+            row = table.get(player);
+
+            builder.append(String.format("%-20s %4d %4d %4d %8d%n",
+                                         player, row[WIN], row[LOSS], row[TIE], row[POINTS]));
+        }
+        return builder.toString();
+    }
+}
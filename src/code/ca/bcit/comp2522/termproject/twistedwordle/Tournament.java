@@ -0,0 +1,497 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Runs a Twisted Wordle tournament between any number of computer players on the headless WordleEngine.
+ * <p>
+ * This class provides the following functionality:
+ * - Round-robin scheduling (every player meets every other player once) using the circle method.
+ * - Single-elimination bracket scheduling where winners advance to the next round. A tied bracket
+ *   match goes to sudden death: each player takes one more word until one outscores the other.
+ *   If they are still level after MAX_SUDDEN_DEATH_ROUNDS words, the higher seed advances.
+ * - Running the independent matches of a round concurrently on a fixed pool sized to the CPU count.
+ * - Repeatable results: every match is seeded and played on WordleEngine.STOPPED_CLOCK.
+ * - Aggregating results into Standings through one collector thread, the table's only writer.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class Tournament
+{
+    /**
+     * The scheduling formats a tournament can use.
+     */
+    public enum Format
+    {
+        /**
+         * Every player plays every other player once.
+         */
+        ROUND_ROBIN,
+        /**
+         * Single elimination; the winner of each match advances.
+         */
+        BRACKET
+    }
+
+    /**
+     * The most extra words a tied bracket match is played for before the higher seed advances.
+     */
+    public static final int MAX_SUDDEN_DEATH_ROUNDS = 10;
+
+    private static final int    MIN_PLAYERS  = 2;
+    private static final int    FIRST_INDEX  = 0;
+    private static final int    NOTHING      = 0;
+    private static final String BRACKET_FLAG = "--bracket";
+    private static final long   DEFAULT_SEED = 2522L;
+
+    /* Marks the end of the result stream for the collector thread. */
+    private static final MatchResult END_OF_RESULTS = new MatchResult("end", "end", NOTHING, NOTHING);
+
+    private final List<String> players;
+    private final List<String> words;
+    private final Format       format;
+    private final long         seed;
+    private final int          threads;
+
+    /**
+     * Constructs a Tournament that plays matches on one thread per available core.
+     *
+     * @param players the player names in seed order, at least two and all distinct
+     * @param wordSet the words used as targets and guesses
+     * @param format  the scheduling format
+     * @param seed    the seed for word selection and computer guesses, for repeatable results
+     */
+    public Tournament(final List<String> players,
+                      final Set<String> wordSet,
+                      final Format format,
+                      final long seed)
+    {
+        this(players, wordSet, format, seed, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a Tournament that plays matches on a given number of threads.
+     * The results do not depend on the thread count.
+     *
+     * @param players the player names in seed order, at least two and all distinct
+     * @param wordSet the words used as targets and guesses
+     * @param format  the scheduling format
+     * @param seed    the seed for word selection and computer guesses, for repeatable results
+     * @param threads the number of matches played at once, at least one
+     */
+    public Tournament(final List<String> players,
+                      final Set<String> wordSet,
+                      final Format format,
+                      final long seed,
+                      final int threads)
+    {
+        validatePlayers(players);
+        Objects.requireNonNull(wordSet, "Word set cannot be null");
+        Objects.requireNonNull(format, "Format cannot be null");
+
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("A tournament needs at least one thread: " + threads);
+        }
+
+        if (wordSet.size() < TwistedWordle.TOTAL_ROUNDS)
+        {
+            throw new IllegalArgumentException("Word set must contain at least " +
+                                               TwistedWordle.TOTAL_ROUNDS +
+                                               " words");
+        }
+
+        this.players = List.copyOf(players);
+        this.words   = new ArrayList<>(wordSet);
+        this.format  = format;
+        this.seed    = seed;
+        this.threads = threads;
+
+        // Sort so the same seed always picks the same words regardless of set ordering
+        this.words.sort(null);
+    }
+
+    /*
+     * Validates that there are at least two players and that every name is valid and unique.
+     */
+    private static void validatePlayers(final List<String> players)
+    {
+        if (players == null ||
+            players.size() < MIN_PLAYERS)
+        {
+            throw new IllegalArgumentException("A tournament needs at least " +
+                                               MIN_PLAYERS +
+                                               " players");
+        }
+
+        final Set<String> seen;
+        seen = new HashSet<>();
+
+        for (final String player : players)
+        {
+            if (player == null ||
+                player.isBlank() ||
+                !seen.add(player))
+            {
+                throw new IllegalArgumentException("Invalid or duplicate player name: " + player);
+            }
+        }
+    }
+
+    /**
+     * Plays the whole tournament and returns the final standings.
+     * Matches within a round run in parallel; rounds run one after another.
+     *
+     * @return the final standings
+     * @throws InterruptedException if the calling thread is interrupted while waiting for matches
+     */
+    public Standings play() throws InterruptedException
+    {
+        final Standings                  standings;
+        final BlockingQueue<MatchResult> results;
+        final Thread                     collector;
+        final ExecutorService            executor;
+
+        standings = new Standings(players);
+        results   = new LinkedBlockingQueue<>();
+        collector = new Thread(() -> collectResults(results, standings), "tournament-collector");
+        executor  = Executors.newFixedThreadPool(threads);
+
+        // A daemon, so a collector left waiting by a failed tournament never keeps the program running
+        collector.setDaemon(true);
+        collector.start();
+
+        try
+        {
+            if (format == Format.ROUND_ROBIN)
+            {
+                playRoundRobin(executor, results);
+            }
+            else
+            {
+                playBracket(executor, results);
+            }
+        } finally
+        {
+            executor.shutdownNow();
+
+            // The queue is unbounded, so offer always has room and cannot be interrupted
+            results.offer(END_OF_RESULTS);
+            collector.join();
+        }
+
+        return standings;
+    }
+
+    /*
+     * The collector loop. Takes results off the queue and records them until the end marker arrives.
+     * This is the only thread that ever writes to the standings.
+     */
+    private static void collectResults(final BlockingQueue<MatchResult> results,
+                                       final Standings standings)
+    {
+        try
+        {
+            MatchResult result;
+            result = results.take();
+
+            while (result != END_OF_RESULTS)
+            {
+                standings.record(result);
+                result = results.take();
+            }
+        } catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /*
+     * Plays every round of a round-robin schedule.
+     */
+    private void playRoundRobin(final ExecutorService executor,
+                                final BlockingQueue<MatchResult> results)
+    throws InterruptedException
+    {
+        int matchNumber;
+        matchNumber = NOTHING;
+
+        for (final List<String[]> round : roundRobinSchedule(players))
+        {
+            playRound(round, matchNumber, executor, results);
+            matchNumber += round.size();
+        }
+    }
+
+    /*
+     * Plays a single-elimination bracket. Each round pairs the highest remaining seed with the lowest;
+     * with an odd number of players the top seed gets a bye. Every pairing lists the higher seed first.
+     */
+    private void playBracket(final ExecutorService executor,
+                             final BlockingQueue<MatchResult> results)
+    throws InterruptedException
+    {
+        List<String> remaining;
+        int          matchNumber;
+
+        remaining   = players;
+        matchNumber = NOTHING;
+
+        while (remaining.size() > 1)
+        {
+            final List<String>   advancing;
+            final List<String[]> round;
+            int                  low;
+            int                  high;
+
+            advancing = new ArrayList<>();
+            round     = new ArrayList<>();
+            low       = FIRST_INDEX;
+            high      = remaining.size() - 1;
+
+            if (remaining.size() % 2 != NOTHING)
+            {
+                advancing.add(remaining.get(low));
+                low++;
+            }
+
+            while (low < high)
+            {
+                round.add(new String[] {remaining.get(low), remaining.get(high)});
+                low++;
+                high--;
+            }
+
+            for (final MatchResult result : playRound(round, matchNumber, executor, results))
+            {
+                // Only a match still level after sudden death is tied here; the higher seed goes through
+                advancing.add(result.isTie() ? result.getPlayer1() : result.getWinner());
+            }
+
+            matchNumber += round.size();
+            remaining = advancing;
+        }
+    }
+
+    /*
+     * Submits every pairing in a round to the executor and waits for all of them.
+     * Each finished match is also handed to the collector.
+     */
+    private List<MatchResult> playRound(final List<String[]> round,
+                                        final int firstMatchNumber,
+                                        final ExecutorService executor,
+                                        final BlockingQueue<MatchResult> results)
+    throws InterruptedException
+    {
+        final List<Future<MatchResult>> futures;
+        final List<MatchResult>         finished;
+
+        futures  = new ArrayList<>();
+        finished = new ArrayList<>();
+
+        for (int i = 0; i < round.size(); i++)
+        {
+            final String[] pairing;
+            final long     matchSeed;
+
+            pairing   = round.get(i);
+            matchSeed = seed + firstMatchNumber + i;
+
+            futures.add(executor.submit(() -> playMatch(pairing[0], pairing[1], matchSeed, format == Format.BRACKET)));
+        }
+
+        for (final Future<MatchResult> future : futures)
+        {
+            final MatchResult result;
+
+            try
+            {
+                result = future.get();
+            } catch (final ExecutionException e)
+            {
+                throw new IllegalStateException("Match failed", e.getCause());
+            }
+
+            results.put(result);
+            finished.add(result);
+        }
+
+        return finished;
+    }
+
+    /*
+     * Plays one match. Each player receives TOTAL_ROUNDS random words picked for them by their opponent,
+     * exactly like the two-player GUI game, and guesses them with a CandidateFilterStrategy.
+     * With sudden death, a tie is played on one word at a time until it is broken or the limit is reached.
+     */
+    private MatchResult playMatch(final String player1,
+                                  final String player2,
+                                  final long matchSeed,
+                                  final boolean suddenDeath)
+    {
+        final Random random;
+        int          score1;
+        int          score2;
+
+        random = new Random(matchSeed);
+        score1 = playWords(random, TwistedWordle.TOTAL_ROUNDS);
+        score2 = playWords(random, TwistedWordle.TOTAL_ROUNDS);
+
+        for (int round = 0; suddenDeath && score1 == score2 && round < MAX_SUDDEN_DEATH_ROUNDS; round++)
+        {
+            score1 += playWords(random, 1);
+            score2 += playWords(random, 1);
+        }
+
+        return new MatchResult(player1, player2, score1, score2);
+    }
+
+    /*
+     * Plays one player's turns on random words with a fresh strategy and returns the points.
+     */
+    private int playWords(final Random random,
+                          final int count)
+    {
+        return WordleEngine.playRounds(pickWords(random, count),
+                                       new CandidateFilterStrategy(words, random),
+                                       WordleEngine.STOPPED_CLOCK);
+    }
+
+    /*
+     * Picks random target words.
+     */
+    private List<String> pickWords(final Random random,
+                                   final int count)
+    {
+        final List<String> picked;
+        picked = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            picked.add(words.get(random.nextInt(words.size())));
+        }
+        return picked;
+    }
+
+    /**
+     * Builds a round-robin schedule using the circle method.
+     * The first player stays fixed while the rest rotate, so every pair meets exactly once
+     * and no player appears twice in the same round. With an odd number of players one
+     * player sits out each round.
+     *
+     * @param players the player names
+     * @return the rounds, each a list of two-element pairings
+     */
+    public static List<List<String[]>> roundRobinSchedule(final List<String> players)
+    {
+        validatePlayers(players);
+
+        final List<String>         circle;
+        final List<List<String[]>> rounds;
+        final int                  size;
+
+        circle = new ArrayList<>(players);
+        rounds = new ArrayList<>();
+
+        if (circle.size() % 2 != NOTHING)
+        {
+            circle.add(null); // bye
+        }
+
+        size = circle.size();
+
+        for (int round = 0; round < size - 1; round++)
+        {
+            final List<String[]> pairings;
+            pairings = new ArrayList<>();
+
+            for (int i = 0; i < size / 2; i++)
+            {
+                final String home;
+                final String away;
+
+                home = circle.get(i);
+                away = circle.get(size - 1 - i);
+
+                if (home != null &&
+                    away != null)
+                {
+                    pairings.add(new String[] {home, away});
+                }
+            }
+
+            rounds.add(pairings);
+
+            // Rotate everyone except the first player one position clockwise
+            circle.add(1, circle.remove(size - 1));
+        }
+
+        return rounds;
+    }
+
+    /**
+     * Runs a headless tournament from the command line and prints the standings.
+     * Usage: Tournament [--bracket] player1 player2 [player3 ...]
+     *
+     * @param args the optional format flag followed by the player names
+     */
+    public static void main(final String[] args)
+    {
+        final List<String> names;
+        final Format       chosenFormat;
+
+        names = new ArrayList<>(Arrays.asList(args));
+
+        if (!names.isEmpty() &&
+            names.get(FIRST_INDEX).equals(BRACKET_FLAG))
+        {
+            names.remove(FIRST_INDEX);
+            chosenFormat = Format.BRACKET;
+        }
+        else
+        {
+            chosenFormat = Format.ROUND_ROBIN;
+        }
+
+        try
+        {
+            final Tournament tournament;
+            final long       startTime;
+            final Standings  standings;
+
+            tournament = new Tournament(names,
+                                        WordLoader.loadAndProcessWords(TwistedWordle.WORD_FILE_PATH),
+                                        chosenFormat,
+                                        DEFAULT_SEED);
+            startTime  = System.currentTimeMillis();
+            standings  = tournament.play();
+
+            System.out.println(standings);
+            System.out.println("Finished in " +
+                               (System.currentTimeMillis() - startTime) +
+                               " ms on " +
+                               Runtime.getRuntime().availableProcessors() +
+                               " cores.");
+        } catch (final IOException | IllegalArgumentException e)
+        {
+            System.err.println("Could not run tournament: " + e.getMessage());
+        } catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
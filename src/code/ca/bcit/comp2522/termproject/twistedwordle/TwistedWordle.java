@@ -1,5 +1,10 @@
 package ca.bcit.comp2522.termproject.twistedwordle;
 
+import ca.bcit.comp2522.termproject.events.FxEventListener;
+import ca.bcit.comp2522.termproject.events.GameEvent;
+import ca.bcit.comp2522.termproject.events.GameEventBus;
+import ca.bcit.comp2522.termproject.events.GameEventType;
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
 import javafx.animation.AnimationTimer;
 import javafx.animation.PauseTransition;
 import javafx.application.Application;
@@ -21,6 +26,8 @@ import javafx.stage.StageStyle;
 import javafx.stage.WindowEvent;
 import javafx.util.Duration;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -98,6 +105,10 @@ public final class TwistedWordle
 
     /* Error message for null stage arguments. */
     private static final String STAGE_MESSAGE = "Stage cannot be null";
+    /* Name this game publishes under on the event bus. */
+    private static final String GAME_NAME     = "TwistedWordle";
+    /* Event detail for a game that ended level. */
+    private static final String TIE           = "TIE";
 
 
     /* Stores Player 1's name entered during console setup. */
@@ -140,12 +151,22 @@ public final class TwistedWordle
     private Player         player2;
     /* Timestamp marking the start of the current turn timer. */
     private long           startTime;
+    /* System.nanoTime() at the start of the current turn, for metrics. */
+    private long           turnStartNanos;
     /* AnimationTimer used to update the turn timer display. */
     private AnimationTimer timer;
     /* The current round number (1-based). */
     private int            currentRound;
     /* The primary stage for the JavaFX application. */
     private Stage          primaryStage;
+    /* This window's subscription to the game's events, which paint the grid and scoreboard. */
+    private GameEventBus.Subscription uiEvents;
+    /* The grid row of the guess whose feedback arrives next on the event bus. */
+    private int            eventRow;
+    /* The dropped-event count already repainted over; the bus may drop events under load. */
+    private long           repaintedDrops;
+    /* The guesses made so far this turn, to repaint the grid from if the bus dropped an event. */
+    private final List<String> turnGuesses = new ArrayList<>();
 
     /*
      * Validates that the list of words chosen for a player is not null
@@ -324,6 +345,12 @@ public final class TwistedWordle
                                          timer.stop();
                                          timer = null; // Release reference
                                      }
+                                     // Stop receiving game events for this window.
+                                     if (uiEvents != null)
+                                     {
+                                         uiEvents.close();
+                                         uiEvents = null;
+                                     }
                                      // Execute the global onCloseCallback if it's set.
                                      if (onCloseCallback != null)
                                      {
@@ -352,6 +379,10 @@ public final class TwistedWordle
             // Build the game's user interface.
             initializeGameUI(stage);
 
+            // The grid and scoreboard are painted from the game's own events.
+            uiEvents = GameEventBus.getDefault().subscribe("twisted-wordle-ui",
+                                                           new FxEventListener(GAME_NAME, this::onGameEvent));
+
             // Start the first turn of the game.
             startTurn(currentPlayer);
 
@@ -491,11 +522,8 @@ public final class TwistedWordle
         }
 
         // 2. Prepare for Grid Update
-        final int       currentAttempt; // Row index for the current guess
-        final boolean[] targetMatched;  // Tracks if target letter positions are matched (green/yellow)
-        final boolean[] guessMatched;   // Tracks if guess letter positions are matched (green/yellow)
-
-        currentAttempt = MAX_ATTEMPTS - attemptsLeft; // Calculate row (0-indexed)  
+        final int currentAttempt; // Row index for the current guess
+        currentAttempt = MAX_ATTEMPTS - attemptsLeft; // Calculate row (0-indexed)
         // Check for valid row index, though attemptsLeft logic should prevent out-of-bounds
         if (currentAttempt < 0 || currentAttempt >= MAX_ATTEMPTS)
         {
@@ -505,66 +533,21 @@ public final class TwistedWordle
             return;
         }
 
-        targetMatched = new boolean[WORD_LENGTH];
-        guessMatched  = new boolean[WORD_LENGTH];
+        GameMetrics.WORDLE_GUESSES.increment();
+        turnGuesses.add(guess);
 
-        // 3. First Pass: Check for Correct Letters in Correct Positions (Green)
-        for (int i = 0; i < WORD_LENGTH; i++)
-        {
-            final char  guessedChar  = guess.charAt(i);
-            final char  targetChar   = targetWord.charAt(i);
-            final Label currentLabel = gridLabels[currentAttempt][i];
-
-            currentLabel.setText(String.valueOf(guessedChar));
+        final GameEventBus bus;
+        bus = GameEventBus.getDefault();
+        bus.publish(GameEventType.GUESS_SUBMITTED, GAME_NAME, currentPlayer.getName(), guess, currentAttempt);
 
-            if (guessedChar == targetChar)
-            {
-                // Correct letter, correct position (Green)
-                currentLabel.setStyle("-fx-background-color: #6aaa64; " + // Green background
-                                      "-fx-text-fill: white; " +          // White text
-                                      "-fx-border-color: #444; " +         // Darker border
-                                      "-fx-border-width: 1;");
-                targetMatched[i] = true; // Mark target position as matched
-                guessMatched[i]  = true;  // Mark guess position as matched
-            }
-            else
-            {
-                // Initially assume incorrect (Gray) - may change to yellow in the second pass
-                currentLabel.setStyle("-fx-background-color: #787c7e; " + // Gray background
-                                      "-fx-text-fill: white; " +          // White text
-                                      "-fx-border-color: #444; " +         // Darker border
-                                      "-fx-border-width: 1;");
-            }
-        }
-
-        // 4. Second Pass: Check for Correct Letters in Wrong Positions (Yellow)
-        for (int i = 0; i < WORD_LENGTH; i++) // Iterate through guess letters  
-        {
-            if (!guessMatched[i]) // Only check letters not already marked green
-            {
-                char  guessedChar  = guess.charAt(i);
-                Label currentLabel = gridLabels[currentAttempt][i];
-
-                // Check against unmatched target letters
-                for (int j = 0; j < WORD_LENGTH; j++) // Iterate through target letters  
-                {
-                    // If target letter at j is not already matched (green/yellow)
-                    // and the current guessed letter matches it
-                    if (!targetMatched[j] && guessedChar == targetWord.charAt(j))
-                    {
-                        // Correct letter, wrong position (Yellow)
-                        currentLabel.setStyle("-fx-background-color: #c9b458; " + // Yellow background
-                                              "-fx-text-fill: white; " +          // White text
-                                              "-fx-border-color: #444;" +          // Darker border
-                                              " -fx-border-width: 1;");
-                        targetMatched[j] = true; // Mark this target letter position as used for yellow
-                        guessMatched[i]  = true;  // Mark this guess letter as matched (yellow)
-                        break; // Stop checking target letters for this guessed char once a yellow match is found
-                    }
-                }
-                // If loop finishes and guessMatched[i] is still false, it remains gray
-            }
-        }
+        // 3. Evaluate the guess with the headless engine; the UI subscriber colours the grid from the event
+        final byte[] feedback;
+        feedback = WordleEngine.evaluateGuess(guess, targetWord);
+        bus.publish(GameEventType.FEEDBACK_COMPUTED,
+                    GAME_NAME,
+                    currentPlayer.getName(),
+                    guess,
+                    WordleEngine.packFeedback(feedback));
 
         attemptsLeft--;
 
@@ -587,13 +570,15 @@ public final class TwistedWordle
             score = calculateScore(attemptsLeft + OFFSET, timeLeft);
 
             currentPlayer.addScore(score);
+            GameMetrics.WORDLE_TIME_TO_CORRECT.recordSince(turnStartNanos);
+            GameMetrics.WORDLE_TURN_DURATION.recordSince(turnStartNanos);
+            bus.publish(GameEventType.TURN_ENDED, GAME_NAME, currentPlayer.getName(), targetWord, score);
 
             messageLabel.setText("Correct! " +
                                  currentPlayer.getName() +
                                  " guessed the word!");
 
-            inputField.setDisable(true); // Disable input until next turn
-            updateScoreboard(); // Display updated scores
+            inputField.setDisable(true); // Disable input until next turn; the scoreboard follows TURN_ENDED
 
             // Pause briefly before moving to the next turn/round
             final PauseTransition delay;
@@ -608,6 +593,9 @@ public final class TwistedWordle
                 timer.stop(); // Stop the turn timer
             }
 
+            bus.publish(GameEventType.TURN_ENDED, GAME_NAME, currentPlayer.getName(), targetWord, NOTHING);
+            GameMetrics.WORDLE_TURN_DURATION.recordSince(turnStartNanos);
+
             messageLabel.setText("Out of attempts! The word was: " +
                                  targetWord); // Reveal the word
             inputField.setDisable(true); // Disable input
@@ -626,6 +614,112 @@ public final class TwistedWordle
         }
     }
 
+    /*
+     * Updates the UI from one of this game's events, on the JavaFX Application Thread.
+     * A submitted guess names the grid row, its feedback fills that row, and a finished turn
+     * refreshes the scoreboard.
+     */
+    private void onGameEvent(final GameEvent event,
+                             final long sequence)
+    {
+        // The state already covers this event, so after a repaint there is nothing left to apply
+        if (repaintIfEventsDropped())
+        {
+            return;
+        }
+
+        if (event.getType() == GameEventType.GUESS_SUBMITTED)
+        {
+            eventRow = (int) event.getValue();
+        }
+        else if (event.getType() == GameEventType.FEEDBACK_COMPUTED)
+        {
+            paintRow(eventRow, event.getDetail(), event.getValue());
+        }
+        else if (event.getType() == GameEventType.TURN_ENDED)
+        {
+            updateScoreboard();
+        }
+    }
+
+    /*
+     * Repaints the grid and scoreboard from the game's own state if the bus dropped any events
+     * since the last check, since a lost event would otherwise leave a row or score stale.
+     * Returns whether it repainted.
+     */
+    private boolean repaintIfEventsDropped()
+    {
+        if (uiEvents == null ||
+            uiEvents.getDropped() == repaintedDrops)
+        {
+            return false;
+        }
+
+        repaintedDrops = uiEvents.getDropped();
+
+        for (int row = 0; row < turnGuesses.size(); row++)
+        {
+            final String guess;
+            guess = turnGuesses.get(row);
+
+            paintRow(row, guess, WordleEngine.packFeedback(WordleEngine.evaluateGuess(guess, targetWord)));
+        }
+
+        updateScoreboard();
+        return true;
+    }
+
+    /*
+     * Shows a guess in a grid row, each cell coloured by its packed feedback code.
+     */
+    private void paintRow(final int row,
+                          final String guess,
+                          final long packedFeedback)
+    {
+        if (row < NOTHING ||
+            row >= MAX_ATTEMPTS ||
+            guess == null ||
+            guess.length() != WORD_LENGTH)
+        {
+            return;
+        }
+
+        for (int i = 0; i < WORD_LENGTH; i++)
+        {
+            final Label currentLabel = gridLabels[row][i];
+
+            currentLabel.setText(String.valueOf(guess.charAt(i)));
+            currentLabel.setStyle(styleForFeedback(WordleEngine.unpackFeedback(packedFeedback, i)));
+        }
+    }
+
+    /*
+     * Gets the grid cell style for a feedback code from WordleEngine:
+     * green for the correct position, yellow for the wrong position, gray otherwise.
+     */
+    private static String styleForFeedback(final byte code)
+    {
+        final String background;
+
+        if (code == WordleEngine.CORRECT)
+        {
+            background = "#6aaa64"; // Green
+        }
+        else if (code == WordleEngine.PRESENT)
+        {
+            background = "#c9b458"; // Yellow
+        }
+        else
+        {
+            background = "#787c7e"; // Gray
+        }
+
+        return "-fx-background-color: " + background + "; " +
+               "-fx-text-fill: white; " +
+               "-fx-border-color: #444; " +
+               "-fx-border-width: 1;";
+    }
+
     /**
      * Prepares the game state for the next turn or ends the game if all rounds are completed.
      * Stops the current timer, determines the next player, increments the round counter if necessary,
@@ -725,6 +819,7 @@ public final class TwistedWordle
         }
 
         // Prepare the UI for the new turn
+        turnGuesses.clear();
         resetGrid();
 
         // Display turn prompt
@@ -787,37 +882,8 @@ public final class TwistedWordle
     public int calculateScore(final int attemptsLeftBeforeGuess,
                               final int timeLeft)
     {
-        // Validate inputs
-        validateNumberForCalculation(attemptsLeftBeforeGuess);
-        validateNumberForCalculation(timeLeft);
-
-        int attemptsScore;
-
-        // Calculate points based on remaining attempts (more attempts left = higher score)
-        if (attemptsLeftBeforeGuess > NOTHING)
-        {  
-            // corresponds to attemptsLeftBeforeGuess = 1 here.
-            attemptsScore = attemptsLeftBeforeGuess * ATTEMPTS_LEFT_MULTIPLIER;  
-        }
-        else
-        {
-            attemptsScore = NOTHING;  
-        }
-
-        // Total score combines base points, attempt bonus, and time bonus.
-        return BASE_CORRECT_SCORE + attemptsScore + Math.max(NOTHING, timeLeft);
-    }
-
-    /*
-     * Validates that a number used in score calculation is not negative.
-     * Throws an IllegalArgumentException if the number is negative.
-     */
-    private static void validateNumberForCalculation(final int num)
-    {
-        if (num < NOTHING)
-        {  
-            throw new IllegalArgumentException("Number for score calculation cannot be negative: " + num);
-        }
+        // The scoring rules live in the headless engine so simulated games score identically.
+        return WordleEngine.calculateScore(attemptsLeftBeforeGuess, timeLeft);
     }
 
     /*
@@ -857,7 +923,8 @@ public final class TwistedWordle
         }
 
         // Record the system time when the timer starts
-        startTime = System.currentTimeMillis();
+        startTime      = System.currentTimeMillis();
+        turnStartNanos = System.nanoTime();
 
         // Create a new AnimationTimer instance
         timer = new AnimationTimer()
@@ -886,6 +953,13 @@ public final class TwistedWordle
                     this.stop();
                     timer = null;
 
+                    GameEventBus.getDefault().publish(GameEventType.TURN_ENDED,
+                                                      GAME_NAME,
+                                                      currentPlayer.getName(),
+                                                      targetWord,
+                                                      NOTHING);
+                    GameMetrics.WORDLE_TURN_DURATION.recordSince(turnStartNanos);
+
                     messageLabel.setText("Time's up, " + currentPlayer.getName() +
                                          "! The word was: " + targetWord); // Reveal word
                     inputField.setDisable(true);
@@ -901,6 +975,9 @@ public final class TwistedWordle
                 {
                     // Update the timer label display
                     timerLabel.setText("Time left: " + timeLeft);
+
+                    // Catches a dropped last event, which no later event would reveal
+                    repaintIfEventsDropped();
                 }
             }
         };
@@ -931,10 +1008,78 @@ public final class TwistedWordle
         // Ensure the final scores are displayed correctly
         updateScoreboard();
 
+        recordProfiles();
+        publishGameOver();
+
         // Show the winner/tie popup window on the JavaFX Application Thread
         Platform.runLater(this::showWinnerPopup);
     }
 
+    /*
+     * Publishes the GAME_OVER event with the winner's name (or TIE) and the winning score.
+     */
+    private void publishGameOver()
+    {
+        if (player1 == null ||
+            player2 == null)
+        {
+            return;
+        }
+
+        final String winner;
+        final int    winningScore;
+
+        winningScore = Math.max(player1.getScore(), player2.getScore());
+
+        if (player1.getScore() == player2.getScore())
+        {
+            winner = TIE;
+        }
+        else if (player1.getScore() > player2.getScore())
+        {
+            winner = player1.getName();
+        }
+        else
+        {
+            winner = player2.getName();
+        }
+
+        GameEventBus.getDefault().publish(GameEventType.GAME_OVER, GAME_NAME, null, winner, winningScore);
+    }
+
+    /*
+     * Adds this game to both players' lifetime profiles and saves the profile store.
+     * A tie counts as a game played but not a win for either player.
+     */
+    private void recordProfiles()
+    {
+        if (player1 == null ||
+            player2 == null)
+        {
+            return;
+        }
+
+        final PlayerProfileStore store;
+        store = PlayerFactory.getProfileStore();
+
+        store.recordGame(player1.getName(),
+                         player1.getScore(),
+                         player1.getScore() > player2.getScore(),
+                         player1.getBestTurn());
+        store.recordGame(player2.getName(),
+                         player2.getScore(),
+                         player2.getScore() > player1.getScore(),
+                         player2.getBestTurn());
+
+        try
+        {
+            store.save();
+        } catch (final IOException e)
+        {
+            System.err.println("Could not save player profiles: " + e.getMessage());
+        }
+    }
+
     /*
      * Creates and displays a modal popup window (dialog) showing the final scores
      * and declaring the winner or a tie based on the scores.
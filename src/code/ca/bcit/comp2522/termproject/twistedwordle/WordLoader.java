@@ -1,5 +1,7 @@
 package ca.bcit.comp2522.termproject.twistedwordle;
 
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -50,14 +52,22 @@ public final class WordLoader
 
         validateFileExistence(filePath);
 
+        final long        loadStart;
+        final Set<String> words;
+
+        loadStart = System.nanoTime();
+
         // Read all lines, trim whitespace, filter by length, convert to uppercase, collect into a Set.
         // Access WORD_LENGTH from TwistedWordle
-        return Files.readAllLines(filePath)
-                    .stream()
-                    .map(String::trim)
-                    .filter(word -> word.length() == TwistedWordle.WORD_LENGTH)
-                    .map(String::toUpperCase)
-                    .collect(Collectors.toSet());
+        words = Files.readAllLines(filePath)
+                     .stream()
+                     .map(String::trim)
+                     .filter(word -> word.length() == TwistedWordle.WORD_LENGTH)
+                     .map(String::toUpperCase)
+                     .collect(Collectors.toSet());
+
+        GameMetrics.WORD_LIST_LOAD.recordSince(loadStart);
+        return words;
     }
 
     /*
@@ -0,0 +1,311 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * The headless core of Twisted Wordle.
+ * Evaluates guesses against a target word and scores turns without touching any JavaFX state,
+ * so the same rules can drive the GUI as well as simulated games such as tournaments.
+ * <p>
+ * This class provides the following functionality:
+ * - Computing per-letter feedback (correct position, wrong position, absent) for a guess.
+ * - Calculating the score awarded for a correct guess.
+ * - Playing a complete turn against a target word using a GuessStrategy.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class WordleEngine
+{
+    /**
+     * Feedback code for a letter that does not appear in the target word (gray).
+     */
+    public static final byte ABSENT  = 0;
+    /**
+     * Feedback code for a letter that appears in the target word at another position (yellow).
+     */
+    public static final byte PRESENT = 1;
+    /**
+     * Feedback code for a letter in the correct position (green).
+     */
+    public static final byte CORRECT = 2;
+    /**
+     * A clock in milliseconds that never moves, for simulated players that answer instantly.
+     * Turns timed by it never run out and always earn the full time bonus, so the points
+     * depend only on the guesses and a seeded game gives the same result every time.
+     */
+    public static final LongSupplier STOPPED_CLOCK = () -> 0L;
+
+    private static final int NOTHING       = 0;
+    private static final int BITS_PER_CODE = 2;
+    private static final int CODE_MASK     = (1 << BITS_PER_CODE) - 1;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private WordleEngine()
+    {}
+
+    /**
+     * Evaluates a guess against the target word.
+     * Letters in the correct position are marked first, then the remaining letters are
+     * matched against unused target letters, so duplicate letters are only credited once.
+     *
+     * @param guess  the guessed word, must have TwistedWordle.WORD_LENGTH letters
+     * @param target the word being guessed, must have TwistedWordle.WORD_LENGTH letters
+     * @return an array holding one feedback code (ABSENT, PRESENT or CORRECT) per letter
+     * @throws IllegalArgumentException if either word has the wrong length
+     */
+    public static byte[] evaluateGuess(final String guess,
+                                       final String target)
+    {
+        validateWord(guess);
+        validateWord(target);
+
+        final byte[]    feedback;
+        final boolean[] targetMatched;
+
+        feedback      = new byte[TwistedWordle.WORD_LENGTH];
+        targetMatched = new boolean[TwistedWordle.WORD_LENGTH];
+
+        // First pass: correct letters in the correct position
+        for (int i = 0; i < TwistedWordle.WORD_LENGTH; i++)
+        {
+            if (guess.charAt(i) == target.charAt(i))
+            {
+                feedback[i]      = CORRECT;
+                targetMatched[i] = true;
+            }
+        }
+
+        // Second pass: correct letters in the wrong position
+        for (int i = 0; i < TwistedWordle.WORD_LENGTH; i++)
+        {
+            if (feedback[i] == CORRECT)
+            {
+                continue;
+            }
+
+            for (int j = 0; j < TwistedWordle.WORD_LENGTH; j++)
+            {
+                if (!targetMatched[j] &&
+                    guess.charAt(i) == target.charAt(j))
+                {
+                    feedback[i]      = PRESENT;
+                    targetMatched[j] = true;
+                    break;
+                }
+            }
+        }
+
+        return feedback;
+    }
+
+    /**
+     * Checks whether every letter in the feedback is in the correct position.
+     *
+     * @param feedback the feedback returned by evaluateGuess
+     * @return true if the guess solved the word
+     */
+    public static boolean isSolved(final byte[] feedback)
+    {
+        Objects.requireNonNull(feedback, "Feedback cannot be null");
+
+        for (final byte code : feedback)
+        {
+            if (code != CORRECT)
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Packs feedback codes into a single number, two bits per letter with the first letter
+     * in the lowest bits. Used to publish feedback on the event bus without allocating.
+     *
+     * @param feedback the feedback returned by evaluateGuess
+     * @return the packed feedback
+     */
+    public static int packFeedback(final byte[] feedback)
+    {
+        Objects.requireNonNull(feedback, "Feedback cannot be null");
+
+        int packed;
+        packed = NOTHING;
+
+        for (int i = 0; i < feedback.length; i++)
+        {
+            packed |= feedback[i] << (i * BITS_PER_CODE);
+        }
+        return packed;
+    }
+
+    /**
+     * Gets one letter's feedback code back out of packed feedback.
+     *
+     * @param packed   the feedback packed by packFeedback
+     * @param position the letter's position in the word
+     * @return the feedback code (ABSENT, PRESENT or CORRECT) for that letter
+     */
+    public static byte unpackFeedback(final long packed,
+                                      final int position)
+    {
+        return (byte) ((packed >>> (position * BITS_PER_CODE)) & CODE_MASK);
+    }
+
+    /**
+     * Calculates the score awarded for a correct guess.
+     * The score is calculated as: Base Score + (Attempts Left * Multiplier) + Time Left.
+     *
+     * @param attemptsLeftBeforeGuess the attempts remaining before the correct guess (non-negative)
+     * @param timeLeft                the seconds remaining on the turn timer (non-negative)
+     * @return the calculated score
+     * @throws IllegalArgumentException if either argument is negative
+     */
+    public static int calculateScore(final int attemptsLeftBeforeGuess,
+                                     final int timeLeft)
+    {
+        validateNumberForCalculation(attemptsLeftBeforeGuess);
+        validateNumberForCalculation(timeLeft);
+
+        final int attemptsScore;
+        attemptsScore = attemptsLeftBeforeGuess * TwistedWordle.ATTEMPTS_LEFT_MULTIPLIER;
+
+        return TwistedWordle.BASE_CORRECT_SCORE + attemptsScore + timeLeft;
+    }
+
+    /**
+     * Plays one complete turn without a GUI.
+     * The strategy keeps guessing until it solves the word, runs out of attempts,
+     * or the turn time expires. Time is measured in wall-clock seconds like the GUI timer.
+     *
+     * @param target   the word to guess
+     * @param strategy the strategy producing guesses, reset at the start of the turn
+     * @return the points earned this turn (NOTHING if the word was not solved)
+     */
+    public static int playTurn(final String target,
+                               final GuessStrategy strategy)
+    {
+        return playTurn(target, strategy, System::currentTimeMillis);
+    }
+
+    /**
+     * Plays one complete turn without a GUI, timed by the given clock.
+     * The strategy keeps guessing until it solves the word, runs out of attempts,
+     * or the turn time expires.
+     *
+     * @param target   the word to guess
+     * @param strategy the strategy producing guesses, reset at the start of the turn
+     * @param clock    the current time in milliseconds, such as STOPPED_CLOCK for repeatable results
+     * @return the points earned this turn (NOTHING if the word was not solved)
+     */
+    public static int playTurn(final String target,
+                               final GuessStrategy strategy,
+                               final LongSupplier clock)
+    {
+        validateWord(target);
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        Objects.requireNonNull(clock, "Clock cannot be null");
+
+        final long startTime;
+        startTime = clock.getAsLong();
+
+        strategy.reset();
+
+        for (int attemptsLeft = TwistedWordle.MAX_ATTEMPTS; attemptsLeft > NOTHING; attemptsLeft--)
+        {
+            final long elapsedTime;
+            final int  timeLeft;
+
+            elapsedTime = (clock.getAsLong() - startTime) / TwistedWordle.TIME_FORMAT;
+            timeLeft    = TwistedWordle.TURN_TIME - (int) elapsedTime;
+
+            if (timeLeft <= NOTHING)
+            {
+                return NOTHING;
+            }
+
+            final String guess;
+            final byte[] feedback;
+
+            guess    = strategy.nextGuess().toUpperCase();
+            feedback = evaluateGuess(guess, target);
+
+            if (isSolved(feedback))
+            {
+                return calculateScore(attemptsLeft, timeLeft);
+            }
+
+            strategy.onFeedback(guess, feedback);
+        }
+
+        return NOTHING;
+    }
+
+    /**
+     * Plays one turn for each target word in order and returns the total points.
+     *
+     * @param targets  the words to guess, one per round
+     * @param strategy the strategy producing guesses
+     * @return the total points earned over all rounds
+     */
+    public static int playRounds(final List<String> targets,
+                                 final GuessStrategy strategy)
+    {
+        return playRounds(targets, strategy, System::currentTimeMillis);
+    }
+
+    /**
+     * Plays one turn for each target word in order, timed by the given clock, and returns the total points.
+     *
+     * @param targets  the words to guess, one per round
+     * @param strategy the strategy producing guesses
+     * @param clock    the current time in milliseconds, such as STOPPED_CLOCK for repeatable results
+     * @return the total points earned over all rounds
+     */
+    public static int playRounds(final List<String> targets,
+                                 final GuessStrategy strategy,
+                                 final LongSupplier clock)
+    {
+        Objects.requireNonNull(targets, "Targets cannot be null");
+
+        int total;
+        total = NOTHING;
+
+        for (final String target : targets)
+        {
+            total += playTurn(target, strategy, clock);
+        }
+        return total;
+    }
+
+    /*
+     * Validates that a word is non-null and has exactly WORD_LENGTH letters.
+     */
+    private static void validateWord(final String word)
+    {
+        if (word == null ||
+            word.length() != TwistedWordle.WORD_LENGTH)
+        {
+            throw new IllegalArgumentException("Word must be exactly " +
+                                               TwistedWordle.WORD_LENGTH +
+                                               " letters long: " +
+                                               word);
+        }
+    }
+
+    /*
+     * Validates that a number used in score calculation is not negative.
+     */
+    private static void validateNumberForCalculation(final int num)
+    {
+        if (num < NOTHING)
+        {
+            throw new IllegalArgumentException("Number for score calculation cannot be negative: " + num);
+        }
+    }
+}
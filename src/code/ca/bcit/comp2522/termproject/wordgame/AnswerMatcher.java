@@ -0,0 +1,180 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a typed answer means the expected country or capital, allowing for
+ * accents, case, punctuation and small typing mistakes.
+ * <p>
+ * Answers are first normalized: accents are folded ("C\u00f4te" becomes "cote"), case is
+ * ignored, apostrophes and full stops are dropped and other punctuation becomes a space.
+ * A normalized answer that is not exact is still accepted if it is within a few edits of
+ * the expected answer (none for very short names, one for short names, two otherwise) and
+ * no other known name is as close. That second check keeps "Austria" from passing for
+ * "Australia", and "Nigera" from passing for either "Niger" or "Nigeria". It is a search
+ * of a BK-tree built once over every known name, so a check compares the guess with only a
+ * fraction of the names instead of all of them.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class AnswerMatcher
+{
+    private static final Pattern ACCENTS     = Pattern.compile("\\p{M}+");
+    private static final Pattern DROPPED     = Pattern.compile("['\u2019.]");
+    private static final Pattern SEPARATORS  = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final String  SPACE       = " ";
+    private static final int     SHORT_NAME  = 4;
+    private static final int     MEDIUM_NAME = 7;
+    private static final int     NO_EDITS    = 0;
+    private static final int     ONE_EDIT    = 1;
+    private static final int     TWO_EDITS   = 2;
+
+    private final BkTree names;
+
+    /**
+     * Constructs a matcher over every country name and capital city in a world.
+     *
+     * @param world the world whose names are known
+     */
+    public AnswerMatcher(final World world)
+    {
+        this(namesIn(world));
+    }
+
+    /**
+     * Constructs a matcher over a set of known answers, such as names and their aliases.
+     *
+     * @param answers every answer a guess could be mistaken for
+     */
+    public AnswerMatcher(final Collection<String> answers)
+    {
+        Objects.requireNonNull(answers, "Answers cannot be null");
+
+        this.names = new BkTree();
+
+        for (final String answer : answers)
+        {
+            final String normalized;
+            normalized = normalize(answer);
+
+            if (!normalized.isEmpty())
+            {
+                names.add(normalized);
+            }
+        }
+    }
+
+    /*
+     * Gets every country name and capital city in a world.
+     */
+    private static List<String> namesIn(final World world)
+    {
+        Objects.requireNonNull(world, "World cannot be null");
+
+        final List<String> answers;
+        answers = new ArrayList<>();
+
+        for (final Country country : world.getCountries())
+        {
+            answers.add(country.getName());
+            answers.add(country.getCapitalCityName());
+        }
+
+        return answers;
+    }
+
+    /**
+     * Normalizes an answer for comparison: folds accents and case, drops apostrophes and
+     * full stops, and turns any other run of punctuation or spaces into a single space.
+     *
+     * @param answer the answer as typed or stored
+     * @return the normalized answer
+     */
+    public static String normalize(final String answer)
+    {
+        Objects.requireNonNull(answer, "Answer cannot be null");
+
+        String normalized;
+
+        normalized = Normalizer.normalize(answer, Normalizer.Form.NFD);
+        normalized = ACCENTS.matcher(normalized).replaceAll("");
+        normalized = DROPPED.matcher(normalized).replaceAll("");
+        normalized = SEPARATORS.matcher(normalized).replaceAll(SPACE);
+
+        return normalized.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Checks whether a guess should be accepted as the expected answer.
+     *
+     * @param guess    the answer as typed
+     * @param expected the correct answer
+     * @return true if the guess matches exactly after normalizing, or is a near miss
+     *         that is closer to the expected answer than to any other known name
+     */
+    public boolean matches(final String guess,
+                           final String expected)
+    {
+        Objects.requireNonNull(guess, "Guess cannot be null");
+        Objects.requireNonNull(expected, "Expected answer cannot be null");
+
+        final String typed;
+        final String answer;
+
+        typed  = normalize(guess);
+        answer = normalize(expected);
+
+        if (typed.equals(answer))
+        {
+            return true;
+        }
+
+        if (typed.isEmpty())
+        {
+            return false;
+        }
+
+        final int distance;
+        distance = BkTree.distance(typed, answer);
+
+        if (distance > allowedEdits(answer))
+        {
+            return false;
+        }
+
+        for (final String name : names.search(typed, distance))
+        {
+            if (!name.equals(answer))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Gets how many edits are forgiven for an answer of a given length.
+     */
+    private static int allowedEdits(final String answer)
+    {
+        if (answer.length() <= SHORT_NAME)
+        {
+            return NO_EDITS;
+        }
+
+        if (answer.length() <= MEDIUM_NAME)
+        {
+            return ONE_EDIT;
+        }
+
+        return TWO_EDITS;
+    }
+}
@@ -0,0 +1,766 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Counts how often each Word Game question is answered on the first try (a hit) or not
+ * (a miss), for every country and question: given its capital, given its name, and given
+ * each of its facts.
+ * <p>
+ * Counters are two int arrays with a fixed number of slots per country: slot 0 for the
+ * capital question, slot 1 for the country question and one slot per fact after that.
+ * Countries are keyed by name, so counts survive changes to the country files. A game counts
+ * its own session, and mergeInto adds those counts to the file at the end of the session.
+ * Merges hold an exclusive OS lock on a ".lock" file beside it, so sessions in other
+ * processes cannot lose each other's counts. The statistics file itself is replaced on
+ * every save, so it cannot carry the lock.
+ * <p>
+ * File layout (all numbers big-endian):
+ * - Header: magic number (int), format version (short), slots per country (int).
+ * - A StringArena of the country names.
+ * - The hit counters (int each), slots per country for each country in turn, then the miss counters.
+ * <p>
+ * The console game keeps one file per player, to schedule that player's questions, and
+ * merges every session into DEFAULT_FILE too, for a report across all players.
+ * Run as a program to print the hardest countries and facts from the file.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class AnswerStatistics
+{
+    /**
+     * The file the console game merges its sessions into.
+     */
+    public static final String DEFAULT_FILE = "scores/answers.dat";
+
+    /**
+     * The most characters in a player name, so every player's file name stays within file system limits.
+     */
+    public static final int MAX_PLAYER_NAME_LENGTH = 32;
+
+    private static final int    MAGIC            = 0x57474153; // "WGAS"
+    private static final short  VERSION          = 1;
+    private static final int    HEADER_BYTES     = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int    NOTHING          = 0;
+    private static final int    FIRST_TRY        = 0;
+    private static final int    CAPITAL_SLOT     = 0;
+    private static final int    COUNTRY_SLOT     = 1;
+    private static final int    FIRST_FACT_SLOT  = 2;
+    private static final int    DEFAULT_FACTS    = 3;
+    private static final int    INITIAL_CAPACITY = 256;
+    private static final int    DEFAULT_LIMIT    = 10;
+    private static final int    FILE_ARG         = 0;
+    private static final int    LIMIT_ARG        = 1;
+    private static final double PRIOR_MISSES     = 1.0;
+    private static final double PRIOR_ASKED      = 2.0;
+    private static final double PERCENT          = 100.0;
+    private static final String TEMP_SUFFIX      = ".tmp";
+    private static final String LOCK_SUFFIX      = ".lock";
+    private static final String PLAYER_PREFIX    = "scores/answers-";
+    private static final String PLAYER_SUFFIX    = ".dat";
+    private static final char   ESCAPE           = '_';
+
+    /* The JVM allows one lock per file per process, so merges in this process also take turns here. */
+    private static final Object MERGE_LOCK = new Object();
+
+    private final Map<String, Integer> ids;
+    private final List<String>         names;
+    private int                        slots;
+    private int[]                      hits;
+    private int[]                      misses;
+
+    /**
+     * Constructs empty statistics.
+     */
+    public AnswerStatistics()
+    {
+        this.ids    = new HashMap<>();
+        this.names  = new ArrayList<>();
+        this.slots  = FIRST_FACT_SLOT + DEFAULT_FACTS;
+        this.hits   = new int[INITIAL_CAPACITY * slots];
+        this.misses = new int[INITIAL_CAPACITY * slots];
+    }
+
+    /**
+     * Gets the file holding one player's answers.
+     * Names are compared ignoring case and surrounding spaces. Any character other than an ASCII
+     * letter or digit is written as its code point in hex between underscores, so every name
+     * gives a safe file name and no two names share one.
+     *
+     * @param player the player's name
+     * @return the player's statistics file
+     */
+    public static Path fileFor(final String player)
+    {
+        Objects.requireNonNull(player, "Player cannot be null");
+
+        final String        key;
+        final StringBuilder fileName;
+
+        key      = player.strip().toLowerCase(Locale.ROOT);
+        fileName = new StringBuilder(PLAYER_PREFIX);
+
+        if (key.isEmpty() ||
+            key.length() > MAX_PLAYER_NAME_LENGTH)
+        {
+            throw new IllegalArgumentException("Player name must be 1 to " + MAX_PLAYER_NAME_LENGTH +
+                                               " characters: " + player);
+        }
+
+        key.codePoints().forEach(codePoint ->
+        {
+            if (codePoint >= 'a' && codePoint <= 'z' ||
+                codePoint >= '0' && codePoint <= '9')
+            {
+                fileName.appendCodePoint(codePoint);
+            }
+            else
+            {
+                fileName.append(ESCAPE).append(Integer.toHexString(codePoint)).append(ESCAPE);
+            }
+        });
+
+        return Paths.get(fileName.append(PLAYER_SUFFIX).toString());
+    }
+
+    /**
+     * Records an answer to a question giving a country's capital and asking for the country.
+     *
+     * @param country the country asked about
+     * @param guesses the number of wrong guesses before the right answer, or the maximum if never answered
+     */
+    public void recordCapital(final String country,
+                              final int guesses)
+    {
+        record(country, CAPITAL_SLOT, guesses);
+    }
+
+    /**
+     * Records an answer to a question giving a country and asking for its capital.
+     *
+     * @param country the country asked about
+     * @param guesses the number of wrong guesses before the right answer, or the maximum if never answered
+     */
+    public void recordCountry(final String country,
+                              final int guesses)
+    {
+        record(country, COUNTRY_SLOT, guesses);
+    }
+
+    /**
+     * Records an answer to a question giving one of a country's facts and asking for the country.
+     *
+     * @param country   the country asked about
+     * @param factIndex which of the country's facts was given
+     * @param guesses   the number of wrong guesses before the right answer, or the maximum if never answered
+     */
+    public void recordFact(final String country,
+                           final int factIndex,
+                           final int guesses)
+    {
+        if (factIndex < NOTHING)
+        {
+            throw new IndexOutOfBoundsException("Invalid fact index: " + factIndex);
+        }
+
+        record(country, FIRST_FACT_SLOT + factIndex, guesses);
+    }
+
+    /*
+     * Counts one answer in a country's slot.
+     */
+    private void record(final String country,
+                        final int slot,
+                        final int guesses)
+    {
+        Objects.requireNonNull(country, "Country cannot be null");
+
+        if (guesses < FIRST_TRY)
+        {
+            throw new IllegalArgumentException("Guesses cannot be negative: " + guesses);
+        }
+
+        final int counter;
+        counter = counterOf(idFor(country), slot);
+
+        if (guesses == FIRST_TRY)
+        {
+            hits[counter]++;
+        }
+        else
+        {
+            misses[counter]++;
+        }
+    }
+
+    /*
+     * Gets the position of a country's slot in the counter arrays, widening every country if the slot is new.
+     */
+    private int counterOf(final int id,
+                          final int slot)
+    {
+        if (slot >= slots)
+        {
+            resize(hits.length / slots, slot + 1);
+        }
+
+        return id * slots + slot;
+    }
+
+    /*
+     * Gets a country's id, adding the country if it is new.
+     */
+    private int idFor(final String country)
+    {
+        final Integer known;
+        known = ids.get(country);
+
+        if (known != null)
+        {
+            return known;
+        }
+
+        final int id;
+        id = names.size();
+
+        if ((id + 1) * slots > hits.length)
+        {
+            resize(hits.length / slots * 2, slots);
+        }
+
+        ids.put(country, id);
+        names.add(country);
+        return id;
+    }
+
+    /*
+     * Copies the counters into arrays with room for a number of countries and slots per country.
+     */
+    private void resize(final int capacity,
+                        final int newSlots)
+    {
+        final int[] newHits;
+        final int[] newMisses;
+
+        newHits   = new int[capacity * newSlots];
+        newMisses = new int[capacity * newSlots];
+
+        for (int id = 0; id < names.size(); id++)
+        {
+            System.arraycopy(hits, id * slots, newHits, id * newSlots, slots);
+            System.arraycopy(misses, id * slots, newMisses, id * newSlots, slots);
+        }
+
+        hits   = newHits;
+        misses = newMisses;
+        slots  = newSlots;
+    }
+
+    /**
+     * Adds another set of statistics to these.
+     *
+     * @param other the statistics to add
+     */
+    public void merge(final AnswerStatistics other)
+    {
+        Objects.requireNonNull(other, "Other statistics cannot be null");
+
+        for (int otherId = 0; otherId < other.names.size(); otherId++)
+        {
+            final int id;
+            id = idFor(other.names.get(otherId));
+
+            for (int slot = 0; slot < other.slots; slot++)
+            {
+                final int from;
+                final int to;
+
+                from = otherId * other.slots + slot;
+                to   = counterOf(id, slot);
+
+                hits[to]   += other.hits[from];
+                misses[to] += other.misses[from];
+            }
+        }
+    }
+
+    /**
+     * Adds a session's statistics to those saved in a file and saves the total.
+     * A missing file counts as empty; a corrupt one is reported and replaced.
+     * The read, merge and save happen under the file's lock, so concurrent sessions all count.
+     *
+     * @param file    the statistics file
+     * @param session the statistics to add
+     * @throws IOException if the file cannot be read or saved
+     */
+    public static void mergeInto(final Path file,
+                                 final AnswerStatistics session)
+    throws IOException
+    {
+        Objects.requireNonNull(file, "File cannot be null");
+        Objects.requireNonNull(session, "Session cannot be null");
+
+        final Path lockFile;
+        lockFile = file.resolveSibling(file.getFileName() + LOCK_SUFFIX);
+
+        synchronized (MERGE_LOCK)
+        {
+            try (final FileChannel channel = FileChannel.open(lockFile,
+                                                              StandardOpenOption.CREATE,
+                                                              StandardOpenOption.WRITE))
+            {
+                final FileLock lock;
+                lock = channel.lock();
+
+                try
+                {
+                    final AnswerStatistics total;
+                    total = load(file);
+
+                    total.merge(session);
+                    total.write(file);
+                } finally
+                {
+                    lock.release();
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads statistics from a file.
+     * A missing file gives empty statistics, as does a corrupt one, which is reported.
+     *
+     * @param file the statistics file
+     * @return the statistics in the file
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static AnswerStatistics load(final Path file)
+    throws IOException
+    {
+        Objects.requireNonNull(file, "File cannot be null");
+
+        final AnswerStatistics statistics;
+        statistics = new AnswerStatistics();
+
+        if (Files.exists(file) &&
+            !statistics.read(file))
+        {
+            System.err.println("Starting over from corrupt answer statistics: " + file);
+            return new AnswerStatistics();
+        }
+
+        return statistics;
+    }
+
+    /*
+     * Reads a statistics file into these empty statistics. Returns false if it is corrupt.
+     */
+    private boolean read(final Path file)
+    throws IOException
+    {
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES ||
+                buffer.getInt() != MAGIC ||
+                buffer.getShort() != VERSION)
+            {
+                return false;
+            }
+
+            final int         fileSlots;
+            final StringArena arena;
+
+            fileSlots = buffer.getInt();
+            arena     = StringArena.read(buffer);
+
+            if (fileSlots < FIRST_FACT_SLOT ||
+                (long) arena.size() * fileSlots * Integer.BYTES * 2 != buffer.remaining())
+            {
+                return false;
+            }
+
+            // No counters back the slot count of an empty file, so it must not size the arrays
+            if (arena.size() == NOTHING)
+            {
+                return true;
+            }
+
+            resize(arena.size(), fileSlots);
+
+            for (int id = 0; id < arena.size(); id++)
+            {
+                if (ids.put(arena.get(id), id) != null)
+                {
+                    return false;
+                }
+                names.add(arena.get(id));
+            }
+
+            buffer.asIntBuffer().get(hits, NOTHING, arena.size() * fileSlots);
+            buffer.position(buffer.position() + arena.size() * fileSlots * Integer.BYTES);
+            buffer.asIntBuffer().get(misses, NOTHING, arena.size() * fileSlots);
+
+            return true;
+        } catch (final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Saves the statistics through a temporary file and an atomic move.
+     *
+     * @param file the statistics file
+     * @throws IOException if the file cannot be written
+     */
+    public void write(final Path file)
+    throws IOException
+    {
+        Objects.requireNonNull(file, "File cannot be null");
+
+        final StringArena arena;
+        final int         counters;
+        final ByteBuffer  buffer;
+        final Path        temp;
+
+        arena    = StringArena.of(names);
+        counters = names.size() * slots;
+        buffer   = ByteBuffer.allocate(HEADER_BYTES + arena.encodedSize() + counters * Integer.BYTES * 2);
+        temp     = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(slots);
+        arena.write(buffer);
+        buffer.asIntBuffer().put(hits, NOTHING, counters);
+        buffer.position(buffer.position() + counters * Integer.BYTES);
+        buffer.asIntBuffer().put(misses, NOTHING, counters);
+
+        Files.write(temp, buffer.array());
+        Files.move(temp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Gets how many questions about a country have been answered, of every kind.
+     *
+     * @param country the country name
+     * @return the number of answers
+     */
+    public int getAsked(final String country)
+    {
+        return getMissed(country) + sum(hits, country);
+    }
+
+    /**
+     * Gets how many questions about a country were not answered on the first try, of every kind.
+     *
+     * @param country the country name
+     * @return the number of misses
+     */
+    public int getMissed(final String country)
+    {
+        return sum(misses, country);
+    }
+
+    /**
+     * Gets how many questions giving one of a country's facts have been answered.
+     *
+     * @param country   the country name
+     * @param factIndex which of the country's facts
+     * @return the number of answers
+     */
+    public int getFactAsked(final String country,
+                            final int factIndex)
+    {
+        return getFactMissed(country, factIndex) + count(hits, country, FIRST_FACT_SLOT + factIndex);
+    }
+
+    /**
+     * Gets how many questions giving one of a country's facts were not answered on the first try.
+     *
+     * @param country   the country name
+     * @param factIndex which of the country's facts
+     * @return the number of misses
+     */
+    public int getFactMissed(final String country,
+                             final int factIndex)
+    {
+        return count(misses, country, FIRST_FACT_SLOT + factIndex);
+    }
+
+    /*
+     * Adds up a country's counters across every slot.
+     */
+    private int sum(final int[] counters,
+                    final String country)
+    {
+        Objects.requireNonNull(country, "Country cannot be null");
+
+        final Integer id;
+        int           total;
+
+        id    = ids.get(country);
+        total = NOTHING;
+
+        if (id != null)
+        {
+            for (int slot = 0; slot < slots; slot++)
+            {
+                total += counters[id * slots + slot];
+            }
+        }
+
+        return total;
+    }
+
+    /*
+     * Gets one of a country's counters, or zero if it has none.
+     */
+    private int count(final int[] counters,
+                      final String country,
+                      final int slot)
+    {
+        Objects.requireNonNull(country, "Country cannot be null");
+
+        final Integer id;
+        id = ids.get(country);
+
+        if (id == null ||
+            slot < FIRST_FACT_SLOT ||
+            slot >= slots)
+        {
+            return NOTHING;
+        }
+
+        return counters[id * slots + slot];
+    }
+
+    /*
+     * Describes the hardest countries and the hardest facts, most often missed first.
+     * Miss rates are smoothed so one unlucky answer does not top the list.
+     * Fact text comes from the world when it has the country, and is otherwise given by number.
+     */
+    String report(final World world,
+                  final int limit)
+    {
+        if (limit < NOTHING)
+        {
+            throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        }
+
+        final StringBuilder report;
+        final List<Integer> countries;
+        final List<Integer> facts;
+
+        report    = new StringBuilder();
+        countries = new ArrayList<>();
+        facts     = new ArrayList<>();
+
+        for (int id = 0; id < names.size(); id++)
+        {
+            if (missed(id, CAPITAL_SLOT, slots) + answered(id, CAPITAL_SLOT, slots) > NOTHING)
+            {
+                countries.add(id);
+            }
+
+            for (int slot = FIRST_FACT_SLOT; slot < slots; slot++)
+            {
+                if (answered(id, slot, slot + 1) + missed(id, slot, slot + 1) > NOTHING)
+                {
+                    facts.add(id * slots + slot);
+                }
+            }
+        }
+
+        countries.sort(Comparator.comparingDouble((Integer id) -> -missRate(id, CAPITAL_SLOT, slots))
+                                 .thenComparing(names::get));
+        facts.sort(Comparator.comparingDouble((Integer counter) -> -missRate(counter / slots,
+                                                                              counter % slots,
+                                                                              counter % slots + 1))
+                             .thenComparing(counter -> names.get(counter / slots))
+                             .thenComparingInt(counter -> counter % slots));
+
+        report.append("Hardest countries:\n");
+
+        for (final int id : countries.subList(NOTHING, Math.min(limit, countries.size())))
+        {
+            report.append(String.format("%-32s %s   given capital %s, given name %s, given facts %s%n",
+                                        names.get(id),
+                                        describe(id, CAPITAL_SLOT, slots),
+                                        ratio(id, CAPITAL_SLOT, COUNTRY_SLOT),
+                                        ratio(id, COUNTRY_SLOT, FIRST_FACT_SLOT),
+                                        ratio(id, FIRST_FACT_SLOT, slots)));
+        }
+
+        report.append("Hardest facts:\n");
+
+        for (final int counter : facts.subList(NOTHING, Math.min(limit, facts.size())))
+        {
+            final int id;
+            final int slot;
+
+            id   = counter / slots;
+            slot = counter % slots;
+
+            report.append(String.format("%-32s %s   %s%n",
+                                        names.get(id),
+                                        describe(id, slot, slot + 1),
+                                        factText(world, names.get(id), slot - FIRST_FACT_SLOT)));
+        }
+
+        return report.toString();
+    }
+
+    /*
+     * Adds up a country's hits over a range of slots.
+     */
+    private int answered(final int id,
+                         final int fromSlot,
+                         final int toSlot)
+    {
+        int total;
+        total = NOTHING;
+
+        for (int slot = fromSlot; slot < toSlot; slot++)
+        {
+            total += hits[id * slots + slot];
+        }
+
+        return total;
+    }
+
+    /*
+     * Adds up a country's misses over a range of slots.
+     */
+    private int missed(final int id,
+                       final int fromSlot,
+                       final int toSlot)
+    {
+        int total;
+        total = NOTHING;
+
+        for (int slot = fromSlot; slot < toSlot; slot++)
+        {
+            total += misses[id * slots + slot];
+        }
+
+        return total;
+    }
+
+    /*
+     * Gets the smoothed miss rate over a range of a country's slots.
+     */
+    private double missRate(final int id,
+                            final int fromSlot,
+                            final int toSlot)
+    {
+        final int missed;
+        final int asked;
+
+        missed = missed(id, fromSlot, toSlot);
+        asked  = missed + answered(id, fromSlot, toSlot);
+
+        return (missed + PRIOR_MISSES) / (asked + PRIOR_ASKED);
+    }
+
+    /*
+     * Describes the misses over a range of a country's slots, as "missed of asked (percent)".
+     */
+    private String describe(final int id,
+                            final int fromSlot,
+                            final int toSlot)
+    {
+        final int missed;
+        final int asked;
+
+        missed = missed(id, fromSlot, toSlot);
+        asked  = missed + answered(id, fromSlot, toSlot);
+
+        return String.format("%4d of %4d missed (%3.0f%%)", missed, asked, PERCENT * missed / asked);
+    }
+
+    /*
+     * Gives the misses over a range of a country's slots as "missed/asked".
+     */
+    private String ratio(final int id,
+                         final int fromSlot,
+                         final int toSlot)
+    {
+        final int missed;
+        missed = missed(id, fromSlot, toSlot);
+
+        return missed + "/" + (missed + answered(id, fromSlot, toSlot));
+    }
+
+    /*
+     * Gets the text of a country's fact from the world, or its number if the world does not have it.
+     */
+    private static String factText(final World world,
+                                   final String name,
+                                   final int factIndex)
+    {
+        final Country country;
+        country = world == null ? null : world.getCountry(name);
+
+        if (country == null ||
+            factIndex >= country.getFactCount())
+        {
+            return "fact " + (factIndex + 1);
+        }
+
+        return country.getFacts(factIndex);
+    }
+
+    /**
+     * Prints the hardest countries and facts from a statistics file.
+     * Usage: AnswerStatistics [file] [limit]
+     *
+     * @param args optionally the statistics file, then how many countries and facts to list
+     */
+    public static void main(final String[] args)
+    {
+        final Path file;
+        final int  limit;
+
+        file  = Paths.get(args.length > FILE_ARG ? args[FILE_ARG] : DEFAULT_FILE);
+        limit = args.length > LIMIT_ARG ? Integer.parseInt(args[LIMIT_ARG]) : DEFAULT_LIMIT;
+
+        if (limit < NOTHING)
+        {
+            System.err.println("Limit cannot be negative: " + limit);
+            return;
+        }
+
+        try
+        {
+            System.out.print(load(file).report(World.get(), limit));
+        } catch (final IOException e)
+        {
+            System.err.println("Could not read answer statistics: " + e.getMessage());
+        }
+    }
+}
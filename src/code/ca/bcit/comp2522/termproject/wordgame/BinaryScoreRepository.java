@@ -0,0 +1,130 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A ScoreRepository over a single fixed-width ScoreLog.
+ * The count comes from the file size, so it costs no read. Range queries binary-search the log
+ * while its scores were appended in time order, and scan it once a score arrived out of order.
+ * Appends go through a ScoreWriter, opened on the first append and kept until close.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class BinaryScoreRepository implements ScoreRepository
+{
+    private final String filePath;
+    private ScoreWriter  writer;
+
+    /**
+     * Constructs a repository over a score log.
+     *
+     * @param filePath the ScoreLog file, created on the first append
+     */
+    public BinaryScoreRepository(final String filePath)
+    {
+        if (filePath == null ||
+            filePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+
+        this.filePath = filePath;
+        this.writer   = null;
+    }
+
+    /**
+     * Appends one score to the log and waits until it is written.
+     *
+     * @param score the score to append
+     * @throws IOException if the score cannot be written
+     */
+    @Override
+    public synchronized void append(final Score score)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        appendAll(List.of(score));
+    }
+
+    /**
+     * Appends several scores to the log in one batch and waits until they are written.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the log cannot be opened or written
+     */
+    @Override
+    public synchronized void appendAll(final List<Score> scores)
+    throws IOException
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+
+        if (writer == null)
+        {
+            writer = new ScoreWriter(Paths.get(filePath), ScoreWriter.FsyncPolicy.NEVER);
+        }
+
+        writer.appendAllAndWait(scores);
+    }
+
+    /**
+     * Reads every score in the log.
+     *
+     * @return the scores, in log order
+     * @throws IOException if the log cannot be read
+     */
+    @Override
+    public synchronized List<Score> readAll()
+    throws IOException
+    {
+        return ScoreLog.readAll(filePath);
+    }
+
+    /**
+     * Reads the scores played in a time range, binary-searching the log while it is in time order.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the scores in the range, oldest first
+     * @throws IOException if the log cannot be read
+     */
+    @Override
+    public synchronized List<Score> readRange(final LocalDateTime from,
+                                              final LocalDateTime to)
+    throws IOException
+    {
+        return ScoreLog.readRange(filePath, from, to);
+    }
+
+    /**
+     * Gets the number of scores in the log from its size.
+     *
+     * @return the score count
+     */
+    @Override
+    public synchronized long count()
+    {
+        return ScoreLog.count(filePath);
+    }
+
+    /**
+     * Closes the writer, if anything was appended.
+     *
+     * @throws IOException if the writer cannot be closed
+     */
+    @Override
+    public synchronized void close()
+    throws IOException
+    {
+        if (writer != null)
+        {
+            writer.close();
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A Burkhard-Keller tree of strings under Levenshtein distance.
+ * <p>
+ * Each child hangs off its parent at its exact edit distance from the parent. Because edit
+ * distance obeys the triangle inequality, a search for terms within d of a query that is k
+ * away from a node only has to visit the node's children at distances k - d to k + d,
+ * so a tolerant lookup touches a small part of the tree instead of every term.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+final class BkTree
+{
+    private static final int NOTHING = 0;
+
+    /*
+     * One term and its children, indexed by their distance from it.
+     */
+    private static final class Node
+    {
+        private final String term;
+        private Node[]       children;
+
+        private Node(final String term)
+        {
+            this.term     = term;
+            this.children = new Node[NOTHING];
+        }
+    }
+
+    private Node root;
+    private int  size;
+
+    /*
+     * Adds a term. Adding a term that is already present does nothing.
+     */
+    void add(final String term)
+    {
+        Objects.requireNonNull(term, "Term cannot be null");
+
+        if (root == null)
+        {
+            root = new Node(term);
+            size++;
+            return;
+        }
+
+        Node node;
+        node = root;
+
+        while (true)
+        {
+            final int distance;
+            distance = distance(term, node.term);
+
+            if (distance == NOTHING)
+            {
+                return;
+            }
+
+            if (distance >= node.children.length)
+            {
+                node.children = Arrays.copyOf(node.children, distance + 1);
+            }
+
+            if (node.children[distance] == null)
+            {
+                node.children[distance] = new Node(term);
+                size++;
+                return;
+            }
+
+            node = node.children[distance];
+        }
+    }
+
+    /*
+     * Gets every term within a distance of the query.
+     */
+    List<String> search(final String query,
+                        final int maxDistance)
+    {
+        Objects.requireNonNull(query, "Query cannot be null");
+
+        final List<String> matches;
+        final List<Node>   pending;
+        final int[]        previous;
+        final int[]        current;
+
+        matches  = new ArrayList<>();
+        pending  = new ArrayList<>();
+        previous = new int[query.length() + 1];
+        current  = new int[query.length() + 1];
+
+        if (root != null)
+        {
+            pending.add(root);
+        }
+
+        while (!pending.isEmpty())
+        {
+            final Node node;
+            final int  lastChild;
+            final int  distance;
+            final int  lowest;
+            final int  highest;
+
+            node      = pending.remove(pending.size() - 1);
+            lastChild = Math.max(NOTHING, node.children.length - 1);
+
+            // Past lastChild + maxDistance the node is no match and no child is reachable, so stop counting there
+            distance = distance(node.term, query, lastChild + maxDistance, previous, current);
+            lowest   = Math.max(1, distance - maxDistance);
+            highest  = Math.min(lastChild, distance + maxDistance);
+
+            if (distance <= maxDistance)
+            {
+                matches.add(node.term);
+            }
+
+            for (int child = lowest; child <= highest; child++)
+            {
+                if (node.children[child] != null)
+                {
+                    pending.add(node.children[child]);
+                }
+            }
+        }
+
+        return matches;
+    }
+
+    /*
+     * Gets the number of distinct terms.
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /*
+     * Computes the Levenshtein distance between two strings.
+     */
+    static int distance(final String first,
+                        final String second)
+    {
+        return distance(first,
+                        second,
+                        Math.max(first.length(), second.length()),
+                        new int[second.length() + 1],
+                        new int[second.length() + 1]);
+    }
+
+    /*
+     * Computes the Levenshtein distance between two strings with two rolling rows, which must
+     * each hold second.length() + 1 values. Stops early and returns limit + 1 as soon as the
+     * distance is certain to exceed the limit.
+     */
+    private static int distance(final String first,
+                                final String second,
+                                final int limit,
+                                final int[] rowAbove,
+                                final int[] rowBelow)
+    {
+        if (Math.abs(first.length() - second.length()) > limit)
+        {
+            return limit + 1;
+        }
+
+        int[] previous;
+        int[] current;
+
+        previous = rowAbove;
+        current  = rowBelow;
+
+        for (int j = 0; j <= second.length(); j++)
+        {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++)
+        {
+            int rowMinimum;
+
+            current[0] = i;
+            rowMinimum = i;
+
+            for (int j = 1; j <= second.length(); j++)
+            {
+                final int substitution;
+                substitution = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1),
+                                      previous[j - 1] + substitution);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+
+            if (rowMinimum > limit)
+            {
+                return limit + 1;
+            }
+
+            final int[] swapped;
+            swapped = previous;
+
+            previous = current;
+            current  = swapped;
+        }
+
+        return Math.min(previous[second.length()], limit + 1);
+    }
+}
@@ -1,26 +1,40 @@
 package ca.bcit.comp2522.termproject.wordgame;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
 /**
  * Represents a single country with variables for
  * name, capital city, and facts.
+ * <p>
+ * The strings are not held as separate String objects. They sit in a StringArena as UTF-8
+ * bytes, name first, then capital, then facts, and each accessor decodes its string when
+ * called. Countries loaded together can share one arena (see pack), so a large set of
+ * countries with many facts each is one byte array and one offset table rather than
+ * thousands of small objects.
  *
  * @author colecampbell
  * @version 1.0
  */
 public final class Country
 {
-    private static final int NOTHING = 0;
+    private static final int NOTHING     = 0;
+    private static final int NAME        = 0;
+    private static final int CAPITAL     = 1;
+    private static final int FIRST_FACT  = 2;
 
-    private final String   name;
-    private final String   capitalCityName;
-    private final String[] facts;
+    private final StringArena strings;
+    private final int         first;
+    private final int         factCount;
 
     /**
      * Constructs a Country object.
      *
      * @param name            the name of the country
      * @param capitalCityName the name of the capital city
-     * @param facts           the three random facts from the country
+     * @param facts           the facts about the country, at least one
      */
     public Country(final String name,
                    final String capitalCityName,
@@ -30,9 +44,75 @@ public final class Country
         validateCapitalCityName(capitalCityName);
         validateFacts(facts);
 
-        this.name            = name;
-        this.capitalCityName = capitalCityName;
-        this.facts           = facts;
+        final List<String> packed;
+        packed = new ArrayList<>(FIRST_FACT + facts.length);
+
+        packed.add(name);
+        packed.add(capitalCityName);
+        packed.addAll(Arrays.asList(facts));
+
+        this.strings   = StringArena.of(packed);
+        this.first     = NAME;
+        this.factCount = facts.length;
+    }
+
+    /*
+     * Constructs a Country whose strings start at an index of a shared arena.
+     */
+    Country(final StringArena strings,
+            final int first,
+            final int factCount)
+    {
+        Objects.requireNonNull(strings, "Strings cannot be null");
+
+        if (factCount <= NOTHING ||
+            first < NOTHING ||
+            first + FIRST_FACT + factCount > strings.size())
+        {
+            throw new IllegalArgumentException("Bad country strings at " + first);
+        }
+
+        this.strings   = strings;
+        this.first     = first;
+        this.factCount = factCount;
+    }
+
+    /*
+     * Copies countries into one shared arena, in order.
+     */
+    static List<Country> pack(final List<Country> countries)
+    {
+        Objects.requireNonNull(countries, "Countries cannot be null");
+
+        final List<String> packed;
+        packed = new ArrayList<>();
+
+        for (final Country country : countries)
+        {
+            packed.add(country.getName());
+            packed.add(country.getCapitalCityName());
+
+            for (int i = 0; i < country.getFactCount(); i++)
+            {
+                packed.add(country.getFacts(i));
+            }
+        }
+
+        final StringArena   arena;
+        final List<Country> copies;
+        int                 next;
+
+        arena  = StringArena.of(packed);
+        copies = new ArrayList<>(countries.size());
+        next   = NOTHING;
+
+        for (final Country country : countries)
+        {
+            copies.add(new Country(arena, next, country.getFactCount()));
+            next += FIRST_FACT + country.getFactCount();
+        }
+
+        return copies;
     }
 
     /*
@@ -60,11 +140,12 @@ public final class Country
     }
 
     /*
-     * Validates the facts array for empty.
+     * Validates the facts array for empty or missing facts.
      */
     private void validateFacts(final String[] facts)
     {
-        if (facts.length == NOTHING)
+        if (facts.length == NOTHING ||
+            Arrays.asList(facts).contains(null))
         {
             throw new IllegalArgumentException("Bad facts array");
         }
@@ -77,7 +158,7 @@ public final class Country
      */
     public String getName()
     {
-        return name;
+        return strings.get(first + NAME);
     }
 
     /**
@@ -87,7 +168,7 @@ public final class Country
      */
     public String getCapitalCityName()
     {
-        return capitalCityName;
+        return strings.get(first + CAPITAL);
     }
 
     /**
@@ -100,7 +181,17 @@ public final class Country
     {
         validateIndex(index);
 
-        return facts[index];
+        return strings.get(first + FIRST_FACT + index);
+    }
+
+    /**
+     * Accessor for the number of facts.
+     *
+     * @return the fact count
+     */
+    public int getFactCount()
+    {
+        return factCount;
     }
 
     /*
@@ -109,7 +200,7 @@ public final class Country
     private void validateIndex(final int index)
     {
         if (index < 0 ||
-            index >= facts.length)
+            index >= factCount)
         {
             throw new IndexOutOfBoundsException("Invalid fact index: " +
                                                 index);
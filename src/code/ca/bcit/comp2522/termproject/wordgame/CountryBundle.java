@@ -0,0 +1,456 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiles the per-letter country text files into one binary bundle, and loads it back.
+ * <p>
+ * Bundle layout (all numbers big-endian):
+ * - Header: magic number (int), format version (short), SHA-256 digest of the text files it
+ *   was built from (32 bytes), stamp of their sizes and modification times (long), number of
+ *   countries (int).
+ * - The number of facts of each country in turn (int each).
+ * - A StringArena holding, for each country in turn, its name, its capital and its facts.
+ * <p>
+ * The game loads the bundle with one memory-mapped read instead of opening and scanning
+ * two dozen text files. The text files stay the source of truth: run main to rebuild the
+ * bundle after editing them. It checks the new bundle against the text before finishing.
+ * While the text files still have the sizes and modification times in the stamp, the bundle
+ * is used without reading them. When the stamp differs, as it does after a checkout or copy,
+ * the files are hashed and the bundle is used only if the digest still matches.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.CountryBundle [sourceDirectory] [bundleFile]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class CountryBundle
+{
+    /**
+     * The directory holding the per-letter country text files.
+     */
+    public static final String SOURCE_DIRECTORY = "src/resources";
+
+    /**
+     * The bundle built from the files in SOURCE_DIRECTORY.
+     */
+    public static final String BUNDLE_FILE = SOURCE_DIRECTORY + File.separator + "countries.bundle";
+
+    private static final int    MAGIC             = 0x57474342; // "WGCB"
+    private static final short  VERSION           = 4;
+    private static final String DIGEST_ALGORITHM  = "SHA-256";
+    private static final int    DIGEST_BYTES      = 32;
+    private static final int    HEADER_BYTES      = Integer.BYTES + Short.BYTES + DIGEST_BYTES + Long.BYTES +
+                                                    Integer.BYTES;
+    private static final int    HASH_PRIME        = 31;
+    private static final long   MISSING_FILE      = -1L;
+    private static final int    FIRST_FACT        = 2;
+    private static final long   START             = 0L;
+    private static final String TEMP_SUFFIX       = ".tmp";
+    private static final int    SOURCE_ARGUMENT   = 0;
+    private static final int    BUNDLE_ARGUMENT   = 1;
+    private static final int    FAILURE           = 1;
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private CountryBundle()
+    {}
+
+    /**
+     * Builds the bundle from the default source directory, then validates it against the text files.
+     * Exits with status 1 if any text file cannot be parsed or the bundle does not match.
+     *
+     * @param args optionally the source directory and the bundle file
+     * @throws IOException if the sources cannot be read or the bundle cannot be written
+     */
+    public static void main(final String[] args)
+    throws IOException
+    {
+        final Path           sourceDirectory;
+        final Path           bundle;
+        final long           stamp;
+        final byte[]         digest;
+        final CountrySources sources;
+        final List<String>   problems;
+
+        sourceDirectory = Paths.get(args.length > SOURCE_ARGUMENT ? args[SOURCE_ARGUMENT] : SOURCE_DIRECTORY);
+        bundle          = Paths.get(args.length > BUNDLE_ARGUMENT ? args[BUNDLE_ARGUMENT] : BUNDLE_FILE);
+        stamp           = stampSources(sourceDirectory);
+        digest          = digestSources(sourceDirectory);
+        sources         = CountrySources.read(sourceDirectory);
+
+        if (!sources.getErrors().isEmpty())
+        {
+            sources.getErrors().forEach((file, error) -> System.err.println(file + ": " + error));
+            System.exit(FAILURE);
+        }
+
+        write(sources.getCountries(), digest, stamp, bundle);
+        problems = validate(bundle, sourceDirectory);
+
+        if (!problems.isEmpty())
+        {
+            problems.forEach(System.err::println);
+            System.exit(FAILURE);
+        }
+
+        System.out.println("Bundled " + sources.getCountries().size() + " countries into " + bundle +
+                           " (" + Files.size(bundle) + " bytes)");
+    }
+
+    /**
+     * Computes the digest of the text files in a source directory, as stored in a bundle built from them.
+     * A missing file is part of the digest, so adding or removing a file changes it too.
+     *
+     * @param sourceDirectory the directory holding the text files
+     * @return the SHA-256 digest of every file name and its contents
+     * @throws IOException if a file exists but cannot be read
+     */
+    public static byte[] digestSources(final Path sourceDirectory)
+    throws IOException
+    {
+        Objects.requireNonNull(sourceDirectory, "Source directory cannot be null");
+
+        final MessageDigest digest;
+        final ByteBuffer    length;
+
+        try
+        {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("Every Java platform provides " + DIGEST_ALGORITHM, e);
+        }
+
+        length = ByteBuffer.allocate(Long.BYTES);
+
+        for (final String fileName : CountrySources.sourceFileNames())
+        {
+            final Path file;
+            file = sourceDirectory.resolve(fileName);
+
+            digest.update(fileName.getBytes(StandardCharsets.UTF_8));
+
+            if (Files.exists(file))
+            {
+                final byte[] contents;
+                contents = Files.readAllBytes(file);
+
+                digest.update(length.clear().putLong(contents.length).flip());
+                digest.update(contents);
+            }
+            else
+            {
+                digest.update(length.clear().putLong(MISSING_FILE).flip());
+            }
+        }
+
+        return digest.digest();
+    }
+
+    /**
+     * Combines the size and modification time of each text file in a source directory.
+     * It is cheap to compute, but unlike digestSources it can only show that files are unchanged
+     * while they keep their modification times.
+     *
+     * @param sourceDirectory the directory holding the text files
+     * @return the stamp of the text files as they are now
+     */
+    public static long stampSources(final Path sourceDirectory)
+    {
+        Objects.requireNonNull(sourceDirectory, "Source directory cannot be null");
+
+        long stamp;
+        stamp = START;
+
+        for (final String fileName : CountrySources.sourceFileNames())
+        {
+            final Path file;
+            long       modified;
+            long       size;
+
+            file = sourceDirectory.resolve(fileName);
+
+            try
+            {
+                modified = Files.getLastModifiedTime(file).toMillis();
+                size     = Files.size(file);
+            } catch (final IOException e)
+            {
+                modified = MISSING_FILE;
+                size     = MISSING_FILE;
+            }
+
+            stamp = stamp * HASH_PRIME + modified;
+            stamp = stamp * HASH_PRIME + size;
+        }
+
+        return stamp;
+    }
+
+    /**
+     * Writes countries to a bundle, replacing it atomically.
+     * The stamp should be taken before the digest, and both before the countries are read, so
+     * an edit made in between leaves a bundle that is checked again rather than one that is trusted.
+     *
+     * @param countries    the countries, in the order they should load
+     * @param sourceDigest the digestSources digest of the text files the countries came from
+     * @param sourceStamp  the stampSources stamp of those text files
+     * @param bundle       the bundle file
+     * @throws IOException if the bundle cannot be written
+     */
+    public static void write(final List<Country> countries,
+                             final byte[] sourceDigest,
+                             final long sourceStamp,
+                             final Path bundle)
+    throws IOException
+    {
+        Objects.requireNonNull(countries, "Countries cannot be null");
+        Objects.requireNonNull(sourceDigest, "Source digest cannot be null");
+        Objects.requireNonNull(bundle, "Bundle cannot be null");
+
+        if (sourceDigest.length != DIGEST_BYTES)
+        {
+            throw new IllegalArgumentException("Bad source digest length: " + sourceDigest.length);
+        }
+
+        final List<String> strings;
+        strings = new ArrayList<>();
+
+        for (final Country country : countries)
+        {
+            strings.add(country.getName());
+            strings.add(country.getCapitalCityName());
+
+            for (int i = 0; i < country.getFactCount(); i++)
+            {
+                strings.add(country.getFacts(i));
+            }
+        }
+
+        final StringArena arena;
+        final ByteBuffer  buffer;
+        final Path        temp;
+
+        arena  = StringArena.of(strings);
+        buffer = ByteBuffer.allocate(HEADER_BYTES + countries.size() * Integer.BYTES + arena.encodedSize());
+        temp   = bundle.resolveSibling(bundle.getFileName() + TEMP_SUFFIX);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.put(sourceDigest);
+        buffer.putLong(sourceStamp);
+        buffer.putInt(countries.size());
+
+        for (final Country country : countries)
+        {
+            buffer.putInt(country.getFactCount());
+        }
+
+        arena.write(buffer);
+
+        Files.write(temp, buffer.array());
+        Files.move(temp,
+                   bundle,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a bundle with a single memory-mapped read, whatever text files it was built from.
+     *
+     * @param bundle the bundle file
+     * @return the countries in the order they were written
+     * @throws IOException if the bundle cannot be read or is not a valid country bundle
+     */
+    public static List<Country> load(final Path bundle)
+    throws IOException
+    {
+        Objects.requireNonNull(bundle, "Bundle cannot be null");
+
+        return read(bundle, null);
+    }
+
+    /*
+     * Loads a bundle only if it was built from the text files now in a source directory.
+     * The files are hashed only if their stamp differs from the bundle's.
+     * Returns null if it was built from other text files.
+     */
+    static List<Country> loadIfBuiltFrom(final Path bundle,
+                                         final Path sourceDirectory)
+    throws IOException
+    {
+        Objects.requireNonNull(bundle, "Bundle cannot be null");
+        Objects.requireNonNull(sourceDirectory, "Source directory cannot be null");
+
+        return read(bundle, sourceDirectory);
+    }
+
+    /*
+     * Reads a bundle, returning null if a source directory is given and the bundle was built from other text.
+     */
+    private static List<Country> read(final Path bundle,
+                                      final Path sourceDirectory)
+    throws IOException
+    {
+        final MappedByteBuffer buffer;
+
+        try (final FileChannel channel = FileChannel.open(bundle, StandardOpenOption.READ))
+        {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, START, channel.size());
+        }
+
+        try
+        {
+            if (buffer.getInt() != MAGIC ||
+                buffer.getShort() != VERSION)
+            {
+                throw new IOException("Not a country bundle: " + bundle);
+            }
+
+            final byte[] digest;
+            final long   stamp;
+
+            digest = new byte[DIGEST_BYTES];
+
+            buffer.get(digest);
+            stamp = buffer.getLong();
+
+            if (sourceDirectory != null &&
+                stamp != stampSources(sourceDirectory) &&
+                !Arrays.equals(digest, digestSources(sourceDirectory)))
+            {
+                return null;
+            }
+
+            final int           count;
+            final int[]         factCounts;
+            final StringArena   arena;
+            final List<Country> countries;
+            long                strings;
+            int                 entry;
+
+            count = buffer.getInt();
+
+            // Checked before allocating, so a corrupt count cannot ask for more than the file holds
+            if (count < 0 ||
+                count > buffer.remaining() / Integer.BYTES)
+            {
+                throw new IOException("Country bundle claims " + count + " countries: " + bundle);
+            }
+
+            factCounts = new int[count];
+            strings    = START;
+
+            for (int i = 0; i < count; i++)
+            {
+                factCounts[i] = buffer.getInt();
+                strings      += FIRST_FACT + factCounts[i];
+            }
+
+            arena = StringArena.read(buffer).copy();
+
+            if (arena.size() != strings)
+            {
+                throw new IOException("Country bundle has " + arena.size() +
+                                      " strings for " + count + " countries: " + bundle);
+            }
+
+            countries = new ArrayList<>(count);
+            entry     = 0;
+
+            // Entries share the bundle's arena and decode their strings only when asked
+            for (final int factCount : factCounts)
+            {
+                countries.add(new Country(arena, entry, factCount));
+                entry += FIRST_FACT + factCount;
+            }
+
+            return countries;
+        } catch (final BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e)
+        {
+            throw new IOException("Corrupt country bundle: " + bundle, e);
+        }
+    }
+
+    /**
+     * Checks that a bundle holds exactly the countries in the text files, in the same order.
+     * A text file that cannot be parsed is reported as a difference.
+     *
+     * @param bundle          the bundle file
+     * @param sourceDirectory the directory holding the text files
+     * @return a description of each difference; empty if the bundle matches
+     * @throws IOException if the bundle cannot be read or is not a valid country bundle
+     */
+    public static List<String> validate(final Path bundle,
+                                        final Path sourceDirectory)
+    throws IOException
+    {
+        final List<Country>  bundled;
+        final CountrySources parsed;
+        final List<Country>  sources;
+        final List<String>   problems;
+
+        bundled  = load(bundle);
+        parsed   = CountrySources.read(sourceDirectory);
+        sources  = parsed.getCountries();
+        problems = new ArrayList<>();
+
+        parsed.getErrors().forEach((file, error) -> problems.add(file + ": " + error));
+
+        if (bundled.size() != sources.size())
+        {
+            problems.add("Bundle has " + bundled.size() + " countries but the sources have " + sources.size());
+        }
+
+        for (int i = 0; i < Math.min(bundled.size(), sources.size()); i++)
+        {
+            final Country expected;
+            final Country actual;
+
+            expected = sources.get(i);
+            actual   = bundled.get(i);
+
+            if (!expected.getName().equals(actual.getName()) ||
+                !expected.getCapitalCityName().equals(actual.getCapitalCityName()))
+            {
+                problems.add("Country " + i + ": expected " + expected.getName() + ":" +
+                             expected.getCapitalCityName() + " but bundled " +
+                             actual.getName() + ":" + actual.getCapitalCityName());
+            }
+
+            if (expected.getFactCount() != actual.getFactCount())
+            {
+                problems.add(expected.getName() + " has " + expected.getFactCount() + " facts but bundled " +
+                             actual.getFactCount());
+            }
+
+            for (int fact = 0; fact < Math.min(expected.getFactCount(), actual.getFactCount()); fact++)
+            {
+                if (!expected.getFacts(fact).equals(actual.getFacts(fact)))
+                {
+                    problems.add("Fact " + fact + " of " + expected.getName() + " differs");
+                }
+            }
+        }
+
+        return problems;
+    }
+}
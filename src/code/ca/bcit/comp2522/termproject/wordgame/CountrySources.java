@@ -0,0 +1,270 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * The countries parsed from the per-letter country text files, 'a' to 'z' without 'w' and 'x',
+ * together with any problems found in them.
+ * <p>
+ * Each file is UTF-8 and holds blocks of a blank line, a "Country:Capital" line and one
+ * or more fact lines, which run until the next blank line. Files are parsed concurrently, one fork-join task per file, and the results
+ * are joined back in file order, so the country order never depends on thread timing.
+ * A file that is missing or malformed contributes no countries; its problem is collected
+ * under its file name for the caller to report.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class CountrySources
+{
+    private static final int    FIRST_HALF      = 0;
+    private static final int    SECOND_HALF     = 1;
+    private static final int    FIELDS          = 2;
+    private static final char   FIRST_FILE      = 'a';
+    private static final char   EMPTY_FILE      = 'w';
+    private static final char   LAST_FILE       = 'z';
+    private static final int    CHAR_OFFSET     = 2;
+    private static final String SOURCE_SUFFIX   = ".txt";
+    private static final String SEPARATOR       = ":";
+
+    private final List<Country>       countries;
+    private final Map<String, String> errors;
+
+    /*
+     * Constructs the parsed sources. Sources are created through read.
+     */
+    private CountrySources(final List<Country> countries,
+                           final Map<String, String> errors)
+    {
+        this.countries = Collections.unmodifiableList(countries);
+        this.errors    = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * Parses every country text file in a directory on the common fork-join pool.
+     *
+     * @param sourceDirectory the directory holding the text files
+     * @return the parsed countries and any per-file problems
+     */
+    public static CountrySources read(final Path sourceDirectory)
+    {
+        return read(sourceDirectory, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Parses every country text file in a directory, one task per file on the given pool.
+     */
+    static CountrySources read(final Path sourceDirectory,
+                               final ForkJoinPool pool)
+    {
+        Objects.requireNonNull(sourceDirectory, "Source directory cannot be null");
+        Objects.requireNonNull(pool, "Pool cannot be null");
+
+        final List<String>                      fileNames;
+        final List<ForkJoinTask<List<Country>>> tasks;
+
+        fileNames = sourceFileNames();
+        tasks     = new ArrayList<>(fileNames.size());
+
+        for (final String fileName : fileNames)
+        {
+            final Path file;
+            file = sourceDirectory.resolve(fileName);
+
+            tasks.add(pool.submit(() -> parseFile(file)));
+        }
+
+        final List<Country>       countries;
+        final Map<String, String> errors;
+
+        countries = new ArrayList<>();
+        errors    = new TreeMap<>();
+
+        for (int i = 0; i < tasks.size(); i++)
+        {
+            try
+            {
+                countries.addAll(tasks.get(i).get());
+            } catch (final ExecutionException e)
+            {
+                errors.put(fileNames.get(i), describe(e.getCause()));
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                errors.put(fileNames.get(i), "Interrupted while loading");
+            }
+        }
+
+        // One arena for every file's strings instead of a few small ones per country
+        return new CountrySources(Country.pack(countries), errors);
+    }
+
+    /*
+     * Gets the names of the text files, in load order.
+     */
+    static List<String> sourceFileNames()
+    {
+        final List<String> fileNames;
+        char               fileName;
+
+        fileNames = new ArrayList<>();
+        fileName  = FIRST_FILE;
+
+        while (fileName <= LAST_FILE)
+        {
+            if (fileName == EMPTY_FILE)
+            {
+                // skips over the 2 non-existent files
+                fileName += CHAR_OFFSET;
+            }
+
+            fileNames.add(fileName + SOURCE_SUFFIX);
+            fileName++;
+        }
+
+        return fileNames;
+    }
+
+    /*
+     * Parses one text file. Any malformed block fails the whole file, naming the line.
+     */
+    private static List<Country> parseFile(final Path file)
+    throws IOException
+    {
+        final List<Country> countries;
+        countries = new ArrayList<>();
+
+        try (final BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            int    lineNumber;
+            String separator;
+
+            separator  = reader.readLine(); // Skip irrelevant line
+            lineNumber = 1;
+
+            while (separator != null)
+            {
+                final String       header;
+                final int          headerLine;
+                final String[]     splitter;
+                final List<String> facts;
+                String             line;
+
+                header = reader.readLine();
+                lineNumber++;
+
+                if (header == null)
+                {
+                    if (separator.isBlank())
+                    {
+                        break; // trailing blank line
+                    }
+                    throw new IOException("Line " + lineNumber + ": missing Country:Capital line");
+                }
+
+                headerLine = lineNumber;
+                splitter   = header.split(SEPARATOR);
+                facts      = new ArrayList<>();
+
+                if (splitter.length < FIELDS)
+                {
+                    throw new IOException("Line " + lineNumber + ": expected Country:Capital but found \"" +
+                                          header + "\"");
+                }
+
+                line = reader.readLine();
+                lineNumber++;
+
+                // A country has as many facts as lines before the next blank one
+                while (line != null &&
+                       !line.isBlank())
+                {
+                    facts.add(line);
+                    line = reader.readLine();
+                    lineNumber++;
+                }
+
+                if (facts.isEmpty())
+                {
+                    throw new IOException("Line " + lineNumber + ": missing fact for " +
+                                          splitter[FIRST_HALF].trim());
+                }
+
+                try
+                {
+                    countries.add(new Country(splitter[FIRST_HALF].trim(),
+                                              splitter[SECOND_HALF].trim(),
+                                              facts.toArray(new String[0])));
+                } catch (final IllegalArgumentException e)
+                {
+                    throw new IOException("Line " + headerLine + ": " + e.getMessage());
+                }
+
+                separator = line;
+            }
+        }
+
+        return countries;
+    }
+
+    /*
+     * Describes why a file failed to load.
+     */
+    private static String describe(final Throwable cause)
+    {
+        Throwable problem;
+        problem = cause;
+
+        // The pool wraps checked exceptions thrown by a submitted Callable, sometimes twice
+        while (problem != null &&
+               !(problem instanceof IOException))
+        {
+            problem = problem.getCause();
+        }
+
+        if (problem == null)
+        {
+            return cause.toString();
+        }
+
+        if (problem instanceof NoSuchFileException)
+        {
+            return "File not found";
+        }
+        return problem.getMessage();
+    }
+
+    /**
+     * Gets the countries from every file that loaded cleanly.
+     *
+     * @return the countries in file order
+     */
+    public List<Country> getCountries()
+    {
+        return countries;
+    }
+
+    /**
+     * Gets the problem with each file that did not load.
+     *
+     * @return a message for each failed file, keyed and ordered by file name
+     */
+    public Map<String, String> getErrors()
+    {
+        return errors;
+    }
+}
@@ -0,0 +1,310 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * A small persisted index of the best Word Game scores, kept next to a ScoreRepository.
+ * It holds the single best score and the top scores by average points per game, so
+ * the high-score check never has to read the repository.
+ * <p>
+ * File layout (all numbers big-endian):
+ * - Header: magic number (int), format version (short), capacity (short),
+ *   number of stored scores indexed (long), number of entries (int).
+ * - One ScoreLog record per entry, best first.
+ * <p>
+ * The index remembers how many stored scores it covers. If that does not match the repository
+ * (the index is missing, or the repository was written without it) the index is rebuilt from
+ * the scores the repository holds plus its summarized bests. A summarized period only keeps
+ * its best score, so after a rebuild the top scores may miss a runner-up from such a period.
+ * Every change is saved to a temporary file that is then moved over the old one, so the
+ * index on disk is always complete. All methods are synchronized.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class HighScoreIndex
+{
+    /**
+     * The number of top scores kept when none is specified.
+     */
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private static final int    MAGIC        = 0x57474849; // "WGHI"
+    private static final short  VERSION      = 1;
+    private static final int    HEADER_BYTES = Integer.BYTES + Short.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES;
+    private static final int    NOTHING      = 0;
+    private static final String TEMP_SUFFIX  = ".tmp";
+
+    private static final Comparator<Score> BY_AVERAGE = Comparator.comparingDouble(Score::getAvgScore);
+
+    private final Path                 file;
+    private final ScoreRepository      repository;
+    private final int                  capacity;
+    private final PriorityQueue<Score> top;
+    private Score                      best;
+    private long                       recordCount;
+
+    /*
+     * Constructs an empty index for a repository. Indexes are created through load.
+     */
+    private HighScoreIndex(final Path file,
+                           final ScoreRepository repository,
+                           final int capacity)
+    {
+        this.file        = file;
+        this.repository  = repository;
+        this.capacity    = capacity;
+        this.top         = new PriorityQueue<>(capacity, BY_AVERAGE); // worst kept score at the head
+        this.best        = null;
+        this.recordCount = NOTHING;
+    }
+
+    /**
+     * Loads the index for a score repository, rebuilding it if it is missing,
+     * unreadable or out of date.
+     *
+     * @param indexFilePath the index file
+     * @param repository    the repository it indexes
+     * @param capacity      the number of top scores to keep
+     * @return the index, up to date with the repository
+     * @throws IOException if the repository cannot be read or the rebuilt index cannot be saved
+     */
+    public static HighScoreIndex load(final String indexFilePath,
+                                      final ScoreRepository repository,
+                                      final int capacity)
+    throws IOException
+    {
+        validateFilePath(indexFilePath);
+        Objects.requireNonNull(repository, "Repository cannot be null");
+        validateCapacity(capacity);
+
+        final HighScoreIndex index;
+        index = new HighScoreIndex(Paths.get(indexFilePath), repository, capacity);
+
+        if (index.read() &&
+            index.recordCount == repository.count())
+        {
+            return index;
+        }
+
+        index.rebuild();
+        return index;
+    }
+
+    /*
+     * Reads the index file into this index.
+     * Returns false if the file is missing, corrupt, or was written with a different capacity.
+     */
+    private boolean read()
+    throws IOException
+    {
+        if (!Files.exists(file))
+        {
+            return false;
+        }
+
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES ||
+                buffer.getInt() != MAGIC ||
+                buffer.getShort() != VERSION ||
+                buffer.getShort() != capacity)
+            {
+                return false;
+            }
+
+            final long indexed;
+            final int  entries;
+
+            indexed = buffer.getLong();
+            entries = buffer.getInt();
+
+            for (int i = 0; i < entries; i++)
+            {
+                offer(ScoreLog.readRecord(buffer, buffer.position()));
+                buffer.position(buffer.position() + ScoreLog.RECORD_BYTES);
+            }
+
+            recordCount = indexed;
+            return true;
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e)
+        {
+            System.err.println("Rebuilding corrupt high score index: " + file);
+            top.clear();
+            best = null;
+            return false;
+        }
+    }
+
+    /*
+     * Rebuilds the index from the repository and saves it.
+     */
+    private void rebuild()
+    throws IOException
+    {
+        top.clear();
+        best = null;
+
+        for (final Score score : repository.readSummarizedBests())
+        {
+            offer(score);
+        }
+
+        for (final Score score : repository.readAll())
+        {
+            offer(score);
+        }
+
+        recordCount = repository.count();
+        save();
+    }
+
+    /*
+     * Offers a score to the best score and the top-K heap.
+     * Ties go to the later score, matching the old high-score check.
+     */
+    private void offer(final Score score)
+    {
+        if (score.getGamesPlayed() == NOTHING)
+        {
+            return;
+        }
+
+        if (best == null ||
+            score.getAvgScore() >= best.getAvgScore())
+        {
+            best = score;
+        }
+
+        if (top.size() < capacity)
+        {
+            top.add(score);
+        }
+        else if (score.getAvgScore() > top.peek().getAvgScore())
+        {
+            top.poll();
+            top.add(score);
+        }
+    }
+
+    /**
+     * Appends a score to the repository and records it in the index.
+     *
+     * @param score the score to append
+     * @throws IOException if the repository or the index cannot be written
+     */
+    public synchronized void append(final Score score)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        repository.append(score);
+        offer(score);
+        recordCount++;
+        save();
+    }
+
+    /**
+     * Gets the best score recorded so far.
+     *
+     * @return the best score by average points per game, or null if there are none
+     */
+    public synchronized Score getBest()
+    {
+        return best;
+    }
+
+    /**
+     * Gets the top scores, best first.
+     *
+     * @return a copy of the top scores
+     */
+    public synchronized List<Score> getTopScores()
+    {
+        final List<Score> scores;
+        scores = new ArrayList<>(top);
+
+        scores.sort(BY_AVERAGE.reversed());
+        return scores;
+    }
+
+    /**
+     * Gets the number of stored scores this index covers.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount()
+    {
+        return recordCount;
+    }
+
+    /*
+     * Writes the index to a temporary file and moves it over the old one.
+     */
+    private void save()
+    throws IOException
+    {
+        final List<Score> scores;
+        final ByteBuffer  buffer;
+        final Path        temp;
+
+        scores = getTopScores();
+        buffer = ByteBuffer.allocate(HEADER_BYTES + scores.size() * ScoreLog.RECORD_BYTES);
+        temp   = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) capacity);
+        buffer.putLong(recordCount);
+        buffer.putInt(scores.size());
+
+        for (final Score score : scores)
+        {
+            ScoreLog.writeRecord(buffer, score);
+        }
+
+        Files.write(temp, buffer.array());
+        Files.move(temp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Validates that a file path is neither null nor blank.
+     */
+    private static void validateFilePath(final String filePath)
+    {
+        if (filePath == null ||
+            filePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+    }
+
+    /*
+     * Validates that the capacity is positive and fits in the header.
+     */
+    private static void validateCapacity(final int capacity)
+    {
+        if (capacity <= NOTHING ||
+            capacity > Short.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Deals countries for Word Game questions without repeats, like cards from a shuffled deck.
+ * <p>
+ * The countries are copied once into an array, and the deck shuffles a permutation of
+ * array indices rather than the countries themselves. Dealing takes the next index, so each
+ * deal is O(1) and allocation-free. When every country has been dealt, the permutation is
+ * reshuffled in place with Fisher-Yates, making sure the next deal is not the country just dealt.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class QuestionDeck
+{
+    private static final int NOTHING = 0;
+    private static final int FIRST   = 0;
+
+    private final Country[] countries;
+    private final int[]     order;
+    private final Random    random;
+    private int             next;
+
+    /**
+     * Constructs a shuffled deck of every country in a world.
+     *
+     * @param world  the world whose countries are dealt
+     * @param random the source of randomness for shuffling
+     */
+    public QuestionDeck(final World world,
+                        final Random random)
+    {
+        this(Objects.requireNonNull(world, "World cannot be null").getCountries(), random);
+    }
+
+    /**
+     * Constructs a shuffled deck of countries.
+     *
+     * @param countries the countries to deal; must not be empty
+     * @param random    the source of randomness for shuffling
+     */
+    public QuestionDeck(final List<Country> countries,
+                        final Random random)
+    {
+        Objects.requireNonNull(countries, "Countries cannot be null");
+        Objects.requireNonNull(random, "Random cannot be null");
+
+        if (countries.isEmpty())
+        {
+            throw new IllegalArgumentException("Cannot deal from an empty deck");
+        }
+
+        this.countries = countries.toArray(new Country[NOTHING]);
+        this.order     = new int[this.countries.length];
+        this.random    = random;
+
+        for (int i = 0; i < order.length; i++)
+        {
+            order[i] = i;
+        }
+
+        shuffle();
+    }
+
+    /**
+     * Deals the next country. Every country is dealt once before any is dealt again.
+     *
+     * @return the next country
+     */
+    public Country deal()
+    {
+        if (next == order.length)
+        {
+            reshuffle();
+        }
+
+        return countries[order[next++]];
+    }
+
+    /**
+     * Gets the number of countries left before the deck reshuffles.
+     *
+     * @return the remaining count
+     */
+    public int remaining()
+    {
+        return order.length - next;
+    }
+
+    /**
+     * Gets the number of countries in the deck.
+     *
+     * @return the deck size
+     */
+    public int size()
+    {
+        return order.length;
+    }
+
+    /*
+     * Reshuffles after the last card, keeping the country just dealt away from the top.
+     */
+    private void reshuffle()
+    {
+        final int last;
+        last = order[order.length - 1];
+
+        shuffle();
+
+        if (order.length > 1 &&
+            order[FIRST] == last)
+        {
+            // Any other position keeps the permutation uniform over the remaining choices
+            swap(FIRST, 1 + random.nextInt(order.length - 1));
+        }
+    }
+
+    /*
+     * Shuffles the index permutation in place with Fisher-Yates and starts dealing from the top.
+     */
+    private void shuffle()
+    {
+        for (int i = order.length - 1; i > FIRST; i--)
+        {
+            swap(i, random.nextInt(i + 1));
+        }
+
+        next = FIRST;
+    }
+
+    /*
+     * Swaps two positions of the permutation.
+     */
+    private void swap(final int first,
+                      final int second)
+    {
+        final int temp;
+        temp = order[first];
+
+        order[first]  = order[second];
+        order[second] = temp;
+    }
+}
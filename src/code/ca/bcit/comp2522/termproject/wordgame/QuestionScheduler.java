@@ -0,0 +1,354 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Chooses which country to ask about next by spaced repetition, so countries the player
+ * misses come back soon and countries they know come back less and less often.
+ * <p>
+ * Time is counted in questions asked. Each country has a due time: a miss makes it due again
+ * after a few questions, and each first-try answer in a row doubles the wait before it is
+ * asked again. Countries are ordered by their due time, pulled earlier by their error rate,
+ * so among countries due at about the same time the one missed most often goes first.
+ * Countries are introduced one question apart, in shuffled order. A scheduler can start from
+ * the saved AnswerStatistics: its counts seed each country's history, and countries are then
+ * introduced by their error rate, so those missed in earlier runs come first and well known ones last.
+ * <p>
+ * The history is held in primitive arrays indexed by country id, the country's position in
+ * the list, and the ids are kept in an indexed binary heap: next is O(1) and recording an
+ * answer, which moves one country, is O(log n).
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class QuestionScheduler
+{
+    private static final int    NOTHING        = 0;
+    private static final int    ROOT           = 0;
+    private static final int    FIRST_TRY      = 0;
+    private static final long   RETRY_DELAY    = 5L;
+    private static final long   FIRST_INTERVAL = 20L;
+    private static final int    MAX_DOUBLINGS  = 10;
+    private static final double ERROR_WEIGHT   = 10.0;
+    private static final double PRIOR_MISSES   = 1.0;
+    private static final double PRIOR_ASKED    = 2.0;
+
+    private final Country[]            countries;
+    private final Map<String, Integer> ids;
+    private final int[]                asked;
+    private final int[]                missed;
+    private final int[]                streak;
+    private final long[]               due;
+    private final int[]                heap;
+    private final int[]                slot;
+    private long                       clock;
+
+    /**
+     * Constructs a scheduler for every country in a world, with no history.
+     *
+     * @param world  the world whose countries are asked
+     * @param random the source of randomness for the order new countries are introduced in
+     */
+    public QuestionScheduler(final World world,
+                             final Random random)
+    {
+        this(Objects.requireNonNull(world, "World cannot be null").getCountries(), random, new AnswerStatistics());
+    }
+
+    /**
+     * Constructs a scheduler for every country in a world, starting from saved answer counts.
+     *
+     * @param world   the world whose countries are asked
+     * @param random  the source of randomness for the order new countries are introduced in
+     * @param history the answers given in earlier sessions
+     */
+    public QuestionScheduler(final World world,
+                             final Random random,
+                             final AnswerStatistics history)
+    {
+        this(Objects.requireNonNull(world, "World cannot be null").getCountries(), random, history);
+    }
+
+    /**
+     * Constructs a scheduler for a list of countries, with no history.
+     *
+     * @param countries the countries to ask; must not be empty
+     * @param random    the source of randomness for the order new countries are introduced in
+     */
+    public QuestionScheduler(final List<Country> countries,
+                             final Random random)
+    {
+        this(countries, random, new AnswerStatistics());
+    }
+
+    /**
+     * Constructs a scheduler for a list of countries, starting from saved answer counts.
+     *
+     * @param countries the countries to ask; must not be empty
+     * @param random    the source of randomness for the order new countries are introduced in
+     * @param history   the answers given in earlier sessions
+     */
+    public QuestionScheduler(final List<Country> countries,
+                             final Random random,
+                             final AnswerStatistics history)
+    {
+        Objects.requireNonNull(history, "History cannot be null");
+
+        final QuestionDeck introductions;
+        final Integer[]    order;
+
+        introductions = new QuestionDeck(countries, random);
+
+        this.countries = countries.toArray(new Country[NOTHING]);
+        this.ids       = new HashMap<>();
+        this.asked     = new int[this.countries.length];
+        this.missed    = new int[this.countries.length];
+        this.streak    = new int[this.countries.length];
+        this.due       = new long[this.countries.length];
+        this.heap      = new int[this.countries.length];
+        this.slot      = new int[this.countries.length];
+        this.clock     = NOTHING;
+
+        for (int id = 0; id < this.countries.length; id++)
+        {
+            if (ids.put(this.countries[id].getName(), id) != null)
+            {
+                throw new IllegalArgumentException("Duplicate country: " + this.countries[id].getName());
+            }
+
+            asked[id]  = history.getAsked(this.countries[id].getName());
+            missed[id] = history.getMissed(this.countries[id].getName());
+        }
+
+        order = new Integer[this.countries.length];
+
+        for (int turn = 0; turn < order.length; turn++)
+        {
+            order[turn] = ids.get(introductions.deal().getName());
+        }
+
+        // The sort is stable, so countries with the same error rate keep their shuffled order.
+        // Priorities then rise along the deal, which makes it a valid heap as it stands.
+        Arrays.sort(order, Comparator.<Integer>comparingDouble(this::errorRate).reversed());
+
+        // The i-th country dealt is first due at question i
+        for (int turn = 0; turn < order.length; turn++)
+        {
+            final int id;
+            id = order[turn];
+
+            due[id]    = turn;
+            heap[turn] = id;
+            slot[id]   = turn;
+        }
+    }
+
+    /**
+     * Gets the country to ask about next. It stays next until an answer for it is recorded.
+     *
+     * @return the country with the earliest weighted due time
+     */
+    public Country next()
+    {
+        return countries[heap[ROOT]];
+    }
+
+    /**
+     * Records how a question about a country went and reschedules the country.
+     *
+     * @param country the country asked about
+     * @param guesses the number of wrong guesses before the right answer, or the maximum if never answered
+     */
+    public void record(final Country country,
+                       final int guesses)
+    {
+        final int id;
+        id = idOf(country);
+
+        if (guesses < FIRST_TRY)
+        {
+            throw new IllegalArgumentException("Guesses cannot be negative: " + guesses);
+        }
+
+        clock++;
+        asked[id]++;
+
+        if (guesses == FIRST_TRY)
+        {
+            streak[id]++;
+            due[id] = clock + (FIRST_INTERVAL << Math.min(streak[id] - 1, MAX_DOUBLINGS));
+        }
+        else
+        {
+            missed[id]++;
+            streak[id] = NOTHING;
+            due[id]    = clock + RETRY_DELAY;
+        }
+
+        siftUp(slot[id]);
+        siftDown(slot[id]);
+    }
+
+    /**
+     * Gets how many times a country has been asked.
+     *
+     * @param country the country
+     * @return the number of recorded answers
+     */
+    public int getAsked(final Country country)
+    {
+        return asked[idOf(country)];
+    }
+
+    /**
+     * Gets how many times a country was not answered on the first try.
+     *
+     * @param country the country
+     * @return the number of recorded misses
+     */
+    public int getMissed(final Country country)
+    {
+        return missed[idOf(country)];
+    }
+
+    /**
+     * Gets the number of countries being scheduled.
+     *
+     * @return the country count
+     */
+    public int size()
+    {
+        return countries.length;
+    }
+
+    /*
+     * Gets a country's id, rejecting countries this scheduler does not know.
+     */
+    private int idOf(final Country country)
+    {
+        Objects.requireNonNull(country, "Country cannot be null");
+
+        final Integer id;
+        id = ids.get(country.getName());
+
+        if (id == null)
+        {
+            throw new IllegalArgumentException("Unknown country: " + country.getName());
+        }
+
+        return id;
+    }
+
+    /*
+     * Gets a country's weighted due time: its due time, earlier the more often it has been missed.
+     */
+    private double priority(final int id)
+    {
+        return due[id] - ERROR_WEIGHT * errorRate(id);
+    }
+
+    /*
+     * Gets how often a country has been missed, smoothed so a country with no history counts as missed half the time.
+     */
+    private double errorRate(final int id)
+    {
+        return (missed[id] + PRIOR_MISSES) / (asked[id] + PRIOR_ASKED);
+    }
+
+    /*
+     * Checks whether one country should be asked before another, breaking ties by id.
+     */
+    private boolean isBefore(final int first,
+                             final int second)
+    {
+        final int order;
+        order = Double.compare(priority(first), priority(second));
+
+        return order < NOTHING ||
+               (order == NOTHING && first < second);
+    }
+
+    /*
+     * Moves the id at a heap position up past every parent it should come before.
+     */
+    private void siftUp(final int position)
+    {
+        int child;
+        child = position;
+
+        while (child > ROOT)
+        {
+            final int parent;
+            parent = (child - 1) / 2;
+
+            if (!isBefore(heap[child], heap[parent]))
+            {
+                return;
+            }
+
+            swap(child, parent);
+            child = parent;
+        }
+    }
+
+    /*
+     * Moves the id at a heap position down past every child that should come before it.
+     */
+    private void siftDown(final int position)
+    {
+        int parent;
+        parent = position;
+
+        while (true)
+        {
+            final int left;
+            final int right;
+            int       first;
+
+            left  = 2 * parent + 1;
+            right = left + 1;
+            first = parent;
+
+            if (left < heap.length &&
+                isBefore(heap[left], heap[first]))
+            {
+                first = left;
+            }
+
+            if (right < heap.length &&
+                isBefore(heap[right], heap[first]))
+            {
+                first = right;
+            }
+
+            if (first == parent)
+            {
+                return;
+            }
+
+            swap(parent, first);
+            parent = first;
+        }
+    }
+
+    /*
+     * Swaps two heap positions, keeping each id's slot up to date.
+     */
+    private void swap(final int first,
+                      final int second)
+    {
+        final int temp;
+        temp = heap[first];
+
+        heap[first]        = heap[second];
+        heap[second]       = temp;
+        slot[heap[first]]  = first;
+        slot[heap[second]] = second;
+    }
+}
@@ -1,12 +1,19 @@
 package ca.bcit.comp2522.termproject.wordgame;
 
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Scanner;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Represents a game score with details such as attempts and timestamp.
@@ -22,6 +29,11 @@ public class Score
     private static final int               DATA_HALF                = 1;
     private static final int               NOTHING                  = 0;
 
+    /*
+     * The first line of every record in a score file.
+     */
+    static final String RECORD_START = "Date and Time: ";
+
     /*
      * Initializes the DateTimeFormatter for consistent date formatting.
      */
@@ -101,6 +113,56 @@ public class Score
         return score / (double) gamesPlayed;
     }
 
+    /**
+     * Accessor for the number of games played.
+     *
+     * @return the games played
+     */
+    public int getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Accessor for the number of questions answered correctly on the first attempt.
+     *
+     * @return the correct first attempts
+     */
+    public int getCorrectFirstAttempts()
+    {
+        return correctFirstAttempts;
+    }
+
+    /**
+     * Accessor for the number of questions answered correctly on the second attempt.
+     *
+     * @return the correct second attempts
+     */
+    public int getCorrectSecondAttempts()
+    {
+        return correctSecondAttempts;
+    }
+
+    /**
+     * Accessor for the number of questions answered incorrectly.
+     *
+     * @return the incorrect attempts
+     */
+    public int getIncorrectAttempts()
+    {
+        return incorrectAttempts;
+    }
+
+    /**
+     * Accessor for the date and time as a LocalDateTime.
+     *
+     * @return the date and time of the game
+     */
+    public LocalDateTime getDateTime()
+    {
+        return dateTime;
+    }
+
     /**
      * Accessor for the date and time.
      *
@@ -147,10 +209,68 @@ public class Score
                                          final String filePath)
     throws IOException
     {
+        final long start;
+        start = System.nanoTime();
+
         try (final FileWriter writer = new FileWriter(filePath, true))
         {
             writer.write(score.toString() + "\n");
         }
+
+        GameMetrics.SCORE_APPEND.recordSince(start);
+    }
+
+    /*
+     * Parses the five data lines of one record in a score file.
+     */
+    static Score parseRecord(final String dateLine,
+                             final String gamesPlayedLine,
+                             final String correctFirstAttemptsLine,
+                             final String correctSecondAttemptsLine,
+                             final String incorrectAttemptsLine)
+    {
+        final LocalDateTime dateTime;
+        final int           gamesPlayed;
+        final int           correctFirstAttempts;
+        final int           correctSecondAttempts;
+        final int           incorrectAttempts;
+
+        dateTime              = LocalDateTime.parse(dateLine.substring(ACTUAL_DATE_STRING_INDEX),
+                                                    formatter);
+        gamesPlayed           = Integer.parseInt(gamesPlayedLine.split(": ")[DATA_HALF]);
+        correctFirstAttempts  = Integer.parseInt(correctFirstAttemptsLine.split(": ")[DATA_HALF]);
+        correctSecondAttempts = Integer.parseInt(correctSecondAttemptsLine.split(": ")[DATA_HALF]);
+        incorrectAttempts     = Integer.parseInt(incorrectAttemptsLine.split(": ")[DATA_HALF]);
+
+        return new Score(dateTime,
+                         gamesPlayed,
+                         correctFirstAttempts,
+                         correctSecondAttempts,
+                         incorrectAttempts);
+    }
+
+    /**
+     * Streams scores from a file lazily, parsing each record only when the stream reaches it.
+     * The file is memory-mapped, so memory use does not grow with the file, and the stream
+     * splits at record boundaries, so a parallel stream parses the file on several cores.
+     * A missing file gives an empty stream.
+     *
+     * @param filePath the file to read scores from
+     * @return an ordered stream of the scores in the file
+     * @throws IOException if the file cannot be mapped
+     */
+    public static Stream<Score> streamScoresFromFile(final String filePath)
+    throws IOException
+    {
+        final Path path;
+        path = Paths.get(filePath);
+
+        if (!Files.exists(path))
+        {
+            return Stream.empty();
+        }
+
+        return StreamSupport.stream(ScoreSpliterator.open(path), false);
     }
 
     /**
@@ -165,9 +285,11 @@ public class Score
     {
         final List<Score> scores;
         final File        file;
+        final long        start;
 
         scores = new ArrayList<>();
         file   = new File(filePath);
+        start  = System.nanoTime();
 
         if (!file.exists())
         {
@@ -183,32 +305,22 @@ public class Score
                 line = scanner.nextLine();
 
                 // make sure we read in the proper order
-                if (line.startsWith("Date and Time: "))
+                if (line.startsWith(RECORD_START))
                 {
-                    final LocalDateTime dateTime;
-                    final int           gamesPlayed;
-                    final int           correctFirstAttempts;
-                    final int           correctSecondAttempts;
-                    final int           incorrectAttempts;
-
-                    dateTime              = LocalDateTime.parse(line.substring(ACTUAL_DATE_STRING_INDEX),
-                                                                formatter);
-                    gamesPlayed           = Integer.parseInt(scanner.nextLine().split(": ")[DATA_HALF]);
-                    correctFirstAttempts  = Integer.parseInt(scanner.nextLine().split(": ")[DATA_HALF]);
-                    correctSecondAttempts = Integer.parseInt(scanner.nextLine().split(": ")[DATA_HALF]);
-                    incorrectAttempts     = Integer.parseInt(scanner.nextLine().split(": ")[DATA_HALF]);
-
+                    final Score score;
+                    score = parseRecord(line,
+                                        scanner.nextLine(),
+                                        scanner.nextLine(),
+                                        scanner.nextLine(),
+                                        scanner.nextLine());
 
                     scanner.nextLine();
-                    scores.add(new Score(dateTime,
-                                         gamesPlayed,
-                                         correctFirstAttempts,
-                                         correctSecondAttempts,
-                                         incorrectAttempts));
+                    scores.add(score);
                 }
             }
         }
 
+        GameMetrics.SCORE_READ.recordSince(start);
         return scores;
     }
 }
@@ -0,0 +1,642 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A binary, fixed-width log of Word Game scores.
+ * <p>
+ * File layout (all numbers big-endian):
+ * - A HEADER_BYTES header: magic number (int), format version (short), record size (short), flags (long).
+ *   Flag UNORDERED is set once any record is older than the one before it.
+ * - RECORD_BYTES per score: date and time as epoch seconds (long), games played, correct first attempts,
+ *   correct second attempts and incorrect attempts (four ints).
+ * <p>
+ * Dates are stored as the wall-clock time the score was recorded, converted to epoch seconds
+ * as if it were UTC, so a score reads back with exactly the date it was written with.
+ * <p>
+ * Reads copy the file into heap buffers with positional reads and decode each field with
+ * absolute reads. The file is not memory-mapped: a mapping stays open until it is garbage
+ * collected, and Windows refuses to delete a mapped file, as compaction does with segments.
+ * A partly written last record (from a crash mid-append) is ignored.
+ * Appends hold an exclusive OS file lock while they write, as ScoreWriter's do, so appends
+ * from different processes never interleave records.
+ * <p>
+ * Scores appended as they are played normally arrive in time order. For such a log,
+ * readRange binary-searches the fixed-width records for the start of a time range and reads
+ * only the records inside it. Wall-clock times can go backwards, though, when a clock is
+ * corrected or daylight saving time ends. An append that would break the order sets the
+ * UNORDERED flag, and readRange then scans every record instead of trusting the search.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreLog
+{
+    /**
+     * The size of the file header in bytes.
+     */
+    public static final int HEADER_BYTES = 16;
+    /**
+     * The size of one score record in bytes.
+     */
+    public static final int RECORD_BYTES = 24;
+
+    private static final int   MAGIC            = 0x57475343; // "WGSC"
+    private static final short VERSION          = 1;
+    private static final int   VERSION_OFFSET   = 4;
+    private static final int   SIZE_OFFSET      = 6;
+    private static final int   GAMES_OFFSET     = 8;
+    private static final int   FIRST_OFFSET     = 12;
+    private static final int   SECOND_OFFSET    = 16;
+    private static final int   INCORRECT_OFFSET = 20;
+    private static final int   FLAGS_OFFSET     = 8;
+    private static final long  EMPTY            = 0L;
+    private static final long  NO_FLAGS         = 0L;
+    private static final long  UNORDERED        = 1L;
+    private static final int   CONVERT_BATCH    = 4096;
+    private static final int   RANGE_CHUNK      = 4096;
+
+    /**
+     * Receives the fields of each record during a scan, without a Score object being built.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor
+    {
+        /**
+         * Visits one record.
+         *
+         * @param epochSecond           the date and time in epoch seconds
+         * @param gamesPlayed           the number of games played
+         * @param correctFirstAttempts  the number of correct first attempts
+         * @param correctSecondAttempts the number of correct second attempts
+         * @param incorrectAttempts     the number of incorrect attempts
+         */
+        void visit(long epochSecond,
+                   int gamesPlayed,
+                   int correctFirstAttempts,
+                   int correctSecondAttempts,
+                   int incorrectAttempts);
+    }
+
+    /**
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private ScoreLog()
+    {}
+
+    /**
+     * Appends one score to the log, creating the file and header if needed.
+     *
+     * @param score    the score to append
+     * @param filePath the log file
+     * @throws IOException if an I/O error occurs
+     */
+    public static void append(final Score score,
+                              final String filePath)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        appendAll(List.of(score), filePath);
+    }
+
+    /**
+     * Appends several scores to the log in a single write, under an exclusive file lock.
+     *
+     * @param scores   the scores to append, in order
+     * @param filePath the log file
+     * @throws IOException if an I/O error occurs
+     */
+    public static void appendAll(final List<Score> scores,
+                                 final String filePath)
+    throws IOException
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+        validateFilePath(filePath);
+
+        final long start;
+        start = System.nanoTime();
+
+        try (final FileChannel channel = FileChannel.open(Paths.get(filePath),
+                                                          StandardOpenOption.CREATE,
+                                                          StandardOpenOption.READ,
+                                                          StandardOpenOption.WRITE))
+        {
+            appendLocked(channel, scores);
+        }
+
+        GameMetrics.SCORE_APPEND.recordSince(start);
+    }
+
+    /*
+     * Writes scores after the last whole record of an open log in one write, holding an exclusive
+     * lock on it. The header is written first if the file has none. A partly written last record
+     * is overwritten. If a score is older than the record before it, the log is flagged UNORDERED.
+     * The channel must be readable and not in append mode, so the header can be updated in place.
+     */
+    static void appendLocked(final FileChannel channel,
+                             final List<Score> scores)
+    throws IOException
+    {
+        final FileLock lock;
+        lock = channel.lock();
+
+        try
+        {
+            final long       size;
+            final boolean    newFile;
+            final long       end;
+            final ByteBuffer buffer;
+            long             previous;
+            boolean          ordered;
+
+            size     = channel.size();
+            newFile  = size < HEADER_BYTES;
+            end      = newFile ? EMPTY : HEADER_BYTES + (size - HEADER_BYTES) / RECORD_BYTES * RECORD_BYTES;
+            buffer   = ByteBuffer.allocate((newFile ? HEADER_BYTES : 0) + scores.size() * RECORD_BYTES);
+            previous = end > HEADER_BYTES ? readLong(channel, end - RECORD_BYTES) : Long.MIN_VALUE;
+            ordered  = true;
+
+            for (final Score score : scores)
+            {
+                final long epochSecond;
+                epochSecond = toEpochSecond(score.getDateTime());
+
+                ordered  = ordered && epochSecond >= previous;
+                previous = epochSecond;
+            }
+
+            if (newFile)
+            {
+                writeHeader(buffer, ordered ? NO_FLAGS : UNORDERED);
+            }
+
+            for (final Score score : scores)
+            {
+                writeRecord(buffer, score);
+            }
+
+            buffer.flip();
+
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer, end + buffer.position());
+            }
+
+            if (!ordered &&
+                !newFile)
+            {
+                writeLong(channel, FLAGS_OFFSET, readLong(channel, FLAGS_OFFSET) | UNORDERED);
+            }
+        } finally
+        {
+            lock.release();
+        }
+    }
+
+    /*
+     * Reads a long at a position of an open file.
+     */
+    static long readLong(final FileChannel channel,
+                         final long position)
+    throws IOException
+    {
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.allocate(Long.BYTES);
+
+        readFully(channel, buffer, position);
+        return buffer.getLong(0);
+    }
+
+    /*
+     * Fills the rest of a buffer from a position of an open file.
+     */
+    private static void readFully(final FileChannel channel,
+                                  final ByteBuffer buffer,
+                                  final long position)
+    throws IOException
+    {
+        final int start;
+        start = buffer.position();
+
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position() - start) < 0)
+            {
+                throw new IOException("Score log ends inside a record");
+            }
+        }
+    }
+
+    /*
+     * Writes a long at a position of an open file.
+     */
+    private static void writeLong(final FileChannel channel,
+                                  final long position,
+                                  final long value)
+    throws IOException
+    {
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.allocate(Long.BYTES).putLong(value).flip();
+
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /*
+     * Writes the file header into a buffer.
+     */
+    private static void writeHeader(final ByteBuffer buffer,
+                                    final long flags)
+    {
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putShort((short) RECORD_BYTES);
+        buffer.putLong(flags);
+    }
+
+    /*
+     * Writes one score record into a buffer.
+     */
+    static void writeRecord(final ByteBuffer buffer,
+                            final Score score)
+    {
+        buffer.putLong(toEpochSecond(score.getDateTime()));
+        buffer.putInt(score.getGamesPlayed());
+        buffer.putInt(score.getCorrectFirstAttempts());
+        buffer.putInt(score.getCorrectSecondAttempts());
+        buffer.putInt(score.getIncorrectAttempts());
+    }
+
+    /*
+     * Decodes the record starting at an absolute offset into a Score.
+     */
+    static Score readRecord(final ByteBuffer buffer,
+                            final int offset)
+    {
+        return new Score(fromEpochSecond(buffer.getLong(offset)),
+                         buffer.getInt(offset + GAMES_OFFSET),
+                         buffer.getInt(offset + FIRST_OFFSET),
+                         buffer.getInt(offset + SECOND_OFFSET),
+                         buffer.getInt(offset + INCORRECT_OFFSET));
+    }
+
+    /**
+     * Gets the number of complete records in the log from its size alone, without reading it.
+     *
+     * @param filePath the log file
+     * @return the record count (0 if the file does not exist)
+     */
+    public static long count(final String filePath)
+    {
+        validateFilePath(filePath);
+
+        final long size;
+        size = new File(filePath).length();
+
+        if (size <= HEADER_BYTES)
+        {
+            return EMPTY;
+        }
+        return (size - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    /**
+     * Visits every record in the log in order without creating Score objects.
+     *
+     * @param filePath the log file
+     * @param visitor  the visitor called for each record
+     * @return the number of records visited (0 if the file does not exist)
+     * @throws IOException if an I/O error occurs or the file is not a score log
+     */
+    public static long scan(final String filePath,
+                            final RecordVisitor visitor)
+    throws IOException
+    {
+        Objects.requireNonNull(visitor, "Visitor cannot be null");
+        validateFilePath(filePath);
+
+        if (!new File(filePath).exists())
+        {
+            return EMPTY;
+        }
+
+        final long start;
+        start = System.nanoTime();
+
+        final ByteBuffer buffer;
+        final long       records;
+
+        buffer  = read(Paths.get(filePath));
+        records = (buffer.limit() - HEADER_BYTES) / RECORD_BYTES;
+
+        for (int offset = HEADER_BYTES; offset + RECORD_BYTES <= buffer.limit(); offset += RECORD_BYTES)
+        {
+            visitor.visit(buffer.getLong(offset),
+                          buffer.getInt(offset + GAMES_OFFSET),
+                          buffer.getInt(offset + FIRST_OFFSET),
+                          buffer.getInt(offset + SECOND_OFFSET),
+                          buffer.getInt(offset + INCORRECT_OFFSET));
+        }
+
+        GameMetrics.SCORE_READ.recordSince(start);
+        return records;
+    }
+
+    /**
+     * Reads every record in the log into Score objects.
+     *
+     * @param filePath the log file
+     * @return the scores in file order (empty if the file does not exist)
+     * @throws IOException if an I/O error occurs or the file is not a score log
+     */
+    public static List<Score> readAll(final String filePath)
+    throws IOException
+    {
+        final List<Score> scores;
+        scores = new ArrayList<>();
+
+        scan(filePath, (epochSecond, gamesPlayed, first, second, incorrect) ->
+                scores.add(new Score(fromEpochSecond(epochSecond), gamesPlayed, first, second, incorrect)));
+
+        return scores;
+    }
+
+    /**
+     * Reads the scores played in a time range.
+     * In a log kept in time order the start is found by binary search, so only the matching
+     * records are read. A log flagged UNORDERED is scanned in full and the matches sorted.
+     *
+     * @param filePath the log file
+     * @param from     the start of the range, inclusive
+     * @param to       the end of the range, exclusive
+     * @return the scores in the range, oldest first (empty if the file does not exist)
+     * @throws IOException if an I/O error occurs or the file is not a score log
+     */
+    public static List<Score> readRange(final String filePath,
+                                        final LocalDateTime from,
+                                        final LocalDateTime to)
+    throws IOException
+    {
+        validateFilePath(filePath);
+        Objects.requireNonNull(from, "Range start cannot be null");
+        Objects.requireNonNull(to, "Range end cannot be null");
+
+        final List<Score> scores;
+        scores = new ArrayList<>();
+
+        if (!new File(filePath).exists())
+        {
+            return scores;
+        }
+
+        final long start;
+        start = System.nanoTime();
+
+        final long fromEpochSecond;
+        final long toEpochSecond;
+
+        fromEpochSecond = toEpochSecond(from);
+        toEpochSecond   = toEpochSecond(to);
+
+        try (final FileChannel channel = open(Paths.get(filePath)))
+        {
+            final long       records;
+            final boolean    unordered;
+            final ByteBuffer chunk;
+            long             next;
+            boolean          pastRange;
+
+            records   = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+            unordered = (readLong(channel, FLAGS_OFFSET) & UNORDERED) != EMPTY;
+            chunk     = ByteBuffer.allocate(RANGE_CHUNK * RECORD_BYTES);
+            next      = unordered ? EMPTY : lowerBound(channel, records, fromEpochSecond);
+            pastRange = false;
+
+            // Read in chunks, so a short range near the end of a long log reads only its own records
+            while (next < records &&
+                   !pastRange)
+            {
+                chunk.clear().limit((int) Math.min(RANGE_CHUNK, records - next) * RECORD_BYTES);
+                readFully(channel, chunk, HEADER_BYTES + next * RECORD_BYTES);
+
+                for (int offset = 0; offset < chunk.limit() && !pastRange; offset += RECORD_BYTES)
+                {
+                    final long epochSecond;
+                    epochSecond = chunk.getLong(offset);
+
+                    if (epochSecond >= fromEpochSecond &&
+                        epochSecond < toEpochSecond)
+                    {
+                        scores.add(readRecord(chunk, offset));
+                    }
+
+                    pastRange = !unordered && epochSecond >= toEpochSecond;
+                }
+
+                next += chunk.limit() / RECORD_BYTES;
+            }
+
+            if (unordered)
+            {
+                scores.sort(Comparator.comparing(Score::getDateTime));
+            }
+        }
+
+        GameMetrics.SCORE_READ.recordSince(start);
+        return scores;
+    }
+
+    /*
+     * Finds the index of the first record at or after a time in a log kept in time order,
+     * reading one date per step. Only meaningful when the log is not flagged UNORDERED.
+     */
+    private static long lowerBound(final FileChannel channel,
+                                   final long records,
+                                   final long epochSecond)
+    throws IOException
+    {
+        long low;
+        long high;
+
+        low  = EMPTY;
+        high = records;
+
+        while (low < high)
+        {
+            final long middle;
+            middle = (low + high) >>> 1;
+
+            if (readLong(channel, HEADER_BYTES + middle * RECORD_BYTES) < epochSecond)
+            {
+                low = middle + 1;
+            }
+            else
+            {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Converts a legacy text score file (as written by Score.appendScoreToFile) into a binary log.
+     * The scores are appended to the log, which is created if it does not exist.
+     *
+     * @param textFilePath the legacy score.txt file
+     * @param logFilePath  the binary log to append to
+     * @return the number of scores converted
+     * @throws IOException if an I/O error occurs
+     */
+    public static int convertLegacy(final String textFilePath,
+                                    final String logFilePath)
+    throws IOException
+    {
+        validateFilePath(textFilePath);
+
+        final List<Score> batch;
+        int               converted;
+
+        batch     = new ArrayList<>(CONVERT_BATCH);
+        converted = 0;
+
+        // Streamed in batches so converting a long history never holds it all in memory
+        try (final Stream<Score> scores = Score.streamScoresFromFile(textFilePath))
+        {
+            final Iterator<Score> iterator;
+            iterator = scores.iterator();
+
+            while (iterator.hasNext())
+            {
+                batch.add(iterator.next());
+
+                if (batch.size() == CONVERT_BATCH)
+                {
+                    appendAll(batch, logFilePath);
+                    converted += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+
+        appendAll(batch, logFilePath);
+        return converted + batch.size();
+    }
+
+    /*
+     * Reads a whole score log into a heap buffer and validates its header.
+     * The returned buffer's limit is the file size.
+     */
+    private static ByteBuffer read(final Path path)
+    throws IOException
+    {
+        try (final FileChannel channel = open(path))
+        {
+            final long size;
+            size = channel.size();
+
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Score log too large to read at once: " + path);
+            }
+
+            final ByteBuffer buffer;
+            buffer = ByteBuffer.allocate((int) size);
+
+            readFully(channel, buffer, EMPTY);
+            return buffer.flip();
+        }
+    }
+
+    /*
+     * Opens a score log for reading after checking its header.
+     */
+    static FileChannel open(final Path path)
+    throws IOException
+    {
+        final FileChannel channel;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try
+        {
+            final ByteBuffer header;
+            header = ByteBuffer.allocate((int) Math.min(HEADER_BYTES, channel.size()));
+
+            readFully(channel, header, EMPTY);
+            validateHeader(header, path);
+            return channel;
+        } catch (final IOException e)
+        {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /*
+     * Checks the magic number, version and record size of a log header.
+     */
+    private static void validateHeader(final ByteBuffer buffer,
+                                       final Path path)
+    throws IOException
+    {
+        if (buffer.limit() < HEADER_BYTES ||
+            buffer.getInt(0) != MAGIC)
+        {
+            throw new IOException("Not a score log: " + path);
+        }
+
+        if (buffer.getShort(VERSION_OFFSET) != VERSION ||
+            buffer.getShort(SIZE_OFFSET) != RECORD_BYTES)
+        {
+            throw new IOException("Unsupported score log version in " + path);
+        }
+    }
+
+    /*
+     * Converts a wall-clock date and time to the epoch seconds stored in a record.
+     */
+    static long toEpochSecond(final LocalDateTime dateTime)
+    {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /*
+     * Converts stored epoch seconds back to the wall-clock date and time.
+     */
+    static LocalDateTime fromEpochSecond(final long epochSecond)
+    {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    /*
+     * Validates that a file path is neither null nor blank.
+     */
+    private static void validateFilePath(final String filePath)
+    {
+        if (filePath == null ||
+            filePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+    }
+}
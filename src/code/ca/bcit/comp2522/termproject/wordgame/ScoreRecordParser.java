@@ -0,0 +1,256 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+/*
+ * Parses score records straight from the bytes of a text score file.
+ * It replaces the String.split, substring and DateTimeFormatter work of Score.parseRecord
+ * with a single forward scan: the date is read from its fixed digit positions and each
+ * counter's digits are accumulated by hand, so parsing a record allocates only the Score
+ * and its LocalDateTime.
+ * <p>
+ * A record is the "Date and Time: yyyy-MM-dd HH:mm:ss" line followed by four "Label: number"
+ * lines, each ending in \n or \r\n. The trailing "Score:" line is derived data and is not read.
+ * Instances keep the end of the last parsed record, so each thread needs its own.
+ */
+final class ScoreRecordParser
+{
+    private static final int  DATE_START      = Score.RECORD_START.length();
+    private static final int  COUNTER_LINES   = 4;
+    private static final int  MAX_DIGITS      = 9; // always fits in an int
+    private static final int  RADIX           = 10;
+    private static final byte NEW_LINE        = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte COLON           = ':';
+    private static final byte SPACE           = ' ';
+    private static final byte DASH            = '-';
+    private static final byte ZERO            = '0';
+    private static final int  NOT_FOUND       = -1;
+
+    // Offsets from the start of "yyyy-MM-dd HH:mm:ss"
+    private static final int YEAR   = 0;
+    private static final int MONTH  = 5;
+    private static final int DAY    = 8;
+    private static final int HOUR   = 11;
+    private static final int MINUTE = 14;
+    private static final int SECOND = 17;
+    private static final int LENGTH = 19;
+
+    private final ByteBuffer buffer;
+    private final int[]      counters;
+    private int              end;
+
+    /*
+     * Constructs a parser over a buffer holding a score file.
+     */
+    ScoreRecordParser(final ByteBuffer buffer)
+    {
+        this.buffer   = buffer;
+        this.counters = new int[COUNTER_LINES];
+        this.end      = NOT_FOUND;
+    }
+
+    /*
+     * Parses the record whose "Date and Time: " line starts at the given position.
+     * Returns null if the buffer ends before the record is complete.
+     * Throws IllegalArgumentException if the record is malformed.
+     */
+    Score parse(final int start)
+    {
+        final int dateStart;
+        int       position;
+
+        dateStart = start + DATE_START;
+        position  = dateStart + LENGTH;
+
+        if (lineEnd(position) == NOT_FOUND)
+        {
+            return null;
+        }
+
+        expect(dateStart + MONTH - 1, DASH);
+        expect(dateStart + DAY - 1, DASH);
+        expect(dateStart + HOUR - 1, SPACE);
+        expect(dateStart + MINUTE - 1, COLON);
+        expect(dateStart + SECOND - 1, COLON);
+
+        final LocalDateTime dateTime;
+        dateTime = LocalDateTime.of(digits(dateStart + YEAR, 4),
+                                    digits(dateStart + MONTH, 2),
+                                    digits(dateStart + DAY, 2),
+                                    digits(dateStart + HOUR, 2),
+                                    digits(dateStart + MINUTE, 2),
+                                    digits(dateStart + SECOND, 2));
+
+        position = skipLine(position);
+
+        for (int i = 0; i < COUNTER_LINES; i++)
+        {
+            if (position == NOT_FOUND)
+            {
+                return null;
+            }
+
+            position = parseCounter(position, i);
+        }
+
+        if (position == NOT_FOUND)
+        {
+            return null;
+        }
+
+        end = position;
+        return new Score(dateTime, counters[0], counters[1], counters[2], counters[3]);
+    }
+
+    /*
+     * Gets the position just after the last parsed record.
+     */
+    int getEnd()
+    {
+        return end;
+    }
+
+    /*
+     * Parses the number after ": " on a "Label: number" line into counters[index].
+     * Returns the start of the next line, or NOT_FOUND if the buffer ends first.
+     * A colon not followed by a space is malformed, so no digit is ever skipped.
+     */
+    private int parseCounter(final int lineStart,
+                             final int index)
+    {
+        int position;
+        position = lineStart;
+
+        while (position < buffer.limit() &&
+               buffer.get(position) != COLON)
+        {
+            if (buffer.get(position) == NEW_LINE)
+            {
+                throw malformed(position);
+            }
+            position++;
+        }
+
+        if (position + 1 >= buffer.limit())
+        {
+            return NOT_FOUND;
+        }
+
+        if (buffer.get(position + 1) != SPACE)
+        {
+            throw malformed(position + 1);
+        }
+
+        position += 2; // ": "
+
+        int value;
+        int digits;
+
+        value  = 0;
+        digits = 0;
+
+        while (position < buffer.limit())
+        {
+            final byte b;
+            b = buffer.get(position);
+
+            if (b == NEW_LINE ||
+                b == CARRIAGE_RETURN)
+            {
+                if (digits == 0)
+                {
+                    throw malformed(position);
+                }
+
+                counters[index] = value;
+                return skipLine(position);
+            }
+
+            if (b < ZERO ||
+                b > ZERO + RADIX - 1 ||
+                ++digits > MAX_DIGITS)
+            {
+                throw malformed(position);
+            }
+
+            value = value * RADIX + (b - ZERO);
+            position++;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /*
+     * Reads a fixed number of decimal digits at a position.
+     */
+    private int digits(final int at,
+                       final int count)
+    {
+        int value;
+        value = 0;
+
+        for (int i = at; i < at + count; i++)
+        {
+            final int digit;
+            digit = buffer.get(i) - ZERO;
+
+            if (digit < 0 ||
+                digit >= RADIX)
+            {
+                throw malformed(i);
+            }
+
+            value = value * RADIX + digit;
+        }
+
+        return value;
+    }
+
+    /*
+     * Checks that the byte at a position is the expected separator.
+     */
+    private void expect(final int at,
+                        final byte expected)
+    {
+        if (buffer.get(at) != expected)
+        {
+            throw malformed(at);
+        }
+    }
+
+    /*
+     * Finds the \n ending the line that contains a position, or NOT_FOUND.
+     */
+    private int lineEnd(final int from)
+    {
+        for (int i = from; i < buffer.limit(); i++)
+        {
+            if (buffer.get(i) == NEW_LINE)
+            {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /*
+     * Returns the start of the line after the one containing a position, or NOT_FOUND.
+     */
+    private int skipLine(final int from)
+    {
+        final int newLine;
+        newLine = lineEnd(from);
+
+        return newLine == NOT_FOUND ? NOT_FOUND : newLine + 1;
+    }
+
+    /*
+     * Creates the exception for a malformed record.
+     */
+    private static IllegalArgumentException malformed(final int at)
+    {
+        return new IllegalArgumentException("Malformed score record at byte " + at);
+    }
+}
@@ -0,0 +1,149 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores Word Game scores. Implementations are interchangeable, so the backend can be chosen
+ * for the size of the history without changing WordGame.
+ * <p>
+ * Implementations:
+ * - TextScoreRepository: the legacy human-readable score.txt.
+ * - BinaryScoreRepository: a single fixed-width ScoreLog.
+ * - SegmentedScoreStore: bounded ScoreLog segments compacted into daily rollups.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public interface ScoreRepository extends AutoCloseable
+{
+    /**
+     * Appends one score.
+     *
+     * @param score the score to append
+     * @throws IOException if the score cannot be stored
+     */
+    void append(Score score) throws IOException;
+
+    /**
+     * Appends several scores in order.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the scores cannot be stored
+     */
+    void appendAll(List<Score> scores) throws IOException;
+
+    /**
+     * Reads every score the repository still holds individually, oldest first.
+     *
+     * @return the scores
+     * @throws IOException if the scores cannot be read
+     */
+    List<Score> readAll() throws IOException;
+
+    /**
+     * Reads the scores held individually that were played in a time range.
+     * The default filters readAll; backends that keep scores in time order override it
+     * to read only the matching records.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the scores in the range, oldest first
+     * @throws IOException if the scores cannot be read
+     */
+    default List<Score> readRange(final LocalDateTime from,
+                                  final LocalDateTime to) throws IOException
+    {
+        final List<Score> scores;
+        scores = new ArrayList<>();
+
+        for (final Score score : readAll())
+        {
+            if (isInRange(score, from, to))
+            {
+                scores.add(score);
+            }
+        }
+
+        return scores;
+    }
+
+    /**
+     * Finds the best score by average points per game played in a time range,
+     * for example "best score this month". Summarized periods contribute their best
+     * score when it falls inside the range.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the best score in the range, or null if there is none
+     * @throws IOException if the scores cannot be read
+     */
+    default Score findBest(final LocalDateTime from,
+                           final LocalDateTime to) throws IOException
+    {
+        Score best;
+        best = null;
+
+        final List<Score> candidates;
+        candidates = new ArrayList<>(readSummarizedBests());
+        candidates.addAll(readRange(from, to));
+
+        for (final Score score : candidates)
+        {
+            if (score.getGamesPlayed() > 0 &&
+                isInRange(score, from, to) &&
+                (best == null || score.getAvgScore() >= best.getAvgScore()))
+            {
+                best = score;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Checks whether a score was played in the range [from, to).
+     *
+     * @param score the score
+     * @param from  the start of the range, inclusive
+     * @param to    the end of the range, exclusive
+     * @return true if the score is in the range
+     */
+    static boolean isInRange(final Score score,
+                             final LocalDateTime from,
+                             final LocalDateTime to)
+    {
+        return !score.getDateTime().isBefore(from) &&
+               score.getDateTime().isBefore(to);
+    }
+
+    /**
+     * Gets the number of scores ever appended, including any no longer held individually.
+     *
+     * @return the score count
+     * @throws IOException if the count cannot be read
+     */
+    long count() throws IOException;
+
+    /**
+     * Gets the best score of each summarized period whose individual scores have been dropped.
+     * Together with readAll this covers every score's best candidate.
+     *
+     * @return the summarized best scores; empty for repositories that keep every score
+     * @throws IOException if the summaries cannot be read
+     */
+    default List<Score> readSummarizedBests() throws IOException
+    {
+        return List.of();
+    }
+
+    /**
+     * Releases any files, threads or connections held by the repository.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    void close() throws IOException;
+}
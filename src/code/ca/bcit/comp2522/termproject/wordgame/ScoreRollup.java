@@ -0,0 +1,239 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+
+/**
+ * A summary of every score recorded on one day.
+ * Compaction replaces old score segments with these, so the long history keeps its
+ * totals and its best score while the individual records are dropped.
+ * <p>
+ * Rollups are mergeable: adding a score or another rollup for the same day gives the
+ * same result in any order.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreRollup
+{
+    /**
+     * The size of one encoded rollup in bytes.
+     */
+    static final int BYTES = Long.BYTES * 6 + ScoreLog.RECORD_BYTES;
+
+    private static final int  FIRST_TRY_MULTIPLIER = 2;
+    private static final long NOTHING              = 0L;
+
+    private final long epochDay;
+    private long       sessions;
+    private long       gamesPlayed;
+    private long       correctFirstAttempts;
+    private long       correctSecondAttempts;
+    private long       incorrectAttempts;
+    private Score      best;
+
+    /*
+     * Constructs an empty rollup for a day.
+     */
+    ScoreRollup(final long epochDay)
+    {
+        this.epochDay              = epochDay;
+        this.sessions              = NOTHING;
+        this.gamesPlayed           = NOTHING;
+        this.correctFirstAttempts  = NOTHING;
+        this.correctSecondAttempts = NOTHING;
+        this.incorrectAttempts     = NOTHING;
+        this.best                  = null;
+    }
+
+    /*
+     * Gets the epoch day a score belongs to.
+     */
+    static long epochDayOf(final Score score)
+    {
+        return score.getDateTime().toLocalDate().toEpochDay();
+    }
+
+    /*
+     * Adds one score, which must belong to this rollup's day.
+     */
+    void add(final Score score)
+    {
+        sessions++;
+        gamesPlayed           += score.getGamesPlayed();
+        correctFirstAttempts  += score.getCorrectFirstAttempts();
+        correctSecondAttempts += score.getCorrectSecondAttempts();
+        incorrectAttempts     += score.getIncorrectAttempts();
+
+        if (score.getGamesPlayed() > NOTHING &&
+            (best == null || score.getAvgScore() >= best.getAvgScore()))
+        {
+            best = score;
+        }
+    }
+
+    /*
+     * Adds every score summarized by another rollup for the same day.
+     */
+    void addAll(final ScoreRollup other)
+    {
+        sessions              += other.sessions;
+        gamesPlayed           += other.gamesPlayed;
+        correctFirstAttempts  += other.correctFirstAttempts;
+        correctSecondAttempts += other.correctSecondAttempts;
+        incorrectAttempts     += other.incorrectAttempts;
+
+        if (other.best != null &&
+            (best == null || other.best.getAvgScore() >= best.getAvgScore()))
+        {
+            best = other.best;
+        }
+    }
+
+    /*
+     * Writes this rollup into a buffer.
+     */
+    void write(final ByteBuffer buffer)
+    {
+        final Score bestOrEmpty;
+        bestOrEmpty = best != null ? best : new Score(LocalDate.ofEpochDay(epochDay).atStartOfDay(), 0, 0, 0, 0);
+
+        buffer.putLong(epochDay);
+        buffer.putLong(sessions);
+        buffer.putLong(gamesPlayed);
+        buffer.putLong(correctFirstAttempts);
+        buffer.putLong(correctSecondAttempts);
+        buffer.putLong(incorrectAttempts);
+        ScoreLog.writeRecord(buffer, bestOrEmpty);
+    }
+
+    /*
+     * Reads a rollup written by write, advancing the buffer past it.
+     */
+    static ScoreRollup read(final ByteBuffer buffer)
+    {
+        final ScoreRollup rollup;
+        final Score       best;
+
+        rollup                       = new ScoreRollup(buffer.getLong());
+        rollup.sessions              = buffer.getLong();
+        rollup.gamesPlayed           = buffer.getLong();
+        rollup.correctFirstAttempts  = buffer.getLong();
+        rollup.correctSecondAttempts = buffer.getLong();
+        rollup.incorrectAttempts     = buffer.getLong();
+        best                         = ScoreLog.readRecord(buffer, buffer.position());
+
+        buffer.position(buffer.position() + ScoreLog.RECORD_BYTES);
+        rollup.best = best.getGamesPlayed() > NOTHING ? best : null;
+
+        return rollup;
+    }
+
+    /*
+     * Returns a copy that later merges into this rollup will not affect.
+     */
+    ScoreRollup copy()
+    {
+        final ScoreRollup copy;
+        copy = new ScoreRollup(epochDay);
+
+        copy.addAll(this);
+        return copy;
+    }
+
+    /**
+     * Gets the day this rollup summarizes.
+     *
+     * @return the day
+     */
+    public LocalDate getDate()
+    {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Gets the number of saved sessions on this day.
+     *
+     * @return the session count
+     */
+    public long getSessions()
+    {
+        return sessions;
+    }
+
+    /**
+     * Gets the total number of games played on this day.
+     *
+     * @return the games played
+     */
+    public long getGamesPlayed()
+    {
+        return gamesPlayed;
+    }
+
+    /**
+     * Gets the total number of questions answered correctly on the first attempt.
+     *
+     * @return the correct first attempts
+     */
+    public long getCorrectFirstAttempts()
+    {
+        return correctFirstAttempts;
+    }
+
+    /**
+     * Gets the total number of questions answered correctly on the second attempt.
+     *
+     * @return the correct second attempts
+     */
+    public long getCorrectSecondAttempts()
+    {
+        return correctSecondAttempts;
+    }
+
+    /**
+     * Gets the total number of questions answered incorrectly.
+     *
+     * @return the incorrect attempts
+     */
+    public long getIncorrectAttempts()
+    {
+        return incorrectAttempts;
+    }
+
+    /**
+     * Gets the average points per game over the whole day.
+     *
+     * @return the average score, or 0 if no games were played
+     */
+    public double getAvgScore()
+    {
+        if (gamesPlayed == NOTHING)
+        {
+            return NOTHING;
+        }
+        return (correctFirstAttempts * FIRST_TRY_MULTIPLIER + correctSecondAttempts) / (double) gamesPlayed;
+    }
+
+    /**
+     * Gets the best single score of the day.
+     *
+     * @return the best score, or null if no games were played
+     */
+    public Score getBest()
+    {
+        return best;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return the day with its session count, game count and average score
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%s: %d sessions, %d games, %.2f ppg",
+                             getDate(), sessions, gamesPlayed, getAvgScore());
+    }
+}
@@ -0,0 +1,261 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A mergeable summary of average scores: count, mean, minimum, maximum and approximate percentiles.
+ * <p>
+ * Average points per game always lie between 0 and MAX_AVERAGE (every question right on the
+ * first try), so the sketch is a fixed histogram over that range with BUCKETS_PER_POINT buckets
+ * per point. Percentiles are therefore within half a bucket (0.125 ppg) of the exact value,
+ * and merging two sketches is just adding their buckets, in any order.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreSketch
+{
+    /**
+     * The highest possible average points per game.
+     */
+    public static final double MAX_AVERAGE = 20.0;
+
+    private static final int    BUCKETS_PER_POINT = 4;
+    private static final int    BUCKETS           = (int) MAX_AVERAGE * BUCKETS_PER_POINT + 1;
+    private static final double MEDIAN            = 50.0;
+    private static final double NINETIETH         = 90.0;
+    private static final double MAX_PERCENTILE    = 100.0;
+    private static final long   NOTHING           = 0L;
+
+    private final long[] buckets;
+    private long         count;
+    private double       sum;
+    private double       min;
+    private double       max;
+
+    /**
+     * Constructs an empty sketch.
+     */
+    public ScoreSketch()
+    {
+        this.buckets = new long[BUCKETS];
+        this.count   = NOTHING;
+        this.sum     = NOTHING;
+        this.min     = Double.POSITIVE_INFINITY;
+        this.max     = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Adds one average score. Values outside 0 to MAX_AVERAGE are clamped into range.
+     *
+     * @param average the average points per game
+     */
+    public void add(final double average)
+    {
+        final double clamped;
+        clamped = Math.max(0, Math.min(MAX_AVERAGE, average));
+
+        buckets[(int) Math.round(clamped * BUCKETS_PER_POINT)]++;
+        count++;
+        sum += clamped;
+        min  = Math.min(min, clamped);
+        max  = Math.max(max, clamped);
+    }
+
+    /**
+     * Adds everything summarized by another sketch.
+     *
+     * @param other the sketch to merge in
+     */
+    public void merge(final ScoreSketch other)
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            buckets[i] += other.buckets[i];
+        }
+
+        count += other.count;
+        sum   += other.sum;
+        min    = Math.min(min, other.min);
+        max    = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns an independent copy of this sketch.
+     *
+     * @return the copy
+     */
+    public ScoreSketch copy()
+    {
+        final ScoreSketch copy;
+        copy = new ScoreSketch();
+
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Gets the number of scores summarized.
+     *
+     * @return the count
+     */
+    public long getCount()
+    {
+        return count;
+    }
+
+    /**
+     * Gets the exact mean of the summarized averages.
+     *
+     * @return the mean, or 0 if the sketch is empty
+     */
+    public double getMean()
+    {
+        return count == NOTHING ? NOTHING : sum / count;
+    }
+
+    /**
+     * Gets the lowest summarized average.
+     *
+     * @return the minimum, or 0 if the sketch is empty
+     */
+    public double getMin()
+    {
+        return count == NOTHING ? NOTHING : min;
+    }
+
+    /**
+     * Gets the highest summarized average.
+     *
+     * @return the maximum, or 0 if the sketch is empty
+     */
+    public double getMax()
+    {
+        return count == NOTHING ? NOTHING : max;
+    }
+
+    /**
+     * Gets an approximate percentile, accurate to within 0.125 ppg.
+     *
+     * @param percentile the percentile from 0 to 100, e.g. 50 for the median
+     * @return the approximate value at that percentile, or 0 if the sketch is empty
+     */
+    public double getPercentile(final double percentile)
+    {
+        if (percentile < NOTHING ||
+            percentile > MAX_PERCENTILE)
+        {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        if (count == NOTHING)
+        {
+            return NOTHING;
+        }
+
+        final long rank;
+        long       seen;
+
+        rank = Math.max(1, (long) Math.ceil(percentile / MAX_PERCENTILE * count));
+        seen = NOTHING;
+
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            seen += buckets[i];
+
+            if (seen >= rank)
+            {
+                // Bucket centre, kept within the values actually seen
+                return Math.max(min, Math.min(max, (double) i / BUCKETS_PER_POINT));
+            }
+        }
+
+        return max;
+    }
+
+    /*
+     * Writes the sketch into a buffer, storing only the non-empty buckets.
+     */
+    void write(final ByteBuffer buffer)
+    {
+        int used;
+        used = 0;
+
+        for (final long bucket : buckets)
+        {
+            if (bucket != NOTHING)
+            {
+                used++;
+            }
+        }
+
+        buffer.putLong(count);
+        buffer.putDouble(sum);
+        buffer.putDouble(min);
+        buffer.putDouble(max);
+        buffer.putShort((short) used);
+
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            if (buckets[i] != NOTHING)
+            {
+                buffer.putShort((short) i);
+                buffer.putLong(buckets[i]);
+            }
+        }
+    }
+
+    /*
+     * Gets the number of bytes write will use.
+     */
+    int encodedSize()
+    {
+        int used;
+        used = 0;
+
+        for (final long bucket : buckets)
+        {
+            if (bucket != NOTHING)
+            {
+                used++;
+            }
+        }
+
+        return Long.BYTES + Double.BYTES * 3 + Short.BYTES + used * (Short.BYTES + Long.BYTES);
+    }
+
+    /*
+     * Reads a sketch written by write, advancing the buffer past it.
+     */
+    static ScoreSketch read(final ByteBuffer buffer)
+    {
+        final ScoreSketch sketch;
+        final int         used;
+
+        sketch       = new ScoreSketch();
+        sketch.count = buffer.getLong();
+        sketch.sum   = buffer.getDouble();
+        sketch.min   = buffer.getDouble();
+        sketch.max   = buffer.getDouble();
+        used         = buffer.getShort();
+
+        for (int i = 0; i < used; i++)
+        {
+            sketch.buckets[buffer.getShort()] = buffer.getLong();
+        }
+
+        return sketch;
+    }
+
+    /**
+     * Overrides the toString method.
+     *
+     * @return the count, mean, median and 90th percentile
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("%d scores, mean %.2f, median %.2f, p90 %.2f ppg",
+                             count, getMean(), getPercentile(MEDIAN), getPercentile(NINETIETH));
+    }
+}
@@ -0,0 +1,163 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/*
+ * A spliterator over the records of a memory-mapped text score file.
+ * Each instance covers a byte range [position, end) and owns every record that starts in it.
+ * Splitting cuts the range at the first record start after its midpoint, so both halves hold
+ * whole records. All reads are absolute, so spliterators sharing one buffer can run on
+ * different threads. Records are parsed by a ScoreRecordParser per spliterator.
+ * An incomplete record at the end of the file is skipped.
+ */
+final class ScoreSpliterator implements Spliterator<Score>
+{
+    private static final byte[] RECORD_START         = Score.RECORD_START.getBytes(StandardCharsets.US_ASCII);
+    private static final byte   NEW_LINE             = '\n';
+    private static final int    MIN_SPLIT_BYTES      = 64 * 1024;
+    private static final int    AVERAGE_RECORD_BYTES = 140;
+    private static final int    NOT_FOUND            = -1;
+
+    private final ByteBuffer        buffer;
+    private final ScoreRecordParser parser;
+    private final int               end;
+    private int                     position;
+
+    /*
+     * Constructs a spliterator over part of a mapped file.
+     */
+    private ScoreSpliterator(final ByteBuffer buffer,
+                             final int position,
+                             final int end)
+    {
+        this.buffer   = buffer;
+        this.parser   = new ScoreRecordParser(buffer);
+        this.position = position;
+        this.end      = end;
+    }
+
+    /*
+     * Maps a score file read-only and returns a spliterator over all of it.
+     */
+    static ScoreSpliterator open(final Path path)
+    throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            final long size;
+            size = channel.size();
+
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Score file too large to map: " + path);
+            }
+
+            return new ScoreSpliterator(channel.map(FileChannel.MapMode.READ_ONLY, 0L, size), 0, (int) size);
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Score> action)
+    {
+        final int start;
+        start = nextRecordStart(position);
+
+        if (start == NOT_FOUND)
+        {
+            position = end;
+            return false;
+        }
+
+        final Score score;
+        score = parser.parse(start);
+
+        if (score == null)
+        {
+            position = end;
+            return false;
+        }
+
+        position = parser.getEnd();
+        action.accept(score);
+
+        return true;
+    }
+
+    @Override
+    public Spliterator<Score> trySplit()
+    {
+        if (end - position < MIN_SPLIT_BYTES)
+        {
+            return null;
+        }
+
+        final int split;
+        split = nextRecordStart(position + (end - position) / 2);
+
+        if (split == NOT_FOUND)
+        {
+            return null;
+        }
+
+        final ScoreSpliterator prefix;
+        prefix = new ScoreSpliterator(buffer, position, split);
+
+        position = split;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return (end - position) / AVERAGE_RECORD_BYTES;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return ORDERED | NONNULL | IMMUTABLE;
+    }
+
+    /*
+     * Finds the first record start at or after a position and before the end of this range.
+     */
+    private int nextRecordStart(final int from)
+    {
+        for (int i = from; i < end; i++)
+        {
+            if ((i == 0 || buffer.get(i - 1) == NEW_LINE) &&
+                startsRecord(i))
+            {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /*
+     * Checks whether the bytes at a position are the record start marker.
+     */
+    private boolean startsRecord(final int at)
+    {
+        if (at + RECORD_START.length > buffer.limit())
+        {
+            return false;
+        }
+
+        for (int i = 0; i < RECORD_START.length; i++)
+        {
+            if (buffer.get(at + i) != RECORD_START[i])
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
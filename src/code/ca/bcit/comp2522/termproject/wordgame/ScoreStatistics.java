@@ -0,0 +1,337 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Per-day and per-week statistics of Word Game average scores, cached on disk next to a
+ * ScoreRepository. Each day and each week (starting Monday) holds a ScoreSketch, giving the
+ * count, mean and approximate percentiles without rescanning raw scores.
+ * <p>
+ * File layout (all numbers big-endian):
+ * - Header: magic number (int), format version (short), number of stored scores covered (long).
+ * - Day count (int) then, per day, its epoch day (long) and encoded sketch.
+ * - Week count (int) then, per week, the epoch day of its Monday (long) and encoded sketch.
+ * <p>
+ * Like HighScoreIndex, the cache remembers how many stored scores it covers and is rebuilt
+ * with one pass over the repository if that does not match. Each recorded score updates one
+ * day and one week and saves through a temporary file and an atomic move. A rebuild only sees
+ * scores the repository still holds individually, so the cache should be kept with the store.
+ * All methods are synchronized.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreStatistics
+{
+    private static final int    MAGIC        = 0x57475354; // "WGST"
+    private static final short  VERSION      = 1;
+    private static final int    HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES;
+    private static final int    NOTHING      = 0;
+    private static final String TEMP_SUFFIX  = ".tmp";
+
+    private final Path                       file;
+    private final TreeMap<Long, ScoreSketch> days;
+    private final TreeMap<Long, ScoreSketch> weeks;
+    private long                             recordCount;
+
+    /*
+     * Constructs empty statistics. Statistics are created through load.
+     */
+    private ScoreStatistics(final Path file)
+    {
+        this.file        = file;
+        this.days        = new TreeMap<>();
+        this.weeks       = new TreeMap<>();
+        this.recordCount = NOTHING;
+    }
+
+    /**
+     * Loads the cached statistics for a repository, rebuilding them if they are missing,
+     * unreadable or out of date.
+     *
+     * @param statisticsFilePath the cache file
+     * @param repository         the repository the statistics describe
+     * @return the statistics, up to date with the repository
+     * @throws IOException if the repository cannot be read or the cache cannot be saved
+     */
+    public static ScoreStatistics load(final String statisticsFilePath,
+                                       final ScoreRepository repository)
+    throws IOException
+    {
+        if (statisticsFilePath == null ||
+            statisticsFilePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+        Objects.requireNonNull(repository, "Repository cannot be null");
+
+        final ScoreStatistics statistics;
+        statistics = new ScoreStatistics(Paths.get(statisticsFilePath));
+
+        if (statistics.read() &&
+            statistics.recordCount == repository.count())
+        {
+            return statistics;
+        }
+
+        statistics.rebuild(repository);
+        return statistics;
+    }
+
+    /*
+     * Reads the cache file. Returns false if it is missing or corrupt.
+     */
+    private boolean read()
+    throws IOException
+    {
+        if (!Files.exists(file))
+        {
+            return false;
+        }
+
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES ||
+                buffer.getInt() != MAGIC ||
+                buffer.getShort() != VERSION)
+            {
+                return false;
+            }
+
+            recordCount = buffer.getLong();
+            readSketches(buffer, days);
+            readSketches(buffer, weeks);
+
+            return true;
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException e)
+        {
+            System.err.println("Rebuilding corrupt score statistics: " + file);
+            days.clear();
+            weeks.clear();
+            return false;
+        }
+    }
+
+    /*
+     * Reads a count followed by that many keyed sketches.
+     */
+    private static void readSketches(final ByteBuffer buffer,
+                                     final Map<Long, ScoreSketch> sketches)
+    {
+        final int entries;
+        entries = buffer.getInt();
+
+        for (int i = 0; i < entries; i++)
+        {
+            final long key;
+            key = buffer.getLong();
+
+            sketches.put(key, ScoreSketch.read(buffer));
+        }
+    }
+
+    /*
+     * Rebuilds the statistics with one pass over the repository and saves them.
+     */
+    private void rebuild(final ScoreRepository repository)
+    throws IOException
+    {
+        days.clear();
+        weeks.clear();
+
+        for (final Score score : repository.readAll())
+        {
+            add(score);
+        }
+
+        recordCount = repository.count();
+        save();
+    }
+
+    /*
+     * Adds a score to its day and its week.
+     */
+    private void add(final Score score)
+    {
+        if (score.getGamesPlayed() == NOTHING)
+        {
+            return;
+        }
+
+        final LocalDate date;
+        date = score.getDateTime().toLocalDate();
+
+        days.computeIfAbsent(date.toEpochDay(), day -> new ScoreSketch()).add(score.getAvgScore());
+        weeks.computeIfAbsent(weekOf(date), week -> new ScoreSketch()).add(score.getAvgScore());
+    }
+
+    /*
+     * Gets the epoch day of the Monday starting a date's week.
+     */
+    private static long weekOf(final LocalDate date)
+    {
+        return date.minusDays(date.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue()).toEpochDay();
+    }
+
+    /**
+     * Records a score that has just been appended to the repository and saves the cache.
+     *
+     * @param score the appended score
+     * @throws IOException if the cache cannot be saved
+     */
+    public synchronized void record(final Score score)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        add(score);
+        recordCount++;
+        save();
+    }
+
+    /**
+     * Gets the statistics for one day.
+     *
+     * @param date the day
+     * @return a copy of the day's sketch (empty if no scores were recorded that day)
+     */
+    public synchronized ScoreSketch getDay(final LocalDate date)
+    {
+        return copyOf(days.get(date.toEpochDay()));
+    }
+
+    /**
+     * Gets the statistics for the week, starting Monday, that contains a date.
+     *
+     * @param date any day in the week
+     * @return a copy of the week's sketch (empty if no scores were recorded that week)
+     */
+    public synchronized ScoreSketch getWeek(final LocalDate date)
+    {
+        return copyOf(weeks.get(weekOf(date)));
+    }
+
+    /**
+     * Gets the statistics for every day with scores, oldest first.
+     *
+     * @return copies of the daily sketches keyed by date
+     */
+    public synchronized Map<LocalDate, ScoreSketch> getDaily()
+    {
+        return copyAll(days);
+    }
+
+    /**
+     * Gets the statistics for every week with scores, oldest first.
+     *
+     * @return copies of the weekly sketches keyed by the Monday starting each week
+     */
+    public synchronized Map<LocalDate, ScoreSketch> getWeekly()
+    {
+        return copyAll(weeks);
+    }
+
+    /**
+     * Gets the number of stored scores these statistics cover.
+     *
+     * @return the record count
+     */
+    public synchronized long getRecordCount()
+    {
+        return recordCount;
+    }
+
+    /*
+     * Copies a sketch, or gives an empty one for a missing entry.
+     */
+    private static ScoreSketch copyOf(final ScoreSketch sketch)
+    {
+        return sketch == null ? new ScoreSketch() : sketch.copy();
+    }
+
+    /*
+     * Copies keyed sketches into a date-keyed map.
+     */
+    private static Map<LocalDate, ScoreSketch> copyAll(final Map<Long, ScoreSketch> sketches)
+    {
+        final Map<LocalDate, ScoreSketch> copy;
+        copy = new TreeMap<>();
+
+        for (final Map.Entry<Long, ScoreSketch> entry : sketches.entrySet())
+        {
+            copy.put(LocalDate.ofEpochDay(entry.getKey()), entry.getValue().copy());
+        }
+
+        return copy;
+    }
+
+    /*
+     * Writes the cache to a temporary file and moves it over the old one.
+     */
+    private void save()
+    throws IOException
+    {
+        final ByteBuffer buffer;
+        final Path       temp;
+
+        buffer = ByteBuffer.allocate(HEADER_BYTES + encodedSize(days) + encodedSize(weeks));
+        temp   = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putLong(recordCount);
+        writeSketches(buffer, days);
+        writeSketches(buffer, weeks);
+
+        Files.write(temp, buffer.array());
+        Files.move(temp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Gets the bytes needed for a count and its keyed sketches.
+     */
+    private static int encodedSize(final Map<Long, ScoreSketch> sketches)
+    {
+        int size;
+        size = Integer.BYTES;
+
+        for (final ScoreSketch sketch : sketches.values())
+        {
+            size += Long.BYTES + sketch.encodedSize();
+        }
+
+        return size;
+    }
+
+    /*
+     * Writes a count followed by the keyed sketches.
+     */
+    private static void writeSketches(final ByteBuffer buffer,
+                                      final Map<Long, ScoreSketch> sketches)
+    {
+        buffer.putInt(sketches.size());
+
+        for (final Map.Entry<Long, ScoreSketch> entry : sketches.entrySet())
+        {
+            buffer.putLong(entry.getKey());
+            entry.getValue().write(buffer);
+        }
+    }
+}
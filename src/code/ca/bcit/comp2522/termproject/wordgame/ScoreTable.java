@@ -0,0 +1,819 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+
+/**
+ * A column-oriented table of scores for large histories.
+ * <p>
+ * Each field is held in its own primitive array (epoch seconds, the four counters and the
+ * precomputed average), so a row costs 32 bytes instead of a Score with its LocalDateTime,
+ * LocalDate and LocalTime objects, and sorting or filtering reads contiguous arrays rather
+ * than following references. Score objects are only built when a row is asked for.
+ * <p>
+ * This class provides the following functionality:
+ * - Loading from Score objects or straight from a ScoreLog without creating any.
+ * - Stable in-place sorting by date or by average.
+ * - Filtering into a new table, and the top K rows by average.
+ * - A compact file format: each column is stored in turn as variable-length integers,
+ *   with dates as differences from the previous row, usually 6 to 8 bytes a row.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreTable
+{
+    private static final int    MAGIC            = 0x57474354; // "WGCT"
+    private static final short  VERSION          = 1;
+    private static final int    HEADER_BYTES     = Integer.BYTES + Short.BYTES + Integer.BYTES;
+    private static final int    MAX_VARINT_BYTES = 10;
+    private static final int    VARINT_BITS      = 7;
+    private static final int    VARINT_MASK      = 0x7F;
+    private static final int    VARINT_MORE      = 0x80;
+    private static final int    COUNTER_COLUMNS  = 4;
+    private static final int    MIN_ROW_BYTES    = 1 + COUNTER_COLUMNS; // one byte per varint at least
+    private static final int    INITIAL_CAPACITY = 16;
+    private static final int    GROWTH_FACTOR    = 2;
+    private static final int    FIRST_TRY_POINTS = 2;
+    private static final int    NOTHING          = 0;
+    private static final double NO_AVERAGE       = -1.0;
+    private static final String TEMP_SUFFIX      = ".tmp";
+
+    /*
+     * Orders two rows by index, without boxing.
+     */
+    @FunctionalInterface
+    private interface RowComparator
+    {
+        int compare(int left,
+                    int right);
+    }
+
+    private long[]   epochSeconds;
+    private int[]    gamesPlayed;
+    private int[]    correctFirstAttempts;
+    private int[]    correctSecondAttempts;
+    private int[]    incorrectAttempts;
+    private double[] averages;
+    private int      size;
+
+    /**
+     * Constructs an empty table.
+     */
+    public ScoreTable()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty table with room for a number of rows before it needs to grow.
+     *
+     * @param capacity the initial number of rows
+     */
+    public ScoreTable(final int capacity)
+    {
+        if (capacity < NOTHING)
+        {
+            throw new IllegalArgumentException("Capacity cannot be negative");
+        }
+
+        this.epochSeconds          = new long[capacity];
+        this.gamesPlayed           = new int[capacity];
+        this.correctFirstAttempts  = new int[capacity];
+        this.correctSecondAttempts = new int[capacity];
+        this.incorrectAttempts     = new int[capacity];
+        this.averages              = new double[capacity];
+        this.size                  = NOTHING;
+    }
+
+    /**
+     * Builds a table from Score objects.
+     *
+     * @param scores the scores, in the order they should appear
+     * @return the table
+     */
+    public static ScoreTable fromScores(final List<Score> scores)
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+
+        final ScoreTable table;
+        table = new ScoreTable(scores.size());
+
+        for (final Score score : scores)
+        {
+            table.add(score);
+        }
+
+        return table;
+    }
+
+    /**
+     * Builds a table straight from a score log, without creating Score objects.
+     *
+     * @param logFilePath the ScoreLog file
+     * @return the table in file order (empty if the file does not exist)
+     * @throws IOException if an I/O error occurs or the file is not a score log
+     */
+    public static ScoreTable fromLog(final String logFilePath)
+    throws IOException
+    {
+        final ScoreTable table;
+        table = new ScoreTable((int) ScoreLog.count(logFilePath));
+
+        ScoreLog.scan(logFilePath, table::addRow);
+        return table;
+    }
+
+    /**
+     * Adds a score as the last row.
+     *
+     * @param score the score to add
+     */
+    public void add(final Score score)
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        addRow(ScoreLog.toEpochSecond(score.getDateTime()),
+               score.getGamesPlayed(),
+               score.getCorrectFirstAttempts(),
+               score.getCorrectSecondAttempts(),
+               score.getIncorrectAttempts());
+    }
+
+    /*
+     * Adds a row from its fields, growing the columns if they are full.
+     */
+    private void addRow(final long epochSecond,
+                        final int games,
+                        final int first,
+                        final int second,
+                        final int incorrect)
+    {
+        if (size == epochSeconds.length)
+        {
+            grow();
+        }
+
+        epochSeconds[size]          = epochSecond;
+        gamesPlayed[size]           = games;
+        correctFirstAttempts[size]  = first;
+        correctSecondAttempts[size] = second;
+        incorrectAttempts[size]     = incorrect;
+        averages[size]              = averageOf(games, first, second);
+        size++;
+    }
+
+    /*
+     * Computes the average points per game the same way Score does.
+     */
+    private static double averageOf(final int games,
+                                    final int first,
+                                    final int second)
+    {
+        return (first * FIRST_TRY_POINTS + second) / (double) games;
+    }
+
+    /*
+     * Doubles the capacity of every column.
+     */
+    private void grow()
+    {
+        final int capacity;
+        capacity = Math.max(INITIAL_CAPACITY, epochSeconds.length * GROWTH_FACTOR);
+
+        epochSeconds          = Arrays.copyOf(epochSeconds, capacity);
+        gamesPlayed           = Arrays.copyOf(gamesPlayed, capacity);
+        correctFirstAttempts  = Arrays.copyOf(correctFirstAttempts, capacity);
+        correctSecondAttempts = Arrays.copyOf(correctSecondAttempts, capacity);
+        incorrectAttempts     = Arrays.copyOf(incorrectAttempts, capacity);
+        averages              = Arrays.copyOf(averages, capacity);
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the row count
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets the date and time of a row in epoch seconds, as stored by ScoreLog.
+     *
+     * @param row the row index
+     * @return the epoch seconds
+     */
+    public long getEpochSecond(final int row)
+    {
+        return epochSeconds[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Gets the date and time of a row.
+     *
+     * @param row the row index
+     * @return the date and time
+     */
+    public LocalDateTime getDateTime(final int row)
+    {
+        return ScoreLog.fromEpochSecond(getEpochSecond(row));
+    }
+
+    /**
+     * Gets the number of games played in a row.
+     *
+     * @param row the row index
+     * @return the games played
+     */
+    public int getGamesPlayed(final int row)
+    {
+        return gamesPlayed[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Gets the average points per game of a row, computed when the row was added.
+     *
+     * @param row the row index
+     * @return the average, as Score.getAvgScore would give it
+     */
+    public double getAvgScore(final int row)
+    {
+        return averages[Objects.checkIndex(row, size)];
+    }
+
+    /**
+     * Builds the Score object for a row.
+     *
+     * @param row the row index
+     * @return the score
+     */
+    public Score toScore(final int row)
+    {
+        Objects.checkIndex(row, size);
+
+        return new Score(ScoreLog.fromEpochSecond(epochSeconds[row]),
+                         gamesPlayed[row],
+                         correctFirstAttempts[row],
+                         correctSecondAttempts[row],
+                         incorrectAttempts[row]);
+    }
+
+    /**
+     * Builds Score objects for every row.
+     *
+     * @return the scores in row order
+     */
+    public List<Score> toScores()
+    {
+        final List<Score> scores;
+        scores = new ArrayList<>(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            scores.add(toScore(row));
+        }
+
+        return scores;
+    }
+
+    /**
+     * Sorts the rows by date and time, oldest first. Rows with the same time keep their order.
+     */
+    public void sortByDate()
+    {
+        sort((left, right) -> Long.compare(epochSeconds[left], epochSeconds[right]));
+    }
+
+    /**
+     * Sorts the rows by average, best first. Rows with the same average keep their order,
+     * and rows with no games played go last.
+     */
+    public void sortByAverage()
+    {
+        sort(this::compareByAverageDescending);
+    }
+
+    /**
+     * Gets the rows matching a condition, in their current order.
+     *
+     * @param condition tests a row index of this table, e.g. row -> table.getAvgScore(row) > 10
+     * @return a new table holding the matching rows
+     */
+    public ScoreTable filter(final IntPredicate condition)
+    {
+        Objects.requireNonNull(condition, "Condition cannot be null");
+
+        final ScoreTable matches;
+        matches = new ScoreTable();
+
+        for (int row = 0; row < size; row++)
+        {
+            if (condition.test(row))
+            {
+                matches.copyRow(this, row);
+            }
+        }
+
+        return matches;
+    }
+
+    /**
+     * Gets the rows played between two times, like ScoreLog.readRange.
+     *
+     * @param from the earliest time, inclusive
+     * @param to   the end of the range, exclusive
+     * @return a new table holding the rows in range, in their current order
+     */
+    public ScoreTable between(final LocalDateTime from,
+                              final LocalDateTime to)
+    {
+        Objects.requireNonNull(from, "From cannot be null");
+        Objects.requireNonNull(to, "To cannot be null");
+
+        final long first;
+        final long end;
+
+        first = ScoreLog.toEpochSecond(from);
+        end   = ScoreLog.toEpochSecond(to);
+
+        return filter(row -> epochSeconds[row] >= first &&
+                             epochSeconds[row] < end);
+    }
+
+    /**
+     * Gets the rows with the highest averages, leaving this table unchanged.
+     * Uses a bounded min-heap of row indices, so it takes one pass and no sorting of the whole table.
+     * Rows with no games played are never included.
+     *
+     * @param count the most rows to return
+     * @return a new table holding at most count rows, best first
+     */
+    public ScoreTable topByAverage(final int count)
+    {
+        if (count < NOTHING)
+        {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+
+        final int   limit;
+        final int[] heap;
+        int         heapSize;
+
+        // Bounded by the table too, so topByAverage(Integer.MAX_VALUE) asks for every row
+        limit    = Math.min(count, size);
+        heap     = new int[limit];
+        heapSize = NOTHING;
+
+        for (int row = 0; row < size && limit > NOTHING; row++)
+        {
+            if (gamesPlayed[row] == NOTHING)
+            {
+                continue;
+            }
+
+            if (heapSize < limit)
+            {
+                heap[heapSize] = row;
+                siftUp(heap, heapSize);
+                heapSize++;
+            }
+            else if (compareByAverageDescending(row, heap[0]) < NOTHING)
+            {
+                heap[0] = row;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        // Copy in table order so the stable sort below keeps ties in that order
+        Arrays.sort(heap, 0, heapSize);
+
+        final ScoreTable top;
+        top = new ScoreTable(heapSize);
+
+        for (int i = 0; i < heapSize; i++)
+        {
+            top.copyRow(this, heap[i]);
+        }
+
+        top.sortByAverage();
+        return top;
+    }
+
+    /*
+     * Moves a new heap entry up until its parent is worse. The root is the worst row kept.
+     */
+    private void siftUp(final int[] heap,
+                        final int index)
+    {
+        int child;
+        child = index;
+
+        while (child > NOTHING)
+        {
+            final int parent;
+            parent = (child - 1) / 2;
+
+            if (compareByAverageDescending(heap[child], heap[parent]) <= NOTHING)
+            {
+                return;
+            }
+
+            swap(heap, child, parent);
+            child = parent;
+        }
+    }
+
+    /*
+     * Moves a replaced root down until both children are better.
+     */
+    private void siftDown(final int[] heap,
+                          final int heapSize)
+    {
+        int parent;
+        parent = NOTHING;
+
+        while (true)
+        {
+            final int left;
+            final int right;
+            int       worst;
+
+            left  = parent * 2 + 1;
+            right = left + 1;
+            worst = parent;
+
+            if (left < heapSize &&
+                compareByAverageDescending(heap[left], heap[worst]) > NOTHING)
+            {
+                worst = left;
+            }
+
+            if (right < heapSize &&
+                compareByAverageDescending(heap[right], heap[worst]) > NOTHING)
+            {
+                worst = right;
+            }
+
+            if (worst == parent)
+            {
+                return;
+            }
+
+            swap(heap, parent, worst);
+            parent = worst;
+        }
+    }
+
+    /*
+     * Swaps two entries of an int array.
+     */
+    private static void swap(final int[] values,
+                             final int first,
+                             final int second)
+    {
+        final int temp;
+        temp = values[first];
+
+        values[first]  = values[second];
+        values[second] = temp;
+    }
+
+    /*
+     * Orders rows by average, best first, with rows that have no games played last.
+     * Ties go to the earlier row, so results are stable.
+     */
+    private int compareByAverageDescending(final int left,
+                                           final int right)
+    {
+        final int order;
+        order = Double.compare(rankOf(right), rankOf(left));
+
+        return order != NOTHING ? order : Integer.compare(left, right);
+    }
+
+    /*
+     * Gets the average used for ordering; rows with no games played rank below every real average.
+     */
+    private double rankOf(final int row)
+    {
+        return gamesPlayed[row] == NOTHING ? NO_AVERAGE : averages[row];
+    }
+
+    /*
+     * Sorts the rows with a stable merge sort over row indices, then rearranges every column once.
+     */
+    private void sort(final RowComparator comparator)
+    {
+        int[] order;
+        int[] buffer;
+
+        order  = new int[size];
+        buffer = new int[size];
+
+        for (int row = 0; row < size; row++)
+        {
+            order[row] = row;
+        }
+
+        for (int width = 1; width < size; width *= 2)
+        {
+            for (int low = 0; low < size; low += width * 2)
+            {
+                merge(order, buffer, low, Math.min(low + width, size), Math.min(low + width * 2, size), comparator);
+            }
+
+            final int[] swapped;
+            swapped = order;
+
+            order  = buffer;
+            buffer = swapped;
+        }
+
+        rearrange(order);
+    }
+
+    /*
+     * Merges two sorted runs of row indices, [low, middle) and [middle, high), into the buffer.
+     */
+    private static void merge(final int[] order,
+                              final int[] buffer,
+                              final int low,
+                              final int middle,
+                              final int high,
+                              final RowComparator comparator)
+    {
+        int left;
+        int right;
+
+        left  = low;
+        right = middle;
+
+        for (int i = low; i < high; i++)
+        {
+            if (left < middle &&
+                (right >= high || comparator.compare(order[left], order[right]) <= NOTHING))
+            {
+                buffer[i] = order[left++];
+            }
+            else
+            {
+                buffer[i] = order[right++];
+            }
+        }
+    }
+
+    /*
+     * Replaces every column with its rows taken in the given order.
+     */
+    private void rearrange(final int[] order)
+    {
+        final long[]   sortedEpochSeconds;
+        final int[]    sortedGames;
+        final int[]    sortedFirst;
+        final int[]    sortedSecond;
+        final int[]    sortedIncorrect;
+        final double[] sortedAverages;
+
+        sortedEpochSeconds = new long[epochSeconds.length];
+        sortedGames        = new int[epochSeconds.length];
+        sortedFirst        = new int[epochSeconds.length];
+        sortedSecond       = new int[epochSeconds.length];
+        sortedIncorrect    = new int[epochSeconds.length];
+        sortedAverages     = new double[epochSeconds.length];
+
+        for (int i = 0; i < size; i++)
+        {
+            sortedEpochSeconds[i] = epochSeconds[order[i]];
+            sortedGames[i]        = gamesPlayed[order[i]];
+            sortedFirst[i]        = correctFirstAttempts[order[i]];
+            sortedSecond[i]       = correctSecondAttempts[order[i]];
+            sortedIncorrect[i]    = incorrectAttempts[order[i]];
+            sortedAverages[i]     = averages[order[i]];
+        }
+
+        epochSeconds          = sortedEpochSeconds;
+        gamesPlayed           = sortedGames;
+        correctFirstAttempts  = sortedFirst;
+        correctSecondAttempts = sortedSecond;
+        incorrectAttempts     = sortedIncorrect;
+        averages              = sortedAverages;
+    }
+
+    /*
+     * Appends a row copied from another table.
+     */
+    private void copyRow(final ScoreTable source,
+                         final int row)
+    {
+        addRow(source.epochSeconds[row],
+               source.gamesPlayed[row],
+               source.correctFirstAttempts[row],
+               source.correctSecondAttempts[row],
+               source.incorrectAttempts[row]);
+    }
+
+    /**
+     * Writes the table to a compact file, replacing it atomically.
+     *
+     * @param filePath the file to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(final String filePath)
+    throws IOException
+    {
+        validateFilePath(filePath);
+
+        final ByteBuffer buffer;
+        final Path       file;
+        final Path       temp;
+        long             previous;
+
+        buffer   = ByteBuffer.allocate(HEADER_BYTES + size * (COUNTER_COLUMNS + 1) * MAX_VARINT_BYTES);
+        file     = Paths.get(filePath);
+        temp     = file.resolveSibling(file.getFileName() + TEMP_SUFFIX);
+        previous = NOTHING;
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(size);
+
+        for (int row = 0; row < size; row++)
+        {
+            // Zigzag encoding keeps small backwards steps small too
+            final long delta;
+            delta = epochSeconds[row] - previous;
+
+            putVarint(buffer, (delta << 1) ^ (delta >> (Long.SIZE - 1)));
+            previous = epochSeconds[row];
+        }
+
+        putColumn(buffer, gamesPlayed);
+        putColumn(buffer, correctFirstAttempts);
+        putColumn(buffer, correctSecondAttempts);
+        putColumn(buffer, incorrectAttempts);
+
+        Files.write(temp, Arrays.copyOf(buffer.array(), buffer.position()));
+        Files.move(temp,
+                   file,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /*
+     * Writes the used part of an int column as variable-length integers.
+     */
+    private void putColumn(final ByteBuffer buffer,
+                           final int[] column)
+    {
+        for (int row = 0; row < size; row++)
+        {
+            putVarint(buffer, column[row]);
+        }
+    }
+
+    /*
+     * Writes a non-negative value seven bits at a time, low bits first.
+     */
+    private static void putVarint(final ByteBuffer buffer,
+                                  final long value)
+    {
+        long remaining;
+        remaining = value;
+
+        while ((remaining & ~VARINT_MASK) != NOTHING)
+        {
+            buffer.put((byte) ((remaining & VARINT_MASK) | VARINT_MORE));
+            remaining >>>= VARINT_BITS;
+        }
+
+        buffer.put((byte) remaining);
+    }
+
+    /**
+     * Reads a table written by write.
+     *
+     * @param filePath the file to read
+     * @return the table, in the order it was written
+     * @throws IOException if an I/O error occurs or the file is not a score table
+     */
+    public static ScoreTable read(final String filePath)
+    throws IOException
+    {
+        validateFilePath(filePath);
+
+        final ByteBuffer buffer;
+        buffer = ByteBuffer.wrap(Files.readAllBytes(Paths.get(filePath)));
+
+        try
+        {
+            if (buffer.getInt() != MAGIC ||
+                buffer.getShort() != VERSION)
+            {
+                throw new IOException("Not a score table: " + filePath);
+            }
+
+            final int        rows;
+            final ScoreTable table;
+            long             previous;
+
+            rows = buffer.getInt();
+
+            // Checked before allocating, so a corrupt count cannot ask for gigabytes of columns
+            if (rows < NOTHING ||
+                rows > buffer.remaining() / MIN_ROW_BYTES)
+            {
+                throw new IOException("Score table row count out of range: " + rows + " in " + filePath);
+            }
+
+            table    = new ScoreTable(rows);
+            previous = NOTHING;
+
+            for (int row = 0; row < rows; row++)
+            {
+                final long zigzag;
+                zigzag = getVarint(buffer);
+
+                previous += (zigzag >>> 1) ^ -(zigzag & 1);
+                table.epochSeconds[row] = previous;
+            }
+
+            getColumn(buffer, table.gamesPlayed, rows);
+            getColumn(buffer, table.correctFirstAttempts, rows);
+            getColumn(buffer, table.correctSecondAttempts, rows);
+            getColumn(buffer, table.incorrectAttempts, rows);
+
+            for (int row = 0; row < rows; row++)
+            {
+                table.averages[row] = averageOf(table.gamesPlayed[row],
+                                                table.correctFirstAttempts[row],
+                                                table.correctSecondAttempts[row]);
+            }
+
+            table.size = rows;
+            return table;
+        } catch (final BufferUnderflowException | IllegalArgumentException e)
+        {
+            throw new IOException("Truncated score table: " + filePath, e);
+        }
+    }
+
+    /*
+     * Reads an int column of variable-length integers.
+     */
+    private static void getColumn(final ByteBuffer buffer,
+                                  final int[] column,
+                                  final int rows)
+    {
+        for (int row = 0; row < rows; row++)
+        {
+            column[row] = (int) getVarint(buffer);
+        }
+    }
+
+    /*
+     * Reads a value written by putVarint.
+     */
+    private static long getVarint(final ByteBuffer buffer)
+    {
+        long value;
+        int  shift;
+        byte next;
+
+        value = NOTHING;
+        shift = NOTHING;
+
+        do
+        {
+            next   = buffer.get();
+            value |= (long) (next & VARINT_MASK) << shift;
+            shift += VARINT_BITS;
+        } while ((next & VARINT_MORE) != NOTHING);
+
+        return value;
+    }
+
+    /*
+     * Validates that a file path is neither null nor blank.
+     */
+    private static void validateFilePath(final String filePath)
+    {
+        if (filePath == null ||
+            filePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends scores to a ScoreLog from any number of threads using group commit.
+ * <p>
+ * This class provides the following functionality:
+ * - Producers queue scores and get a future that completes once the score is written
+ *   (and synced, depending on the FsyncPolicy). A list queued together is written together.
+ * - One writer thread drains whatever is queued, up to maxBatch appends, and writes the whole
+ *   batch with a single write while holding an exclusive OS file lock. Writers in other
+ *   processes that also lock the file, including ScoreLog.appendAll, therefore never
+ *   interleave records with this one.
+ * - The log file stays open for the writer's lifetime, so appends pay no open or close.
+ * <p>
+ * BinaryScoreRepository and SegmentedScoreStore append through a ScoreWriter. Only one
+ * ScoreWriter per file should exist in a process, and nothing else in the process should
+ * append to that file while it is open, since the JVM does not allow the same file to be
+ * locked twice from one process.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreWriter implements AutoCloseable
+{
+    /**
+     * When the writer forces written scores to the storage device.
+     */
+    public enum FsyncPolicy
+    {
+        /**
+         * Never force; the operating system writes the data back in its own time.
+         */
+        NEVER,
+        /**
+         * Force after every group commit, before any of its futures complete.
+         */
+        EVERY_BATCH,
+        /**
+         * Force at most once per second, and when the writer is closed.
+         */
+        EVERY_SECOND
+    }
+
+    /**
+     * The default maximum number of appends in one group commit.
+     */
+    public static final int DEFAULT_MAX_BATCH = 1024;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int  NOTHING          = 0;
+
+    /* Tells the writer thread to finish. */
+    private static final PendingAppend STOP = new PendingAppend(null);
+
+    private final FileChannel                  channel;
+    private final FsyncPolicy                  fsyncPolicy;
+    private final int                          maxBatch;
+    private final BlockingQueue<PendingAppend> queue;
+    private final Thread                       writer;
+    private final LongAdder                    appends;
+    private final LongAdder                    batches;
+    private long                               lastForceNanos;
+    private boolean                            closed;
+
+    /*
+     * Queued scores, written together, and the future completed when they are written.
+     */
+    private static final class PendingAppend
+    {
+        private final List<Score>             scores;
+        private final CompletableFuture<Void> done;
+
+        private PendingAppend(final List<Score> scores)
+        {
+            this.scores = scores;
+            this.done   = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Opens a writer on a score log with the default batch size.
+     *
+     * @param logFile     the ScoreLog file, created if it does not exist
+     * @param fsyncPolicy when written scores are forced to disk
+     * @throws IOException if the file cannot be opened
+     */
+    public ScoreWriter(final Path logFile,
+                       final FsyncPolicy fsyncPolicy)
+    throws IOException
+    {
+        this(logFile, fsyncPolicy, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Opens a writer on a score log.
+     *
+     * @param logFile     the ScoreLog file, created if it does not exist
+     * @param fsyncPolicy when written scores are forced to disk
+     * @param maxBatch    the maximum number of appends in one group commit
+     * @throws IOException if the file cannot be opened
+     */
+    public ScoreWriter(final Path logFile,
+                       final FsyncPolicy fsyncPolicy,
+                       final int maxBatch)
+    throws IOException
+    {
+        Objects.requireNonNull(logFile, "Log file cannot be null");
+        Objects.requireNonNull(fsyncPolicy, "Fsync policy cannot be null");
+
+        if (maxBatch <= NOTHING)
+        {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.channel        = FileChannel.open(logFile,
+                                               StandardOpenOption.CREATE,
+                                               StandardOpenOption.READ,
+                                               StandardOpenOption.WRITE);
+        this.fsyncPolicy    = fsyncPolicy;
+        this.maxBatch       = maxBatch;
+        this.queue          = new LinkedBlockingQueue<>();
+        this.appends        = new LongAdder();
+        this.batches        = new LongAdder();
+        this.lastForceNanos = System.nanoTime();
+        this.closed         = false;
+        this.writer         = new Thread(this::run, "score-writer");
+
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a score for the next group commit.
+     *
+     * @param score the score to append
+     * @return a future completed when the score has been written, or completed
+     *         exceptionally with the exception that stopped it
+     */
+    public CompletableFuture<Void> append(final Score score)
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        return enqueue(new PendingAppend(List.of(score)));
+    }
+
+    /**
+     * Queues several scores to be written together, in order, in the next group commit.
+     *
+     * @param scores the scores to append
+     * @return a future completed when the scores have been written, or completed
+     *         exceptionally with the exception that stopped them
+     */
+    public CompletableFuture<Void> appendAll(final List<Score> scores)
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+
+        return enqueue(new PendingAppend(List.copyOf(scores)));
+    }
+
+    /*
+     * Queues an append unless the writer is closed.
+     */
+    private CompletableFuture<Void> enqueue(final PendingAppend pending)
+    {
+        // Checked and queued together so nothing can be queued behind STOP
+        synchronized (queue)
+        {
+            if (closed)
+            {
+                throw new IllegalStateException("Score writer is closed");
+            }
+
+            queue.add(pending);
+        }
+
+        return pending.done;
+    }
+
+    /**
+     * Appends a score and waits until it has been written.
+     *
+     * @param score the score to append
+     * @throws IOException if the group commit holding the score failed
+     */
+    public void appendAndWait(final Score score)
+    throws IOException
+    {
+        await(append(score));
+    }
+
+    /**
+     * Appends several scores together and waits until they have been written.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the group commit holding the scores failed
+     */
+    public void appendAllAndWait(final List<Score> scores)
+    throws IOException
+    {
+        await(appendAll(scores));
+    }
+
+    /*
+     * Waits for an append, rethrowing the IOException that failed it.
+     */
+    private static void await(final CompletableFuture<Void> done)
+    throws IOException
+    {
+        try
+        {
+            done.join();
+        } catch (final CompletionException e)
+        {
+            if (e.getCause() instanceof IOException)
+            {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * The writer thread: takes the first queued score, drains the rest, commits them together.
+     */
+    private void run()
+    {
+        final List<PendingAppend> batch;
+        batch = new ArrayList<>(maxBatch);
+
+        boolean running;
+        running = true;
+
+        while (running)
+        {
+            try
+            {
+                batch.add(queue.take());
+            } catch (final InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            queue.drainTo(batch, maxBatch - batch.size());
+
+            if (batch.remove(STOP))
+            {
+                running = false;
+                queue.drainTo(batch); // anything queued before close still gets written
+            }
+
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    /*
+     * Writes one batch under the file lock, forces it if the policy says so,
+     * then completes every future in the batch.
+     */
+    private void commit(final List<PendingAppend> batch)
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        final long        start;
+        final List<Score> scores;
+
+        start  = System.nanoTime();
+        scores = new ArrayList<>();
+
+        for (final PendingAppend pending : batch)
+        {
+            scores.addAll(pending.scores);
+        }
+
+        // An unchecked failure, such as a lock already held elsewhere in this JVM, must fail the
+        // batch too; otherwise it would end the writer thread and leave every caller waiting
+        try
+        {
+            ScoreLog.appendLocked(channel, scores);
+            forceIfDue(false);
+        } catch (final IOException | RuntimeException e)
+        {
+            for (final PendingAppend pending : batch)
+            {
+                pending.done.completeExceptionally(e);
+            }
+            return;
+        }
+
+        appends.add(scores.size());
+        batches.increment();
+        GameMetrics.SCORE_APPEND.recordSince(start);
+
+        for (final PendingAppend pending : batch)
+        {
+            pending.done.complete(null);
+        }
+    }
+
+    /*
+     * Forces the file to the device when the policy requires it, or always when closing.
+     */
+    private void forceIfDue(final boolean closing)
+    throws IOException
+    {
+        final boolean due;
+
+        due = switch (fsyncPolicy)
+        {
+            case NEVER -> false;
+            case EVERY_BATCH -> true;
+            case EVERY_SECOND -> closing || System.nanoTime() - lastForceNanos >= NANOS_PER_SECOND;
+        };
+
+        if (due)
+        {
+            channel.force(false);
+            lastForceNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Gets the number of scores written so far.
+     *
+     * @return the append count
+     */
+    public long getAppendCount()
+    {
+        return appends.sum();
+    }
+
+    /**
+     * Gets the number of group commits so far.
+     *
+     * @return the batch count
+     */
+    public long getBatchCount()
+    {
+        return batches.sum();
+    }
+
+    /**
+     * Writes everything already queued, forces it if the policy syncs at all, and closes the file.
+     *
+     * @throws IOException if the final force or close fails
+     */
+    @Override
+    public void close()
+    throws IOException
+    {
+        synchronized (queue)
+        {
+            if (closed)
+            {
+                return;
+            }
+
+            closed = true;
+            queue.add(STOP);
+        }
+
+        // The channel must outlive the writer thread, so an interrupt does not cut the wait short
+        boolean interrupted;
+        interrupted = false;
+
+        while (writer.isAlive())
+        {
+            try
+            {
+                writer.join();
+            } catch (final InterruptedException e)
+            {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        try
+        {
+            forceIfDue(true);
+        } finally
+        {
+            channel.close();
+        }
+    }
+}
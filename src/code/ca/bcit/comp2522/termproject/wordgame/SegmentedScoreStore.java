@@ -0,0 +1,787 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A score store split into bounded ScoreLog segments, described by a manifest.
+ * <p>
+ * This class provides the following functionality:
+ * - Appends go to the newest (active) segment. It is sealed and a new one started once it
+ *   holds maxSegmentRecords scores, or once it spans more than maxSegmentAge.
+ * - The newest retainedSegments sealed segments are kept as raw scores. Older ones are
+ *   compacted on a background thread into per-day ScoreRollups and deleted.
+ * - Recent scores are read straight from the raw segments; the whole history is available
+ *   as rollups, which merge compacted days with the raw segments.
+ * - Every segment is kept in time order: a score older than the active segment's last score
+ *   seals it first. The first and last time of each segment form a sparse timestamp index,
+ *   so a range query skips segments outside the range and binary-searches the rest.
+ * <p>
+ * Directory layout:
+ * - MANIFEST: magic number (int), format version (short), next segment id (int),
+ *   compacted score count (long), segment count (int) and segment ids (ints),
+ *   rollup count (int) and encoded rollups.
+ * - segment-NNNNNN.dat: one ScoreLog per segment.
+ * <p>
+ * The manifest is the source of truth and is replaced atomically, so a crash mid-compaction
+ * leaves either the old segments or the new rollups, never both. Segment files the manifest
+ * does not list are leftovers from such a crash and are deleted on open. Record counts come
+ * from the segment file sizes, so appends never rewrite the manifest.
+ * <p>
+ * Appends go through a ScoreWriter on the active segment, opened on its first append and
+ * closed when it is sealed, so they hold the segment's file lock while they write.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class SegmentedScoreStore implements ScoreRepository
+{
+    /**
+     * The default maximum number of scores in one segment.
+     */
+    public static final int      DEFAULT_SEGMENT_RECORDS   = 4096;
+    /**
+     * The default maximum time between the first and last score of one segment.
+     */
+    public static final Duration DEFAULT_SEGMENT_AGE       = Duration.ofDays(30);
+    /**
+     * The default number of sealed segments kept as raw scores.
+     */
+    public static final int      DEFAULT_RETAINED_SEGMENTS = 2;
+
+    private static final int    MAGIC            = 0x5747534D; // "WGSM"
+    private static final short  VERSION          = 1;
+    private static final String MANIFEST         = "MANIFEST";
+    private static final String SEGMENT_PREFIX   = "segment-";
+    private static final String SEGMENT_SUFFIX   = ".dat";
+    private static final String SEGMENT_FORMAT   = SEGMENT_PREFIX + "%06d" + SEGMENT_SUFFIX;
+    private static final String TEMP_SUFFIX      = ".tmp";
+    private static final int    FIRST_SEGMENT    = 1;
+    private static final int    HEADER_BYTES     = Integer.BYTES + Short.BYTES + Integer.BYTES + Long.BYTES;
+    private static final long   NOTHING          = 0L;
+    private static final long   SHUTDOWN_SECONDS = 30L;
+
+    private final Path                       directory;
+    private final int                        maxSegmentRecords;
+    private final long                       maxSegmentSeconds;
+    private final int                        retainedSegments;
+    private final List<Segment>              segments;
+    private final TreeMap<Long, ScoreRollup> rollups;
+    private final ExecutorService            compactor;
+    private final Object                     compactionLock;
+    private ScoreWriter                      writer;
+    private int                              nextSegmentId;
+    private long                             compactedRecords;
+    private boolean                          compacting;
+    private boolean                          closed;
+
+    /*
+     * One segment file and what is known about it without reading it.
+     * The last segment in the list is the active one.
+     */
+    private static final class Segment
+    {
+        private final int  id;
+        private final Path file;
+        private long       records;
+        private long       firstEpochSecond;
+        private long       lastEpochSecond;
+
+        private Segment(final int id,
+                        final Path file)
+        {
+            this.id   = id;
+            this.file = file;
+        }
+    }
+
+    /*
+     * Constructs a store with no segments. Stores are created through open.
+     */
+    private SegmentedScoreStore(final Path directory,
+                                final int maxSegmentRecords,
+                                final Duration maxSegmentAge,
+                                final int retainedSegments)
+    {
+        this.directory         = directory;
+        this.maxSegmentRecords = maxSegmentRecords;
+        this.maxSegmentSeconds = maxSegmentAge.getSeconds();
+        this.retainedSegments  = retainedSegments;
+        this.segments          = new ArrayList<>();
+        this.rollups           = new TreeMap<>();
+        this.nextSegmentId     = FIRST_SEGMENT;
+        this.compactedRecords  = NOTHING;
+        this.compacting        = false;
+        this.closed            = false;
+        this.compactionLock    = new Object();
+        this.writer            = null;
+        this.compactor         = Executors.newSingleThreadExecutor(runnable ->
+                                 {
+                                     final Thread thread;
+                                     thread = new Thread(runnable, "score-compactor");
+                                     thread.setDaemon(true);
+                                     return thread;
+                                 });
+    }
+
+    /**
+     * Opens the store in a directory with the default segment limits, creating it if needed.
+     *
+     * @param directory the store directory
+     * @return the open store
+     * @throws IOException if the directory cannot be created or the manifest cannot be read
+     */
+    public static SegmentedScoreStore open(final Path directory)
+    throws IOException
+    {
+        return open(directory, DEFAULT_SEGMENT_RECORDS, DEFAULT_SEGMENT_AGE, DEFAULT_RETAINED_SEGMENTS);
+    }
+
+    /**
+     * Opens the store in a directory, creating it if needed.
+     *
+     * @param directory         the store directory
+     * @param maxSegmentRecords the number of scores after which a segment is sealed
+     * @param maxSegmentAge     the time span after which a segment is sealed
+     * @param retainedSegments  the number of sealed segments kept as raw scores
+     * @return the open store
+     * @throws IOException if the directory cannot be created or the manifest cannot be read
+     */
+    public static SegmentedScoreStore open(final Path directory,
+                                           final int maxSegmentRecords,
+                                           final Duration maxSegmentAge,
+                                           final int retainedSegments)
+    throws IOException
+    {
+        Objects.requireNonNull(directory, "Directory cannot be null");
+        Objects.requireNonNull(maxSegmentAge, "Segment age cannot be null");
+        validateLimits(maxSegmentRecords, maxSegmentAge, retainedSegments);
+
+        final SegmentedScoreStore store;
+        store = new SegmentedScoreStore(directory, maxSegmentRecords, maxSegmentAge, retainedSegments);
+
+        Files.createDirectories(directory);
+
+        if (Files.exists(directory.resolve(MANIFEST)))
+        {
+            store.readManifest();
+        }
+        else
+        {
+            store.startSegment();
+        }
+
+        store.deleteOrphans();
+        store.scheduleCompaction();
+
+        return store;
+    }
+
+    /*
+     * Validates the segment limits.
+     */
+    private static void validateLimits(final int maxSegmentRecords,
+                                       final Duration maxSegmentAge,
+                                       final int retainedSegments)
+    {
+        if (maxSegmentRecords <= NOTHING ||
+            maxSegmentAge.isNegative() ||
+            maxSegmentAge.isZero() ||
+            retainedSegments < NOTHING)
+        {
+            throw new IllegalArgumentException("Invalid segment limits");
+        }
+    }
+
+    /*
+     * Reads the manifest and the sizes of the segments it lists.
+     */
+    private void readManifest()
+    throws IOException
+    {
+        final Path       manifest;
+        final ByteBuffer buffer;
+
+        manifest = directory.resolve(MANIFEST);
+        buffer   = ByteBuffer.wrap(Files.readAllBytes(manifest));
+
+        try
+        {
+            if (buffer.remaining() < HEADER_BYTES ||
+                buffer.getInt() != MAGIC)
+            {
+                throw new IOException("Not a score store manifest: " + manifest);
+            }
+
+            if (buffer.getShort() != VERSION)
+            {
+                throw new IOException("Unsupported score store version in " + manifest);
+            }
+
+            final int segmentCount;
+            final int rollupCount;
+
+            nextSegmentId    = buffer.getInt();
+            compactedRecords = buffer.getLong();
+            segmentCount     = buffer.getInt();
+
+            for (int i = 0; i < segmentCount; i++)
+            {
+                segments.add(loadSegment(buffer.getInt()));
+            }
+
+            rollupCount = buffer.getInt();
+
+            for (int i = 0; i < rollupCount; i++)
+            {
+                final ScoreRollup rollup;
+                rollup = ScoreRollup.read(buffer);
+
+                rollups.put(rollup.getDate().toEpochDay(), rollup);
+            }
+        } catch (final BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e)
+        {
+            throw new IOException("Corrupt score store manifest: " + manifest, e);
+        }
+
+        if (segments.isEmpty())
+        {
+            startSegment();
+        }
+    }
+
+    /*
+     * Builds the in-memory view of one segment file from its size and its first and last records.
+     */
+    private Segment loadSegment(final int id)
+    throws IOException
+    {
+        final Segment segment;
+        segment = new Segment(id, directory.resolve(String.format(SEGMENT_FORMAT, id)));
+
+        segment.records = ScoreLog.count(segment.file.toString());
+
+        if (segment.records > NOTHING)
+        {
+            // Only the two dates are read; the segment is not mapped, so compaction can still delete it
+            try (final FileChannel channel = ScoreLog.open(segment.file))
+            {
+                segment.firstEpochSecond = ScoreLog.readLong(channel, ScoreLog.HEADER_BYTES);
+                segment.lastEpochSecond  = ScoreLog.readLong(channel, ScoreLog.HEADER_BYTES +
+                                                                      (segment.records - 1) * ScoreLog.RECORD_BYTES);
+            }
+        }
+
+        return segment;
+    }
+
+    /*
+     * Starts a new, empty active segment and records it in the manifest.
+     * The segment file itself is created by its first append.
+     */
+    private void startSegment()
+    throws IOException
+    {
+        segments.add(new Segment(nextSegmentId, directory.resolve(String.format(SEGMENT_FORMAT, nextSegmentId))));
+        nextSegmentId++;
+        writeManifest();
+    }
+
+    /*
+     * Deletes segment files the manifest does not list, left behind by an interrupted compaction.
+     */
+    private void deleteOrphans()
+    throws IOException
+    {
+        try (final DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                                                                          SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX))
+        {
+            for (final Path file : files)
+            {
+                if (segments.stream().noneMatch(segment -> segment.file.equals(file)))
+                {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends a score to the active segment, sealing it first if it is full or too old.
+     *
+     * @param score the score to append
+     * @throws IOException if the segment or manifest cannot be written
+     */
+    @Override
+    public synchronized void append(final Score score)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        appendAll(List.of(score));
+    }
+
+    /**
+     * Appends several scores in order, rotating segments as needed.
+     *
+     * @param scores the scores to append
+     * @throws IOException if a segment or the manifest cannot be written
+     */
+    @Override
+    public synchronized void appendAll(final List<Score> scores)
+    throws IOException
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+
+        final List<Score> batch;
+        batch = new ArrayList<>();
+
+        for (final Score score : scores)
+        {
+            final long epochSecond;
+            epochSecond = ScoreLog.toEpochSecond(score.getDateTime());
+
+            if (isFull(activeSegment(), batch.size(), epochSecond))
+            {
+                flush(batch);
+                closeWriter();
+                startSegment();
+                scheduleCompaction();
+            }
+
+            if (activeSegment().records + batch.size() == NOTHING)
+            {
+                activeSegment().firstEpochSecond = epochSecond;
+            }
+
+            activeSegment().lastEpochSecond = epochSecond;
+            batch.add(score);
+        }
+
+        flush(batch);
+    }
+
+    /*
+     * Checks whether a segment must be sealed before a score with the given time is added:
+     * when it is full, when it would span too long, or when the score would break its time order.
+     */
+    private boolean isFull(final Segment segment,
+                           final int pending,
+                           final long epochSecond)
+    {
+        final long records;
+        records = segment.records + pending;
+
+        return records >= maxSegmentRecords ||
+               (records > NOTHING && epochSecond - segment.firstEpochSecond >= maxSegmentSeconds) ||
+               (records > NOTHING && epochSecond < segment.lastEpochSecond);
+    }
+
+    /*
+     * Writes pending scores to the active segment in one append and clears the batch.
+     */
+    private void flush(final List<Score> batch)
+    throws IOException
+    {
+        if (batch.isEmpty())
+        {
+            return;
+        }
+
+        if (writer == null)
+        {
+            writer = new ScoreWriter(activeSegment().file, ScoreWriter.FsyncPolicy.NEVER);
+        }
+
+        writer.appendAllAndWait(batch);
+        activeSegment().records += batch.size();
+        batch.clear();
+    }
+
+    /*
+     * Closes the active segment's writer, if it has one, before the segment is sealed.
+     */
+    private void closeWriter()
+    throws IOException
+    {
+        if (writer != null)
+        {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /*
+     * Gets the segment appends go to.
+     */
+    private Segment activeSegment()
+    {
+        return segments.get(segments.size() - 1);
+    }
+
+    /*
+     * Queues a background compaction if more sealed segments exist than are retained,
+     * unless the store is closed and the compactor no longer takes work.
+     */
+    private void scheduleCompaction()
+    {
+        if (!closed &&
+            !compacting &&
+            sealedSegments() > retainedSegments)
+        {
+            compacting = true;
+            compactor.execute(this::compactInBackground);
+        }
+    }
+
+    /*
+     * Gets the number of sealed segments.
+     */
+    private int sealedSegments()
+    {
+        return segments.size() - 1;
+    }
+
+    /*
+     * Runs compaction on the background thread, reporting rather than throwing failures.
+     */
+    private void compactInBackground()
+    {
+        try
+        {
+            compact();
+        } catch (final IOException e)
+        {
+            System.err.println("Score compaction failed: " + e.getMessage());
+        } finally
+        {
+            synchronized (this)
+            {
+                compacting = false;
+                scheduleCompaction(); // more segments may have been sealed meanwhile
+            }
+        }
+    }
+
+    /**
+     * Compacts every sealed segment beyond the retained ones into daily rollups.
+     * Normally runs in the background after a rotation; callable directly to compact now.
+     *
+     * @return the number of segments compacted
+     * @throws IOException if a segment cannot be read or the manifest cannot be written
+     */
+    public int compact()
+    throws IOException
+    {
+        // Only one compaction at a time, whether from the background thread or a direct call
+        synchronized (compactionLock)
+        {
+            final List<Segment> candidates;
+
+            synchronized (this)
+            {
+                candidates = new ArrayList<>(segments.subList(0, Math.max(0, sealedSegments() - retainedSegments)));
+            }
+
+            if (candidates.isEmpty())
+            {
+                return 0;
+            }
+
+            // Sealed segments never change, so they are read without holding the lock
+            final Map<Long, ScoreRollup> compacted;
+            long                         records;
+
+            compacted = new TreeMap<>();
+            records   = NOTHING;
+
+            for (final Segment segment : candidates)
+            {
+                for (final Score score : ScoreLog.readAll(segment.file.toString()))
+                {
+                    compacted.computeIfAbsent(ScoreRollup.epochDayOf(score), ScoreRollup::new).add(score);
+                    records++;
+                }
+            }
+
+            synchronized (this)
+            {
+                for (final ScoreRollup rollup : compacted.values())
+                {
+                    rollups.merge(rollup.getDate().toEpochDay(), rollup, (existing, added) ->
+                    {
+                        existing.addAll(added);
+                        return existing;
+                    });
+                }
+
+                segments.removeAll(candidates);
+                compactedRecords += records;
+                writeManifest();
+
+                for (final Segment segment : candidates)
+                {
+                    Files.deleteIfExists(segment.file);
+                }
+            }
+
+            return candidates.size();
+        }
+    }
+
+    /**
+     * Reads the scores still held in raw segments, oldest first.
+     *
+     * @return the recent scores
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<Score> readRecent()
+    throws IOException
+    {
+        final List<Score> scores;
+        scores = new ArrayList<>();
+
+        for (final Segment segment : segments)
+        {
+            scores.addAll(ScoreLog.readAll(segment.file.toString()));
+        }
+
+        return scores;
+    }
+
+    /**
+     * Reads the scores still held in raw segments, oldest first; the same as readRecent.
+     *
+     * @return the recent scores
+     * @throws IOException if a segment cannot be read
+     */
+    @Override
+    public List<Score> readAll()
+    throws IOException
+    {
+        return readRecent();
+    }
+
+    /**
+     * Reads the scores held in raw segments that were played in a time range.
+     * Segments whose time span misses the range are skipped without being opened.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the scores in the range, oldest first
+     * @throws IOException if a segment cannot be read
+     */
+    @Override
+    public synchronized List<Score> readRange(final LocalDateTime from,
+                                              final LocalDateTime to)
+    throws IOException
+    {
+        final long        fromEpochSecond;
+        final long        toEpochSecond;
+        final List<Score> scores;
+
+        fromEpochSecond = ScoreLog.toEpochSecond(from);
+        toEpochSecond   = ScoreLog.toEpochSecond(to);
+        scores          = new ArrayList<>();
+
+        for (final Segment segment : segments)
+        {
+            if (segment.records > NOTHING &&
+                segment.firstEpochSecond < toEpochSecond &&
+                segment.lastEpochSecond >= fromEpochSecond)
+            {
+                scores.addAll(ScoreLog.readRange(segment.file.toString(), from, to));
+            }
+        }
+
+        // Segments are each in order but may overlap after an out-of-order append
+        scores.sort(Comparator.comparing(Score::getDateTime));
+        return scores;
+    }
+
+    /**
+     * Gets the best score of each compacted day.
+     *
+     * @return the best scores of compacted days, oldest first
+     */
+    @Override
+    public List<Score> readSummarizedBests()
+    {
+        final List<Score> bests;
+        bests = new ArrayList<>();
+
+        for (final ScoreRollup rollup : getCompactedRollups())
+        {
+            if (rollup.getBest() != null)
+            {
+                bests.add(rollup.getBest());
+            }
+        }
+
+        return bests;
+    }
+
+    /**
+     * Summarizes the whole history by day, merging compacted rollups with the raw segments.
+     *
+     * @return one rollup per day with scores, oldest first
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<ScoreRollup> getRollups()
+    throws IOException
+    {
+        final TreeMap<Long, ScoreRollup> days;
+        days = new TreeMap<>();
+
+        for (final ScoreRollup rollup : getCompactedRollups())
+        {
+            days.put(rollup.getDate().toEpochDay(), rollup);
+        }
+
+        for (final Score score : readRecent())
+        {
+            days.computeIfAbsent(ScoreRollup.epochDayOf(score), ScoreRollup::new).add(score);
+        }
+
+        return new ArrayList<>(days.values());
+    }
+
+    /*
+     * Gets copies of the rollups for compacted segments only.
+     */
+    synchronized List<ScoreRollup> getCompactedRollups()
+    {
+        final List<ScoreRollup> compacted;
+        compacted = new ArrayList<>();
+
+        for (final ScoreRollup rollup : rollups.values())
+        {
+            compacted.add(rollup.copy());
+        }
+
+        return compacted;
+    }
+
+    /**
+     * Gets the number of scores ever appended, compacted or not.
+     *
+     * @return the total score count
+     */
+    @Override
+    public synchronized long count()
+    {
+        long total;
+        total = compactedRecords;
+
+        for (final Segment segment : segments)
+        {
+            total += segment.records;
+        }
+
+        return total;
+    }
+
+    /**
+     * Gets the number of segments currently held as raw scores, including the active one.
+     *
+     * @return the segment count
+     */
+    public synchronized int getSegmentCount()
+    {
+        return segments.size();
+    }
+
+    /**
+     * Gets the store directory.
+     *
+     * @return the directory
+     */
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /*
+     * Writes the manifest to a temporary file and moves it over the old one.
+     */
+    private void writeManifest()
+    throws IOException
+    {
+        final ByteBuffer buffer;
+        final Path       manifest;
+        final Path       temp;
+
+        buffer   = ByteBuffer.allocate(HEADER_BYTES +
+                                       Integer.BYTES * (segments.size() + 2) +
+                                       ScoreRollup.BYTES * rollups.size());
+        manifest = directory.resolve(MANIFEST);
+        temp     = directory.resolve(MANIFEST + TEMP_SUFFIX);
+
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(nextSegmentId);
+        buffer.putLong(compactedRecords);
+        buffer.putInt(segments.size());
+
+        for (final Segment segment : segments)
+        {
+            buffer.putInt(segment.id);
+        }
+
+        buffer.putInt(rollups.size());
+
+        for (final ScoreRollup rollup : rollups.values())
+        {
+            rollup.write(buffer);
+        }
+
+        Files.write(temp, buffer.array());
+        Files.move(temp,
+                   manifest,
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Closes the active segment's writer, waits for any running compaction and stops the background thread.
+     *
+     * @throws IOException if the writer cannot be closed
+     */
+    @Override
+    public void close()
+    throws IOException
+    {
+        synchronized (this)
+        {
+            closed = true;
+            closeWriter();
+        }
+
+        compactor.shutdown();
+
+        try
+        {
+            compactor.awaitTermination(SHUTDOWN_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
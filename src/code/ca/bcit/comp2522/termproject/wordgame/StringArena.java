@@ -0,0 +1,178 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A packed, read-only list of strings: all of their UTF-8 bytes back to back in one
+ * buffer, plus an offset table marking where each one starts.
+ * <p>
+ * Encoded layout (all numbers big-endian):
+ * - Number of strings (int).
+ * - Number of strings + 1 start offsets into the bytes (int each); string i runs from
+ *   offset i up to offset i + 1.
+ * - The UTF-8 bytes.
+ * <p>
+ * A string is decoded only when get is called, so a read arena can sit directly on a
+ * memory-mapped file; copy moves it onto the heap when it must outlive the mapping.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+final class StringArena
+{
+    private static final int NOTHING = 0;
+
+    private final ByteBuffer bytes;
+    private final int[]      offsets;
+
+    /*
+     * Constructs an arena over encoded bytes and their offset table.
+     */
+    private StringArena(final ByteBuffer bytes,
+                        final int[] offsets)
+    {
+        this.bytes   = bytes;
+        this.offsets = offsets;
+    }
+
+    /*
+     * Encodes strings into a new arena.
+     */
+    static StringArena of(final List<String> strings)
+    {
+        Objects.requireNonNull(strings, "Strings cannot be null");
+
+        final byte[][] encoded;
+        final int[]    offsets;
+        int            length;
+
+        encoded = new byte[strings.size()][];
+        offsets = new int[strings.size() + 1];
+        length  = NOTHING;
+
+        for (int i = 0; i < encoded.length; i++)
+        {
+            encoded[i]  = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            offsets[i]  = length;
+            length     += encoded[i].length;
+        }
+        offsets[encoded.length] = length;
+
+        final ByteBuffer bytes;
+        bytes = ByteBuffer.allocate(length);
+
+        for (final byte[] string : encoded)
+        {
+            bytes.put(string);
+        }
+
+        return new StringArena(bytes.flip(), offsets);
+    }
+
+    /*
+     * Reads an arena written by write, starting at the buffer's position and leaving the
+     * position after it. The strings are not copied: the arena keeps a view of the buffer.
+     */
+    static StringArena read(final ByteBuffer buffer)
+    {
+        final int   count;
+        final int[] offsets;
+
+        count = buffer.getInt();
+
+        // Each string needs an offset after the count, so a larger count cannot be real
+        if (count < NOTHING ||
+            count > buffer.remaining() / Integer.BYTES - 1)
+        {
+            throw new IllegalArgumentException("String arena count out of range: " + count);
+        }
+
+        offsets = new int[count + 1];
+
+        for (int i = 0; i <= count; i++)
+        {
+            offsets[i] = buffer.getInt();
+        }
+
+        if (offsets[NOTHING] != NOTHING ||
+            offsets[count] > buffer.remaining())
+        {
+            throw new IllegalArgumentException("String arena offsets out of range");
+        }
+
+        for (int i = 0; i < count; i++)
+        {
+            if (offsets[i] > offsets[i + 1])
+            {
+                throw new IllegalArgumentException("String arena offsets out of order");
+            }
+        }
+
+        final ByteBuffer bytes;
+        bytes = buffer.slice(buffer.position(), offsets[count]);
+
+        buffer.position(buffer.position() + offsets[count]);
+        return new StringArena(bytes, offsets);
+    }
+
+    /*
+     * Copies the bytes onto the heap, so the arena no longer holds a view of the buffer it
+     * was read from.
+     */
+    StringArena copy()
+    {
+        final ByteBuffer heap;
+        heap = ByteBuffer.allocate(offsets[size()]);
+
+        heap.put(bytes.duplicate().rewind());
+        return new StringArena(heap.flip(), offsets);
+    }
+
+    /*
+     * Writes the arena at the buffer's position.
+     */
+    void write(final ByteBuffer buffer)
+    {
+        buffer.putInt(size());
+
+        for (final int offset : offsets)
+        {
+            buffer.putInt(offset);
+        }
+
+        buffer.put(bytes.duplicate().rewind());
+    }
+
+    /*
+     * Gets the number of bytes write needs.
+     */
+    int encodedSize()
+    {
+        return Integer.BYTES * (offsets.length + 1) + offsets[size()];
+    }
+
+    /*
+     * Gets the number of strings.
+     */
+    int size()
+    {
+        return offsets.length - 1;
+    }
+
+    /*
+     * Decodes one string.
+     */
+    String get(final int index)
+    {
+        Objects.checkIndex(index, size());
+
+        final byte[] string;
+        string = new byte[offsets[index + 1] - offsets[index]];
+
+        bytes.get(offsets[index], string);
+        return new String(string, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,165 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A ScoreRepository over the legacy human-readable score file written by Score.appendScoreToFile.
+ * Reads go through Score.streamScoresFromFile and its byte-level parser.
+ * Every append holds an exclusive lock on the file while it writes, so several programs can add
+ * scores to the same file without interleaving them. Within one program, share one repository
+ * per file, since the lock is held by the program rather than by a thread.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class TextScoreRepository implements ScoreRepository
+{
+    private final String filePath;
+
+    /**
+     * Constructs a repository over a score text file.
+     *
+     * @param filePath the score file, created on the first append
+     */
+    public TextScoreRepository(final String filePath)
+    {
+        validateFilePath(filePath);
+
+        this.filePath = filePath;
+    }
+
+    /**
+     * Appends one score to the end of the file, under the file lock.
+     *
+     * @param score the score to append
+     * @throws IOException if the file cannot be locked or written
+     */
+    @Override
+    public synchronized void append(final Score score)
+    throws IOException
+    {
+        Objects.requireNonNull(score, "Score cannot be null");
+
+        final long start;
+        start = System.nanoTime();
+
+        appendText(score + "\n");
+        GameMetrics.SCORE_APPEND.recordSince(start);
+    }
+
+    /**
+     * Appends several scores to the end of the file in one write, under the file lock.
+     *
+     * @param scores the scores to append
+     * @throws IOException if the file cannot be locked or written
+     */
+    @Override
+    public synchronized void appendAll(final List<Score> scores)
+    throws IOException
+    {
+        Objects.requireNonNull(scores, "Scores cannot be null");
+
+        final StringBuilder text;
+        text = new StringBuilder();
+
+        for (final Score score : scores)
+        {
+            text.append(score).append('\n');
+        }
+
+        appendText(text.toString());
+    }
+
+    /**
+     * Reads every score in the file, parsing the whole file.
+     *
+     * @return the scores, in file order
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public synchronized List<Score> readAll()
+    throws IOException
+    {
+        try (final Stream<Score> scores = Score.streamScoresFromFile(filePath))
+        {
+            return scores.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Counts the scores in the file, parsing the whole file.
+     *
+     * @return the score count
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public synchronized long count()
+    throws IOException
+    {
+        try (final Stream<Score> scores = Score.streamScoresFromFile(filePath))
+        {
+            return scores.count();
+        }
+    }
+
+    /**
+     * Does nothing; every operation opens and closes the file itself.
+     */
+    @Override
+    public void close()
+    {}
+
+    /*
+     * Writes text at the end of the file while holding an exclusive lock on it.
+     */
+    private void appendText(final String text)
+    throws IOException
+    {
+        try (final FileChannel channel = FileChannel.open(Paths.get(filePath),
+                                                          StandardOpenOption.CREATE,
+                                                          StandardOpenOption.WRITE,
+                                                          StandardOpenOption.APPEND))
+        {
+            final FileLock   lock;
+            final ByteBuffer bytes;
+
+            lock  = channel.lock();
+            bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+
+            try
+            {
+                while (bytes.hasRemaining())
+                {
+                    channel.write(bytes);
+                }
+            } finally
+            {
+                lock.release();
+            }
+        }
+    }
+
+    /*
+     * Validates that a file path is neither null nor blank.
+     */
+    private static void validateFilePath(final String filePath)
+    {
+        if (filePath == null ||
+            filePath.isBlank())
+        {
+            throw new IllegalArgumentException("File path cannot be null or blank");
+        }
+    }
+}
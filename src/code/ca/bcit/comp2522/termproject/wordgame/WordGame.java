@@ -1,13 +1,30 @@
 package ca.bcit.comp2522.termproject.wordgame;
 
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Word Game that tests players on country capitals and facts.
+ * <p>
+ * A game reads answers from a BufferedReader and writes to a buffered PrintWriter, flushing
+ * only when it is about to wait for an answer. The console game is started through play;
+ * a game can also be constructed over any reader and writer, such as a file of answers,
+ * and given a seeded Random so the same answers always meet the same questions.
  *
  * @author colecampbell
  * @version 1.0
@@ -21,153 +38,382 @@ public final class WordGame
     private static final int GIVE_CAPITAL      = 0;
     private static final int GIVE_COUNTRY      = 1;
     private static final int GIVE_FACT         = 2;
-    private static final int RANDOM_INDEX      = 3;
-    private static final int CHAR_OFFSET       = 2;
-    private static final int FIRST_HALF        = 0;
-    private static final int SECOND_HALF       = 1;
-    private static final int NUMBER_OF_FACTS   = 3;
     private static final int FIRST_TRY         = 0;
     private static final int SECOND_TRY        = 1;
     private static final int MAX_GUESSES       = 2;
 
-    private static final String SCORE_FILE    = "score.txt";
-    private static final String CORRECT       = "CORRECT!";
-    private static final String INCORRECT     = "INCORRECT!";
-    private static final String SORRY_MESSAGE = "Sorry, the correct answer was ";
-    private static final char   FIRST_FILE    = 'a';
-    private static final char   EMPTY_FILE    = 'w';
-    private static final char   LAST_FILE     = 'z';
+    private static final String SCORE_DIRECTORY   = "scores";
+    private static final String INDEX_PREFIX      = SCORE_DIRECTORY + File.separator + "high_scores-";
+    private static final String INDEX_SUFFIX      = ".idx";
+    private static final String STATISTICS_PREFIX = SCORE_DIRECTORY + File.separator + "stats-";
+    private static final String STATISTICS_SUFFIX = ".dat";
+    private static final String SCORE_LOG_FILE    = "score.dat";
+    private static final String LEGACY_SCORE_FILE = "score.txt";
+    private static final String BACKEND_PROPERTY  = "scores.backend";
+    private static final String SEGMENTED_BACKEND = "segmented";
+    private static final String BINARY_BACKEND    = "binary";
+    private static final String TEXT_BACKEND      = "text";
+    private static final String CORRECT           = "CORRECT!";
+    private static final String INCORRECT         = "INCORRECT!";
+    private static final String SORRY_MESSAGE     = "Sorry, the correct answer was ";
+
+    private static final String NAME_PROMPT       = "Enter your name:";
+
+    private static final String YES               = "YES";
+    private static final String NO                = "NO";
+
+    private static final Map<Path, QuestionScheduler> playerSchedulers = new HashMap<>();
+
+    private static World         world;
+    private static AnswerMatcher sharedAnswers;
+    private static WorldIndex    sharedIndex;
+
+    private final QuestionScheduler scheduler;
+    private final AnswerMatcher     answers;
+    private final WorldIndex        index;
+    private final Random            random;
+    private final BufferedReader    input;
+    private final PrintWriter       output;
+    private final AnswerStatistics  answerCounts;
+
+    private int gamesPlayed;
+    private int correctFirstAttempts;
+    private int correctSecondAttempts;
+    private int incorrectAttempts;
+
+    /**
+     * Constructs a game over a world that reads answers from one stream and writes to another.
+     *
+     * @param world  the countries to ask about
+     * @param random the source of question order and question types; seed it for repeatable games
+     * @param input  where answers are read from, one per line
+     * @param output where questions and results are written; flushed before every answer is read
+     */
+    public WordGame(final World world,
+                    final Random random,
+                    final BufferedReader input,
+                    final PrintWriter output)
+    {
+        this(new QuestionScheduler(world, random),
+             new AnswerMatcher(world),
+             new WorldIndex(world),
+             random,
+             input,
+             output);
+    }
 
-    private static int gamesPlayed;
-    private static int correctFirstAttempts;
-    private static int correctSecondAttempts;
-    private static int incorrectAttempts;
+    /*
+     * Constructs a game from a prepared scheduler, matcher and index.
+     */
+    WordGame(final QuestionScheduler scheduler,
+             final AnswerMatcher answers,
+             final WorldIndex index,
+             final Random random,
+             final BufferedReader input,
+             final PrintWriter output)
+    {
+        Objects.requireNonNull(scheduler, "Scheduler cannot be null");
+        Objects.requireNonNull(answers, "Answers cannot be null");
+        Objects.requireNonNull(index, "Index cannot be null");
+        Objects.requireNonNull(random, "Random cannot be null");
+        Objects.requireNonNull(input, "Input cannot be null");
+        Objects.requireNonNull(output, "Output cannot be null");
+
+        this.scheduler    = scheduler;
+        this.answers      = answers;
+        this.index        = index;
+        this.random       = random;
+        this.input        = input;
+        this.output       = output;
+        this.answerCounts = new AnswerStatistics();
+    }
 
     /**
-     * Serves as the public entry point to start a session of the Word Game.
-     * This method resets the game statistics counters, loads the necessary country
-     * and capital data, starts the interactive gameplay loop, and prints a message
-     * upon completion.
+     * Serves as the public entry point to start a session of the Word Game on the console.
+     * This method loads the scores and the country and capital data, starts the interactive
+     * gameplay loop, records the session's score, and prints a message upon completion.
      * It performs the following steps:
-     * 1. Resets the static game statistics counters to NOTHING (0).
-     * 2. Loads the necessary country and capital data from resource files.
-     * 3. Starts the interactive gameplay loop.
-     * 4. Prints a message indicating the game is finished when the user chooses not to play again.
+     * 1. Opens the score repository chosen by -Dscores.backend (segmented, binary or text;
+     *    segmented by default), importing a single-file score.dat or legacy score.txt into it if it is empty.
+     * 2. Loads the repository's high score index and daily/weekly statistics, rebuilding them if they are out of date.
+     * 3. Asks for the player's name, which picks the answer history their questions are scheduled from.
+     * 4. Takes the shared World snapshot, which is only reloaded if the country files changed.
+     * 5. Starts the interactive gameplay loop on a new game with fresh counters.
+     * 6. Records the score, adds the session's answers for each country and question to the player's
+     *    answer statistics and to the statistics for all players, and prints a message indicating the
+     *    game is finished when the user chooses not to play again.
      *
      * @throws IOException if an I/O error occurs during the data loading phase or during score file operations.
      */
     public static void play() throws IOException
     {
-        gamesPlayed           = NOTHING;
-        correctFirstAttempts  = NOTHING;
-        correctSecondAttempts = NOTHING;
-        incorrectAttempts     = NOTHING;
+        final BufferedReader console;
+        final PrintWriter    screen;
+        final String         backend;
+
+        // Neither is closed, since closing them would close System.in and System.out
+        console = new BufferedReader(new InputStreamReader(System.in));
+        screen  = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        backend = System.getProperty(BACKEND_PROPERTY, SEGMENTED_BACKEND);
+
+        Files.createDirectories(Paths.get(SCORE_DIRECTORY));
 
-        loadWorldData();
-        playRound();
+        try (final ScoreRepository repository = openScoreRepository(backend))
+        {
+            final HighScoreIndex  highScores;
+            final ScoreStatistics statistics;
+            final String          player;
+            final Path            playerFile;
+            final WordGame        game;
+            final Score           score;
+
+            migrateLegacyScores(repository, screen);
+            highScores = HighScoreIndex.load(INDEX_PREFIX + backend + INDEX_SUFFIX,
+                                             repository,
+                                             HighScoreIndex.DEFAULT_CAPACITY);
+            statistics = ScoreStatistics.load(STATISTICS_PREFIX + backend + STATISTICS_SUFFIX,
+                                              repository);
+            player     = readPlayerName(console, screen);
+            playerFile = AnswerStatistics.fileFor(player);
+            loadWorldData(screen);
+
+            game  = new WordGame(schedulerFor(playerFile), sharedAnswers, sharedIndex, new Random(), console, screen);
+            score = game.playRounds();
+
+            game.recordScore(score, highScores, statistics);
+            AnswerStatistics.mergeInto(playerFile, game.answerCounts);
+            AnswerStatistics.mergeInto(Paths.get(AnswerStatistics.DEFAULT_FILE), game.answerCounts);
+        } finally
+        {
+            // Anything already written still reaches the screen if the session fails
+            screen.flush();
+        }
 
-        System.out.println("\n==========Returning To Main Menu==========");
+        screen.println("\n==========Returning To Main Menu==========");
+        screen.flush();
     }
 
     /*
-     * Loads country data from text files and populates the World map with Country objects.
-     * It iterates over the alphabet from 'a' to 'z', skipping 'w', and attempts to read files named accordingly.
-     * For each valid file, it:
-     * 1. Skips the first line.
-     * 2. Reads a country and its capital (separated by a colon).
-     * 3. Reads 3 associated facts.
-     * 4. Creates a Country object and stores it in the worldMap.
-     * If a file does not exist, logs an error message but continues processing.
+     * Asks for the player's name until one fits in a statistics file name.
      */
-    private static void loadWorldData()
+    private static String readPlayerName(final BufferedReader input,
+                                         final PrintWriter output) throws IOException
     {
-        char fileName = FIRST_FILE;
+        String name;
 
-        while (fileName <= LAST_FILE)
+        do
         {
-            if (fileName == EMPTY_FILE)
+            output.println(NAME_PROMPT);
+            output.flush();
+            name = input.readLine();
+
+            if (name == null)
             {
-                // skips over the 2 non-existent files
-                fileName += CHAR_OFFSET;
+                throw new EOFException("Input ended before the game was finished");
             }
 
-            try
-            {
-                final File    file;
-                final Scanner fileScanner;
-
-                file        = new File("src/resources/" +
-                                       fileName +
-                                       ".txt");
-                fileScanner = new Scanner(file);
-
-                while (fileScanner.hasNext())
-                {
-                    fileScanner.nextLine(); // Skip irrelevant line
-                    String[] splitter = fileScanner.nextLine().split(":");
-
-                    String   name            = splitter[FIRST_HALF].trim();
-                    String   capitalCityName = splitter[SECOND_HALF].trim();
-                    String[] facts           = new String[NUMBER_OF_FACTS];
-
-                    for (int i = 0; i < NUMBER_OF_FACTS; i++)
-                    {
-                        facts[i] = fileScanner.nextLine();
-                    }
-
-                    World.worldMap.put(name, new Country(name, capitalCityName, facts));
-                }
-                fileScanner.close();
-            } catch (final FileNotFoundException e)
+            name = name.strip();
+        } while (name.isEmpty() ||
+                 name.length() > AnswerStatistics.MAX_PLAYER_NAME_LENGTH);
+
+        return name;
+    }
+
+    /*
+     * Opens the score repository for a backend name.
+     */
+    private static ScoreRepository openScoreRepository(final String backend) throws IOException
+    {
+        return switch (backend)
+        {
+            case SEGMENTED_BACKEND -> SegmentedScoreStore.open(Paths.get(SCORE_DIRECTORY));
+            case BINARY_BACKEND -> new BinaryScoreRepository(SCORE_LOG_FILE);
+            case TEXT_BACKEND -> new TextScoreRepository(LEGACY_SCORE_FILE);
+            default -> throw new IllegalArgumentException("Unknown score backend: " +
+                                                          backend);
+        };
+    }
+
+    /*
+     * Imports older score files into the score repository.
+     * Only runs while the repository is empty, so the import happens once; the old files are left in place.
+     * A single-file score.dat is preferred over score.txt, since it was converted from it.
+     */
+    private static void migrateLegacyScores(final ScoreRepository repository,
+                                            final PrintWriter output) throws IOException
+    {
+        if (repository.count() > NOTHING)
+        {
+            return;
+        }
+
+        final List<Score> scores;
+        final String      source;
+
+        if (new File(SCORE_LOG_FILE).exists())
+        {
+            scores = ScoreLog.readAll(SCORE_LOG_FILE);
+            source = SCORE_LOG_FILE;
+        }
+        else if (new File(LEGACY_SCORE_FILE).exists())
+        {
+            try (final Stream<Score> legacyScores = Score.streamScoresFromFile(LEGACY_SCORE_FILE))
             {
-                System.err.println("Error opening file: " +
-                                   fileName);
+                scores = legacyScores.collect(Collectors.toList());
             }
+            source = LEGACY_SCORE_FILE;
+        }
+        else
+        {
+            return;
+        }
+
+        // Keep the repository in time order so range queries can binary-search it
+        scores.sort(Comparator.comparing(Score::getDateTime));
+        repository.appendAll(scores);
+        output.println("Imported " + scores.size() + " scores from " + source);
+    }
 
-            fileName++;
+    /*
+     * Takes the current World snapshot for the console game.
+     * The snapshot is only rebuilt when the country files have changed since it was loaded,
+     * and any files that failed to load are reported to the output once, when a new snapshot is taken.
+     * A new snapshot also gets a new answer matcher and answer index, and drops every player's question scheduler;
+     * otherwise a player's scheduler carries on between sessions, so what they missed earlier keeps coming back sooner.
+     */
+    private static void loadWorldData(final PrintWriter output) throws IOException
+    {
+        final World latest;
+        latest = World.get();
+
+        if (latest != world)
+        {
+            reportLoadErrors(latest, output);
+            playerSchedulers.clear();
+            sharedAnswers = new AnswerMatcher(latest);
+            sharedIndex   = new WorldIndex(latest);
         }
+
+        world = latest;
     }
 
     /*
-     * Plays one round of the game, posing the user with ten random questions.
-     * It randomly selects a question type (capital, country, or fact) for each of the
-     * ten iterations, and keeps track of the number of guesses made by the user.
-     * After all questions are asked, it prompts the user to play again or return to the main menu.
+     * Tells the player which country files were left out of a world.
+     */
+    static void reportLoadErrors(final World world,
+                                 final PrintWriter output)
+    {
+        world.getLoadErrors().forEach((file, error) ->
+                output.println("Skipped country file " + file + ": " + error));
+    }
+
+    /*
+     * Gets the question scheduler for the player whose answers are saved in a file.
+     * A new scheduler starts from the player's saved answer statistics, so their history also outlives the program.
+     */
+    private static QuestionScheduler schedulerFor(final Path playerFile) throws IOException
+    {
+        QuestionScheduler scheduler;
+        scheduler = playerSchedulers.get(playerFile);
+
+        if (scheduler == null)
+        {
+            scheduler = new QuestionScheduler(world, new Random(), AnswerStatistics.load(playerFile));
+            playerSchedulers.put(playerFile, scheduler);
+        }
+
+        return scheduler;
+    }
+
+    /**
+     * Plays rounds of ten questions until the player chooses not to play again.
+     *
+     * @return the score for every round played
+     * @throws IOException if an answer cannot be read, or the input ends before the player stops
      */
-    private static void playRound() throws IOException
+    public Score playRounds() throws IOException
     {
-        final Scanner      input;
-        final Random       random;
-        final List<String> keys;
-        String             userChoice;
+        String userChoice;
+        userChoice = YES;
 
-        input  = new Scanner(System.in);
-        random = new Random();
-        keys   = new ArrayList<>(World.worldMap.keySet());
+        // A loop rather than recursion, so a long scripted session cannot overflow the stack
+        while (userChoice.equals(YES))
+        {
+            playRound();
 
-        System.out.println("\n=====New Round=====\n");
+            output.println("\n============ ROUND OVER ============");
+            output.println("\nYes to play again, No to go back to the main menu");
+            userChoice = readLine().trim().toUpperCase();
+
+            while (!userChoice.equals(YES) &&
+                   !userChoice.equals(NO))
+            {
+                output.println("Invalid choice, please try again");
+                userChoice = readLine().trim().toUpperCase();
+            }
+        }
+
+        final Score score;
+        score = new Score(LocalDateTime.now(),
+                          gamesPlayed,
+                          correctFirstAttempts,
+                          correctSecondAttempts,
+                          incorrectAttempts);
+
+        output.flush();
+        return score;
+    }
+
+    /*
+     * Plays one round of the game, posing the user with ten random questions.
+     * It takes each country from the question scheduler and randomly selects a question type
+     * (capital, country, or fact) for each of the ten iterations, and keeps track of the
+     * number of guesses made by the user.
+     */
+    private void playRound() throws IOException
+    {
+        output.println("\n=====New Round=====\n");
 
         for (int i = 0; i < GUESSES_PER_ROUND; i++)
         {
-            final String randomKey;
-            final int    randomNum;
-            final int    guesses;
+            final Country country;
+            final int     randomNum;
+            final int     factIndex;
+            final int     guesses;
+            final long    questionStart;
 
-            randomKey = keys.get(random.nextInt(keys.size()));
-            randomNum = random.nextInt(RANDOM_SELECTOR);
+            country       = scheduler.next();
+            randomNum     = random.nextInt(RANDOM_SELECTOR);
+            factIndex     = random.nextInt(country.getFactCount());
+            questionStart = System.nanoTime();
 
             guesses = switch (randomNum)
             {
-                case GIVE_CAPITAL -> giveCapital(randomKey);
-                case GIVE_COUNTRY -> giveCountry(randomKey);
-                case GIVE_FACT -> giveFact(randomKey);
+                case GIVE_CAPITAL -> giveCapital(country);
+                case GIVE_COUNTRY -> giveCountry(country);
+                case GIVE_FACT -> giveFact(country, factIndex);
                 default -> throw new IllegalArgumentException("Unexpected value: " +
                                                               randomNum);
             };
 
+            GameMetrics.WORD_GAME_TURN_DURATION.recordSince(questionStart);
+            scheduler.record(country, guesses);
+
+            switch (randomNum)
+            {
+                case GIVE_CAPITAL -> answerCounts.recordCapital(country.getName(), guesses);
+                case GIVE_COUNTRY -> answerCounts.recordCountry(country.getName(), guesses);
+                case GIVE_FACT -> answerCounts.recordFact(country.getName(), factIndex, guesses);
+            }
+
+            if (guesses < MAX_GUESSES)
+            {
+                GameMetrics.WORD_GAME_TIME_TO_CORRECT.recordSince(questionStart);
+            }
+
             if (i < LAST_QUESTION)
             {
-                System.out.println("\n===== NEXT QUESTION =====\n");
+                output.println("\n===== NEXT QUESTION =====\n");
             }
 
             if (guesses == FIRST_TRY)
@@ -185,221 +431,267 @@ public final class WordGame
         }
 
         gamesPlayed++;
-
-        System.out.println("\n============ ROUND OVER ============");
-        System.out.println("\nYes to play again, No to go back to the main menu");
-        userChoice = input.next().toUpperCase();
-
-        while (!userChoice.equals("YES") &&
-               !userChoice.equals("NO"))
-        {
-            System.out.println("Invalid choice, please try again");
-            userChoice = input.next().toUpperCase();
-        }
-
-        if (userChoice.equals("YES"))
-        {
-            playRound();
-        }
-        else
-        {
-            final Score roundScore;
-            roundScore = new Score(LocalDateTime.now(),
-                                   gamesPlayed,
-                                   correctFirstAttempts,
-                                   correctSecondAttempts,
-                                   incorrectAttempts);
-
-            printReport(roundScore);
-            checkForHighScore(roundScore);
-            Score.appendScoreToFile(roundScore, SCORE_FILE);
-        }
     }
 
     /*
      * Gives the user a random capital city for them to guess the country.
-     * It prompts the user for their guess and checks it against the correct answer.
+     * It prompts the user for their guess and checks it against the correct answer,
+     * forgiving accents, case and small typing mistakes. Any country with that capital is right.
      * The user has a maximum of MAX_GUESSES (2) guesses to answer correctly.
      */
-    private static int giveCapital(final String key)
+    private int giveCapital(final Country country) throws IOException
     {
-        validateKey(key);
+        validateCountry(country);
 
-        final Scanner input;
-        int           guesses;
+        final List<Country> accepted;
+        int                 guesses;
 
-        input   = new Scanner(System.in);
-        guesses = NOTHING;
+        accepted = index.getCountriesWithCapital(country.getCapitalCityName());
+        guesses  = NOTHING;
 
         while (guesses < MAX_GUESSES)
         {
-            System.out.println("What country has the capital city of " +
-                               World.worldMap.get(key).getCapitalCityName() + "?");
+            output.println("What country has the capital city of " +
+                           country.getCapitalCityName() + "?");
 
-            final String guess;
-            guess = input.nextLine();
+            final String  guess;
+            final Country guessed;
+
+            guess   = readLine();
+            guessed = index.getCountry(guess);
+            GameMetrics.WORD_GAME_GUESSES.increment();
+
+            if (guessed != null &&
+                accepted.contains(guessed))
+            {
+                output.println(CORRECT);
+                return guesses;
+            }
 
-            if (guess.equalsIgnoreCase(World.worldMap.get(key).getName()))
+            if (answers.matches(guess, country.getName()))
             {
-                System.out.println(CORRECT);
+                printCorrect(guess, country.getName());
                 return guesses;
             }
 
-            System.out.println(INCORRECT);
+            output.println(INCORRECT);
             guesses++;
         }
 
-        System.out.println(SORRY_MESSAGE +
-                           World.worldMap.get(key).getName());
+        output.println(SORRY_MESSAGE +
+                       country.getName());
 
         return guesses;
     }
 
     /*
      * Gives the user a random country for them to guess the capital city.
-     * It prompts the user for their guess and checks it against the correct answer.
+     * It prompts the user for their guess and checks it against the correct answer,
+     * forgiving accents, case and small typing mistakes.
      * The user has a maximum of MAX_GUESSES (2) guesses to answer correctly.
      */
-    private static int giveCountry(final String key)
+    private int giveCountry(final Country country) throws IOException
     {
-        validateKey(key);
+        validateCountry(country);
 
-        final Scanner input;
-        int           guesses;
-
-        input   = new Scanner(System.in);
+        int guesses;
         guesses = NOTHING;
 
         while (guesses < MAX_GUESSES)
         {
-            System.out.println("What is the capital city of " +
-                               World.worldMap.get(key).getName() + "?");
+            output.println("What is the capital city of " +
+                           country.getName() + "?");
 
             final String guess;
-            guess = input.nextLine();
+            guess = readLine();
+            GameMetrics.WORD_GAME_GUESSES.increment();
 
-            if (guess.equalsIgnoreCase(World.worldMap.get(key).getCapitalCityName()))
+            if (index.getCountriesWithCapital(guess).contains(country))
             {
-                System.out.println(CORRECT);
+                output.println(CORRECT);
                 return guesses;
             }
 
-            System.out.println(INCORRECT);
+            if (answers.matches(guess, country.getCapitalCityName()))
+            {
+                printCorrect(guess, country.getCapitalCityName());
+                return guesses;
+            }
+
+            output.println(INCORRECT);
             guesses++;
         }
 
-        System.out.println(SORRY_MESSAGE +
-                           World.worldMap.get(key).getCapitalCityName());
+        output.println(SORRY_MESSAGE +
+                       country.getCapitalCityName());
 
         return guesses;
     }
 
     /*
-     * Gives the user a random fact for them to guess the country.
-     * It prompts the user for their guess and checks it against the correct answer.
+     * Gives the user one of the country's facts for them to guess the country.
+     * It prompts the user for their guess and checks it against the correct answer,
+     * forgiving accents, case and small typing mistakes. Any country with that fact is right.
      * The user has a maximum of MAX_GUESSES (2) guesses to answer correctly.
      */
-    private static int giveFact(final String key)
+    private int giveFact(final Country country,
+                         final int factIndex) throws IOException
     {
-        validateKey(key);
+        validateCountry(country);
 
-        final Random  random;
-        final Scanner input;
-        int           guesses;
-        final int     randomFactIndex;
+        final String        fact;
+        final List<Country> accepted;
+        int                 guesses;
 
-        random          = new Random();
-        input           = new Scanner(System.in);
-        guesses         = NOTHING;
-        randomFactIndex = random.nextInt(RANDOM_INDEX);
+        fact     = country.getFacts(factIndex);
+        accepted = index.getCountriesWithFact(fact);
+        guesses  = NOTHING;
 
         while (guesses < MAX_GUESSES)
         {
-            System.out.println("What country has this fact: " +
-                               World.worldMap.get(key).getFacts(randomFactIndex) + "?");
+            output.println("What country has this fact: " +
+                           fact + "?");
 
-            final String guess;
-            guess = input.nextLine();
+            final String  guess;
+            final Country guessed;
+
+            guess   = readLine();
+            guessed = index.getCountry(guess);
+            GameMetrics.WORD_GAME_GUESSES.increment();
+
+            if (guessed != null &&
+                accepted.contains(guessed))
+            {
+                output.println(CORRECT);
+                return guesses;
+            }
 
-            if (guess.equalsIgnoreCase(World.worldMap.get(key).getName()))
+            if (answers.matches(guess, country.getName()))
             {
-                System.out.println(CORRECT);
+                printCorrect(guess, country.getName());
                 return guesses;
             }
 
-            System.out.println(INCORRECT);
+            output.println(INCORRECT);
             guesses++;
         }
 
-        System.out.println(SORRY_MESSAGE +
-                           World.worldMap.get(key).getName());
+        output.println(SORRY_MESSAGE +
+                       country.getName());
 
         return guesses;
     }
 
+    /*
+     * Reads the player's next answer, first flushing everything written so far so the question is visible.
+     */
+    private String readLine() throws IOException
+    {
+        output.flush();
+
+        final String line;
+        line = input.readLine();
+
+        if (line == null)
+        {
+            throw new EOFException("Input ended before the game was finished");
+        }
+
+        return line;
+    }
+
+    /*
+     * Tells the user their answer was right, showing the proper spelling if it was a near miss.
+     */
+    private void printCorrect(final String guess,
+                              final String answer)
+    {
+        if (guess.trim().equalsIgnoreCase(answer))
+        {
+            output.println(CORRECT);
+        }
+        else
+        {
+            output.println(CORRECT + " (" + answer + ")");
+        }
+    }
+
+    /*
+     * Reports a finished session's score, compares it with the high score and saves it.
+     */
+    private void recordScore(final Score score,
+                             final HighScoreIndex highScores,
+                             final ScoreStatistics statistics) throws IOException
+    {
+        printReport(score);
+        checkForHighScore(score, highScores);
+        highScores.append(score);
+        statistics.record(score);
+        printWeeklySummary(score, statistics);
+    }
+
     /*
      * Calls the toString method from the Score class to display the report of the round.
      * It formats and prints the score details to the console.
      */
-    private static void printReport(final Score score)
+    private void printReport(final Score score)
     {
-        System.out.println("======================================\n");
-        System.out.println(score);
-        System.out.println("======================================");
+        output.println("======================================\n");
+        output.println(score);
+        output.println("======================================");
     }
 
     /*
-     * Checks if the user has a new high score, and prints the last high score if they do.
-     * It reads existing scores from the score file, compares them to the latest score,
-     * and provides feedback to the user about their performance.
+     * Prints how this week's scores compare, from the cached weekly statistics.
      */
-    private static void checkForHighScore(final Score latestScore)
-    throws IOException
+    private void printWeeklySummary(final Score latestScore,
+                                    final ScoreStatistics statistics)
     {
-        final List<Score> scores;
-        Score             highScore;
+        final ScoreSketch week;
+        week = statistics.getWeek(latestScore.getDateTime().toLocalDate());
 
-        scores    = Score.readScoresFromFile(SCORE_FILE);
-        highScore = null;
+        output.println("This week: " + week);
+    }
 
-        for (final Score score : scores)
-        {
-            if (highScore == null ||
-                highScore.getAvgScore() <= score.getAvgScore())
-            {
-                highScore = score;
-            }
-        }
+    /*
+     * Checks if the user has a new high score, and prints the last high score if they do.
+     * It compares the latest score to the best score held by the high score index,
+     * and provides feedback to the user about their performance.
+     */
+    private void checkForHighScore(final Score latestScore,
+                                   final HighScoreIndex highScores)
+    {
+        final Score highScore;
+        highScore = highScores.getBest();
 
         if (highScore == null ||
             latestScore.getAvgScore() > highScore.getAvgScore())
         {
-            System.out.printf("CONGRATULATIONS! You are the new high score " +
-                              "with an average of %.2f ppg!\n",
-                              latestScore.getAvgScore());
+            output.printf("CONGRATULATIONS! You are the new high score " +
+                          "with an average of %.2f ppg!\n",
+                          latestScore.getAvgScore());
 
             if (highScore != null)
             {
-                System.out.printf("The previous high score was %.2f ppg on %s",
-                                  highScore.getAvgScore(), highScore.getDate());
+                output.printf("The previous high score was %.2f ppg on %s",
+                              highScore.getAvgScore(), highScore.getDate());
             }
             else
             {
-                System.out.println("There was no previous high score.");
+                output.println("There was no previous high score.");
             }
         }
     }
 
     /*
-     * Validates a key for the world map.
-     * It checks if the key is null or blank and throws an exception if it is invalid.
+     * Validates a country dealt for a question.
+     * It checks if the country is null and throws an exception if it is invalid.
      */
-    private static void validateKey(final String key)
+    private static void validateCountry(final Country country)
     {
-        if (key == null ||
-            key.isBlank())
+        if (country == null)
         {
-            throw new IllegalArgumentException("Key cannot be null or blank");
+            throw new IllegalArgumentException("Country cannot be null");
         }
     }
 }
@@ -0,0 +1,122 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Plays the Word Game without a player, reading every answer from a file.
+ * <p>
+ * The answers file holds one line per answer, plus "Yes" or "No" after each round, exactly as
+ * a player would type them. Questions come from a fixed seed, so the same file always meets
+ * the same questions and the transcript can be compared with an earlier run to catch
+ * regressions. The session's score is printed but never saved to the score files.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class WordGameScript
+{
+    private static final long DEFAULT_SEED    = 2522L;
+    private static final int  ANSWERS_ARG     = 0;
+    private static final int  TRANSCRIPT_ARG  = 1;
+    private static final int  MIN_ARGS        = 1;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /*
+     * Private constructor to prevent instantiation of this utility class.
+     */
+    private WordGameScript()
+    {}
+
+    /**
+     * Plays one scripted session against a world.
+     * Any country files the world could not load are listed at the top of the transcript.
+     *
+     * @param world      the countries to ask about
+     * @param seed       the seed for question order and question types
+     * @param answers    the file of answers
+     * @param transcript where questions and results are written
+     * @return the score for the session
+     * @throws IOException if the answers cannot be read, or run out before the last round ends with "No"
+     */
+    public static Score run(final World world,
+                            final long seed,
+                            final Path answers,
+                            final Writer transcript) throws IOException
+    {
+        Objects.requireNonNull(answers, "Answers cannot be null");
+        Objects.requireNonNull(transcript, "Transcript cannot be null");
+
+        try (final BufferedReader input = Files.newBufferedReader(answers, StandardCharsets.UTF_8))
+        {
+            final PrintWriter output;
+            final WordGame    game;
+
+            output = new PrintWriter(new BufferedWriter(transcript));
+            game   = new WordGame(world, new Random(seed), input, output);
+
+            try
+            {
+                WordGame.reportLoadErrors(world, output);
+                return game.playRounds();
+            } finally
+            {
+                output.flush();
+            }
+        }
+    }
+
+    /**
+     * Plays the answers in a file and prints the score and how long it took.
+     * Usage: WordGameScript answers.txt [transcript.txt]
+     * Without a transcript file the questions and results are discarded.
+     *
+     * @param args the answers file, then optionally the transcript file
+     */
+    public static void main(final String[] args)
+    {
+        if (args.length < MIN_ARGS)
+        {
+            System.err.println("Usage: WordGameScript answers.txt [transcript.txt]");
+            return;
+        }
+
+        try
+        {
+            final World world;
+            final Path  answers;
+
+            world   = World.get();
+            answers = Paths.get(args[ANSWERS_ARG]);
+
+            try (final Writer transcript = args.length > TRANSCRIPT_ARG ?
+                                           Files.newBufferedWriter(Paths.get(args[TRANSCRIPT_ARG]),
+                                                                   StandardCharsets.UTF_8) :
+                                           Writer.nullWriter())
+            {
+                final long  startTime;
+                final Score score;
+
+                startTime = System.nanoTime();
+                score     = run(world, DEFAULT_SEED, answers, transcript);
+
+                System.out.println(score);
+                System.out.println("Finished in " +
+                                   (System.nanoTime() - startTime) / NANOS_PER_MILLI +
+                                   " ms.");
+            }
+        } catch (final IOException e)
+        {
+            System.err.println("Could not run script: " + e.getMessage());
+        }
+    }
+}
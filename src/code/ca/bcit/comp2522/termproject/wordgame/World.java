@@ -1,18 +1,249 @@
 package ca.bcit.comp2522.termproject.wordgame;
 
-import java.util.HashMap;
+import ca.bcit.comp2522.termproject.metrics.GameMetrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Represents every country in the world.
+ * Represents every country in the world, as an immutable snapshot shared by all game sessions.
+ * <p>
+ * The snapshot is loaded the first time it is asked for, from the prebuilt country bundle,
+ * or from the per-letter text files if the bundle is missing, unreadable or was built from
+ * other text than they now hold. Each later request compares the modification times and
+ * sizes of those files with the ones the snapshot was built from; only if they changed is
+ * a new snapshot built and swapped in atomically. Readers never lock and always see a
+ * complete snapshot, while a session holding an older one keeps using it unchanged.
  *
  * @author colecampbell
  * @version 1.0
  */
 public final class World
 {
+    private static final AtomicReference<World> current    = new AtomicReference<>();
+    private static final Object                 reloadLock = new Object();
+
+    private static final String BUNDLE_NAME = "countries.bundle";
+    private static final int    HASH_PRIME  = 31;
+    private static final long   MISSING     = 0L;
+
+    private final Path                 sourceDirectory;
+    private final Path                 bundle;
+    private final long                 fingerprint;
+    private final Map<String, Country> byName;
+    private final List<Country>        countries;
+    private final List<String>         names;
+    private final Map<String, String>  loadErrors;
+
+    /*
+     * Constructs a snapshot. Snapshots are created through load.
+     */
+    private World(final Path sourceDirectory,
+                  final Path bundle,
+                  final long fingerprint,
+                  final List<Country> countries,
+                  final Map<String, String> loadErrors)
+    {
+        final Map<String, Country> countriesByName;
+        countriesByName = new LinkedHashMap<>();
+
+        for (final Country country : countries)
+        {
+            countriesByName.put(country.getName(), country);
+        }
+
+        this.sourceDirectory = sourceDirectory;
+        this.bundle          = bundle;
+        this.fingerprint     = fingerprint;
+        this.byName          = Collections.unmodifiableMap(countriesByName);
+        this.countries       = List.copyOf(countriesByName.values());
+        this.names           = List.copyOf(countriesByName.keySet());
+        this.loadErrors      = Collections.unmodifiableMap(loadErrors);
+    }
+
+    /**
+     * Gets the current world, loading it on first use and reloading it if the country files changed.
+     *
+     * @return the current snapshot
+     */
+    public static World get()
+    {
+        return get(Paths.get(CountryBundle.SOURCE_DIRECTORY), Paths.get(CountryBundle.BUNDLE_FILE));
+    }
+
+    /*
+     * Gets the current world for a source directory and bundle, reloading it if they changed.
+     */
+    static World get(final Path sourceDirectory,
+                     final Path bundle)
+    {
+        final World snapshot;
+        snapshot = current.get();
+
+        if (snapshot != null &&
+            snapshot.isCurrent(sourceDirectory, bundle))
+        {
+            return snapshot;
+        }
+
+        // Only loaders wait here, so two sessions never parse the same change twice
+        synchronized (reloadLock)
+        {
+            final World latest;
+            latest = current.get();
+
+            if (latest != null &&
+                latest.isCurrent(sourceDirectory, bundle))
+            {
+                return latest;
+            }
+
+            final World fresh;
+            fresh = load(sourceDirectory, bundle);
+
+            current.set(fresh);
+            return fresh;
+        }
+    }
+
+    /*
+     * Checks whether this snapshot was built from the given files as they are now.
+     */
+    private boolean isCurrent(final Path sourceDirectory,
+                              final Path bundle)
+    {
+        return this.sourceDirectory.equals(sourceDirectory) &&
+               this.bundle.equals(bundle) &&
+               this.fingerprint == fingerprint(sourceDirectory, bundle);
+    }
+
+    /*
+     * Builds a snapshot from the bundle if it is up to date and can be read, otherwise from the text files.
+     */
+    private static World load(final Path sourceDirectory,
+                              final Path bundle)
+    {
+        final long                loadStart;
+        final long                fingerprint;
+        final Map<String, String> errors;
+        List<Country>             countries;
+
+        loadStart   = System.nanoTime();
+        fingerprint = fingerprint(sourceDirectory, bundle);
+        errors      = new TreeMap<>();
+        countries   = null;
+
+        if (Files.exists(bundle))
+        {
+            try
+            {
+                // Null when the text files changed since the bundle was built
+                countries = CountryBundle.loadIfBuiltFrom(bundle, sourceDirectory);
+            } catch (final IOException e)
+            {
+                errors.put(BUNDLE_NAME, e.getMessage());
+            }
+        }
+
+        if (countries == null)
+        {
+            final CountrySources sources;
+            sources = CountrySources.read(sourceDirectory);
+
+            errors.putAll(sources.getErrors());
+            countries = sources.getCountries();
+        }
+
+        GameMetrics.COUNTRY_DATA_LOAD.recordSince(loadStart);
+        return new World(sourceDirectory, bundle, fingerprint, countries, errors);
+    }
+
+    /*
+     * Combines the modification time and size of the bundle with the stamp of every text file.
+     */
+    private static long fingerprint(final Path sourceDirectory,
+                                    final Path bundle)
+    {
+        long modified;
+        long size;
+        long hash;
+
+        try
+        {
+            modified = Files.getLastModifiedTime(bundle).toMillis();
+            size     = Files.size(bundle);
+        } catch (final IOException e)
+        {
+            modified = MISSING;
+            size     = MISSING;
+        }
+
+        hash = modified;
+        hash = hash * HASH_PRIME + size;
+        hash = hash * HASH_PRIME + CountryBundle.stampSources(sourceDirectory);
+
+        return hash;
+    }
+
+    /**
+     * Gets a country by name.
+     *
+     * @param name the country name
+     * @return the country, or null if there is none with that name
+     */
+    public Country getCountry(final String name)
+    {
+        Objects.requireNonNull(name, "Name cannot be null");
+
+        return byName.get(name);
+    }
+
+    /**
+     * Gets every country, in load order.
+     *
+     * @return an unmodifiable list of countries
+     */
+    public List<Country> getCountries()
+    {
+        return countries;
+    }
+
+    /**
+     * Gets the name of every country, in load order.
+     *
+     * @return an unmodifiable list of names
+     */
+    public List<String> getNames()
+    {
+        return names;
+    }
+
+    /**
+     * Gets the number of countries.
+     *
+     * @return the country count
+     */
+    public int size()
+    {
+        return names.size();
+    }
+
     /**
-     * A map of all countries in the world, keyed by country name.
+     * Gets the files that could not be loaded when this snapshot was built.
+     *
+     * @return a message for each failed file, keyed by file name; empty if everything loaded
      */
-    public static final Map<String, Country> worldMap = new HashMap<>();
+    public Map<String, String> getLoadErrors()
+    {
+        return loadErrors;
+    }
 }
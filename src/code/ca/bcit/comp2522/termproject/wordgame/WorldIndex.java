@@ -0,0 +1,133 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Lookup tables over a set of countries, keyed by normalized answer so every check is a hash lookup.
+ * <p>
+ * Three maps are built once per World snapshot: country name to country, capital city to
+ * countries, and fact to countries. Keys go through {@link AnswerMatcher#normalize(String)},
+ * so a typed answer finds its entry whatever its case, accents or spacing. Capitals and facts
+ * map to lists because the data has facts shared by several countries, and a capital could
+ * be too; any country on the list is a right answer.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class WorldIndex
+{
+    private final Map<String, Country>       byName;
+    private final Map<String, List<Country>> byCapital;
+    private final Map<String, List<Country>> byFact;
+
+    /**
+     * Constructs an index over every country in a world.
+     *
+     * @param world the world to index
+     */
+    public WorldIndex(final World world)
+    {
+        this(Objects.requireNonNull(world, "World cannot be null").getCountries());
+    }
+
+    /**
+     * Constructs an index over a set of countries.
+     *
+     * @param countries the countries to index
+     */
+    public WorldIndex(final Collection<Country> countries)
+    {
+        Objects.requireNonNull(countries, "Countries cannot be null");
+
+        final Map<String, List<Country>> capitals;
+        final Map<String, List<Country>> facts;
+
+        this.byName = new HashMap<>();
+        capitals    = new HashMap<>();
+        facts       = new HashMap<>();
+
+        for (final Country country : countries)
+        {
+            byName.put(AnswerMatcher.normalize(country.getName()), country);
+            addTo(capitals, country.getCapitalCityName(), country);
+
+            for (int i = 0; i < country.getFactCount(); i++)
+            {
+                addTo(facts, country.getFacts(i), country);
+            }
+        }
+
+        this.byCapital = freeze(capitals);
+        this.byFact    = freeze(facts);
+    }
+
+    /*
+     * Adds a country under the normalized form of a value, once per value.
+     */
+    private static void addTo(final Map<String, List<Country>> index,
+                              final String value,
+                              final Country country)
+    {
+        final List<Country> countries;
+        countries = index.computeIfAbsent(AnswerMatcher.normalize(value), key -> new ArrayList<>());
+
+        if (!countries.contains(country))
+        {
+            countries.add(country);
+        }
+    }
+
+    /*
+     * Makes every list in a multi-valued index unmodifiable.
+     */
+    private static Map<String, List<Country>> freeze(final Map<String, List<Country>> index)
+    {
+        index.replaceAll((key, countries) -> List.copyOf(countries));
+
+        return index;
+    }
+
+    /**
+     * Gets a country by name, as typed.
+     *
+     * @param name the country name, in any case, accents or spacing
+     * @return the country, or null if no country has that name
+     */
+    public Country getCountry(final String name)
+    {
+        Objects.requireNonNull(name, "Name cannot be null");
+
+        return byName.get(AnswerMatcher.normalize(name));
+    }
+
+    /**
+     * Gets every country with a given capital city.
+     *
+     * @param capital the capital city name, in any case, accents or spacing
+     * @return an unmodifiable list of countries; empty if none has that capital
+     */
+    public List<Country> getCountriesWithCapital(final String capital)
+    {
+        Objects.requireNonNull(capital, "Capital cannot be null");
+
+        return byCapital.getOrDefault(AnswerMatcher.normalize(capital), List.of());
+    }
+
+    /**
+     * Gets every country that a fact is about.
+     *
+     * @param fact the fact, in any case, accents or spacing
+     * @return an unmodifiable list of countries; empty if no country has that fact
+     */
+    public List<Country> getCountriesWithFact(final String fact)
+    {
+        Objects.requireNonNull(fact, "Fact cannot be null");
+
+        return byFact.getOrDefault(AnswerMatcher.normalize(fact), List.of());
+    }
+}
@@ -0,0 +1,43 @@
+package ca.bcit.comp2522.termproject.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FxEventListener, dispatching on a queue instead of the JavaFX thread.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class FxEventListenerTest
+{
+    @Test
+    void testDeliversCopiesOfOneGamesEvents()
+    {
+        final List<Runnable>  queued    = new ArrayList<>();
+        final List<GameEvent> delivered = new ArrayList<>();
+        final FxEventListener listener  = new FxEventListener("Wordle", (event, sequence) -> delivered.add(event),
+                                                              queued::add);
+        final GameEvent       slot      = new GameEvent();
+
+        slot.set(GameEventType.GUESS_SUBMITTED, "Wordle", "Ann", "APPLE", 2, 0);
+        listener.onEvent(slot, 0);
+        slot.set(GameEventType.GUESS_SUBMITTED, "NumberGame", null, null, 7, 0);
+        listener.onEvent(slot, 1);
+        slot.set(GameEventType.TURN_ENDED, "Wordle", "Ann", "APPLE", 90, 0);
+
+        assertEquals(1, queued.size(), "Events from other games should not be dispatched");
+        assertTrue(delivered.isEmpty(), "Nothing runs until the dispatcher runs it");
+
+        queued.get(0).run();
+
+        assertEquals(1, delivered.size());
+        assertEquals(GameEventType.GUESS_SUBMITTED, delivered.get(0).getType());
+        assertEquals("APPLE", delivered.get(0).getDetail(), "The copy must not change when the slot is reused");
+        assertEquals(2, delivered.get(0).getValue());
+    }
+}
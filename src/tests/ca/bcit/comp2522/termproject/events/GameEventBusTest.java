@@ -0,0 +1,126 @@
+package ca.bcit.comp2522.termproject.events;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GameEventBus ring buffer.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class GameEventBusTest
+{
+    @Test
+    void testCapacityMustBePowerOfTwo()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(0));
+        assertThrows(IllegalArgumentException.class, () -> new GameEventBus(100));
+    }
+
+    @Test
+    void testSubscriberReceivesEventsInOrder() throws Exception
+    {
+        final GameEventBus   bus      = new GameEventBus(64);
+        final List<Long>     values   = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch received = new CountDownLatch(10);
+
+        final GameEventBus.Subscription subscription =
+                bus.subscribe("test", (event, sequence) ->
+                {
+                    values.add(event.getValue());
+                    received.countDown();
+                });
+
+        for (int i = 0; i < 10; i++)
+        {
+            bus.publish(GameEventType.GUESS_SUBMITTED, "Test", "Cole", "GUESS", i);
+        }
+
+        assertTrue(received.await(5, TimeUnit.SECONDS), "All events should arrive");
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), values);
+        assertEquals(0, subscription.getDropped());
+        subscription.close();
+    }
+
+    @Test
+    void testSlowSubscriberDropsWithoutBlockingProducer() throws Exception
+    {
+        final GameEventBus   bus     = new GameEventBus(8);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch lastOne = new CountDownLatch(1);
+
+        final GameEventBus.Subscription subscription =
+                bus.subscribe("slow", (event, sequence) ->
+                {
+                    try
+                    {
+                        release.await();
+                    } catch (final InterruptedException e)
+                    {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    if (event.getType() == GameEventType.GAME_OVER)
+                    {
+                        lastOne.countDown();
+                    }
+                });
+
+        // The producer must never wait, even though the subscriber is stuck
+        for (int i = 0; i < 1000; i++)
+        {
+            bus.publish(GameEventType.TURN_ENDED, "Test", "Cole", null, i);
+        }
+        bus.publish(GameEventType.GAME_OVER, "Test", null, "Cole", 0);
+
+        release.countDown();
+
+        assertTrue(lastOne.await(5, TimeUnit.SECONDS), "The newest event should still be delivered");
+        assertTrue(subscription.getDropped() > 0, "A lapped subscriber should report dropped events");
+        subscription.close();
+    }
+
+    @Test
+    void testIdleSubscriberParksUntilPublishAndExitsOnClose() throws Exception
+    {
+        final GameEventBus            bus    = new GameEventBus(8);
+        final AtomicReference<Thread> thread = new AtomicReference<>();
+        final CountDownLatch          first  = new CountDownLatch(1);
+        final CountDownLatch          second = new CountDownLatch(2);
+
+        final GameEventBus.Subscription subscription =
+                bus.subscribe("idle", (event, sequence) ->
+                {
+                    thread.set(Thread.currentThread());
+                    first.countDown();
+                    second.countDown();
+                });
+
+        bus.publish(GameEventType.TURN_ENDED, "Test", "Cole", null, 1);
+        assertTrue(first.await(5, TimeUnit.SECONDS));
+
+        // Parked without a timeout, so an idle subscriber is never woken just to look again
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.get().getState() != Thread.State.WAITING && System.nanoTime() < deadline)
+        {
+            Thread.sleep(1);
+        }
+        assertEquals(Thread.State.WAITING, thread.get().getState());
+
+        bus.publish(GameEventType.TURN_ENDED, "Test", "Cole", null, 2);
+        assertTrue(second.await(5, TimeUnit.SECONDS), "Publish should wake a parked subscriber");
+
+        subscription.close();
+        thread.get().join(5000);
+        assertFalse(thread.get().isAlive());
+    }
+}
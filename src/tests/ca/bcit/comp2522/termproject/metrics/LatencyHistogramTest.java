@@ -0,0 +1,85 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencyHistogram.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class LatencyHistogramTest
+{
+    private static final int FIRST_BOUND = 1 << 10;
+    private static final int INFINITY    = 28;
+
+    /*
+     * Gets the cumulative count on one bucket line of a histogram's samples.
+     */
+    private static long cumulative(final LatencyHistogram histogram,
+                                   final int bucket)
+    {
+        final StringBuilder out = new StringBuilder();
+
+        histogram.writeSamples(out);
+
+        final String line = out.toString().split("\n")[bucket];
+        return Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+    }
+
+    @Test
+    void testDurationEqualToABoundStaysInItsBucket()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram("test_exact_seconds", "", "Exact bounds.");
+
+        histogram.record(FIRST_BOUND);
+        histogram.record(2L * FIRST_BOUND);
+
+        assertEquals(1, cumulative(histogram, 0), "le 1024 ns should hold a 1024 ns duration");
+        assertEquals(2, cumulative(histogram, 1), "le 2048 ns should hold a 2048 ns duration");
+    }
+
+    @Test
+    void testDurationJustAboveABoundMovesUp()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram("test_above_seconds", "", "Above bounds.");
+
+        histogram.record(FIRST_BOUND + 1);
+
+        assertEquals(0, cumulative(histogram, 0));
+        assertEquals(1, cumulative(histogram, 1));
+    }
+
+    @Test
+    void testZeroNegativeAndHugeDurations()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram("test_edges_seconds", "", "Edges.");
+
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(2, cumulative(histogram, 0), "Zero and negative durations count as zero");
+        assertEquals(2, cumulative(histogram, INFINITY - 1));
+        assertEquals(3, cumulative(histogram, INFINITY));
+        assertEquals(3, histogram.getCount());
+    }
+
+    @Test
+    void testSamplesUseLabelsAndSeconds()
+    {
+        final LatencyHistogram histogram = new LatencyHistogram("test_labels_seconds", "{game=\"x\"}", "Labels.");
+        final StringBuilder    out       = new StringBuilder();
+
+        histogram.record(500_000_000L);
+        histogram.writeSamples(out);
+
+        assertTrue(out.toString().startsWith("test_labels_seconds_bucket{game=\"x\",le=\"1.024E-6\"} 0\n"),
+                   out.toString());
+        assertTrue(out.toString().contains("test_labels_seconds_bucket{game=\"x\",le=\"+Inf\"} 1\n"));
+        assertTrue(out.toString().contains("test_labels_seconds_sum{game=\"x\"} 0.5\n"));
+        assertTrue(out.toString().endsWith("test_labels_seconds_count{game=\"x\"} 1\n"));
+    }
+}
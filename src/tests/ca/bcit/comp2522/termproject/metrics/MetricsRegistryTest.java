@@ -0,0 +1,80 @@
+package ca.bcit.comp2522.termproject.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Counter, MetricsRegistry and MetricsServer.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class MetricsRegistryTest
+{
+    @Test
+    void testCounterAddsAndNeverDecreases()
+    {
+        final Counter counter = MetricsRegistry.counter("test_counter_total", "", "Counted.");
+
+        counter.increment();
+        counter.add(4);
+
+        assertEquals(5, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> counter.add(-1));
+        assertEquals(5, counter.get());
+    }
+
+    @Test
+    void testScrapeGroupsSeriesUnderOneHeader()
+    {
+        MetricsRegistry.counter("test_grouped_total", "{game=\"a\"}", "Grouped.").add(2);
+        MetricsRegistry.counter("test_grouped_total", "{game=\"b\"}", "Grouped.").add(3);
+
+        final String scrape = MetricsRegistry.scrape();
+        final int    header = scrape.indexOf("# HELP test_grouped_total Grouped.\n# TYPE test_grouped_total counter\n");
+
+        assertTrue(header >= 0, scrape);
+        assertEquals(header, scrape.lastIndexOf("# HELP test_grouped_total"), "One header per metric name");
+        assertTrue(scrape.contains("test_grouped_total{game=\"a\"} 2\n"));
+        assertTrue(scrape.contains("test_grouped_total{game=\"b\"} 3\n"));
+    }
+
+    @Test
+    void testRejectsBlankNames()
+    {
+        assertThrows(IllegalArgumentException.class, () -> MetricsRegistry.counter(" ", "", "Blank."));
+        assertThrows(IllegalArgumentException.class, () -> MetricsRegistry.histogram(null, "", "Null."));
+    }
+
+    @Test
+    void testServerServesTheScrape() throws IOException
+    {
+        MetricsRegistry.counter("test_served_total", "", "Served.").add(7);
+
+        final MetricsServer server = new MetricsServer(0);
+
+        try
+        {
+            final HttpURLConnection connection =
+                    (HttpURLConnection) new URL("http://127.0.0.1:" + server.getPort() + "/metrics").openConnection();
+
+            assertEquals(200, connection.getResponseCode());
+            assertTrue(connection.getContentType().startsWith("text/plain"));
+
+            try (InputStream in = connection.getInputStream())
+            {
+                assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("test_served_total 7\n"));
+            }
+        } finally
+        {
+            server.stop();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for PlayerProfileStore.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class PlayerProfileStoreTest
+{
+    @TempDir
+    Path directory;
+
+    private Path testFilePath;
+
+    @BeforeEach
+    void setUp()
+    {
+        testFilePath = directory.resolve("test_profiles.dat");
+    }
+
+    @Test
+    void testMissingFileGivesEmptyStore() throws Exception
+    {
+        final PlayerProfileStore store = PlayerProfileStore.load(testFilePath);
+
+        assertEquals(0, store.size());
+        assertNull(store.get("Nobody"));
+    }
+
+    @Test
+    void testSaveAndReload() throws Exception
+    {
+        final PlayerProfileStore store = PlayerProfileStore.load(testFilePath);
+
+        store.recordGame("Cole", 250, true, 140);
+        store.recordGame("Cole", 100, false, 90);
+        store.recordGame("Zo\u00eb", 100, false, 100);
+        store.save();
+
+        final PlayerProfileStore reloaded = PlayerProfileStore.load(testFilePath);
+        final PlayerProfile      cole     = reloaded.get("Cole");
+
+        assertEquals(2, reloaded.size());
+        assertEquals(2, cole.getGamesPlayed());
+        assertEquals(1, cole.getWins());
+        assertEquals(350, cole.getTotalScore());
+        assertEquals(140, cole.getBestTurn());
+        assertEquals(1, reloaded.get("Zo\u00eb").getGamesPlayed(), "Non-ASCII names should survive a round trip");
+    }
+
+    @Test
+    void testLoadOrCreateReturnsSameProfile() throws Exception
+    {
+        final PlayerProfileStore store = PlayerProfileStore.load(testFilePath);
+
+        assertSame(store.loadOrCreate("Cole"), store.loadOrCreate("Cole"));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void testCorruptFileIsRejected() throws Exception
+    {
+        Files.write(testFilePath, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        assertThrows(java.io.IOException.class,
+                     () -> PlayerProfileStore.load(testFilePath));
+    }
+
+    @Test
+    void testNameTooLongToSaveIsRejected() throws Exception
+    {
+        final PlayerProfileStore store   = PlayerProfileStore.load(testFilePath);
+        final String             longest = "a".repeat(PlayerProfileStore.MAX_NAME_BYTES);
+
+        store.recordGame(longest, 10, true, 10);
+        assertThrows(IllegalArgumentException.class, () -> store.loadOrCreate(longest + "a"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> store.recordGame("\u00e9".repeat(PlayerProfileStore.MAX_NAME_BYTES / 2 + 1), 10, true, 10));
+        store.save();
+
+        assertEquals(1, PlayerProfileStore.load(testFilePath).get(longest).getGamesPlayed());
+    }
+
+    @Test
+    void testCorruptFileIsMovedAsideAndReplaced() throws Exception
+    {
+        final Path corrupt = directory.resolve("test_profiles.dat.corrupt");
+
+        Files.write(testFilePath, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        final PlayerProfileStore store = PlayerFactory.loadProfiles(testFilePath);
+
+        assertEquals(0, store.size());
+        assertTrue(Files.exists(corrupt));
+        assertFalse(Files.exists(testFilePath));
+
+        store.recordGame("Cole", 250, true, 140);
+        store.save();
+
+        assertEquals(1, PlayerFactory.loadProfiles(testFilePath).get("Cole").getGamesPlayed(),
+                     "Profiles saved after recovery should load on the next start");
+    }
+}
@@ -0,0 +1,103 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Contention benchmark for Player.addScore.
+ * Runs 1 to 64 threads hammering a single Player and prints the total update rate
+ * for each thread count, then checks that no update was lost.
+ * Run with: java ca.bcit.comp2522.termproject.twistedwordle.PlayerScoreBenchmark [updatesPerThread]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class PlayerScoreBenchmark
+{
+    private static final int  DEFAULT_UPDATES = 2_000_000;
+    private static final int  MAX_THREADS     = 64;
+    private static final int  POINTS          = 1;
+    private static final long NANOS_PER_SEC   = 1_000_000_000L;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of updates each thread performs
+     * @throws InterruptedException if interrupted while waiting for the worker threads
+     */
+    public static void main(final String[] args) throws InterruptedException
+    {
+        final int updatesPerThread;
+        updatesPerThread = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_UPDATES;
+
+        System.out.printf("%8s %16s %10s%n", "threads", "updates/sec", "speedup");
+
+        double singleThreadRate;
+        singleThreadRate = 0;
+
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2)
+        {
+            final double rate;
+            rate = run(threads, updatesPerThread);
+
+            if (threads == 1)
+            {
+                singleThreadRate = rate;
+            }
+
+            System.out.printf("%8d %16.0f %9.2fx%n", threads, rate, rate / singleThreadRate);
+        }
+
+        System.out.println("Cores available: " + Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Runs one measurement with the given number of threads and returns updates per second.
+     */
+    private static double run(final int threads,
+                              final int updatesPerThread) throws InterruptedException
+    {
+        final Player         player;
+        final CountDownLatch start;
+        final CountDownLatch done;
+        final long           begin;
+        final long           elapsed;
+
+        player = new Player("Bench");
+        start  = new CountDownLatch(1);
+        done   = new CountDownLatch(threads);
+
+        for (int i = 0; i < threads; i++)
+        {
+            new Thread(() ->
+                       {
+                           try
+                           {
+                               start.await();
+
+                               for (int j = 0; j < updatesPerThread; j++)
+                               {
+                                   player.addScore(POINTS);
+                               }
+                           } catch (final InterruptedException e)
+                           {
+                               Thread.currentThread().interrupt();
+                           } finally
+                           {
+                               done.countDown();
+                           }
+                       }).start();
+        }
+
+        begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        elapsed = System.nanoTime() - begin;
+
+        if (player.getScore() != (long) threads * updatesPerThread * POINTS)
+        {
+            throw new IllegalStateException("Lost updates: " + player.getScore());
+        }
+
+        return (double) threads * updatesPerThread * NANOS_PER_SEC / elapsed;
+    }
+}
@@ -0,0 +1,94 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scaling benchmark for Tournament.
+ * Plays the same seeded round robin on 1, 2, 4, ... threads up to the core count and prints
+ * the time and speedup for each, then checks that every run produced the same standings.
+ * Run from the project root with:
+ * java ca.bcit.comp2522.termproject.twistedwordle.TournamentBenchmark [players] [maxThreads]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class TournamentBenchmark
+{
+    private static final int    DEFAULT_PLAYERS = 48;
+    private static final long   SEED            = 2522L;
+    private static final double NANOS_PER_MS    = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of players and the most threads to try, by default the core count
+     * @throws IOException          if the word file cannot be read
+     * @throws InterruptedException if interrupted while a tournament is running
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException
+    {
+        final int          playerCount;
+        final int          cores;
+        final int          maxThreads;
+        final List<String> players;
+        final Set<String>  words;
+        String             expected;
+        double             singleThreadMs;
+
+        playerCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PLAYERS;
+        cores       = Runtime.getRuntime().availableProcessors();
+        maxThreads  = args.length > 1 ? Integer.parseInt(args[1]) : cores;
+        players     = new ArrayList<>();
+        words       = WordLoader.loadAndProcessWords(TwistedWordle.WORD_FILE_PATH);
+
+        for (int i = 0; i < playerCount; i++)
+        {
+            players.add("Player " + i);
+        }
+
+        // Warm up the JIT so the single-thread run is not charged for compilation
+        new Tournament(players, words, Tournament.Format.ROUND_ROBIN, SEED).play();
+
+        expected       = null;
+        singleThreadMs = 0;
+
+        System.out.printf("%d players, %d matches, %d cores%n",
+                          playerCount, playerCount * (playerCount - 1) / 2, cores);
+        System.out.printf("%8s %12s %10s%n", "threads", "ms", "speedup");
+
+        for (int threads = 1; threads <= maxThreads; threads = nextThreadCount(threads, maxThreads))
+        {
+            final long      begin;
+            final Standings standings;
+            final double    elapsedMs;
+
+            begin     = System.nanoTime();
+            standings = new Tournament(players, words, Tournament.Format.ROUND_ROBIN, SEED, threads).play();
+            elapsedMs = (System.nanoTime() - begin) / NANOS_PER_MS;
+
+            if (threads == 1)
+            {
+                expected       = standings.toString();
+                singleThreadMs = elapsedMs;
+            }
+            else if (!standings.toString().equals(expected))
+            {
+                throw new IllegalStateException("Standings on " + threads + " threads differ from one thread");
+            }
+
+            System.out.printf("%8d %12.1f %9.2fx%n", threads, elapsedMs, singleThreadMs / elapsedMs);
+        }
+    }
+
+    /*
+     * Doubles the thread count, stopping once at the maximum if it is not a power of two.
+     */
+    private static int nextThreadCount(final int threads,
+                                       final int maxThreads)
+    {
+        return threads < maxThreads && threads * 2 > maxThreads ? maxThreads : threads * 2;
+    }
+}
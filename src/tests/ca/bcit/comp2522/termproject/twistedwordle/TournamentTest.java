@@ -0,0 +1,186 @@
+package ca.bcit.comp2522.termproject.twistedwordle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Unit tests for the headless WordleEngine and the Tournament scheduler.
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class TournamentTest
+{
+    private static final Set<String> WORDS = Set.of("APPLE", "TABLE", "CHAIR", "SPACE",
+                                                    "LOWER", "TESTS", "VALID", "AGAIN");
+
+    @Test
+    void testEvaluateGuessFeedback()
+    {
+        assertArrayEquals(new byte[] {2, 2, 2, 2, 2},
+                          WordleEngine.evaluateGuess("APPLE", "APPLE"));
+        // The green P in position 2 leaves the other target P for the yellow in position 0
+        assertArrayEquals(new byte[] {1, 0, 2, 0, 0},
+                          WordleEngine.evaluateGuess("PXPXX", "APPLE"));
+        assertArrayEquals(new byte[] {0, 0, 0, 0, 0},
+                          WordleEngine.evaluateGuess("XXXXX", "APPLE"));
+        assertThrows(IllegalArgumentException.class,
+                     () -> WordleEngine.evaluateGuess("APP", "APPLE"));
+    }
+
+    @Test
+    void testPackedFeedbackUnpacks()
+    {
+        final byte[] feedback = WordleEngine.evaluateGuess("PXPXX", "APPLE");
+        final int    packed   = WordleEngine.packFeedback(feedback);
+
+        for (int i = 0; i < feedback.length; i++)
+        {
+            assertEquals(feedback[i], WordleEngine.unpackFeedback(packed, i));
+        }
+    }
+
+    @Test
+    void testRoundRobinScheduleMeetsEveryPairOnce()
+    {
+        final List<String>         players = List.of("A", "B", "C", "D", "E");
+        final List<List<String[]>> rounds  = Tournament.roundRobinSchedule(players);
+        final Set<String>          pairs   = new HashSet<>();
+
+        for (final List<String[]> round : rounds)
+        {
+            final Set<String> seenThisRound = new HashSet<>();
+
+            for (final String[] pairing : round)
+            {
+                assertTrue(seenThisRound.add(pairing[0]), "Player appears twice in a round");
+                assertTrue(seenThisRound.add(pairing[1]), "Player appears twice in a round");
+                assertTrue(pairs.add(pairing[0].compareTo(pairing[1]) < 0 ?
+                                     pairing[0] + pairing[1] :
+                                     pairing[1] + pairing[0]), "Pair scheduled twice");
+            }
+        }
+
+        assertEquals(10, pairs.size(), "Five players should give ten pairings");
+    }
+
+    @Test
+    void testRoundRobinStandings() throws Exception
+    {
+        final List<String> players   = List.of("Ann", "Ben", "Cat", "Dan");
+        final Standings    standings = new Tournament(players, WORDS, Tournament.Format.ROUND_ROBIN, 1L).play();
+        final List<String> ranking   = standings.getRanking();
+        int                wins      = 0;
+        int                losses    = 0;
+        int                ties      = 0;
+
+        for (final String player : players)
+        {
+            assertEquals(3, standings.getWins(player) + standings.getLosses(player) + standings.getTies(player),
+                         player + " should meet each of the other three players once");
+            wins   += standings.getWins(player);
+            losses += standings.getLosses(player);
+            ties   += standings.getTies(player);
+        }
+
+        assertEquals(wins, losses);
+        assertEquals(6, wins + ties / 2, "Four players play six matches");
+        assertEquals(4, ranking.size());
+
+        for (int i = 1; i < ranking.size(); i++)
+        {
+            assertTrue(standings.getWins(ranking.get(i - 1)) >= standings.getWins(ranking.get(i)),
+                       "Ranking should be ordered by wins: " + standings);
+        }
+    }
+
+    @Test
+    void testBracketCrownsOneChampion() throws Exception
+    {
+        final List<String> players = List.of("Ann", "Ben", "Cat", "Dan");
+        final Standings    bracket = new Tournament(players, WORDS, Tournament.Format.BRACKET, 1L).play();
+        final String       winner  = bracket.getRanking().get(0);
+        int                wins    = 0;
+
+        for (final String player : players)
+        {
+            wins += bracket.getWins(player);
+            assertEquals(0, bracket.getTies(player), "Sudden death should break every tie");
+        }
+
+        assertEquals(3, wins, "Four players play three bracket matches");
+        assertEquals(2, bracket.getWins(winner));
+        assertEquals(0, bracket.getLosses(winner));
+    }
+
+    @Test
+    void testResultsRepeatForTheSameSeedOnAnyThreadCount() throws Exception
+    {
+        final List<String>      players = List.of("Ann", "Ben", "Cat", "Dan", "Eve");
+        final Tournament.Format format  = Tournament.Format.ROUND_ROBIN;
+        final String            single  = new Tournament(players, WORDS, format, 7L, 1).play().toString();
+
+        for (int run = 0; run < 3; run++)
+        {
+            assertEquals(single, new Tournament(players, WORDS, format, 7L, 4).play().toString());
+        }
+    }
+
+    @Test
+    void testTiedMatchHasNoWinner()
+    {
+        final MatchResult tie = new MatchResult("Ann", "Ben", 120, 120);
+
+        assertTrue(tie.isTie());
+        assertThrows(IllegalStateException.class, tie::getWinner);
+        assertEquals("Ben", new MatchResult("Ann", "Ben", 100, 120).getWinner());
+    }
+
+    @Test
+    void testTournamentRejectsBadPlayers()
+    {
+        assertThrows(IllegalArgumentException.class,
+                     () -> new Tournament(List.of("Solo"), WORDS, Tournament.Format.ROUND_ROBIN, 1L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new Tournament(List.of("Ann", "Ann"), WORDS, Tournament.Format.BRACKET, 1L));
+        assertThrows(IllegalArgumentException.class,
+                     () -> new Tournament(List.of("Ann", "Ben"), WORDS, Tournament.Format.BRACKET, 1L, 0));
+    }
+
+    @Test
+    void testInterruptedTournamentStopsItsCollector() throws Exception
+    {
+        final List<String> players = List.of("Ann", "Ben", "Cat", "Dan");
+        final Throwable[]  thrown  = new Throwable[1];
+        final Thread       caller;
+
+        caller = new Thread(() ->
+        {
+            Thread.currentThread().interrupt();
+
+            try
+            {
+                new Tournament(players, WORDS, Tournament.Format.ROUND_ROBIN, 1L, 2).play();
+            } catch (final Throwable e)
+            {
+                thrown[0] = e;
+            }
+        });
+
+        caller.start();
+        caller.join(5_000);
+
+        assertFalse(caller.isAlive());
+        assertInstanceOf(InterruptedException.class, thrown[0]);
+        assertTrue(Thread.getAllStackTraces()
+                         .keySet()
+                         .stream()
+                         .noneMatch(thread -> thread.getName().equals("tournament-collector") &&
+                                              thread.isAlive()));
+    }
+}
@@ -0,0 +1,110 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures AnswerMatcher checks against a large list of generated names and aliases,
+ * compared with a linear scan computing the edit distance to every name.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.AnswerMatcherBenchmark [names]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class AnswerMatcherBenchmark
+{
+    private static final int    DEFAULT_NAMES = 50_000;
+    private static final int    CHECKS        = 10_000;
+    private static final int    MIN_LENGTH    = 5;
+    private static final int    EXTRA_LENGTH  = 10;
+    private static final int    LETTERS       = 26;
+    private static final int    LINEAR_CHECKS = CHECKS / 10;
+    private static final double NANOS_PER_US  = 1_000.0;
+    private static final double NANOS_PER_MS  = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of names
+     */
+    public static void main(final String[] args)
+    {
+        final int          count;
+        final Random       random;
+        final List<String> names;
+
+        count  = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_NAMES;
+        random = new Random(1);
+        names  = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            final StringBuilder name;
+            name = new StringBuilder();
+
+            for (int length = MIN_LENGTH + random.nextInt(EXTRA_LENGTH); length > 0; length--)
+            {
+                name.append((char) ('a' + random.nextInt(LETTERS)));
+            }
+
+            names.add(name.toString());
+        }
+
+        long start;
+
+        start = System.nanoTime();
+        final AnswerMatcher matcher = new AnswerMatcher(names);
+        System.out.printf("built over %d names in %.1f ms%n", count, (System.nanoTime() - start) / NANOS_PER_MS);
+
+        int accepted;
+        accepted = 0;
+        start    = System.nanoTime();
+
+        for (int i = 0; i < CHECKS; i++)
+        {
+            final String expected;
+            expected = names.get(random.nextInt(count));
+
+            if (matcher.matches(typo(expected, random), expected))
+            {
+                accepted++;
+            }
+        }
+
+        System.out.printf("BK-tree:     %8.1f us per check (%d of %d typos accepted)%n",
+                          (System.nanoTime() - start) / NANOS_PER_US / CHECKS, accepted, CHECKS);
+
+        start = System.nanoTime();
+
+        for (int i = 0; i < LINEAR_CHECKS; i++)
+        {
+            final String guess;
+            int          closest;
+
+            guess   = typo(names.get(random.nextInt(count)), random);
+            closest = Integer.MAX_VALUE;
+
+            for (final String name : names)
+            {
+                closest = Math.min(closest, BkTree.distance(guess, name));
+            }
+        }
+
+        System.out.printf("linear scan: %8.1f us per check%n",
+                          (System.nanoTime() - start) / NANOS_PER_US / LINEAR_CHECKS);
+    }
+
+    /*
+     * Replaces one letter of a name.
+     */
+    private static String typo(final String name,
+                               final Random random)
+    {
+        final char[] letters;
+        letters = name.toCharArray();
+
+        letters[random.nextInt(letters.length)] = (char) ('a' + random.nextInt(LETTERS));
+        return new String(letters);
+    }
+}
@@ -0,0 +1,65 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerMatcherTest
+{
+    private static final AnswerMatcher MATCHER = new AnswerMatcher(List.of(
+            "Colombia", "Bogot\u00e1", "Niger", "Niamey", "Nigeria", "Abuja", "Austria", "Vienna",
+            "Australia", "Canberra", "C\u00f4te d'Ivoire", "Yamoussoukro", "Peru", "Lima", "Chad", "Cuba"));
+
+    @Test
+    void testNormalize()
+    {
+        assertEquals("cote divoire", AnswerMatcher.normalize(" C\u00f4te d'Ivoire "));
+        assertEquals("bogota", AnswerMatcher.normalize("BOGOT\u00c1"));
+        assertEquals("guinea bissau", AnswerMatcher.normalize("Guinea-Bissau"));
+        assertEquals("st johns", AnswerMatcher.normalize("St. John\u2019s"));
+    }
+
+    @Test
+    void testExactAnswersMatchIgnoringCaseAndAccents()
+    {
+        assertTrue(MATCHER.matches("colombia", "Colombia"));
+        assertTrue(MATCHER.matches("Bogota", "Bogot\u00e1"));
+        assertTrue(MATCHER.matches("cote d ivoire", "C\u00f4te d'Ivoire"));
+        assertFalse(MATCHER.matches("", "Peru"));
+    }
+
+    @Test
+    void testForgivesSmallTypos()
+    {
+        assertTrue(MATCHER.matches("Columbia", "Colombia"));
+        assertTrue(MATCHER.matches("Yamousoukro", "Yamoussoukro"));
+        assertTrue(MATCHER.matches("Canbera", "Canberra"));
+        assertTrue(MATCHER.matches("Abuj", "Abuja"));
+    }
+
+    @Test
+    void testRejectsAnswersCloserToAnotherName()
+    {
+        assertFalse(MATCHER.matches("Austria", "Australia"));
+        assertFalse(MATCHER.matches("Nigera", "Niger"));
+        assertFalse(MATCHER.matches("Nigera", "Nigeria"));
+        assertFalse(MATCHER.matches("Niger", "Nigeria"));
+    }
+
+    @Test
+    void testShortNamesMustBeExact()
+    {
+        assertFalse(MATCHER.matches("Cub", "Cuba"));
+        assertFalse(MATCHER.matches("Per", "Peru"));
+        assertTrue(MATCHER.matches("Lima", "Lima"));
+    }
+
+    @Test
+    void testRejectsDistantAnswers()
+    {
+        assertFalse(MATCHER.matches("Brazil", "Colombia"));
+        assertFalse(MATCHER.matches("Colmbiaaa", "Colombia"));
+    }
+}
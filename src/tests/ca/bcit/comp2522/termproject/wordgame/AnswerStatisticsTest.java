@@ -0,0 +1,200 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerStatisticsTest
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCountsHitsAndMissesPerQuestion()
+    {
+        AnswerStatistics statistics = new AnswerStatistics();
+
+        statistics.recordCapital("Canada", 0);
+        statistics.recordCountry("Canada", 1);
+        statistics.recordFact("Canada", 2, 2);
+        statistics.recordFact("Canada", 2, 0);
+
+        assertEquals(4, statistics.getAsked("Canada"));
+        assertEquals(2, statistics.getMissed("Canada"));
+        assertEquals(2, statistics.getFactAsked("Canada", 2));
+        assertEquals(1, statistics.getFactMissed("Canada", 2));
+        assertEquals(0, statistics.getFactAsked("Canada", 0));
+        assertEquals(0, statistics.getAsked("Peru"));
+    }
+
+    @Test
+    void testGrowsForManyCountriesAndFacts()
+    {
+        AnswerStatistics statistics = new AnswerStatistics();
+
+        for (int i = 0; i < 1_000; i++)
+        {
+            statistics.recordCapital("Country " + i, i % 2);
+        }
+        statistics.recordFact("Country 7", 11, 1);
+
+        assertEquals(2, statistics.getAsked("Country 7"));
+        assertEquals(2, statistics.getMissed("Country 7"));
+        assertEquals(1, statistics.getFactMissed("Country 7", 11));
+        assertEquals(1, statistics.getAsked("Country 999"));
+        assertEquals(1, statistics.getMissed("Country 999"));
+    }
+
+    @Test
+    void testMergesSessionsIntoFile() throws IOException
+    {
+        Path             file  = directory.resolve("answers.dat");
+        AnswerStatistics first = new AnswerStatistics();
+        AnswerStatistics later = new AnswerStatistics();
+
+        first.recordCapital("C\u00f4te d'Ivoire", 1);
+        first.recordFact("Peru", 0, 0);
+        later.recordCapital("C\u00f4te d'Ivoire", 0);
+        later.recordFact("Japan", 5, 2);
+
+        AnswerStatistics.mergeInto(file, first);
+        AnswerStatistics.mergeInto(file, later);
+
+        AnswerStatistics total = AnswerStatistics.load(file);
+
+        assertEquals(2, total.getAsked("C\u00f4te d'Ivoire"));
+        assertEquals(1, total.getMissed("C\u00f4te d'Ivoire"));
+        assertEquals(1, total.getFactAsked("Peru", 0));
+        assertEquals(1, total.getFactMissed("Japan", 5));
+    }
+
+    @Test
+    void testMissingOrCorruptFileLoadsEmpty() throws IOException
+    {
+        Path file = directory.resolve("answers.dat");
+
+        assertEquals(0, AnswerStatistics.load(file).getAsked("Canada"));
+
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        assertEquals(0, AnswerStatistics.load(file).getAsked("Canada"));
+    }
+
+    @Test
+    void testCorruptCountsLoadEmpty() throws IOException
+    {
+        Path       file   = directory.resolve("answers.dat");
+        ByteBuffer header = ByteBuffer.allocate(18);
+
+        // Magic, version and slots, then a negative name count
+        header.putInt(0x57474153).putShort((short) 1).putInt(5).putInt(-1).putInt(0);
+        Files.write(file, header.array());
+
+        assertEquals(0, AnswerStatistics.load(file).getAsked("Canada"));
+
+        header.putInt(10, Integer.MAX_VALUE);
+        Files.write(file, header.array());
+
+        assertEquals(0, AnswerStatistics.load(file).getAsked("Canada"));
+
+        // No names, so nothing backs a huge slot count
+        header.putInt(6, Integer.MAX_VALUE).putInt(10, 0);
+        Files.write(file, header.array());
+
+        AnswerStatistics.mergeInto(file, new AnswerStatistics());
+        assertEquals(0, AnswerStatistics.load(file).getAsked("Canada"));
+    }
+
+    @Test
+    void testConcurrentMergesKeepEveryCount() throws Exception
+    {
+        Path            file     = directory.resolve("answers.dat");
+        List<Thread>    threads  = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+
+        for (int i = 0; i < 4; i++)
+        {
+            threads.add(new Thread(() -> {
+                try
+                {
+                    for (int merge = 0; merge < 25; merge++)
+                    {
+                        AnswerStatistics session = new AnswerStatistics();
+                        session.recordCapital("Canada", 1);
+                        AnswerStatistics.mergeInto(file, session);
+                    }
+                } catch (IOException | RuntimeException e)
+                {
+                    synchronized (failures)
+                    {
+                        failures.add(e);
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.start();
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertEquals(List.of(), failures);
+        assertEquals(100, AnswerStatistics.load(file).getMissed("Canada"));
+    }
+
+    @Test
+    void testReportRejectsNegativeLimit()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new AnswerStatistics().report(null, -1));
+    }
+
+    @Test
+    void testReportListsHardestFirst()
+    {
+        AnswerStatistics statistics = new AnswerStatistics();
+
+        for (int i = 0; i < 5; i++)
+        {
+            statistics.recordCountry("Easy", 0);
+            statistics.recordCountry("Hard", 2);
+            statistics.recordFact("Medium", 1, i % 2);
+        }
+
+        String report = statistics.report(null, 2);
+
+        assertTrue(report.indexOf("Hard") < report.indexOf("Medium"), report);
+        assertFalse(report.substring(0, report.indexOf("Hardest facts")).contains("Easy"), report);
+        assertTrue(report.contains("fact 2"), report);
+    }
+
+    @Test
+    void testEachPlayerGetsTheirOwnFile()
+    {
+        assertEquals(AnswerStatistics.fileFor("Ada"), AnswerStatistics.fileFor("  ada "));
+        assertNotEquals(AnswerStatistics.fileFor("Ada"), AnswerStatistics.fileFor("Bob"));
+        assertNotEquals(AnswerStatistics.fileFor("a b"), AnswerStatistics.fileFor("a_20_b"));
+        assertNotEquals(AnswerStatistics.fileFor("a/b"), AnswerStatistics.fileFor("a\\b"));
+        assertTrue(AnswerStatistics.fileFor("../José").getFileName().toString().matches("[a-z0-9_.-]+"));
+        assertEquals(AnswerStatistics.fileFor("x").getParent(), AnswerStatistics.fileFor("../x").getParent());
+    }
+
+    @Test
+    void testRejectsBlankOrLongPlayerNames()
+    {
+        assertThrows(IllegalArgumentException.class, () -> AnswerStatistics.fileFor("   "));
+        assertThrows(IllegalArgumentException.class,
+                     () -> AnswerStatistics.fileFor("x".repeat(AnswerStatistics.MAX_PLAYER_NAME_LENGTH + 1)));
+    }
+}
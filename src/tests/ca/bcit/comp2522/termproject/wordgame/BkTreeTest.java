@@ -0,0 +1,67 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BkTreeTest
+{
+    @Test
+    void testDistance()
+    {
+        assertEquals(0, BkTree.distance("peru", "peru"));
+        assertEquals(1, BkTree.distance("columbia", "colombia"));
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(5, BkTree.distance("", "chile"));
+    }
+
+    @Test
+    void testSearchFindsTermsWithinDistance()
+    {
+        BkTree tree = new BkTree();
+
+        for (String term : List.of("niger", "nigeria", "austria", "australia", "peru", "austria"))
+        {
+            tree.add(term);
+        }
+
+        assertEquals(5, tree.size());
+        assertEquals(List.of("peru"), tree.search("peru", 0));
+        assertEquals(2, tree.search("nigera", 1).size());
+        assertTrue(tree.search("australa", 1).contains("australia"));
+        assertFalse(tree.search("australa", 1).contains("austria"));
+    }
+
+    @Test
+    void testSearchMatchesLinearScan()
+    {
+        Random       random = new Random(3);
+        BkTree       tree   = new BkTree();
+        List<String> terms  = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++)
+        {
+            StringBuilder term = new StringBuilder();
+
+            for (int length = 4 + random.nextInt(6); length > 0; length--)
+            {
+                term.append((char) ('a' + random.nextInt(6)));
+            }
+
+            terms.add(term.toString());
+            tree.add(term.toString());
+        }
+
+        for (int query = 0; query < 50; query++)
+        {
+            String target   = terms.get(random.nextInt(terms.size()));
+            long   expected = terms.stream().distinct().filter(term -> BkTree.distance(target, term) <= 2).count();
+
+            assertEquals(expected, tree.search(target, 2).size());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap held by many countries with dozens of facts each, first with one arena
+ * per country and then packed into one shared arena, and times reading every fact back.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.CountryArenaBenchmark [countries] [facts]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class CountryArenaBenchmark
+{
+    private static final int    DEFAULT_COUNTRIES = 100_000;
+    private static final int    DEFAULT_FACTS     = 30;
+    private static final int    SETTLE_GCS        = 3;
+    private static final double BYTES_PER_MB      = 1024.0 * 1024.0;
+    private static final double NANOS_PER_MS      = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of countries and the facts per country
+     */
+    public static void main(final String[] args)
+    {
+        final int count;
+        final int factCount;
+
+        count     = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNTRIES;
+        factCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FACTS;
+
+        final long          baseline;
+        final List<Country> separate;
+        final long          separateBytes;
+
+        baseline = usedHeap();
+        separate = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            final String[] facts;
+            facts = new String[factCount];
+
+            for (int fact = 0; fact < factCount; fact++)
+            {
+                facts[fact] = "Fact number " + fact + " about country " + i + ".";
+            }
+            separate.add(new Country("Country " + i, "Capital " + i, facts));
+        }
+
+        separateBytes = usedHeap() - baseline;
+
+        final List<Country> packed;
+        final long          packedBytes;
+
+        packed      = Country.pack(separate);
+        separate.clear();
+        packedBytes = usedHeap() - baseline;
+
+        System.out.printf("%d countries x %d facts: %.1f MB one arena each, %.1f MB packed%n",
+                          count,
+                          factCount,
+                          separateBytes / BYTES_PER_MB,
+                          packedBytes / BYTES_PER_MB);
+
+        final long start;
+        long       characters;
+
+        start      = System.nanoTime();
+        characters = 0;
+
+        for (final Country country : packed)
+        {
+            for (int fact = 0; fact < country.getFactCount(); fact++)
+            {
+                characters += country.getFacts(fact).length();
+            }
+        }
+
+        System.out.printf("decoded %d facts (%d chars) in %.1f ms%n",
+                          (long) count * factCount,
+                          characters,
+                          (System.nanoTime() - start) / NANOS_PER_MS);
+    }
+
+    /*
+     * Gets the heap in use after letting the collector settle.
+     */
+    private static long usedHeap()
+    {
+        final Runtime runtime;
+        runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < SETTLE_GCS; i++)
+        {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,199 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CountryBundleTest
+{
+    @TempDir
+    Path directory;
+
+    private Path bundle;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        bundle = directory.resolve("countries.bundle");
+
+        for (char letter = 'a'; letter <= 'z'; letter++)
+        {
+            if (letter != 'w' && letter != 'x')
+            {
+                Files.createFile(directory.resolve(letter + ".txt"));
+            }
+        }
+
+        Files.writeString(directory.resolve("c.txt"),
+                          "\nCanada:Ottawa\nHas the longest coastline.\nInvented basketball.\nHome of poutine.\n" +
+                          "\nC\u00f4te d'Ivoire: Yamoussoukro\nLargest cocoa producer.\nFact two.\nFact three.\n",
+                          StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("f.txt"),
+                          "\nFrance:Paris\nMost visited country.\nFact two.\nFact three.\n",
+                          StandardCharsets.UTF_8);
+    }
+
+    private void writeBundle() throws IOException
+    {
+        writeBundle(CountryBundle.digestSources(directory), CountryBundle.stampSources(directory));
+    }
+
+    private void writeBundle(byte[] digest, long stamp) throws IOException
+    {
+        CountryBundle.write(CountrySources.read(directory).getCountries(), digest, stamp, bundle);
+    }
+
+    private void overwriteInt(int position, int value) throws IOException
+    {
+        ByteBuffer contents = ByteBuffer.wrap(Files.readAllBytes(bundle));
+
+        contents.putInt(position, value);
+        Files.write(bundle, contents.array());
+    }
+
+    @Test
+    void testWriteAndLoadRoundTrip() throws IOException
+    {
+        writeBundle();
+
+        List<Country> countries = CountryBundle.load(bundle);
+
+        assertEquals(3, countries.size());
+        assertEquals("Canada", countries.get(0).getName());
+        assertEquals("Home of poutine.", countries.get(0).getFacts(2));
+        assertEquals("C\u00f4te d'Ivoire", countries.get(1).getName());
+        assertTrue(CountryBundle.validate(bundle, directory).isEmpty());
+    }
+
+    @Test
+    void testKeepsEachCountrysFactCount() throws IOException
+    {
+        CountryBundle.write(List.of(new Country("One", "Capital", new String[] {"a"}),
+                                    new Country("Four", "Capital", new String[] {"a", "b", "c", "d"})),
+                            CountryBundle.digestSources(directory),
+                            CountryBundle.stampSources(directory),
+                            bundle);
+
+        List<Country> countries = CountryBundle.load(bundle);
+
+        assertEquals(1, countries.get(0).getFactCount());
+        assertEquals(4, countries.get(1).getFactCount());
+        assertEquals("d", countries.get(1).getFacts(3));
+    }
+
+    @Test
+    void testValidateReportsChangedSources() throws IOException
+    {
+        writeBundle();
+        Files.writeString(directory.resolve("f.txt"),
+                          "\nFrance:Paris\nMost visited country.\nFact two.\nA new fact.\n",
+                          StandardCharsets.UTF_8);
+
+        List<String> problems = CountryBundle.validate(bundle, directory);
+
+        assertEquals(1, problems.size());
+        assertTrue(problems.get(0).contains("France"));
+    }
+
+    @Test
+    void testValidateReportsUnreadableSources() throws IOException
+    {
+        writeBundle();
+        Files.delete(directory.resolve("c.txt"));
+
+        List<String> problems = CountryBundle.validate(bundle, directory);
+
+        assertTrue(problems.contains("c.txt: File not found"));
+        assertTrue(problems.contains("Bundle has 3 countries but the sources have 1"));
+    }
+
+    @Test
+    void testLoadRejectsOtherFiles() throws IOException
+    {
+        Files.write(bundle, new byte[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11});
+
+        assertThrows(IOException.class, () -> CountryBundle.load(bundle));
+    }
+
+    @Test
+    void testLoadRejectsBadStringCounts() throws IOException
+    {
+        // The arena's string count follows the 50-byte header and the three fact counts
+        writeBundle();
+        overwriteInt(62, -1);
+
+        assertThrows(IOException.class, () -> CountryBundle.load(bundle));
+
+        writeBundle();
+        overwriteInt(62, Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> CountryBundle.load(bundle));
+
+        writeBundle();
+        overwriteInt(46, Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> CountryBundle.load(bundle));
+
+        writeBundle();
+        overwriteInt(50, 0);
+
+        assertThrows(IOException.class, () -> CountryBundle.load(bundle));
+    }
+
+    @Test
+    void testLoadsOnlyWhenBuiltFromTheSameSources() throws IOException
+    {
+        writeBundle();
+
+        assertEquals(3, CountryBundle.loadIfBuiltFrom(bundle, directory).size());
+
+        Files.writeString(directory.resolve("f.txt"),
+                          "\nFrance:Paris\nMost visited country.\nFact two.\nA newer fact.\n",
+                          StandardCharsets.UTF_8);
+
+        assertNull(CountryBundle.loadIfBuiltFrom(bundle, directory));
+
+        assertFalse(Arrays.equals(CountryBundle.digestSources(directory),
+                                  CountryBundle.digestSources(directory.resolve("missing"))));
+    }
+
+    @Test
+    void testShippedBundleMatchesSources() throws IOException
+    {
+        Path shipped = Paths.get(CountryBundle.BUNDLE_FILE);
+        assumeTrue(Files.exists(shipped), "Run from the project root to check the shipped bundle");
+
+        assertEquals(List.of(), CountryBundle.validate(shipped, Paths.get(CountryBundle.SOURCE_DIRECTORY)));
+        assertNotNull(CountryBundle.loadIfBuiltFrom(shipped, Paths.get(CountryBundle.SOURCE_DIRECTORY)));
+    }
+
+    @Test
+    void testHashesSourcesOnlyWhenTheStampDiffers() throws IOException
+    {
+        // A matching stamp is trusted without hashing, so even a wrong digest loads
+        writeBundle(new byte[32], CountryBundle.stampSources(directory));
+
+        assertEquals(3, CountryBundle.loadIfBuiltFrom(bundle, directory).size());
+
+        // A stamp that differs, as after a checkout, falls back to the digest
+        writeBundle(CountryBundle.digestSources(directory), CountryBundle.stampSources(directory) + 1);
+
+        assertEquals(3, CountryBundle.loadIfBuiltFrom(bundle, directory).size());
+
+        writeBundle(new byte[32], CountryBundle.stampSources(directory) + 1);
+
+        assertNull(CountryBundle.loadIfBuiltFrom(bundle, directory));
+    }
+}
@@ -0,0 +1,116 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Compares parsing a large set of country text files on one thread against the common fork-join pool.
+ * Generates the 24 per-letter files in a temporary directory with the given number of countries each.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.CountrySourcesBenchmark [countriesPerFile]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class CountrySourcesBenchmark
+{
+    private static final int    DEFAULT_COUNTRIES = 2_000;
+    private static final int    RUNS              = 5;
+    private static final double NANOS_PER_MS      = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of countries per file
+     * @throws IOException if the benchmark files cannot be written
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int  perFile;
+        final Path directory;
+
+        perFile   = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNTRIES;
+        directory = Files.createTempDirectory("countries");
+
+        try
+        {
+            write(directory, perFile);
+
+            final ForkJoinPool single;
+            single = new ForkJoinPool(1);
+
+            for (int run = 0; run < RUNS; run++)
+            {
+                long start;
+
+                start = System.nanoTime();
+                final int serial = CountrySources.read(directory, single).getCountries().size();
+                final double serialMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+                start = System.nanoTime();
+                final int parallel = CountrySources.read(directory).getCountries().size();
+                final double parallelMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+                System.out.printf("%d countries: 1 thread %8.1f ms   %d threads %8.1f ms%n",
+                                  serial, serialMs, ForkJoinPool.getCommonPoolParallelism(), parallelMs);
+
+                if (serial != parallel)
+                {
+                    throw new IllegalStateException("Parallel load returned " + parallel + " countries");
+                }
+            }
+
+            single.shutdown();
+        } finally
+        {
+            try (final Stream<Path> files = Files.walk(directory))
+            {
+                files.sorted(Comparator.reverseOrder()).forEach(file ->
+                {
+                    try
+                    {
+                        Files.delete(file);
+                    } catch (final IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    /*
+     * Writes every per-letter file with generated countries.
+     */
+    private static void write(final Path directory,
+                              final int perFile) throws IOException
+    {
+        for (char letter = 'a'; letter <= 'z'; letter++)
+        {
+            if (letter == 'w' || letter == 'x')
+            {
+                continue;
+            }
+
+            final StringBuilder text;
+            text = new StringBuilder();
+
+            for (int i = 0; i < perFile; i++)
+            {
+                text.append('\n')
+                    .append(Character.toUpperCase(letter)).append("country ").append(i)
+                    .append(':').append("Capital ").append(i).append('\n')
+                    .append("The first fact about this country is a sentence of ordinary length.\n")
+                    .append("The second fact mentions a river, a mountain range and a festival.\n")
+                    .append("The third fact is about food, music or a famous historical figure.\n");
+            }
+
+            Files.writeString(directory.resolve(letter + ".txt"), text, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountrySourcesTest
+{
+    @TempDir
+    Path directory;
+
+    private void writeFile(String name, String contents) throws IOException
+    {
+        Files.writeString(directory.resolve(name), contents, StandardCharsets.UTF_8);
+    }
+
+    private static String block(String name, String capital)
+    {
+        return "\n" + name + ":" + capital + "\nFact one.\nFact two.\nFact three.\n";
+    }
+
+    @Test
+    void testParsesFilesInLetterOrder() throws IOException
+    {
+        writeFile("z.txt", block("Zambia", "Lusaka") + block("Zimbabwe", "Harare"));
+        writeFile("a.txt", block("Albania", "Tirana"));
+        writeFile("c.txt", block("C\u00f4te d'Ivoire", " Yamoussoukro") + "\n");
+
+        CountrySources sources = CountrySources.read(directory);
+        List<Country>  countries = sources.getCountries();
+
+        assertEquals(4, countries.size());
+        assertEquals("Albania", countries.get(0).getName());
+        assertEquals("C\u00f4te d'Ivoire", countries.get(1).getName());
+        assertEquals("Yamoussoukro", countries.get(1).getCapitalCityName());
+        assertEquals("Zimbabwe", countries.get(3).getName());
+        assertEquals("Fact three.", countries.get(3).getFacts(2));
+    }
+
+    @Test
+    void testCountriesHoldAsManyFactsAsTheirBlock() throws IOException
+    {
+        writeFile("a.txt", "\nAlbania:Tirana\nOnly one fact.\n" +
+                           "\nAndorra:Andorra la Vella\nOne.\nTwo.\nThree.\nFour.\nFive.\n" +
+                           block("Angola", "Luanda"));
+
+        List<Country> countries = CountrySources.read(directory).getCountries();
+
+        assertEquals(3, countries.size());
+        assertEquals(1, countries.get(0).getFactCount());
+        assertEquals(5, countries.get(1).getFactCount());
+        assertEquals("Five.", countries.get(1).getFacts(4));
+        assertEquals(3, countries.get(2).getFactCount());
+    }
+
+    @Test
+    void testCollectsErrorsPerFile() throws IOException
+    {
+        writeFile("a.txt", block("Albania", "Tirana"));
+        writeFile("b.txt", block("Belgium", "Brussels") + "\nBhutan Thimphu\nFact one.\nFact two.\nFact three.\n");
+        writeFile("c.txt", "\nCanada:Ottawa\n");
+
+        CountrySources sources = CountrySources.read(directory);
+
+        assertEquals(1, sources.getCountries().size());
+        assertEquals("Line 7: expected Country:Capital but found \"Bhutan Thimphu\"", sources.getErrors().get("b.txt"));
+        assertEquals("Line 3: missing fact for Canada", sources.getErrors().get("c.txt"));
+        assertEquals("File not found", sources.getErrors().get("d.txt"));
+        assertFalse(sources.getErrors().containsKey("w.txt"));
+        assertFalse(sources.getErrors().containsKey("x.txt"));
+    }
+
+    @Test
+    void testSameResultOnOneThread() throws IOException
+    {
+        for (char letter = 'a'; letter <= 'v'; letter++)
+        {
+            writeFile(letter + ".txt", block("Country " + letter, "Capital " + letter));
+        }
+
+        ForkJoinPool   single   = new ForkJoinPool(1);
+        CountrySources parallel = CountrySources.read(directory);
+        CountrySources serial   = CountrySources.read(directory, single);
+
+        single.shutdown();
+
+        assertEquals(22, parallel.getCountries().size());
+
+        for (int i = 0; i < parallel.getCountries().size(); i++)
+        {
+            assertEquals(serial.getCountries().get(i).getName(), parallel.getCountries().get(i).getName());
+        }
+    }
+}
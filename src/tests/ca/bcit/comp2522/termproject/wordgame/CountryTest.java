@@ -0,0 +1,68 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountryTest
+{
+    @Test
+    void testReadsBackItsStrings()
+    {
+        Country country = new Country("C\u00f4te d'Ivoire", "Yamoussoukro", new String[] {"One.", "Deux.", "\u4e09."});
+
+        assertEquals("C\u00f4te d'Ivoire", country.getName());
+        assertEquals("Yamoussoukro", country.getCapitalCityName());
+        assertEquals(3, country.getFactCount());
+        assertEquals("\u4e09.", country.getFacts(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> country.getFacts(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> country.getFacts(-1));
+    }
+
+    @Test
+    void testRejectsBadArguments()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new Country(" ", "Ottawa", new String[] {"a"}));
+        assertThrows(IllegalArgumentException.class, () -> new Country("Canada", null, new String[] {"a"}));
+        assertThrows(IllegalArgumentException.class, () -> new Country("Canada", "Ottawa", new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> new Country("Canada", "Ottawa", new String[] {"a", null}));
+    }
+
+    @Test
+    void testPackKeepsEveryCountryInOrder()
+    {
+        List<Country> countries = List.of(new Country("Canada", "Ottawa", new String[] {"a", "b"}),
+                                          new Country("Peru", "Lima", new String[] {"c"}),
+                                          new Country("Japan", "Tokyo", new String[] {"d", "e", "f"}));
+        List<Country> packed    = Country.pack(countries);
+
+        assertEquals(3, packed.size());
+
+        for (int i = 0; i < countries.size(); i++)
+        {
+            assertEquals(countries.get(i).getName(), packed.get(i).getName());
+            assertEquals(countries.get(i).getCapitalCityName(), packed.get(i).getCapitalCityName());
+            assertEquals(countries.get(i).getFactCount(), packed.get(i).getFactCount());
+
+            for (int fact = 0; fact < countries.get(i).getFactCount(); fact++)
+            {
+                assertEquals(countries.get(i).getFacts(fact), packed.get(i).getFacts(fact));
+            }
+        }
+
+        assertThrows(IndexOutOfBoundsException.class, () -> packed.get(1).getFacts(1));
+    }
+
+    @Test
+    void testRejectsStringsPastTheArena()
+    {
+        StringArena arena = StringArena.of(List.of("Canada", "Ottawa", "a"));
+
+        assertEquals("Ottawa", new Country(arena, 0, 1).getCapitalCityName());
+        assertThrows(IllegalArgumentException.class, () -> new Country(arena, 0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new Country(arena, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new Country(arena, 0, 0));
+    }
+}
@@ -0,0 +1,99 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HighScoreIndexTest
+{
+    @TempDir
+    Path directory;
+
+    private SegmentedScoreStore store;
+    private String              indexFile;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        store     = SegmentedScoreStore.open(directory.resolve("scores"));
+        indexFile = directory.resolve("test_score.idx").toString();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        store.close();
+    }
+
+    @Test
+    void testEmptyIndexHasNoBest() throws IOException
+    {
+        HighScoreIndex index = HighScoreIndex.load(indexFile, store, 3);
+
+        assertNull(index.getBest());
+        assertTrue(index.getTopScores().isEmpty());
+    }
+
+    @Test
+    void testKeepsBestAndTopScores() throws IOException
+    {
+        HighScoreIndex index = HighScoreIndex.load(indexFile, store, 3);
+
+        for (int first = 0; first <= 10; first++)
+        {
+            index.append(new Score(LocalDateTime.now(), 1, first, 0, 10 - first));
+        }
+
+        List<Score> top = index.getTopScores();
+
+        assertEquals(20.0, index.getBest().getAvgScore());
+        assertEquals(3, top.size());
+        assertEquals(20.0, top.get(0).getAvgScore());
+        assertEquals(16.0, top.get(2).getAvgScore());
+        assertEquals(11, index.getRecordCount());
+        assertEquals(11, store.count());
+    }
+
+    @Test
+    void testReloadsFromDisk() throws IOException
+    {
+        HighScoreIndex index = HighScoreIndex.load(indexFile, store, 3);
+        index.append(new Score(LocalDateTime.of(2024, 5, 1, 12, 0), 2, 14, 2, 4));
+        index.append(new Score(LocalDateTime.of(2024, 5, 2, 12, 0), 1, 3, 3, 4));
+
+        HighScoreIndex reloaded = HighScoreIndex.load(indexFile, store, 3);
+
+        assertEquals(15.0, reloaded.getBest().getAvgScore());
+        assertEquals("2024-05-01 12:00:00", reloaded.getBest().getDate());
+        assertEquals(2, reloaded.getTopScores().size());
+    }
+
+    @Test
+    void testRebuildsWhenStoreIsAhead() throws IOException
+    {
+        HighScoreIndex index = HighScoreIndex.load(indexFile, store, 3);
+        index.append(new Score(LocalDateTime.now(), 1, 5, 0, 5));
+
+        // Written without going through the index
+        store.append(new Score(LocalDateTime.now(), 1, 9, 1, 0));
+
+        HighScoreIndex reloaded = HighScoreIndex.load(indexFile, store, 3);
+
+        assertEquals(19.0, reloaded.getBest().getAvgScore());
+        assertEquals(2, reloaded.getRecordCount());
+    }
+
+    @Test
+    void testInvalidCapacity()
+    {
+        assertThrows(IllegalArgumentException.class, () -> HighScoreIndex.load(indexFile, store, 0));
+    }
+}
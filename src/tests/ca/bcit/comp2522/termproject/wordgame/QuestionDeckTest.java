@@ -0,0 +1,97 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionDeckTest
+{
+    private static List<Country> countries(int count)
+    {
+        List<Country> countries = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            countries.add(new Country("Country " + i, "Capital " + i, new String[] {"a", "b", "c"}));
+        }
+        return countries;
+    }
+
+    @Test
+    void testDealsEveryCountryOnceBeforeRepeating()
+    {
+        QuestionDeck deck = new QuestionDeck(countries(50), new Random(7));
+        Set<String>  seen = new HashSet<>();
+
+        for (int i = 0; i < 50; i++)
+        {
+            assertTrue(seen.add(deck.deal().getName()));
+        }
+
+        assertEquals(0, deck.remaining());
+        assertNotNull(deck.deal());
+        assertEquals(49, deck.remaining());
+    }
+
+    @Test
+    void testNeverRepeatsAcrossReshuffle()
+    {
+        QuestionDeck deck     = new QuestionDeck(countries(3), new Random(1));
+        Country      previous = deck.deal();
+
+        for (int i = 0; i < 3_000; i++)
+        {
+            Country next = deck.deal();
+
+            assertNotSame(previous, next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void testShufflesEveryPosition()
+    {
+        int[][] counts = new int[4][4];
+        Random  random = new Random(42);
+
+        for (int trial = 0; trial < 4_000; trial++)
+        {
+            QuestionDeck deck = new QuestionDeck(countries(4), random);
+
+            for (int position = 0; position < 4; position++)
+            {
+                String name = deck.deal().getName();
+                counts[position][name.charAt(name.length() - 1) - '0']++;
+            }
+        }
+
+        for (int[] position : counts)
+        {
+            for (int count : position)
+            {
+                assertTrue(count > 800 && count < 1200, "Uneven shuffle: " + count);
+            }
+        }
+    }
+
+    @Test
+    void testSingleCountryDeck()
+    {
+        QuestionDeck deck = new QuestionDeck(countries(1), new Random());
+
+        assertEquals("Country 0", deck.deal().getName());
+        assertEquals("Country 0", deck.deal().getName());
+    }
+
+    @Test
+    void testRejectsEmptyDeck()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new QuestionDeck(List.of(), new Random()));
+    }
+}
@@ -0,0 +1,74 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times choosing and rescheduling questions over a very large set of countries.
+ * Each turn takes the next country and records a first-try answer or, one time in three, a miss.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.QuestionSchedulerBenchmark [countries]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class QuestionSchedulerBenchmark
+{
+    private static final int    DEFAULT_COUNTRIES = 1_000_000;
+    private static final int    TURNS             = 2_000_000;
+    private static final int    RUNS              = 3;
+    private static final int    MISS_ONE_IN       = 3;
+    private static final int    MISSED            = 2;
+    private static final int    KNOWN             = 0;
+    private static final double NANOS_PER_MS      = 1_000_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of countries
+     */
+    public static void main(final String[] args)
+    {
+        final int           count;
+        final List<Country> countries;
+
+        count     = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_COUNTRIES;
+        countries = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            countries.add(new Country("Country " + i, "Capital " + i, new String[] {"One.", "Two.", "Three."}));
+        }
+
+        for (int run = 0; run < RUNS; run++)
+        {
+            final Random            random;
+            final QuestionScheduler scheduler;
+            long                    start;
+
+            random    = new Random(run);
+            start     = System.nanoTime();
+            scheduler = new QuestionScheduler(countries, random);
+
+            System.out.printf("built over %d countries in %.1f ms%n", count, (System.nanoTime() - start) / NANOS_PER_MS);
+
+            start = System.nanoTime();
+
+            for (int turn = 0; turn < TURNS; turn++)
+            {
+                final Country next;
+                next = scheduler.next();
+
+                scheduler.record(next, random.nextInt(MISS_ONE_IN) == 0 ? MISSED : KNOWN);
+            }
+
+            final long elapsed;
+            elapsed = System.nanoTime() - start;
+
+            System.out.printf("%d turns: %.1f ms (%.0f ns per turn)%n",
+                              TURNS,
+                              elapsed / NANOS_PER_MS,
+                              (double) elapsed / TURNS);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionSchedulerTest
+{
+    private static List<Country> countries(int count)
+    {
+        List<Country> countries = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            countries.add(new Country("Country " + i, "Capital " + i, new String[] {"a", "b", "c"}));
+        }
+        return countries;
+    }
+
+    @Test
+    void testIntroducesEveryCountryOnceWhenAllAreKnown()
+    {
+        QuestionScheduler scheduler = new QuestionScheduler(countries(15), new Random(3));
+        Set<String>       seen      = new HashSet<>();
+
+        for (int i = 0; i < 15; i++)
+        {
+            Country next = scheduler.next();
+
+            assertTrue(seen.add(next.getName()));
+            scheduler.record(next, 0);
+        }
+    }
+
+    @Test
+    void testNextStaysUntilAnswerIsRecorded()
+    {
+        QuestionScheduler scheduler = new QuestionScheduler(countries(10), new Random(3));
+
+        assertSame(scheduler.next(), scheduler.next());
+    }
+
+    @Test
+    void testMissedCountryComesBackBeforeKnownOne()
+    {
+        QuestionScheduler scheduler = new QuestionScheduler(countries(100), new Random(5));
+        Country           missed    = scheduler.next();
+
+        scheduler.record(missed, 2);
+
+        Country known = scheduler.next();
+        scheduler.record(known, 0);
+
+        int missedAgain = -1;
+        int knownAgain  = -1;
+
+        for (int turn = 0; turn < 40; turn++)
+        {
+            Country next = scheduler.next();
+
+            if (next == missed && missedAgain < 0)
+            {
+                missedAgain = turn;
+            }
+            if (next == known && knownAgain < 0)
+            {
+                knownAgain = turn;
+            }
+            scheduler.record(next, next == missed ? 2 : 0);
+        }
+
+        assertTrue(missedAgain >= 0 && missedAgain < 10, "missed country came back at " + missedAgain);
+        assertTrue(knownAgain > missedAgain, "known country came back at " + knownAgain);
+        assertEquals(scheduler.getAsked(missed), scheduler.getMissed(missed));
+    }
+
+    @Test
+    void testKnownCountryWaitsLongerEachTime()
+    {
+        QuestionScheduler scheduler = new QuestionScheduler(countries(500), new Random(9));
+        Country           tracked   = scheduler.next();
+        List<Integer>     asked     = new ArrayList<>();
+
+        for (int turn = 0; turn < 400; turn++)
+        {
+            Country next = scheduler.next();
+
+            if (next == tracked)
+            {
+                asked.add(turn);
+            }
+            scheduler.record(next, 0);
+        }
+
+        assertTrue(asked.size() >= 4, "asked at " + asked);
+
+        for (int i = 2; i < asked.size(); i++)
+        {
+            int gap         = asked.get(i) - asked.get(i - 1);
+            int previousGap = asked.get(i - 1) - asked.get(i - 2);
+
+            assertTrue(gap > previousGap, "asked at " + asked);
+        }
+    }
+
+    @Test
+    void testCountsAnswers()
+    {
+        List<Country>     countries = countries(3);
+        QuestionScheduler scheduler = new QuestionScheduler(countries, new Random(1));
+
+        scheduler.record(countries.get(1), 0);
+        scheduler.record(countries.get(1), 1);
+        scheduler.record(countries.get(1), 2);
+
+        assertEquals(3, scheduler.getAsked(countries.get(1)));
+        assertEquals(2, scheduler.getMissed(countries.get(1)));
+        assertEquals(0, scheduler.getAsked(countries.get(0)));
+        assertEquals(3, scheduler.size());
+    }
+
+    @Test
+    void testRejectsUnknownAndDuplicateCountries()
+    {
+        QuestionScheduler scheduler = new QuestionScheduler(countries(3), new Random(1));
+        Country           stranger  = new Country("Atlantis", "Poseidonia", new String[] {"a"});
+        List<Country>     twice     = new ArrayList<>(countries(2));
+
+        twice.addAll(countries(1));
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.record(stranger, 0));
+        assertThrows(IllegalArgumentException.class, () -> new QuestionScheduler(twice, new Random(1)));
+        assertThrows(IllegalArgumentException.class, () -> new QuestionScheduler(List.of(), new Random(1)));
+    }
+
+    @Test
+    void testStartsFromSavedHistory()
+    {
+        List<Country>     countries = countries(50);
+        AnswerStatistics  history   = new AnswerStatistics();
+
+        for (int i = 0; i < 4; i++)
+        {
+            history.recordCapital("Country 7", 2);
+            history.recordCountry("Country 30", 0);
+        }
+        history.recordFact("Country 7", 0, 0);
+
+        QuestionScheduler scheduler = new QuestionScheduler(countries, new Random(5), history);
+
+        assertEquals(5, scheduler.getAsked(countries.get(7)));
+        assertEquals(4, scheduler.getMissed(countries.get(7)));
+        assertEquals(0, scheduler.getMissed(countries.get(30)));
+        assertSame(countries.get(7), scheduler.next(), "The country missed before should be asked first");
+
+        Set<String> seen = new HashSet<>();
+
+        while (scheduler.next() != countries.get(30))
+        {
+            seen.add(scheduler.next().getName());
+            scheduler.record(scheduler.next(), 0);
+        }
+        assertEquals(49, seen.size(), "The country known before should be introduced last");
+    }
+}
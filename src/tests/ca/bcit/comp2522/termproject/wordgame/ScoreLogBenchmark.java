@@ -0,0 +1,110 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares reading scores from the legacy text file against the binary ScoreLog.
+ * Writes the same scores in both formats, then times Score.readScoresFromFile,
+ * ScoreLog.readAll and a ScoreLog.scan that creates no Score objects.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.ScoreLogBenchmark [scores]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreLogBenchmark
+{
+    private static final int    DEFAULT_SCORES = 1_000_000;
+    private static final int    BATCH_SIZE     = 10_000;
+    private static final int    QUESTIONS      = 10;
+    private static final double NANOS_PER_MS   = 1_000_000.0;
+    private static final String TEXT_FILE      = "bench_score.txt";
+    private static final String LOG_FILE       = "bench_score.dat";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of scores to write
+     * @throws IOException if the benchmark files cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int count;
+        count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SCORES;
+
+        try
+        {
+            write(count);
+
+            final long[] total = {0};
+            long         start;
+
+            start = System.nanoTime();
+            final int textCount = Score.readScoresFromFile(TEXT_FILE).size();
+            System.out.printf("text readScoresFromFile: %8d scores %10.1f ms%n",
+                              textCount, (System.nanoTime() - start) / NANOS_PER_MS);
+
+            start = System.nanoTime();
+            final int logCount = ScoreLog.readAll(LOG_FILE).size();
+            System.out.printf("binary readAll:          %8d scores %10.1f ms%n",
+                              logCount, (System.nanoTime() - start) / NANOS_PER_MS);
+
+            start = System.nanoTime();
+            final long scanned = ScoreLog.scan(LOG_FILE, (epochSecond, games, first, second, incorrect) ->
+                    total[0] += first);
+            System.out.printf("binary scan:             %8d scores %10.1f ms (checksum %d)%n",
+                              scanned, (System.nanoTime() - start) / NANOS_PER_MS, total[0]);
+        } finally
+        {
+            new File(TEXT_FILE).delete();
+            new File(LOG_FILE).delete();
+        }
+    }
+
+    /*
+     * Writes the same scores to both files.
+     */
+    private static void write(final int count) throws IOException
+    {
+        new File(TEXT_FILE).delete();
+        new File(LOG_FILE).delete();
+
+        final LocalDateTime base;
+        final List<Score>   batch;
+        final StringBuilder text;
+
+        base  = LocalDateTime.of(2024, 1, 1, 0, 0);
+        batch = new ArrayList<>(BATCH_SIZE);
+        text  = new StringBuilder();
+
+        try (final FileWriter writer = new FileWriter(TEXT_FILE))
+        {
+            for (int i = 0; i < count; i++)
+            {
+                final int   first;
+                final Score score;
+
+                first = i % (QUESTIONS + 1);
+                score = new Score(base.plusMinutes(i), 1, first, 0, QUESTIONS - first);
+
+                batch.add(score);
+                text.append(score).append('\n');
+
+                if (batch.size() == BATCH_SIZE)
+                {
+                    ScoreLog.appendAll(batch, LOG_FILE);
+                    writer.write(text.toString());
+                    batch.clear();
+                    text.setLength(0);
+                }
+            }
+
+            ScoreLog.appendAll(batch, LOG_FILE);
+            writer.write(text.toString());
+        }
+    }
+}
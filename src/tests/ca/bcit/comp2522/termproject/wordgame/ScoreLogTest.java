@@ -0,0 +1,204 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreLogTest
+{
+    private static final String LOG_FILE  = "test_score.dat";
+    private static final String TEXT_FILE = "test_legacy_score.txt";
+
+    @AfterEach
+    void tearDown()
+    {
+        new File(LOG_FILE).delete();
+        new File(TEXT_FILE).delete();
+    }
+
+    @Test
+    void testAppendAndReadBack() throws IOException
+    {
+        final LocalDateTime dateTime = LocalDateTime.of(2024, 11, 30, 14, 5, 9);
+
+        ScoreLog.append(new Score(dateTime, 2, 12, 4, 4), LOG_FILE);
+        ScoreLog.append(new Score(dateTime.plusDays(1), 1, 5, 3, 2), LOG_FILE);
+
+        List<Score> scores = ScoreLog.readAll(LOG_FILE);
+
+        assertEquals(2, scores.size());
+        assertEquals(dateTime, scores.get(0).getDateTime());
+        assertEquals(2, scores.get(0).getGamesPlayed());
+        assertEquals(12, scores.get(0).getCorrectFirstAttempts());
+        assertEquals(4, scores.get(0).getCorrectSecondAttempts());
+        assertEquals(4, scores.get(0).getIncorrectAttempts());
+        assertEquals(13, scores.get(1).getScore());
+        assertEquals(ScoreLog.HEADER_BYTES + 2 * ScoreLog.RECORD_BYTES, new File(LOG_FILE).length());
+    }
+
+    @Test
+    void testScanVisitsRecordsInOrder() throws IOException
+    {
+        for (int i = 0; i < 10; i++)
+        {
+            ScoreLog.append(new Score(LocalDateTime.now(), 1, i, 0, 10 - i), LOG_FILE);
+        }
+
+        final int[] expected = {0};
+        long visited = ScoreLog.scan(LOG_FILE, (epochSecond, games, first, second, incorrect) ->
+        {
+            assertEquals(expected[0], first);
+            assertEquals(10 - expected[0], incorrect);
+            expected[0]++;
+        });
+
+        assertEquals(10, visited);
+    }
+
+    @Test
+    void testMissingFileIsEmpty() throws IOException
+    {
+        assertTrue(ScoreLog.readAll(LOG_FILE).isEmpty());
+    }
+
+    @Test
+    void testPartialTrailingRecordIgnored() throws IOException
+    {
+        ScoreLog.append(new Score(LocalDateTime.now(), 1, 8, 1, 1), LOG_FILE);
+
+        try (RandomAccessFile file = new RandomAccessFile(LOG_FILE, "rw"))
+        {
+            file.seek(file.length());
+            file.write(new byte[ScoreLog.RECORD_BYTES / 2]);
+        }
+
+        assertEquals(1, ScoreLog.readAll(LOG_FILE).size());
+    }
+
+    @Test
+    void testRejectsFileWithoutHeader() throws IOException
+    {
+        try (FileWriter writer = new FileWriter(LOG_FILE))
+        {
+            writer.write("Date and Time: 2024-01-01 00:00:00\n");
+        }
+
+        assertThrows(IOException.class, () -> ScoreLog.readAll(LOG_FILE));
+    }
+
+    @Test
+    void testConvertLegacy() throws IOException
+    {
+        final LocalDateTime dateTime = LocalDateTime.of(2024, 12, 1, 9, 30, 0);
+
+        Score.appendScoreToFile(new Score(dateTime, 1, 7, 2, 1), TEXT_FILE);
+        Score.appendScoreToFile(new Score(dateTime.plusHours(1), 3, 20, 5, 5), TEXT_FILE);
+
+        assertEquals(2, ScoreLog.convertLegacy(TEXT_FILE, LOG_FILE));
+
+        List<Score> scores = ScoreLog.readAll(LOG_FILE);
+
+        assertEquals(2, scores.size());
+        assertEquals(dateTime, scores.get(0).getDateTime());
+        assertEquals(Score.readScoresFromFile(TEXT_FILE).get(1).toString(), scores.get(1).toString());
+    }
+
+    @Test
+    void testReadRangeFindsOnlyMatchingRecords() throws IOException
+    {
+        final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        for (int day = 0; day < 60; day++)
+        {
+            ScoreLog.append(new Score(start.plusDays(day), 1, day % 10, 0, 10 - day % 10), LOG_FILE);
+        }
+
+        List<Score> week = ScoreLog.readRange(LOG_FILE, start.plusDays(10), start.plusDays(17));
+
+        assertEquals(7, week.size());
+        assertEquals(start.plusDays(10), week.get(0).getDateTime());
+        assertEquals(start.plusDays(16), week.get(6).getDateTime());
+        assertTrue(ScoreLog.readRange(LOG_FILE, start.minusDays(5), start).isEmpty());
+        assertEquals(60, ScoreLog.readRange(LOG_FILE, start, start.plusYears(1)).size());
+    }
+
+    @Test
+    void testReadRangeAcrossReadChunks() throws IOException
+    {
+        final LocalDateTime start  = LocalDateTime.of(2024, 1, 1, 0, 0);
+        final List<Score>   scores = new ArrayList<>();
+
+        for (int minute = 0; minute < 10_000; minute++)
+        {
+            scores.add(new Score(start.plusMinutes(minute), 1, minute % 10, 0, 0));
+        }
+        ScoreLog.appendAll(scores, LOG_FILE);
+
+        List<Score> range = ScoreLog.readRange(LOG_FILE, start.plusMinutes(4000), start.plusMinutes(9000));
+
+        assertEquals(5000, range.size());
+        assertEquals(start.plusMinutes(4000), range.get(0).getDateTime());
+        assertEquals(start.plusMinutes(8999), range.get(4999).getDateTime());
+        assertEquals(10_000, ScoreLog.readRange(LOG_FILE, start, start.plusYears(1)).size());
+    }
+
+    @Test
+    void testReadRangeFindsScoresAfterTheClockWentBack() throws IOException
+    {
+        final LocalDateTime fallBack = LocalDateTime.of(2024, 11, 3, 1, 0);
+
+        ScoreLog.append(new Score(fallBack.minusHours(1), 1, 1, 0, 9), LOG_FILE);
+        ScoreLog.append(new Score(fallBack.plusMinutes(50), 1, 2, 0, 8), LOG_FILE);
+        ScoreLog.append(new Score(fallBack.plusMinutes(10), 1, 3, 0, 7), LOG_FILE);
+        ScoreLog.append(new Score(fallBack.plusHours(2), 1, 4, 0, 6), LOG_FILE);
+
+        List<Score> hour = ScoreLog.readRange(LOG_FILE, fallBack, fallBack.plusHours(1));
+
+        assertEquals(2, hour.size());
+        assertEquals(fallBack.plusMinutes(10), hour.get(0).getDateTime());
+        assertEquals(fallBack.plusMinutes(50), hour.get(1).getDateTime());
+        assertEquals(4, ScoreLog.readRange(LOG_FILE, fallBack.minusDays(1), fallBack.plusDays(1)).size());
+    }
+
+    @Test
+    void testOutOfOrderBatchIsFlagged() throws IOException
+    {
+        final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        ScoreLog.appendAll(List.of(new Score(start.plusDays(2), 1, 1, 0, 9),
+                                   new Score(start, 1, 2, 0, 8)), LOG_FILE);
+
+        List<Score> scores = ScoreLog.readRange(LOG_FILE, start, start.plusDays(1));
+
+        assertEquals(1, scores.size());
+        assertEquals(start, scores.get(0).getDateTime());
+    }
+
+    @Test
+    void testAppendOverwritesPartialTrailingRecord() throws IOException
+    {
+        final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        ScoreLog.append(new Score(start, 1, 8, 1, 1), LOG_FILE);
+
+        try (RandomAccessFile file = new RandomAccessFile(LOG_FILE, "rw"))
+        {
+            file.seek(file.length());
+            file.write(new byte[ScoreLog.RECORD_BYTES / 2]);
+        }
+
+        ScoreLog.append(new Score(start.plusDays(1), 1, 5, 3, 2), LOG_FILE);
+
+        assertEquals(ScoreLog.HEADER_BYTES + 2 * ScoreLog.RECORD_BYTES, new File(LOG_FILE).length());
+        assertEquals(2, ScoreLog.readRange(LOG_FILE, start, start.plusDays(2)).size());
+    }
+}
@@ -0,0 +1,128 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Compares Score.readScoresFromFile with the byte-level ScoreRecordParser behind
+ * Score.streamScoresFromFile on a generated score.txt.
+ * Prints the time and, for the single-threaded readers, the bytes allocated per record.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.ScoreParserBenchmark [records]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreParserBenchmark
+{
+    private static final int    DEFAULT_RECORDS = 1_000_000;
+    private static final int    QUESTIONS       = 10;
+    private static final int    ROUNDS          = 3;
+    private static final double NANOS_PER_MS    = 1_000_000.0;
+    private static final double BYTES_PER_MB    = 1_048_576.0;
+    private static final String SCORE_FILE      = "bench_parser_score.txt";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of records to generate
+     * @throws IOException if the benchmark file cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int records;
+        records = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+
+        try
+        {
+            write(records);
+            System.out.printf("%d records, %.1f MB%n", records, new File(SCORE_FILE).length() / BYTES_PER_MB);
+
+            for (int round = 1; round <= ROUNDS; round++)
+            {
+                System.out.println("Round " + round);
+                time("readScoresFromFile", records, () -> Score.readScoresFromFile(SCORE_FILE).size());
+                time("stream (sequential)", records, () -> count(false));
+                time("stream (parallel)", records, () -> count(true));
+            }
+        } finally
+        {
+            new File(SCORE_FILE).delete();
+        }
+    }
+
+    /*
+     * A reader under test, returning the number of scores read.
+     */
+    @FunctionalInterface
+    private interface Reader
+    {
+        long read() throws IOException;
+    }
+
+    /*
+     * Counts the scores in the file through the stream reader.
+     */
+    private static long count(final boolean parallel) throws IOException
+    {
+        try (final Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE))
+        {
+            return parallel ? scores.parallel().count() : scores.count();
+        }
+    }
+
+    /*
+     * Times one reader and prints its result.
+     */
+    private static void time(final String name,
+                             final int records,
+                             final Reader reader) throws IOException
+    {
+        final com.sun.management.ThreadMXBean threads;
+        final long                            bytesBefore;
+        final long                            start;
+        final long                            read;
+        final long                            elapsed;
+        final long                            bytes;
+
+        threads     = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        start       = System.nanoTime();
+        read        = reader.read();
+        elapsed     = System.nanoTime() - start;
+        bytes       = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+
+        if (read != records)
+        {
+            throw new IllegalStateException(name + " read " + read + " of " + records + " records");
+        }
+
+        System.out.printf("  %-22s %10.1f ms %10.0f bytes/record (this thread)%n",
+                          name, elapsed / NANOS_PER_MS, (double) bytes / records);
+    }
+
+    /*
+     * Writes a score file in the format produced by Score.appendScoreToFile.
+     */
+    private static void write(final int records) throws IOException
+    {
+        final LocalDateTime base;
+        base = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        try (final BufferedWriter writer = new BufferedWriter(new FileWriter(SCORE_FILE)))
+        {
+            for (int i = 0; i < records; i++)
+            {
+                final int first;
+                first = i % (QUESTIONS + 1);
+
+                writer.write(new Score(base.plusMinutes(i), 1, first, 0, QUESTIONS - first).toString());
+                writer.write('\n');
+            }
+        }
+    }
+}
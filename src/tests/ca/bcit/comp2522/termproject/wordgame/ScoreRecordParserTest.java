@@ -0,0 +1,85 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreRecordParserTest
+{
+    private static ByteBuffer bytes(final String text)
+    {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void testParsesRecordWrittenByToString()
+    {
+        Score      original = new Score(LocalDateTime.of(2024, 12, 31, 23, 59, 58), 3, 21, 6, 3);
+        ByteBuffer buffer   = bytes(original + "\n");
+
+        ScoreRecordParser parser = new ScoreRecordParser(buffer);
+        Score             parsed = parser.parse(0);
+
+        assertEquals(original.toString(), parsed.toString());
+        assertTrue(parser.getEnd() > 0);
+    }
+
+    @Test
+    void testParsesWindowsLineEndings()
+    {
+        String     text   = "Date and Time: 2024-02-29 07:08:09\r\nGames Played: 1\r\nCorrect First Attempts: 7\r\n" +
+                            "Correct Second Attempts: 2\r\nIncorrect Attempts: 1\r\nScore: 16 points\r\n";
+        Score      parsed = new ScoreRecordParser(bytes(text)).parse(0);
+
+        assertEquals(LocalDateTime.of(2024, 2, 29, 7, 8, 9), parsed.getDateTime());
+        assertEquals(7, parsed.getCorrectFirstAttempts());
+        assertEquals(1, parsed.getIncorrectAttempts());
+    }
+
+    @Test
+    void testIncompleteRecordReturnsNull()
+    {
+        String text = "Date and Time: 2024-02-29 07:08:09\nGames Played: 1\nCorrect First Attempts: 7\n";
+
+        assertNull(new ScoreRecordParser(bytes(text)).parse(0));
+    }
+
+    @Test
+    void testRejectsMalformedNumbers()
+    {
+        String text = "Date and Time: 2024-02-29 07:08:09\nGames Played: one\nCorrect First Attempts: 7\n" +
+                      "Correct Second Attempts: 2\nIncorrect Attempts: 1\n";
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoreRecordParser(bytes(text)).parse(0));
+    }
+
+    @Test
+    void testRejectsMissingSeparatorSpace()
+    {
+        String text = "Date and Time: 2024-02-29 07:08:09\nGames Played:12\nCorrect First Attempts: 7\n" +
+                      "Correct Second Attempts: 2\nIncorrect Attempts: 1\n";
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoreRecordParser(bytes(text)).parse(0));
+    }
+
+    @Test
+    void testRecordEndingAtSeparatorReturnsNull()
+    {
+        String text = "Date and Time: 2024-02-29 07:08:09\nGames Played:";
+
+        assertNull(new ScoreRecordParser(bytes(text)).parse(0));
+    }
+
+    @Test
+    void testRejectsMalformedDate()
+    {
+        String text = "Date and Time: 2024/02/29 07:08:09\nGames Played: 1\nCorrect First Attempts: 7\n" +
+                      "Correct Second Attempts: 2\nIncorrect Attempts: 1\n";
+
+        assertThrows(IllegalArgumentException.class, () -> new ScoreRecordParser(bytes(text)).parse(0));
+    }
+}
@@ -0,0 +1,151 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Runs the same workload against every ScoreRepository backend so the fastest one for a
+ * given history size can be picked with -Dscores.backend.
+ * For each backend it times single appends, one bulk appendAll, readAll and count.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.ScoreRepositoryBenchmark [history] [singleAppends]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreRepositoryBenchmark
+{
+    private static final int    DEFAULT_HISTORY = 100_000;
+    private static final int    DEFAULT_APPENDS = 1_000;
+    private static final int    QUESTIONS       = 10;
+    private static final double NANOS_PER_MS    = 1_000_000.0;
+    private static final double NANOS_PER_US    = 1_000.0;
+
+    /*
+     * Opens a fresh repository inside a scratch directory.
+     */
+    @FunctionalInterface
+    private interface Backend
+    {
+        ScoreRepository open(Path directory) throws IOException;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the history size and the number of single appends
+     * @throws IOException if a backend fails
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int         history;
+        final int         appends;
+        final List<Score> scores;
+
+        history = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_HISTORY;
+        appends = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_APPENDS;
+        scores  = generate(history);
+
+        System.out.printf("%-10s %16s %14s %12s %10s%n",
+                          "backend", "append (us/op)", "appendAll ms", "readAll ms", "count ms");
+
+        run("text", dir -> new TextScoreRepository(dir.resolve("score.txt").toString()), scores, appends);
+        run("binary", dir -> new BinaryScoreRepository(dir.resolve("score.dat").toString()), scores, appends);
+        run("segmented", dir -> SegmentedScoreStore.open(dir.resolve("scores")), scores, appends);
+    }
+
+    /*
+     * Runs the workload against one backend in a fresh scratch directory and prints the timings.
+     */
+    private static void run(final String name,
+                            final Backend backend,
+                            final List<Score> scores,
+                            final int appends) throws IOException
+    {
+        final Path directory;
+        directory = Files.createTempDirectory("score-bench-");
+
+        try (final ScoreRepository repository = backend.open(directory))
+        {
+            long start;
+
+            final double appendMicros;
+            final double appendAllMs;
+            final double readAllMs;
+            final double countMs;
+            final long   count;
+            final int    read;
+
+            start = System.nanoTime();
+            for (int i = 0; i < appends; i++)
+            {
+                repository.append(scores.get(i % scores.size()));
+            }
+            appendMicros = (System.nanoTime() - start) / NANOS_PER_US / appends;
+
+            start       = System.nanoTime();
+            repository.appendAll(scores);
+            appendAllMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+            start     = System.nanoTime();
+            read      = repository.readAll().size();
+            readAllMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+            start   = System.nanoTime();
+            count   = repository.count();
+            countMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+            if (count != (long) appends + scores.size())
+            {
+                throw new IllegalStateException(name + " counted " + count + " scores");
+            }
+
+            System.out.printf("%-10s %16.1f %14.1f %12.1f %10.2f  (%d held individually)%n",
+                              name, appendMicros, appendAllMs, readAllMs, countMs, read);
+        } finally
+        {
+            delete(directory);
+        }
+    }
+
+    /*
+     * Generates a history of scores one minute apart.
+     */
+    private static List<Score> generate(final int history)
+    {
+        final LocalDateTime base;
+        final List<Score>   scores;
+
+        base   = LocalDateTime.of(2020, 1, 1, 0, 0);
+        scores = new ArrayList<>(history);
+
+        for (int i = 0; i < history; i++)
+        {
+            final int first;
+            first = i % (QUESTIONS + 1);
+
+            scores.add(new Score(base.plusMinutes(i), 1, first, 0, QUESTIONS - first));
+        }
+
+        return scores;
+    }
+
+    /*
+     * Deletes a scratch directory and everything in it.
+     */
+    private static void delete(final Path directory) throws IOException
+    {
+        try (final Stream<Path> paths = Files.walk(directory))
+        {
+            for (final Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+            {
+                Files.delete(path);
+            }
+        }
+    }
+}
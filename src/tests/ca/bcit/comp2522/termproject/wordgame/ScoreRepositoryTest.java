@@ -0,0 +1,112 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreRepositoryTest
+{
+    private static final LocalDateTime START = LocalDateTime.of(2024, 6, 1, 18, 30);
+
+    @TempDir
+    Path directory;
+
+    /*
+     * The behaviour every ScoreRepository must share.
+     */
+    private static void checkContract(final ScoreRepository repository) throws IOException
+    {
+        assertEquals(0, repository.count());
+        assertTrue(repository.readAll().isEmpty());
+
+        repository.append(new Score(START, 1, 5, 3, 2));
+
+        List<Score> batch = new ArrayList<>();
+        for (int i = 1; i <= 20; i++)
+        {
+            batch.add(new Score(START.plusHours(i), 2, i, 1, 20 - i));
+        }
+        repository.appendAll(batch);
+
+        List<Score> scores = repository.readAll();
+
+        assertEquals(21, repository.count());
+        assertEquals(21, scores.size());
+        assertEquals(START, scores.get(0).getDateTime());
+        assertEquals(13, scores.get(0).getScore());
+        assertEquals(batch.get(19).toString(), scores.get(20).toString());
+        assertTrue(repository.readSummarizedBests().isEmpty());
+
+        repository.close();
+    }
+
+    @Test
+    void testTextRepository() throws IOException
+    {
+        checkContract(new TextScoreRepository(directory.resolve("score.txt").toString()));
+    }
+
+    @Test
+    void testTextRepositoryAppendsUnderTheFileLock() throws IOException
+    {
+        Path                file       = directory.resolve("score.txt");
+        TextScoreRepository repository = new TextScoreRepository(file.toString());
+
+        repository.append(new Score(START, 1, 5, 3, 2));
+
+        try (FileChannel other = FileChannel.open(file, StandardOpenOption.WRITE);
+             FileLock ignored = other.lock())
+        {
+            assertThrows(OverlappingFileLockException.class,
+                         () -> repository.appendAll(List.of(new Score(START.plusHours(1), 1, 9, 1, 0))));
+            assertThrows(OverlappingFileLockException.class,
+                         () -> repository.append(new Score(START.plusHours(2), 1, 9, 1, 0)));
+        }
+
+        assertEquals(1, repository.count());
+
+        repository.append(new Score(START.plusHours(3), 1, 9, 1, 0));
+
+        assertEquals(2, repository.count());
+        assertTrue(Files.readString(file).endsWith("\n"));
+    }
+
+    @Test
+    void testBinaryRepository() throws IOException
+    {
+        checkContract(new BinaryScoreRepository(directory.resolve("score.dat").toString()));
+    }
+
+    @Test
+    void testSegmentedRepository() throws IOException
+    {
+        checkContract(SegmentedScoreStore.open(directory.resolve("scores")));
+    }
+
+    @Test
+    void testIndexWorksOverAnyRepository() throws IOException
+    {
+        try (ScoreRepository repository = new TextScoreRepository(directory.resolve("score.txt").toString()))
+        {
+            HighScoreIndex index = HighScoreIndex.load(directory.resolve("text.idx").toString(), repository, 5);
+
+            index.append(new Score(START, 1, 9, 1, 0));
+            index.append(new Score(START.plusDays(1), 1, 4, 1, 5));
+
+            assertEquals(19.0, index.getBest().getAvgScore());
+            assertEquals(2, repository.count());
+        }
+    }
+}
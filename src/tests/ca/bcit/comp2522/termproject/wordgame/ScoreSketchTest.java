@@ -0,0 +1,88 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreSketchTest
+{
+    @Test
+    void testEmptySketch()
+    {
+        ScoreSketch sketch = new ScoreSketch();
+
+        assertEquals(0, sketch.getCount());
+        assertEquals(0.0, sketch.getMean());
+        assertEquals(0.0, sketch.getPercentile(50));
+    }
+
+    @Test
+    void testPercentilesWithinHalfABucket()
+    {
+        ScoreSketch sketch = new ScoreSketch();
+
+        for (int i = 0; i <= 100; i++)
+        {
+            sketch.add(i * 0.2);
+        }
+
+        assertEquals(101, sketch.getCount());
+        assertEquals(10.0, sketch.getMean(), 1e-9);
+        assertEquals(10.0, sketch.getPercentile(50), 0.125);
+        assertEquals(18.0, sketch.getPercentile(90), 0.125);
+        assertEquals(0.0, sketch.getPercentile(0));
+        assertEquals(20.0, sketch.getPercentile(100));
+    }
+
+    @Test
+    void testMergeMatchesAddingEverything()
+    {
+        ScoreSketch left  = new ScoreSketch();
+        ScoreSketch right = new ScoreSketch();
+        ScoreSketch all   = new ScoreSketch();
+
+        for (int i = 0; i < 50; i++)
+        {
+            left.add(i % 7);
+            right.add(13 + i % 5);
+            all.add(i % 7);
+            all.add(13 + i % 5);
+        }
+
+        left.merge(right);
+
+        assertEquals(all.getCount(), left.getCount());
+        assertEquals(all.getMean(), left.getMean(), 1e-9);
+        assertEquals(all.getPercentile(75), left.getPercentile(75));
+        assertEquals(0.0, left.getMin());
+        assertEquals(17.0, left.getMax());
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip()
+    {
+        ScoreSketch sketch = new ScoreSketch();
+        sketch.add(4.5);
+        sketch.add(12.0);
+        sketch.add(12.0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(sketch.encodedSize());
+        sketch.write(buffer);
+        buffer.flip();
+
+        ScoreSketch read = ScoreSketch.read(buffer);
+
+        assertFalse(buffer.hasRemaining());
+        assertEquals(3, read.getCount());
+        assertEquals(sketch.getMean(), read.getMean());
+        assertEquals(12.0, read.getPercentile(50));
+    }
+
+    @Test
+    void testRejectsInvalidPercentile()
+    {
+        assertThrows(IllegalArgumentException.class, () -> new ScoreSketch().getPercentile(101));
+    }
+}
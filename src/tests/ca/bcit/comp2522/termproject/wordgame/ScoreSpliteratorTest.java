@@ -0,0 +1,114 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreSpliteratorTest
+{
+    private static final String        SCORE_FILE = "test_stream_score.txt";
+    private static final LocalDateTime START      = LocalDateTime.of(2024, 3, 1, 8, 0);
+
+    @AfterEach
+    void tearDown()
+    {
+        new File(SCORE_FILE).delete();
+    }
+
+    private static void writeScores(final int count) throws IOException
+    {
+        try (FileWriter writer = new FileWriter(SCORE_FILE))
+        {
+            for (int i = 0; i < count; i++)
+            {
+                writer.write(new Score(START.plusMinutes(i), 1 + i % 3, i % 11, i % 5, i % 7) + "\n");
+            }
+        }
+    }
+
+    @Test
+    void testStreamMatchesReadScoresFromFile() throws IOException
+    {
+        writeScores(50);
+
+        List<String> expected = Score.readScoresFromFile(SCORE_FILE).stream()
+                                     .map(Score::toString)
+                                     .collect(Collectors.toList());
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE))
+        {
+            assertEquals(expected, scores.map(Score::toString).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testParallelStreamKeepsEveryRecordInOrder() throws IOException
+    {
+        writeScores(5000);
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE))
+        {
+            List<Score> parallel = scores.parallel().collect(Collectors.toList());
+
+            assertEquals(5000, parallel.size());
+
+            for (int i = 0; i < parallel.size(); i++)
+            {
+                assertEquals(START.plusMinutes(i), parallel.get(i).getDateTime());
+            }
+        }
+    }
+
+    @Test
+    void testSplitsAtRecordBoundaries() throws IOException
+    {
+        writeScores(5000);
+
+        Spliterator<Score> suffix = ScoreSpliterator.open(new File(SCORE_FILE).toPath());
+        Spliterator<Score> prefix = suffix.trySplit();
+
+        assertNotNull(prefix);
+
+        long[] counts = new long[2];
+        prefix.forEachRemaining(score -> counts[0]++);
+        suffix.forEachRemaining(score -> counts[1]++);
+
+        assertTrue(counts[0] > 0);
+        assertTrue(counts[1] > 0);
+        assertEquals(5000, counts[0] + counts[1]);
+    }
+
+    @Test
+    void testStopsEarly() throws IOException
+    {
+        writeScores(100);
+
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE))
+        {
+            Score found = scores.filter(score -> score.getCorrectFirstAttempts() == 10)
+                                .findFirst()
+                                .orElseThrow();
+
+            assertEquals(START.plusMinutes(10), found.getDateTime());
+        }
+    }
+
+    @Test
+    void testMissingFileGivesEmptyStream() throws IOException
+    {
+        try (Stream<Score> scores = Score.streamScoresFromFile(SCORE_FILE))
+        {
+            assertEquals(0, scores.count());
+        }
+    }
+}
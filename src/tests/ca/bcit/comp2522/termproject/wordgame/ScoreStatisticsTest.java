@@ -0,0 +1,99 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreStatisticsTest
+{
+    // A Wednesday
+    private static final LocalDateTime WEDNESDAY = LocalDateTime.of(2024, 3, 6, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private BinaryScoreRepository repository;
+    private String                statisticsFile;
+
+    @BeforeEach
+    void setUp()
+    {
+        repository     = new BinaryScoreRepository(directory.resolve("score.dat").toString());
+        statisticsFile = directory.resolve("stats.dat").toString();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        repository.close();
+    }
+
+    @Test
+    void testRecordUpdatesDayAndWeek() throws IOException
+    {
+        ScoreStatistics statistics = ScoreStatistics.load(statisticsFile, repository);
+
+        append(statistics, new Score(WEDNESDAY, 1, 10, 0, 0));
+        append(statistics, new Score(WEDNESDAY.plusDays(1), 1, 5, 0, 5));
+        append(statistics, new Score(WEDNESDAY.plusDays(7), 1, 0, 10, 0));
+
+        assertEquals(1, statistics.getDay(WEDNESDAY.toLocalDate()).getCount());
+        assertEquals(2, statistics.getWeek(WEDNESDAY.toLocalDate()).getCount());
+        assertEquals(15.0, statistics.getWeek(WEDNESDAY.toLocalDate()).getMean());
+        assertEquals(LocalDate.of(2024, 3, 4), statistics.getWeekly().keySet().iterator().next());
+        assertEquals(3, statistics.getDaily().size());
+        assertEquals(3, statistics.getRecordCount());
+    }
+
+    @Test
+    void testReloadsCacheWithoutRebuilding() throws IOException
+    {
+        ScoreStatistics statistics = ScoreStatistics.load(statisticsFile, repository);
+        append(statistics, new Score(WEDNESDAY, 1, 8, 2, 0));
+
+        ScoreStatistics reloaded = ScoreStatistics.load(statisticsFile, repository);
+
+        assertEquals(1, reloaded.getRecordCount());
+        assertEquals(18.0, reloaded.getDay(WEDNESDAY.toLocalDate()).getMean());
+    }
+
+    @Test
+    void testRebuildsWhenOutOfDate() throws IOException
+    {
+        ScoreStatistics.load(statisticsFile, repository);
+
+        repository.append(new Score(WEDNESDAY, 2, 10, 0, 10));
+        repository.append(new Score(WEDNESDAY, 1, 0, 0, 10));
+
+        ScoreStatistics statistics = ScoreStatistics.load(statisticsFile, repository);
+
+        assertEquals(2, statistics.getRecordCount());
+        assertEquals(5.0, statistics.getDay(WEDNESDAY.toLocalDate()).getMean());
+    }
+
+    @Test
+    void testRebuildsCorruptCache() throws IOException
+    {
+        repository.append(new Score(WEDNESDAY, 1, 10, 0, 0));
+        Files.write(Path.of(statisticsFile), new byte[] {1, 2, 3});
+
+        ScoreStatistics statistics = ScoreStatistics.load(statisticsFile, repository);
+
+        assertEquals(1, statistics.getWeek(WEDNESDAY.toLocalDate()).getCount());
+    }
+
+    private void append(ScoreStatistics statistics, Score score) throws IOException
+    {
+        repository.append(score);
+        statistics.record(score);
+    }
+}
@@ -0,0 +1,128 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compares holding a large score history as a List of Score objects against a ScoreTable.
+ * Measures retained heap, sorting by average, the top ten by average, and file size
+ * against a ScoreLog of the same scores.
+ * Run with: java -Xmx2g ca.bcit.comp2522.termproject.wordgame.ScoreTableBenchmark [scores]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreTableBenchmark
+{
+    private static final int    DEFAULT_SCORES = 1_000_000;
+    private static final int    QUESTIONS      = 10;
+    private static final int    TOP_SCORES     = 10;
+    private static final int    GC_PASSES      = 3;
+    private static final double NANOS_PER_MS   = 1_000_000.0;
+    private static final double BYTES_PER_MB   = 1024.0 * 1024.0;
+    private static final String LOG_FILE       = "bench_table.dat";
+    private static final String TABLE_FILE     = "bench_table.tbl";
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of scores
+     * @throws IOException if the benchmark files cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int count;
+        count = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SCORES;
+
+        try
+        {
+            final long        baseline;
+            final List<Score> scores;
+            final long        listBytes;
+
+            baseline  = usedHeap();
+            scores    = generate(count);
+            listBytes = usedHeap() - baseline;
+
+            ScoreLog.appendAll(scores, LOG_FILE);
+
+            final long       tableBaseline;
+            final ScoreTable table;
+            final long       tableBytes;
+
+            tableBaseline = usedHeap();
+            table         = ScoreTable.fromLog(LOG_FILE);
+            tableBytes    = usedHeap() - tableBaseline;
+
+            System.out.printf("heap   List<Score>: %8.1f MB   ScoreTable: %8.1f MB%n",
+                              listBytes / BYTES_PER_MB, tableBytes / BYTES_PER_MB);
+
+            long start;
+
+            start = System.nanoTime();
+            scores.sort(Comparator.comparingDouble(Score::getAvgScore).reversed());
+            System.out.printf("sort   List<Score>: %8.1f ms", (System.nanoTime() - start) / NANOS_PER_MS);
+
+            start = System.nanoTime();
+            table.topByAverage(TOP_SCORES);
+            final double topMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+            start = System.nanoTime();
+            table.sortByAverage();
+            System.out.printf("   ScoreTable: %8.1f ms   (top %d without sorting: %.1f ms)%n",
+                              (System.nanoTime() - start) / NANOS_PER_MS, TOP_SCORES, topMs);
+
+            table.sortByDate();
+            table.write(TABLE_FILE);
+            System.out.printf("file   ScoreLog:    %8.1f MB   ScoreTable: %8.1f MB%n",
+                              new File(LOG_FILE).length() / BYTES_PER_MB,
+                              new File(TABLE_FILE).length() / BYTES_PER_MB);
+        } finally
+        {
+            new File(LOG_FILE).delete();
+            new File(TABLE_FILE).delete();
+        }
+    }
+
+    /*
+     * Generates one score a minute with varying results.
+     */
+    private static List<Score> generate(final int count)
+    {
+        final LocalDateTime base;
+        final List<Score>   scores;
+
+        base   = LocalDateTime.of(2024, 1, 1, 0, 0);
+        scores = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++)
+        {
+            final int first;
+            first = i % (QUESTIONS + 1);
+
+            scores.add(new Score(base.plusMinutes(i), 1, first, (QUESTIONS - first) / 2, (QUESTIONS - first + 1) / 2));
+        }
+
+        return scores;
+    }
+
+    /*
+     * Gets the heap in use after a few garbage collections.
+     */
+    private static long usedHeap()
+    {
+        final Runtime runtime;
+        runtime = Runtime.getRuntime();
+
+        for (int i = 0; i < GC_PASSES; i++)
+        {
+            System.gc();
+        }
+
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
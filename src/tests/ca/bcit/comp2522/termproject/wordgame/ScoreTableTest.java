@@ -0,0 +1,158 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreTableTest
+{
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 30);
+
+    @TempDir
+    Path directory;
+
+    private static ScoreTable sampleTable()
+    {
+        ScoreTable table = new ScoreTable(1);
+
+        table.add(new Score(BASE.plusDays(2), 1, 5, 0, 5));  // 10.0
+        table.add(new Score(BASE, 1, 10, 0, 0));             // 20.0
+        table.add(new Score(BASE.plusDays(1), 2, 4, 2, 14)); // 5.0
+        table.add(new Score(BASE.plusDays(3), 1, 5, 0, 5));  // 10.0
+        return table;
+    }
+
+    @Test
+    void testRowsMatchScores()
+    {
+        ScoreTable table = sampleTable();
+        Score      score = table.toScore(2);
+
+        assertEquals(4, table.size());
+        assertEquals(BASE.plusDays(1), score.getDateTime());
+        assertEquals(2, score.getGamesPlayed());
+        assertEquals(score.getAvgScore(), table.getAvgScore(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getAvgScore(4));
+    }
+
+    @Test
+    void testSortByDate()
+    {
+        ScoreTable table = sampleTable();
+        table.sortByDate();
+
+        for (int row = 0; row < table.size(); row++)
+        {
+            assertEquals(BASE.plusDays(row), table.getDateTime(row));
+        }
+    }
+
+    @Test
+    void testSortByAverageIsStable()
+    {
+        ScoreTable table = sampleTable();
+        table.sortByAverage();
+
+        assertEquals(20.0, table.getAvgScore(0));
+        assertEquals(BASE.plusDays(2), table.getDateTime(1));
+        assertEquals(BASE.plusDays(3), table.getDateTime(2));
+        assertEquals(5.0, table.getAvgScore(3));
+    }
+
+    @Test
+    void testFilterAndBetween()
+    {
+        ScoreTable table = sampleTable();
+
+        assertEquals(3, table.filter(row -> table.getAvgScore(row) >= 10).size());
+        assertEquals(1, table.between(BASE.plusDays(1), BASE.plusDays(2)).size(), "The end is exclusive");
+        assertEquals(2, table.between(BASE.plusDays(1), BASE.plusDays(3)).size());
+        assertEquals(0, table.between(BASE.plusDays(1), BASE.plusDays(1)).size());
+    }
+
+    @Test
+    void testTopByAverage()
+    {
+        ScoreTable table = sampleTable();
+        table.add(new Score(BASE.plusDays(4), 0, 0, 0, 0));
+
+        ScoreTable top = table.topByAverage(3);
+
+        assertEquals(3, top.size());
+        assertEquals(20.0, top.getAvgScore(0));
+        assertEquals(BASE.plusDays(2), top.getDateTime(1));
+        assertEquals(BASE.plusDays(3), top.getDateTime(2));
+        assertEquals(4, table.topByAverage(10).size());
+        assertEquals(4, table.topByAverage(Integer.MAX_VALUE).size());
+        assertEquals(5, table.size());
+    }
+
+    @Test
+    void testFromLogMatchesReadAll() throws IOException
+    {
+        String      logFile = directory.resolve("score.dat").toString();
+        List<Score> scores  = sampleTable().toScores();
+
+        ScoreLog.appendAll(scores, logFile);
+
+        ScoreTable table = ScoreTable.fromLog(logFile);
+
+        assertEquals(scores.size(), table.size());
+        assertEquals(scores.get(3).getDateTime(), table.getDateTime(3));
+    }
+
+    @Test
+    void testWriteAndReadRoundTrip() throws IOException
+    {
+        String     file  = directory.resolve("scores.tbl").toString();
+        ScoreTable table = sampleTable();
+
+        table.write(file);
+
+        ScoreTable read = ScoreTable.read(file);
+
+        assertEquals(table.size(), read.size());
+
+        for (int row = 0; row < table.size(); row++)
+        {
+            assertEquals(table.getEpochSecond(row), read.getEpochSecond(row));
+            assertEquals(table.getAvgScore(row), read.getAvgScore(row));
+            assertEquals(table.toScore(row).getIncorrectAttempts(), read.toScore(row).getIncorrectAttempts());
+        }
+    }
+
+    @Test
+    void testReadRejectsOtherFiles() throws IOException
+    {
+        Path file = directory.resolve("other.tbl");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10});
+
+        assertThrows(IOException.class, () -> ScoreTable.read(file.toString()));
+    }
+
+    @Test
+    void testReadRejectsBadRowCounts() throws IOException
+    {
+        Path file = directory.resolve("scores.tbl");
+
+        sampleTable().write(file.toString());
+
+        for (int rows : new int[] {-1, 5, Integer.MAX_VALUE})
+        {
+            byte[] bytes = Files.readAllBytes(file);
+
+            ByteBuffer.wrap(bytes).putInt(Integer.BYTES + Short.BYTES, rows);
+            Files.write(directory.resolve("bad.tbl"), bytes);
+
+            assertThrows(IOException.class, () -> ScoreTable.read(directory.resolve("bad.tbl").toString()));
+        }
+    }
+}
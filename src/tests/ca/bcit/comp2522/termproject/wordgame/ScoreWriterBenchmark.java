@@ -0,0 +1,136 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contention benchmark for score appends.
+ * Runs 1 to 32 threads that each append and wait for their scores, and prints appends/sec for
+ * ScoreLog.append (one open, write and close per score) and for ScoreWriter under each FsyncPolicy,
+ * along with the average group-commit size.
+ * Run with: java ca.bcit.comp2522.termproject.wordgame.ScoreWriterBenchmark [appendsPerThread]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class ScoreWriterBenchmark
+{
+    private static final int    DEFAULT_APPENDS = 2_000;
+    private static final int    MAX_THREADS     = 32;
+    private static final long   NANOS_PER_SEC   = 1_000_000_000L;
+    private static final String LOG_FILE        = "bench_writer_score.dat";
+
+    /*
+     * One way of appending a score, as seen by a producer thread.
+     */
+    @FunctionalInterface
+    private interface Appender
+    {
+        void append(Score score) throws IOException;
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of appends each thread performs
+     * @throws Exception if a benchmark run fails
+     */
+    public static void main(final String[] args) throws Exception
+    {
+        final int  appendsPerThread;
+        final Path log;
+
+        appendsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_APPENDS;
+        log              = Paths.get(LOG_FILE);
+
+        System.out.printf("%8s %-24s %14s %10s%n", "threads", "writer", "appends/sec", "avg batch");
+
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2)
+        {
+            Files.deleteIfExists(log);
+            System.out.printf("%8d %-24s %14.0f %10s%n", threads, "ScoreLog.append",
+                              run(threads, appendsPerThread, score -> ScoreLog.append(score, LOG_FILE)), "-");
+
+            for (final ScoreWriter.FsyncPolicy policy : ScoreWriter.FsyncPolicy.values())
+            {
+                Files.deleteIfExists(log);
+
+                final double rate;
+                final double batch;
+
+                try (final ScoreWriter writer = new ScoreWriter(log, policy))
+                {
+                    rate  = run(threads, appendsPerThread, writer::appendAndWait);
+                    batch = (double) writer.getAppendCount() / writer.getBatchCount();
+                }
+
+                System.out.printf("%8d %-24s %14.0f %10.1f%n", threads, "ScoreWriter " + policy, rate, batch);
+            }
+        }
+
+        Files.deleteIfExists(log);
+        System.out.println("Cores available: " + Runtime.getRuntime().availableProcessors());
+    }
+
+    /*
+     * Runs one measurement and returns appends per second, checking that no append was lost.
+     */
+    private static double run(final int threads,
+                              final int appendsPerThread,
+                              final Appender appender) throws Exception
+    {
+        final CountDownLatch             start;
+        final CountDownLatch             done;
+        final AtomicReference<Exception> failure;
+        final long                       begin;
+        final long                       elapsed;
+
+        start   = new CountDownLatch(1);
+        done    = new CountDownLatch(threads);
+        failure = new AtomicReference<>();
+
+        for (int i = 0; i < threads; i++)
+        {
+            new Thread(() ->
+                       {
+                           try
+                           {
+                               start.await();
+
+                               for (int j = 0; j < appendsPerThread; j++)
+                               {
+                                   appender.append(new Score(LocalDateTime.now(), 1, j % 10, 0, 0));
+                               }
+                           } catch (final Exception e)
+                           {
+                               failure.compareAndSet(null, e);
+                           } finally
+                           {
+                               done.countDown();
+                           }
+                       }).start();
+        }
+
+        begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        elapsed = System.nanoTime() - begin;
+
+        if (failure.get() != null)
+        {
+            throw failure.get();
+        }
+
+        if (ScoreLog.count(LOG_FILE) != (long) threads * appendsPerThread)
+        {
+            throw new IllegalStateException("Lost appends: " + ScoreLog.count(LOG_FILE));
+        }
+
+        return (double) threads * appendsPerThread * NANOS_PER_SEC / elapsed;
+    }
+}
@@ -0,0 +1,207 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreWriterTest
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    void testConcurrentProducersNeverLoseOrInterleaveRecords() throws Exception
+    {
+        Path         log     = directory.resolve("score.dat");
+        List<Thread> threads = new ArrayList<>();
+
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.NEVER))
+        {
+            for (int t = 0; t < 8; t++)
+            {
+                final int producer = t;
+                Thread thread = new Thread(() ->
+                {
+                    for (int i = 0; i < 200; i++)
+                    {
+                        writer.append(new Score(LocalDateTime.now(), 1, producer, i % 10, 0));
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+        }
+
+        List<Score> scores = ScoreLog.readAll(log.toString());
+
+        assertEquals(1600, scores.size());
+        assertEquals(ScoreLog.HEADER_BYTES + 1600L * ScoreLog.RECORD_BYTES, Files.size(log));
+
+        int[] perProducer = new int[8];
+        for (Score score : scores)
+        {
+            perProducer[score.getCorrectFirstAttempts()]++;
+        }
+        for (int count : perProducer)
+        {
+            assertEquals(200, count);
+        }
+    }
+
+    @Test
+    void testAppendAndWaitIsDurableBeforeReturning() throws IOException
+    {
+        Path log = directory.resolve("score.dat");
+
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.EVERY_BATCH))
+        {
+            writer.appendAndWait(new Score(LocalDateTime.now(), 1, 6, 2, 2));
+
+            assertEquals(1, ScoreLog.count(log.toString()));
+            assertEquals(1, writer.getAppendCount());
+            assertEquals(1, writer.getBatchCount());
+        }
+    }
+
+    @Test
+    void testReopenAppendsWithoutSecondHeader() throws IOException
+    {
+        Path log = directory.resolve("score.dat");
+
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.EVERY_SECOND))
+        {
+            writer.appendAndWait(new Score(LocalDateTime.now(), 1, 6, 2, 2));
+        }
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.EVERY_SECOND))
+        {
+            writer.appendAndWait(new Score(LocalDateTime.now(), 1, 7, 2, 1));
+        }
+
+        assertEquals(2, ScoreLog.readAll(log.toString()).size());
+    }
+
+    @Test
+    void testListsFromConcurrentProducersStayTogether() throws Exception
+    {
+        Path         log     = directory.resolve("score.dat");
+        List<Thread> threads = new ArrayList<>();
+
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.NEVER, 2))
+        {
+            for (int t = 0; t < 4; t++)
+            {
+                final int producer = t;
+                Thread thread = new Thread(() ->
+                {
+                    for (int list = 0; list < 50; list++)
+                    {
+                        List<Score> scores = new ArrayList<>();
+
+                        for (int i = 0; i < 5; i++)
+                        {
+                            scores.add(new Score(LocalDateTime.now(), 1, producer, i, 0));
+                        }
+                        writer.appendAll(scores);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+
+            for (Thread thread : threads)
+            {
+                thread.join();
+            }
+        }
+
+        List<Score> scores = ScoreLog.readAll(log.toString());
+
+        assertEquals(1000, scores.size());
+
+        for (int i = 0; i < scores.size(); i += 5)
+        {
+            for (int j = 0; j < 5; j++)
+            {
+                assertEquals(scores.get(i).getCorrectFirstAttempts(), scores.get(i + j).getCorrectFirstAttempts());
+                assertEquals(j, scores.get(i + j).getCorrectSecondAttempts());
+            }
+        }
+    }
+
+    @Test
+    void testCloseWaitsForQueuedScoresWhenInterrupted() throws IOException
+    {
+        Path        log    = directory.resolve("score.dat");
+        ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.NEVER);
+
+        for (int i = 0; i < 1000; i++)
+        {
+            writer.append(new Score(LocalDateTime.now(), 1, 5, 3, 2));
+        }
+
+        Thread.currentThread().interrupt();
+
+        try
+        {
+            writer.close();
+        } finally
+        {
+            assertTrue(Thread.interrupted());
+        }
+
+        assertEquals(1000, ScoreLog.count(log.toString()));
+    }
+
+    @Test
+    void testClosedWriterRejectsAppends() throws IOException
+    {
+        ScoreWriter writer = new ScoreWriter(directory.resolve("score.dat"), ScoreWriter.FsyncPolicy.NEVER);
+        writer.close();
+
+        assertThrows(IllegalStateException.class, () -> writer.append(new Score(LocalDateTime.now(), 1, 1, 1, 1)));
+    }
+
+    @Test
+    void testUncheckedFailureFailsBatchAndWriterKeepsRunning() throws Exception
+    {
+        Path log = directory.resolve("score.dat");
+
+        try (ScoreWriter writer = new ScoreWriter(log, ScoreWriter.FsyncPolicy.NEVER);
+             FileChannel other = FileChannel.open(log, StandardOpenOption.WRITE))
+        {
+            // A second lock on the same file from this JVM makes appendLocked throw unchecked
+            FileLock lock = other.lock();
+
+            CompletionException failed = assertThrows(CompletionException.class, () ->
+                writer.append(new Score(LocalDateTime.now(), 1, 1, 1, 1)).orTimeout(5, TimeUnit.SECONDS).join());
+
+            assertInstanceOf(OverlappingFileLockException.class, failed.getCause());
+
+            lock.release();
+            writer.append(new Score(LocalDateTime.now(), 1, 2, 2, 2)).orTimeout(5, TimeUnit.SECONDS).join();
+
+            assertEquals(1, writer.getAppendCount());
+        }
+
+        assertEquals(1, ScoreLog.count(log.toString()));
+    }
+}
@@ -0,0 +1,190 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedScoreStoreTest
+{
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRotatesBySize() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 4, Duration.ofDays(365), 100))
+        {
+            for (int i = 0; i < 10; i++)
+            {
+                store.append(new Score(START.plusMinutes(i), 1, i, 0, 10 - i));
+            }
+
+            assertEquals(3, store.getSegmentCount());
+            assertEquals(10, store.count());
+            assertEquals(10, store.readRecent().size());
+        }
+    }
+
+    @Test
+    void testRotatesByAge() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 1000, Duration.ofDays(1), 100))
+        {
+            for (int day = 0; day < 3; day++)
+            {
+                store.append(new Score(START.plusDays(day), 1, 5, 0, 5));
+                store.append(new Score(START.plusDays(day).plusHours(1), 1, 5, 0, 5));
+            }
+
+            assertEquals(3, store.getSegmentCount());
+        }
+    }
+
+    @Test
+    void testCompactionKeepsHistory() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 2, Duration.ofDays(365), 1))
+        {
+            for (int day = 0; day < 5; day++)
+            {
+                store.append(new Score(START.plusDays(day), 1, day, 0, 10 - day));
+                store.append(new Score(START.plusDays(day).plusHours(1), 1, day + 1, 0, 9 - day));
+            }
+
+            store.compact();
+
+            List<ScoreRollup> rollups = store.getRollups();
+
+            assertEquals(2, store.getSegmentCount()); // one retained sealed segment plus the active one
+            assertEquals(10, store.count());
+            assertEquals(5, rollups.size());
+            assertEquals(2, rollups.get(0).getSessions());
+            assertEquals(1.0, rollups.get(0).getAvgScore());
+            assertEquals(2.0, rollups.get(0).getBest().getAvgScore());
+            assertEquals(START.toLocalDate().plusDays(4), rollups.get(4).getDate());
+        }
+    }
+
+    @Test
+    void testReopenRestoresState() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 2, Duration.ofDays(365), 0))
+        {
+            for (int i = 0; i < 7; i++)
+            {
+                store.append(new Score(START.plusDays(i), 1, 3, 1, 6));
+            }
+            store.compact();
+        }
+
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 2, Duration.ofDays(365), 0))
+        {
+            assertEquals(7, store.count());
+            assertEquals(7, store.getRollups().size());
+
+            store.append(new Score(START.plusDays(7), 1, 3, 1, 6));
+            assertEquals(8, store.count());
+        }
+    }
+
+    @Test
+    void testDeletesOrphanSegments() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory))
+        {
+            store.append(new Score(START, 1, 3, 1, 6));
+        }
+
+        Path orphan = directory.resolve("segment-999999.dat");
+        Files.write(orphan, new byte[ScoreLog.HEADER_BYTES]);
+
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory))
+        {
+            assertFalse(Files.exists(orphan));
+            assertEquals(1, store.count());
+        }
+    }
+
+    @Test
+    void testOutOfOrderScoreStartsNewSegment() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory))
+        {
+            store.append(new Score(START.plusDays(2), 1, 5, 0, 5));
+            store.append(new Score(START, 1, 5, 0, 5));
+
+            assertEquals(2, store.getSegmentCount());
+        }
+    }
+
+    @Test
+    void testReadRangeAcrossSegments() throws IOException
+    {
+        try (SegmentedScoreStore store = SegmentedScoreStore.open(directory, 5, Duration.ofDays(365), 100))
+        {
+            for (int day = 0; day < 30; day++)
+            {
+                store.append(new Score(START.plusDays(day), 1, day % 10, 0, 10 - day % 10));
+            }
+            store.append(new Score(START.plusDays(3).plusHours(2), 1, 10, 0, 0)); // late arrival
+
+            List<Score> range = store.readRange(START.plusDays(3), START.plusDays(8));
+
+            assertEquals(6, range.size());
+            assertEquals(START.plusDays(3), range.get(0).getDateTime());
+            assertEquals(START.plusDays(3).plusHours(2), range.get(1).getDateTime());
+            assertEquals(20.0, store.findBest(START.plusDays(3), START.plusDays(8)).getAvgScore());
+            assertEquals(18.0, store.findBest(START.plusDays(10), START.plusDays(20)).getAvgScore());
+            assertNull(store.findBest(START.minusDays(10), START));
+        }
+    }
+
+    @Test
+    void testCloseWhileCompactingSchedulesNothingMore() throws Exception
+    {
+        List<Throwable> uncaught = new ArrayList<>();
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+
+        Thread.setDefaultUncaughtExceptionHandler((thread, e) ->
+        {
+            synchronized (uncaught)
+            {
+                uncaught.add(e);
+            }
+        });
+
+        try
+        {
+            for (int run = 0; run < 20; run++)
+            {
+                SegmentedScoreStore store = SegmentedScoreStore.open(directory.resolve("run-" + run),
+                                                                     1,
+                                                                     Duration.ofDays(365),
+                                                                     0);
+
+                // Every append seals a segment, so compactions keep finishing while close runs
+                for (int i = 0; i < 50; i++)
+                {
+                    store.append(new Score(START.plusMinutes(i), 1, 5, 0, 5));
+                }
+                store.close();
+            }
+        } finally
+        {
+            Thread.setDefaultUncaughtExceptionHandler(previous);
+        }
+
+        assertEquals(List.of(), uncaught);
+    }
+}
@@ -0,0 +1,91 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Times scripted Word Game sessions over the real country data, with the transcript discarded.
+ * Generates an answers file in which every question is missed twice, the slowest path through
+ * a question, and every round but the last ends with "Yes".
+ * Run from the project directory with: java ca.bcit.comp2522.termproject.wordgame.WordGameScriptBenchmark [rounds]
+ *
+ * @author colecampbell
+ * @version 1.0
+ */
+public final class WordGameScriptBenchmark
+{
+    private static final int    DEFAULT_ROUNDS    = 5_000;
+    private static final int    ANSWERS_PER_ROUND = 20;
+    private static final int    RUNS              = 3;
+    private static final long   SEED              = 2522L;
+    private static final double NANOS_PER_MS      = 1_000_000.0;
+    private static final double MS_PER_SECOND     = 1_000.0;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally the number of rounds per session
+     * @throws IOException if the answers file cannot be written or read
+     */
+    public static void main(final String[] args) throws IOException
+    {
+        final int   rounds;
+        final Path  answers;
+        final World world;
+
+        rounds  = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+        answers = Files.createTempFile("answers", ".txt");
+        world   = World.get();
+
+        try
+        {
+            write(answers, rounds);
+
+            for (int run = 0; run < RUNS; run++)
+            {
+                final long   start;
+                final Score  score;
+                final double elapsedMs;
+
+                start     = System.nanoTime();
+                score     = WordGameScript.run(world, SEED, answers, Writer.nullWriter());
+                elapsedMs = (System.nanoTime() - start) / NANOS_PER_MS;
+
+                System.out.printf("%d rounds, %d questions missed: %8.1f ms (%.0f rounds/s)%n",
+                                  score.getGamesPlayed(),
+                                  score.getIncorrectAttempts(),
+                                  elapsedMs,
+                                  score.getGamesPlayed() / elapsedMs * MS_PER_SECOND);
+            }
+        } finally
+        {
+            Files.deleteIfExists(answers);
+        }
+    }
+
+    /*
+     * Writes the answers for a session of wrong answers.
+     */
+    private static void write(final Path answers,
+                              final int rounds) throws IOException
+    {
+        try (final BufferedWriter writer = Files.newBufferedWriter(answers, StandardCharsets.UTF_8))
+        {
+            for (int round = 1; round <= rounds; round++)
+            {
+                for (int i = 0; i < ANSWERS_PER_ROUND; i++)
+                {
+                    writer.write("Atlantis");
+                    writer.newLine();
+                }
+
+                writer.write(round < rounds ? "Yes" : "No");
+                writer.newLine();
+            }
+        }
+    }
+}
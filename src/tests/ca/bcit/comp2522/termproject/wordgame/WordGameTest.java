@@ -0,0 +1,220 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordGameTest
+{
+    @TempDir
+    Path directory;
+
+    private static final List<Country> COUNTRIES = List.of(
+            new Country("Canada", "Ottawa", new String[] {"Maple syrup.", "Hockey.", "Moose."}),
+            new Country("Japan", "Tokyo", new String[] {"Sushi.", "Mount Fuji.", "Bullet trains."}),
+            new Country("Peru", "Lima", new String[] {"Machu Picchu.", "Llamas.", "Ceviche."}));
+
+    private static WordGame game(long seed, Reader input, StringWriter output)
+    {
+        Random random = new Random(seed);
+
+        return new WordGame(new QuestionScheduler(COUNTRIES, random),
+                            new AnswerMatcher(List.of("Canada", "Ottawa", "Japan", "Tokyo", "Peru", "Lima")),
+                            new WorldIndex(COUNTRIES),
+                            random,
+                            new BufferedReader(input),
+                            new PrintWriter(output));
+    }
+
+    private static String lines(String... lines)
+    {
+        return String.join("\n", lines) + "\n";
+    }
+
+    /*
+     * Answers every question correctly by reading the question just written, like a player would.
+     * A player who misses first names no country on the first try of each question.
+     */
+    private static final class KnowingPlayer extends Reader
+    {
+        private final StringWriter screen;
+        private final int          rounds;
+        private final boolean      missesFirst;
+        private int                roundsPlayed;
+        private String             missed;
+        private String             pending = "";
+
+        private KnowingPlayer(StringWriter screen, int rounds)
+        {
+            this(screen, rounds, false);
+        }
+
+        private KnowingPlayer(StringWriter screen, int rounds, boolean missesFirst)
+        {
+            this.screen      = screen;
+            this.rounds      = rounds;
+            this.missesFirst = missesFirst;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length)
+        {
+            if (pending.isEmpty())
+            {
+                pending = answer(lastLine()) + "\n";
+            }
+
+            int count = Math.min(length, pending.length());
+            pending.getChars(0, count, buffer, offset);
+            pending = pending.substring(count);
+            return count;
+        }
+
+        private String lastLine()
+        {
+            String[] lines = screen.toString().split("\n");
+            return lines[lines.length - 1];
+        }
+
+        private String answer(String question)
+        {
+            if (question.startsWith("Yes to play again"))
+            {
+                roundsPlayed++;
+                return roundsPlayed < rounds ? "yes" : "no";
+            }
+
+            if (missesFirst && !question.equals(missed))
+            {
+                missed = question;
+                return "Atlantis";
+            }
+            missed = null;
+
+            for (Country country : COUNTRIES)
+            {
+                if (question.equals("What is the capital city of " + country.getName() + "?"))
+                {
+                    return country.getCapitalCityName();
+                }
+                if (question.equals("What country has the capital city of " + country.getCapitalCityName() + "?"))
+                {
+                    return country.getName().toUpperCase();
+                }
+                for (int i = 0; i < country.getFactCount(); i++)
+                {
+                    if (question.equals("What country has this fact: " + country.getFacts(i) + "?"))
+                    {
+                        return country.getName();
+                    }
+                }
+            }
+            throw new AssertionError("Unexpected question: " + question);
+        }
+
+        @Override
+        public void close()
+        {}
+    }
+
+    @Test
+    void testPlayerWhoKnowsEveryAnswerGetsEveryQuestionFirstTry() throws Exception
+    {
+        StringWriter output = new StringWriter();
+        Score        score  = game(7, new KnowingPlayer(output, 3), output).playRounds();
+
+        assertEquals(3, score.getGamesPlayed());
+        assertEquals(30, score.getCorrectFirstAttempts());
+        assertEquals(0, score.getCorrectSecondAttempts());
+        assertEquals(0, score.getIncorrectAttempts());
+        assertFalse(output.toString().contains("INCORRECT!"));
+    }
+
+    @Test
+    void testAnswerNamingNoCountryIsIncorrectForEveryQuestionType() throws Exception
+    {
+        StringWriter output = new StringWriter();
+        Score        score  = game(7, new KnowingPlayer(output, 3, true), output).playRounds();
+        String       screen = output.toString();
+
+        assertEquals(30, score.getCorrectSecondAttempts());
+        assertEquals(0, score.getIncorrectAttempts());
+        assertTrue(screen.contains("What country has the capital city of "), screen);
+        assertTrue(screen.contains("What is the capital city of "), screen);
+        assertTrue(screen.contains("What country has this fact: "), screen);
+    }
+
+    @Test
+    void testScriptedWrongAnswersAndInvalidChoice() throws Exception
+    {
+        String[] answers = new String[22];
+
+        for (int i = 0; i < 20; i++)
+        {
+            answers[i] = "Atlantis";
+        }
+        answers[20] = "maybe";
+        answers[21] = "No";
+
+        StringWriter output = new StringWriter();
+        Score        score  = game(7, new StringReader(lines(answers)), output).playRounds();
+
+        assertEquals(1, score.getGamesPlayed());
+        assertEquals(10, score.getIncorrectAttempts());
+        assertTrue(output.toString().contains("Sorry, the correct answer was "));
+        assertTrue(output.toString().contains("Invalid choice, please try again"));
+    }
+
+    @Test
+    void testSameSeedAndAnswersGiveSameTranscript() throws Exception
+    {
+        String       script = lines("Canada", "Ottawa", "Tokyo", "Japan", "Lima", "Peru", "Canada", "Ottawa",
+                                    "Tokyo", "Japan", "Lima", "Peru", "Canada", "Ottawa", "Tokyo", "Japan",
+                                    "Lima", "Peru", "Canada", "Ottawa", "No");
+        StringWriter first  = new StringWriter();
+        StringWriter second = new StringWriter();
+
+        game(11, new StringReader(script), first).playRounds();
+        game(11, new StringReader(script), second).playRounds();
+
+        assertEquals(first.toString(), second.toString());
+    }
+
+    @Test
+    void testInputEndingEarlyIsAnError()
+    {
+        StringWriter output = new StringWriter();
+        WordGame     game   = game(7, new StringReader(lines("Canada")), output);
+
+        assertThrows(EOFException.class, game::playRounds);
+    }
+
+    @Test
+    void testScriptListsSkippedCountryFilesInTheTranscript() throws Exception
+    {
+        Path         answers    = directory.resolve("answers.txt");
+        StringWriter transcript = new StringWriter();
+
+        Files.writeString(directory.resolve("c.txt"), "\nCanada:Ottawa\nOne.\n", StandardCharsets.UTF_8);
+        Files.writeString(answers, "", StandardCharsets.UTF_8);
+
+        World world = World.get(directory, directory.resolve("countries.bundle"));
+
+        assertThrows(EOFException.class, () -> WordGameScript.run(world, 7, answers, transcript));
+        assertTrue(transcript.toString().startsWith("Skipped country file a.txt: File not found"),
+                   transcript.toString());
+    }
+}
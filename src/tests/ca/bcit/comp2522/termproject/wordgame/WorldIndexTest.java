@@ -0,0 +1,64 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldIndexTest
+{
+    private static final Country CANADA  = new Country("Canada", "Ottawa",
+                                                       new String[] {"Maple syrup.", "Hockey.", "Moose."});
+    private static final Country IVORY   = new Country("C\u00f4te d'Ivoire", "Yamoussoukro",
+                                                       new String[] {"Cocoa.", "Elephants.", "Basilica."});
+    private static final Country EASTERN = new Country("Eastland", "Twin City",
+                                                       new String[] {"Old Town.", "Rivers.", "Hills."});
+    private static final Country WESTERN = new Country("Westland", "Twin City",
+                                                       new String[] {"Old Town.", "Lakes.", "Plains."});
+
+    private static WorldIndex index()
+    {
+        return new WorldIndex(List.of(CANADA, IVORY, EASTERN, WESTERN));
+    }
+
+    @Test
+    void testFindsCountryWhateverTheCaseAccentsOrSpacing()
+    {
+        WorldIndex index = index();
+
+        assertSame(CANADA, index.getCountry("canada"));
+        assertSame(CANADA, index.getCountry("  CANADA "));
+        assertSame(IVORY, index.getCountry("cote divoire"));
+        assertSame(IVORY, index.getCountry("Cote  d'Ivoire"));
+        assertNull(index.getCountry("Canadia"));
+    }
+
+    @Test
+    void testSharedCapitalListsEveryCountry()
+    {
+        WorldIndex index = index();
+
+        assertEquals(List.of(EASTERN, WESTERN), index.getCountriesWithCapital("twin  city"));
+        assertEquals(List.of(CANADA), index.getCountriesWithCapital("OTTAWA"));
+        assertTrue(index.getCountriesWithCapital("Toronto").isEmpty());
+    }
+
+    @Test
+    void testSharedFactListsEveryCountry()
+    {
+        WorldIndex index = index();
+
+        assertEquals(List.of(EASTERN, WESTERN), index.getCountriesWithFact("Old Town."));
+        assertEquals(List.of(IVORY), index.getCountriesWithFact("Cocoa."));
+        assertTrue(index.getCountriesWithFact("Penguins.").isEmpty());
+    }
+
+    @Test
+    void testListsCannotBeModified()
+    {
+        List<Country> countries = index().getCountriesWithCapital("Ottawa");
+
+        assertThrows(UnsupportedOperationException.class, () -> countries.add(IVORY));
+    }
+}
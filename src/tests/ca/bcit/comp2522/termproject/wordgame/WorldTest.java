@@ -0,0 +1,148 @@
+package ca.bcit.comp2522.termproject.wordgame;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldTest
+{
+    private static final FileTime EARLIER = FileTime.fromMillis(1_700_000_000_000L);
+    private static final FileTime LATER   = FileTime.fromMillis(1_700_000_100_000L);
+
+    @TempDir
+    Path directory;
+
+    private Path bundle;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        bundle = directory.resolve("countries.bundle");
+
+        for (char letter = 'a'; letter <= 'z'; letter++)
+        {
+            if (letter != 'w' && letter != 'x')
+            {
+                Files.setLastModifiedTime(Files.createFile(directory.resolve(letter + ".txt")), EARLIER);
+            }
+        }
+
+        writeSource("c.txt", "Canada", "Ottawa", EARLIER);
+    }
+
+    private void writeSource(String file, String name, String capital, FileTime modified) throws IOException
+    {
+        Path path = directory.resolve(file);
+
+        Files.writeString(path, "\n" + name + ":" + capital + "\nOne.\nTwo.\nThree.\n", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(path, modified);
+    }
+
+    @Test
+    void testLoadsOnceWhileFilesAreUnchanged()
+    {
+        World first  = World.get(directory, bundle);
+        World second = World.get(directory, bundle);
+
+        assertSame(first, second);
+        assertEquals(List.of("Canada"), first.getNames());
+        assertEquals("Ottawa", first.getCountry("Canada").getCapitalCityName());
+        assertTrue(first.getLoadErrors().isEmpty());
+    }
+
+    @Test
+    void testReloadsWhenASourceChanges() throws IOException
+    {
+        World before = World.get(directory, bundle);
+
+        writeSource("f.txt", "France", "Paris", LATER);
+
+        World after = World.get(directory, bundle);
+
+        assertNotSame(before, after);
+        assertEquals(1, before.size());
+        assertEquals(2, after.size());
+        assertNull(before.getCountry("France"));
+        assertThrows(UnsupportedOperationException.class, () -> after.getNames().add("Atlantis"));
+        assertEquals(after.getNames(), after.getCountries().stream().map(Country::getName).toList());
+        assertSame(after.getCountry("France"), after.getCountries().get(after.getNames().indexOf("France")));
+        assertThrows(UnsupportedOperationException.class, () -> after.getCountries().remove(0));
+    }
+
+    @Test
+    void testPrefersBundleWhileBuiltFromTheSameSources() throws IOException
+    {
+        CountryBundle.write(List.of(new Country("Bundled", "Capital", new String[] {"a", "b", "c"})),
+                            CountryBundle.digestSources(directory),
+                            CountryBundle.stampSources(directory),
+                            bundle);
+        // Modification times are not trusted: a checkout can leave the bundle looking older
+        Files.setLastModifiedTime(bundle, EARLIER);
+        Files.setLastModifiedTime(directory.resolve("c.txt"), LATER);
+
+        assertNotNull(World.get(directory, bundle).getCountry("Bundled"));
+
+        Files.writeString(directory.resolve("c.txt"), "\nCanada:Ottawa\nOne.\nTwo.\nA new fact.\n");
+
+        World stale = World.get(directory, bundle);
+
+        assertNull(stale.getCountry("Bundled"));
+        assertNotNull(stale.getCountry("Canada"));
+        assertTrue(stale.getLoadErrors().isEmpty());
+    }
+
+    @Test
+    void testFallsBackToSourcesWhenBundleIsCorrupt() throws IOException
+    {
+        Files.write(bundle, new byte[] {0x57, 0x47, 0x43, 0x42, 0, 2, 0, 5});
+
+        World world = World.get(directory, bundle);
+
+        assertNotNull(world.getCountry("Canada"));
+        assertTrue(world.getLoadErrors().containsKey("countries.bundle"));
+    }
+
+    @Test
+    void testReportsFilesThatFailedToLoad() throws IOException
+    {
+        Files.delete(directory.resolve("q.txt"));
+
+        World world = World.get(directory, bundle);
+
+        assertEquals("File not found", world.getLoadErrors().get("q.txt"));
+        assertEquals(1, world.size());
+    }
+
+    @Test
+    void testConcurrentReadersShareOneSnapshot() throws InterruptedException
+    {
+        World[]  seen    = new World[8];
+        Thread[] readers = new Thread[seen.length];
+
+        for (int i = 0; i < readers.length; i++)
+        {
+            final int index = i;
+            readers[i] = new Thread(() -> seen[index] = World.get(directory, bundle));
+            readers[i].start();
+        }
+
+        for (Thread reader : readers)
+        {
+            reader.join();
+        }
+
+        for (World world : seen)
+        {
+            assertSame(seen[0], world);
+        }
+    }
+}